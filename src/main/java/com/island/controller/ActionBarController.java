@@ -71,31 +71,6 @@ public class ActionBarController {
         return gameController.getPlayerController().canCaptureTreasure(player);
     }
 
-    /**
-     * Checks if the current player has drawn treasure cards this turn.
-     * @return true if treasure cards have been drawn
-     */
-    public boolean hasDrawnTreasureCards() {
-        return gameController.getPlayerController().hasDrawnTreasureCards();
-    }
-
-    /**
-     * Sends a message to draw treasure cards for a player.
-     * @param count Number of cards to draw
-     * @param player Player drawing the cards
-     */
-    public void sendDrawTreasureCardsMessage(int count, Player player) {
-        gameController.getRoomController().sendDrawTreasureCardsMessage(count, player);
-    }
-
-    /**
-     * Gets the number of flood cards drawn in the current turn.
-     * @return Number of flood cards drawn
-     */
-    public int getDrawnFloodCards() {
-        return gameController.getPlayerController().getDrawnFloodCards();
-    }
-
     /**
      * Handles player movement action.
      * Validates the move and sends appropriate network messages.
@@ -113,7 +88,7 @@ public class ActionBarController {
                 gameController.showErrorToast("Invalid Tile!");
             }
         } else if (getRemainingActions() > 0) {
-            List<Position> validPositions = currentPlayer.getMovePositions(getIsland().getTiles());
+            List<Position> validPositions = gameController.getPlayerController().getMovePositions(currentPlayer);
             if (chosenTile != null && validPositions.contains(chosenTile.getPosition())) {
                 gameController.getRoomController().sendMoveMessage(currentPlayer, chosenTile.getPosition());
             } else {
@@ -130,7 +105,7 @@ public class ActionBarController {
     public void handleShoreUpAction() {
         if (getRemainingActions() > 0) {
             Tile chosenTile = gameController.getChosenTile();
-            List<Position> validPositions = currentPlayer.getShorePositions(getIsland().getTiles());
+            List<Position> validPositions = gameController.getPlayerController().getShorePositions(currentPlayer);
             if (chosenTile != null && chosenTile.getState() == Tile.TileState.FLOODED && validPositions.contains(chosenTile.getPosition())) {
                 gameController.getRoomController().sendShoreUpMessage(currentPlayer, chosenTile.getPosition());
             } else {
@@ -159,7 +134,7 @@ public class ActionBarController {
             Room room = gameController.getRoom();
 
             // Get eligible players who can receive cards
-            List<Player> eligiblePlayers = currentPlayer.getGiveCardPlayers(room.getPlayers());
+            List<Player> eligiblePlayers = gameController.getPlayerController().getGiveCardPlayers(currentPlayer);
 
             if (eligiblePlayers.isEmpty()) {
                 gameController.showWarningToast("No eligible players to give cards");
@@ -380,23 +355,6 @@ public class ActionBarController {
         gameController.handlePlaySpecialAction();
     }
 
-    /**
-     * Handles drawing flood cards.
-     * Updates flood card count and sends network message.
-     */
-    public void handleDrawFloodAction() {
-        gameController.getPlayerController().addDrawnFloodCards(1);
-        gameController.getRoomController().sendDrawFloodMessage(1, currentPlayer.getName());
-    }
-
-    /**
-     * Sets whether the current player has drawn treasure cards this turn.
-     * @param hasDrawn true if treasure cards have been drawn
-     */
-    public void setHasDrawnTreasureCards(boolean hasDrawn) {
-        gameController.getPlayerController().setHasDrawnTreasureCards(hasDrawn);
-    }
-
     /**
      * Handles discarding a card.
      * Delegates to game controller for discard logic.
@@ -405,13 +363,6 @@ public class ActionBarController {
         gameController.handleDiscardAction();
     }
 
-    /**
-     * Advances to the next player's turn.
-     */
-    public void nextTurn() {
-        gameController.nextTurn();
-    }
-
     /**
      * Checks if any player is on a sunk tile.
      * @return true if any player is on a sunk tile
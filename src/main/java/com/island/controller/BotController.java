@@ -0,0 +1,333 @@
+package com.island.controller;
+
+import com.island.engine.GameEngine;
+import com.island.engine.GameRules;
+import com.island.engine.MctsSearch;
+import com.island.models.Room;
+import com.island.models.adventurers.Player;
+import com.island.models.card.Card;
+import com.island.models.card.CardType;
+import com.island.models.island.Position;
+import com.island.models.treasure.TreasureType;
+import com.island.network.Message;
+import com.island.network.MessageType;
+import com.island.network.RoomController;
+import com.island.network.payload.GameStartCommand;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+
+/**
+ * Controller class for the bots sitting in the seats of a room.
+ * A seat is played by a bot when it was added in the lobby with {@link #addBot()}, or when its
+ * player disconnects during a game. Every peer knows the bot seats, so the bots stay in play after
+ * a host migration; only the host makes the bots act and acknowledge messages.
+ * <p>
+ * A bot chooses its actions and swims with {@link MctsSearch} on a copy of the {@link GameEngine}
+ * of the {@link GameController}, and discards over the hand limit whoever's turn it is. Its moves
+ * are sent through the {@link RoomController} like those of a human; the engine resolves the draws
+ * and the turn starts. Thinking runs on the room scope; live state is only read and sent on the
+ * JavaFX thread.
+ */
+public class BotController {
+    /** Prefix of the names of the bots added in the lobby */
+    public static final String BOT_PREFIX = "Bot#";
+
+    /** System property holding the thinking time per action in milliseconds */
+    public static final String THINK_PROPERTY = "island.bot.thinkMillis";
+
+    /** Thinking time per action when the property is not set */
+    private static final long DEFAULT_THINK_MILLIS = 1000;
+
+    /** Controller of the room */
+    private final RoomController roomController;
+    /** Search choosing the actions */
+    private final MctsSearch search;
+    /** Thinking time per action in milliseconds */
+    private final long thinkMillis;
+    /** Thread owning the live game state */
+    private final Executor uiThread;
+    /** Names of the seats played by bots, changed on the game thread and read by the receiver */
+    private final Set<String> seats = new CopyOnWriteArraySet<>();
+
+    /** Whether the bots search their actions; false once a search failed */
+    private boolean searching = true;
+    /** Whether a bot is thinking or waiting for its message to be delivered */
+    private boolean busy;
+
+    /**
+     * Creates the bot controller of a room
+     * @param roomController Controller of the room
+     */
+    public BotController(RoomController roomController) {
+        this(roomController, new MctsSearch(), Long.getLong(THINK_PROPERTY, DEFAULT_THINK_MILLIS),
+                roomController.getGameThread());
+    }
+
+    /**
+     * Creates the bot controller of a room
+     * @param roomController Controller of the room
+     * @param search Search choosing the actions
+     * @param thinkMillis Thinking time per action in milliseconds
+     * @param uiThread Thread owning the live game state
+     */
+    public BotController(RoomController roomController, MctsSearch search, long thinkMillis, Executor uiThread) {
+        this.roomController = roomController;
+        this.search = search;
+        this.thinkMillis = thinkMillis;
+        this.uiThread = uiThread;
+    }
+
+    /**
+     * Adds a bot to the room before the game starts and announces the new player list
+     * @return true if a bot was added, false if the room is full
+     */
+    public boolean addBot() {
+        Room room = roomController.getRoom();
+        if (room.getPlayers().size() >= GameRules.MAX_PLAYERS) {
+            return false;
+        }
+        int number = 1;
+        while (room.getPlayerByUsername(BOT_PREFIX + number) != null) {
+            number++;
+        }
+        String name = BOT_PREFIX + number;
+        // The seat acknowledges the room messages from now on
+        seats.add(name);
+        room.addPlayer(new Player(name));
+        roomController.sendUpdateRoomMessage();
+        return true;
+    }
+
+    /**
+     * Lets a bot take the seat of a player who disconnected during the game
+     * @param username Name of the player
+     */
+    public void standIn(String username) {
+        if (seats.add(username)) {
+            GameController gameController = roomController.getGameController();
+            if (gameController != null) {
+                gameController.showToast(username + " disconnected. A bot takes their seat");
+            }
+        }
+        update();
+    }
+
+    /**
+     * Checks whether a seat is played by a bot
+     * @param username Name of the seat
+     * @return true if a bot plays it
+     */
+    public boolean isBot(String username) {
+        return username != null && seats.contains(username);
+    }
+
+    /**
+     * Follows a game message after the game controllers handled it.
+     * The host acknowledges every message on behalf of the bots, including retries.
+     * @param message The message
+     * @param fresh false if the message was handled before
+     */
+    public void onMessage(Message message, boolean fresh) {
+        if (message.isAck() && roomController.isLocalHost()) {
+            for (String seat : seats) {
+                roomController.sendAckMessage(message, seat);
+            }
+        }
+        if (!fresh) {
+            return;
+        }
+        if (message.getType() == MessageType.GAME_START) {
+            start(message.getPayload(GameStartCommand.class));
+        }
+        update();
+    }
+
+    /**
+     * Sets up the bot seats of a new game
+     * @param start The game start payload
+     */
+    private void start(GameStartCommand start) {
+        List<String> names = start.playerNames().isEmpty()
+                ? roomController.getRoom().getPlayers().stream().map(Player::getName).toList()
+                : start.playerNames();
+        searching = true;
+        busy = false;
+        for (String name : names) {
+            if (name.startsWith(BOT_PREFIX)) {
+                seats.add(name);
+            }
+        }
+    }
+
+    /**
+     * Stops searching after a failure and tells the players.
+     * The bots fall back to ending their turns and swimming to the first safe tile rather than
+     * leaving the game stuck.
+     * @param reason What went wrong
+     */
+    private void desync(String reason) {
+        searching = false;
+        GameController gameController = roomController.getGameController();
+        if (gameController != null) {
+            gameController.showErrorToast("Bots lost track of the game (" + reason + ") and now only end their turns");
+        }
+    }
+
+    /**
+     * Lets the next bot act if one is due. Only the host acts, one step at a time: the next
+     * step is taken once the message of the previous one has been delivered.
+     */
+    public void update() {
+        GameEngine engine = getEngine();
+        GameController game = roomController.getGameController();
+        if (busy || engine == null || seats.isEmpty() || !game.isGameStart() || game.isGameOver()
+                || engine.isOver() || !roomController.isLocalHost()) {
+            return;
+        }
+        // Bots on a sunk tile swim first, whoever's turn it is
+        if (engine.getPhase() == GameEngine.Phase.SWIM) {
+            for (Player player : engine.getSwimmers()) {
+                if (seats.contains(player.getName())) {
+                    swim(player);
+                    return;
+                }
+            }
+            return;
+        }
+        // Bots over the hand limit discard, whoever's turn it is
+        for (Player player : engine.getPlayers()) {
+            if (seats.contains(player.getName()) && player.getCards().size() > GameRules.HAND_LIMIT) {
+                deliver(roomController.sendDiscardMessage(player, chooseDiscard(player)));
+                return;
+            }
+        }
+        Player current = engine.getCurrentPlayer();
+        if (seats.contains(current.getName()) && engine.getRemainingActions() > 0) {
+            act(current);
+        }
+    }
+
+    /**
+     * Makes a bot swim to safety
+     * @param player The bot
+     */
+    private void swim(Player player) {
+        if (searching) {
+            think(player);
+            return;
+        }
+        List<Position> rescue = GameRules.rescuePositions(player, getEngine().getIsland());
+        if (!rescue.isEmpty()) {
+            deliver(roomController.sendMoveMessage(player, rescue.get(0)));
+        }
+    }
+
+    /**
+     * Makes a bot take an action of its turn
+     * @param player The bot
+     */
+    private void act(Player player) {
+        if (searching) {
+            think(player);
+        } else {
+            deliver(roomController.sendEndTurnMessage(player));
+        }
+    }
+
+    /**
+     * Searches the best action of a bot off the JavaFX thread, then sends it unless the game
+     * changed meanwhile, in which case the bots look again
+     * @param player The bot
+     */
+    private void think(Player player) {
+        busy = true;
+        GameEngine engine = getEngine();
+        GameEngine root = engine.copy();
+        long hash = engine.hash();
+        int seat = root.getPlayers().indexOf(root.getPlayer(player.getName()));
+        roomController.getScope().fork(() -> {
+            int action;
+            try {
+                action = search.choose(root, seat, thinkMillis);
+            } catch (RuntimeException e) {
+                uiThread.execute(() -> {
+                    busy = false;
+                    desync("the search failed: " + e);
+                    update();
+                });
+                return;
+            }
+            uiThread.execute(() -> {
+                busy = false;
+                if (getEngine() != engine || engine.hash() != hash) {
+                    update();
+                } else if (action >= 0) {
+                    deliver(roomController.sendCommand(root.toCommand(action)));
+                }
+            });
+        });
+    }
+
+    /**
+     * Waits for a message of a bot to be delivered before the next step
+     * @param delivery Future completed when every player has acknowledged the message
+     */
+    private void deliver(CompletableFuture<Void> delivery) {
+        busy = true;
+        delivery.whenComplete((result, error) -> uiThread.execute(() -> {
+            busy = false;
+            update();
+        }));
+    }
+
+    /**
+     * Chooses the card a bot discards over the hand limit: a card of a captured treasure, else
+     * a card of the treasure it holds the fewest of. Special cards are kept.
+     * @param player The bot
+     * @return Index of the card to discard
+     */
+    int chooseDiscard(Player player) {
+        GameEngine engine = getEngine();
+        Set<TreasureType> uncaptured = engine == null ? EnumSet.allOf(TreasureType.class) : engine.getUncapturedTreasures();
+        List<Card> cards = player.getCards();
+        int best = cards.size() - 1;
+        int bestScore = Integer.MAX_VALUE;
+        for (int i = 0; i < cards.size(); i++) {
+            Card card = cards.get(i);
+            int score;
+            if (card.getType() != CardType.TREASURE) {
+                score = Integer.MAX_VALUE - 1;
+            } else if (!uncaptured.contains(card.getTreasureType())) {
+                score = 0;
+            } else {
+                score = (int) cards.stream().filter(other -> other.getType() == CardType.TREASURE
+                        && other.getTreasureType() == card.getTreasureType()).count();
+            }
+            if (score < bestScore) {
+                best = i;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Gets the game the bots play
+     * @return The engine of the game controller, or null outside a game
+     */
+    private GameEngine getEngine() {
+        GameController gameController = roomController.getGameController();
+        return gameController == null ? null : gameController.getEngine();
+    }
+
+    /**
+     * Gets the seats played by bots
+     * @return The names of the seats
+     */
+    public Set<String> getSeats() {
+        return Collections.unmodifiableSet(seats);
+    }
+}
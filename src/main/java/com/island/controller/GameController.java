@@ -1,6 +1,9 @@
 package com.island.controller;
 
-import com.island.controller.factory.StandardCardFactory;
+import com.island.engine.GameCommand;
+import com.island.engine.GameEngine;
+import com.island.engine.GameEvent;
+import com.island.engine.GameRules;
 import com.island.models.Room;
 import com.island.models.adventurers.*;
 import com.island.models.island.*;
@@ -9,17 +12,10 @@ import com.island.models.card.*;
 import com.island.network.Message;
 import com.island.network.MessageHandler;
 import com.island.network.RoomController;
+import com.island.network.payload.*;
+import com.island.util.Constant;
 import com.island.util.observer.GameSubjectImpl;
-import com.island.util.ui.Dialog;
 import com.island.views.game.GameView;
-import javafx.geometry.Insets;
-import javafx.scene.control.Alert;
-import javafx.scene.control.ButtonType;
-import javafx.scene.control.CheckBox;
-import javafx.scene.control.Label;
-import javafx.scene.layout.FlowPane;
-import javafx.scene.layout.VBox;
-import javafx.stage.Stage;
 
 import java.util.*;
 
@@ -28,8 +24,15 @@ import java.util.*;
  * This class coordinates all other controllers and manages the overall game state.
  * It acts as a central hub for game logic and communication between different components.
  * Handles game initialization, turn management, player actions, and win/lose conditions.
+ * The game itself is played by a {@link GameEngine}: the game messages are applied to it as
+ * commands, and the controllers render the {@link GameEvent}s it reports, including the draws,
+ * the floods and the end of the game that it resolves at the end of each turn. Every dialog is
+ * left to the {@link GameView}, so this class does not depend on JavaFX.
  */
 public class GameController {
+    /** Description of a win, as sent in the game over message */
+    public static final String WIN_DESCRIPTION = "All treasures have been captured!";
+
     /** The main view of the game */
     private GameView gameView;
     /** Controller for managing room/network related operations */
@@ -49,14 +52,14 @@ public class GameController {
     private ActionBarController actionBarController;
     /** The current player whose turn it is */
     private Player currentPlayer;
+    /** The game being played, null before the game starts */
+    private GameEngine engine;
 
     /** List of players to be moved by helicopter card */
     private List<Player> helicopterPlayers;
     /** Currently active special card being played */
     private Card activeSpecialCard;
 
-    /** Number of actions remaining for current player */
-    private int remainingActions = 3;
     /** Flag indicating if game has started */
     private boolean gameStart = false;
     /** Flag indicating if game is over */
@@ -86,49 +89,50 @@ public class GameController {
 
         playerController = new PlayerController();
         playerController.setGameController(this);
-        cardController = new CardController(new StandardCardFactory());
+        cardController = new CardController();
         cardController.setGameController(this);
         actionBarController = new ActionBarController();
         actionBarController.setGameController(this);
     }
 
     /**
-     * Starts a new game with the given random seed.
-     * Initializes the island, players, cards and game state.
+     * Starts a new game.
+     * Sets up the game on the island of the island controller, then lets the room and the card
+     * controller hold the players and the decks of the game.
      * @param seed Random seed for game initialization
+     * @param waterLevel Starting water level
+     * @param playerNames Names of the players in seat order
      */
-    public void startGame(long seed) {
+    public void startGame(long seed, int waterLevel, List<String> playerNames) {
         gameStart = true;
-        currentPlayer = room.getPlayers().getFirst();
-
-        // Initialize island
-        islandController.initIsland(seed);
-
-        // Initialize players
-        playerController.initPlayers(seed);
-
-        // Initialize cards
-        cardController.initCards(seed);
+        engine = new GameEngine(playerNames, seed, waterLevel, island);
+        engine.addListener(this::onGameEvent);
 
-        // Deal initial cards to players
-        playerController.dealCards(cardController.getTreasureDeck());
+        Player host = room.getHostPlayer();
+        room.setPlayers(new ArrayList<>(engine.getPlayers()));
+        if (host != null && engine.getPlayer(host.getName()) != null) {
+            room.setHostPlayer(engine.getPlayer(host.getName()));
+        }
+        islandController.setWaterLevel(waterLevel);
+        cardController.setDecks(engine.getDecks());
 
         gameSubject.setGameState(GameState.RUNNING);
-        gameView.initGame();
-        gameView.setPrimaryStage();
+        if (gameView != null) {
+            gameView.initGame();
+            gameView.setPrimaryStage();
+        }
+        startTurn(engine.getCurrentPlayer());
     }
 
     /**
-     * Starts a new turn for the given player.
-     * Resets player state and action points.
+     * Shows the start of a turn.
+     * The game resets the per-turn state of the player itself; the players of the room are those
+     * of the game, so resetting the local player here would set its seat apart from the other peers.
      * @param player The player whose turn is starting
      */
     public void startTurn(Player player) {
         currentPlayer = player;
-        currentPlayer.resetState();
         actionBarController.setCurrentPlayer(player);
-        remainingActions = 3;
-        playerController.resetPlayerState();
         gameSubject.setGameState(GameState.TURN_START);
         gameSubject.notifyActionBarChanged();
     }
@@ -141,54 +145,173 @@ public class GameController {
     public void setCurrentPlayer(Player currentPlayer) { this.currentPlayer = currentPlayer; }
     public Player getCurrentPlayer() { return currentPlayer; }
     public ActionBarController getActionBarController() { return actionBarController; }
-    public int getRemainingActions() { return remainingActions; }
-    public void decreaseRemainingActions() { remainingActions--; }
-    public void setRemainingActions(int remainingActions) { this.remainingActions = remainingActions; }
+    public int getRemainingActions() { return engine == null ? 0 : engine.getRemainingActions(); }
+    public GameEngine getEngine() { return engine; }
     public Room getRoom() { return room; }
     public Island getIsland() { return islandController.getIsland(); }
     public Player getCurrentProgramPlayer() { return room.getCurrentProgramPlayer(); }
 
     /**
-     * Handles water level rising event.
-     * Increases water level and checks for game over condition.
+     * Applies a game message to the game.
+     * A message the game rejects means this peer no longer follows the others, so the players are told.
+     * @param message The message of a player decision
+     * @return true if the game accepted the message
      */
-    public void handleWaterRise() {
-        islandController.increaseWaterLevel();
-        if (islandController.getWaterLevel() == 10 ) {
-            gameOver = true;
-            roomController.sendGameOverMessage("Water level has reached the maximum!");
+    public boolean apply(Message message) {
+        GameCommand command = engine == null ? null : toCommand(message, engine);
+        if (command == null) {
+            return false;
         }
-        cardController.handleWaterRise();
-        updateWaterLevel();
+        if (!engine.apply(command)) {
+            showErrorToast("The game rejected " + message.getType() + " from " + message.getFrom()
+                    + ". This game may no longer match the other players");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Translates a game message into the command it stands for.
+     * Draws and turn starts are not commands: the engine resolves them itself.
+     * @param message The message
+     * @param engine The game the command is for
+     * @return The command, or null if the message is not a player decision
+     */
+    static GameCommand toCommand(Message message, GameEngine engine) {
+        String from = message.getFrom();
+        return switch (message.getType()) {
+            case MOVE_PLAYER -> {
+                MoveCommand move = message.getPayload(MoveCommand.class);
+                Position to = Position.of(move.x(), move.y());
+                Player player = engine.getPlayer(from);
+                yield engine.getPhase() == GameEngine.Phase.SWIM && engine.getSwimmers().contains(player)
+                        ? new GameCommand.Swim(from, to)
+                        : new GameCommand.Move(from, to);
+            }
+            case SHORE_UP -> {
+                ShoreUpCommand shoreUp = message.getPayload(ShoreUpCommand.class);
+                yield new GameCommand.ShoreUp(from, Position.of(shoreUp.x(), shoreUp.y()));
+            }
+            case GIVE_CARD -> {
+                GiveCardCommand give = message.getPayload(GiveCardCommand.class);
+                yield new GameCommand.GiveCard(from, give.playerName(), cardIndex(engine.getPlayer(from), give.card()));
+            }
+            case MOVE_PLAYER_BY_NAVIGATOR -> {
+                NavigatorMoveCommand move = message.getPayload(NavigatorMoveCommand.class);
+                yield new GameCommand.NavigatorMove(from, move.playerName(), Position.of(move.x(), move.y()));
+            }
+            case CAPTURE_TREASURE -> new GameCommand.CaptureTreasure(from);
+            case END_TURN -> new GameCommand.EndTurn(from);
+            case SANDBAGS_USE -> {
+                SandbagsCommand sandbags = message.getPayload(SandbagsCommand.class);
+                yield new GameCommand.PlaySandbags(from, sandbags.cardIndex(), Position.of(sandbags.x(), sandbags.y()));
+            }
+            case HELICOPTER_MOVE -> {
+                HelicopterCommand helicopter = message.getPayload(HelicopterCommand.class);
+                yield new GameCommand.PlayHelicopter(from, helicopter.cardIndex(), helicopter.playerNames(),
+                        Position.of(helicopter.x(), helicopter.y()));
+            }
+            case DISCARD_CARD -> new GameCommand.Discard(from, message.getPayload(DiscardCommand.class).cardIndex());
+            default -> null;
+        };
     }
 
     /**
-     * Gets the message handler for network communication.
-     * @return The message handler instance
+     * Finds a card in a hand by name
+     * @param player The player, may be null
+     * @param cardName Name of the card
+     * @return The index of the card, or -1 if the player does not hold it
      */
-    public MessageHandler getMessageHandler() {
-        return roomController.getMessageHandler();
+    private static int cardIndex(Player player, String cardName) {
+        if (player == null) {
+            return -1;
+        }
+        List<Card> cards = player.getCards();
+        for (int i = 0; i < cards.size(); i++) {
+            if (cards.get(i).getName().equals(cardName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Renders an event of the game: updates the views and logs what the players did not choose,
+     * such as draws and floods. The host announces the end of the game.
+     * @param event The event
+     */
+    private void onGameEvent(GameEvent event) {
+        switch (event) {
+            case GameEvent.TurnStarted started -> startTurn(engine.getPlayer(started.player()));
+            case GameEvent.PlayerMoved moved -> gameSubject.notifyPlayerMoved(engine.getPlayer(moved.player()), moved.to());
+            case GameEvent.TileChanged changed -> {
+                String tileName = Constant.tileNameMap.get(island.getTile(changed.position()).getName());
+                switch (changed.state()) {
+                    case FLOODED -> addLog(tileName + " is flooded");
+                    case SUNK -> addLog(tileName + " has sunk");
+                    case NORMAL -> { }
+                }
+                updateBoard();
+            }
+            case GameEvent.CardDrawn drawn -> {
+                addLog(drawn.player() + " draw " + drawn.card());
+                updateCardView();
+                updatePlayersInfo();
+            }
+            case GameEvent.CardDiscarded discarded -> {
+                updateCardView();
+                updatePlayersInfo();
+            }
+            case GameEvent.CardGiven given -> updatePlayersInfo();
+            case GameEvent.WaterRose rose -> {
+                addLog("Waters rise to level " + rose.waterLevel());
+                islandController.setWaterLevel(rose.waterLevel());
+                updateWaterLevel();
+                updateCardView();
+            }
+            case GameEvent.TreasureCaptured captured -> {
+                islandController.removeTreasure(captured.treasure().getDisplayName());
+                updatePlayersInfo();
+                updateCardView();
+                updateBoard();
+            }
+            case GameEvent.SwimRequired swim -> {
+                addLog(swim.player() + " must swim to safety");
+                updateBoard();
+            }
+            case GameEvent.GameWon won -> endGame(WIN_DESCRIPTION);
+            case GameEvent.GameLost lost -> endGame(lost.cause().getDescription());
+        }
+        gameSubject.notifyActionBarChanged();
     }
 
     /**
-     * Handles drawing treasure cards for a player.
-     * @param count Number of cards to draw
-     * @param player Player drawing the cards
+     * Ends the game. Every peer sees the end in its own game, and only the host announces it.
+     * @param description Description of how the game ended
      */
-    public void handleDrawTreasureCard(int count, Player player) {
-        cardController.drawTreasureCard(count, player);
+    private void endGame(String description) {
+        gameOver = true;
+        if (roomController.isLocalHost()) {
+            roomController.sendGameOverMessage(description);
+        }
     }
 
     /**
-     * Transfers a card from one player to another.
-     * @param fromPlayer Player giving the card
-     * @param toPlayer Player receiving the card
-     * @param card Name of the card being transferred
+     * Adds a line to the action log
+     * @param message The line
      */
-    public void giveCard(Player fromPlayer, Player toPlayer, String card) {
-        Card removedCard = fromPlayer.removeCard(card);
-        toPlayer.addCard(removedCard);
-        decreaseRemainingActions();
+    private void addLog(String message) {
+        if (gameView != null) {
+            gameView.addLog(message);
+        }
+    }
+
+    /**
+     * Gets the message handler for network communication.
+     * @return The message handler instance
+     */
+    public MessageHandler getMessageHandler() {
+        return roomController.getMessageHandler();
     }
 
     /**
@@ -201,34 +324,12 @@ public class GameController {
             showErrorToast("Not choose a card!");
             return;
         }
-        if (chosenCard.getType() != CardType.TREASURE) {
-            Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
-            alert.setTitle("Use Special Card");
-            alert.setHeaderText("Do you want to use " + chosenCard.getName() + "?");
-
-            switch (chosenCard.getType()) {
-                case HELICOPTER:
-                    alert.setContentText("The helicopter can move one or more players from any tile to another non-sunk tile.");
-                    break;
-                case SANDBAGS:
-                    alert.setContentText("Sandbags can shore up any flooded tile.");
-                    break;
-                default:
-                    return;
-            }
-
-            alert.showAndWait().ifPresent(response -> {
-                if (response == ButtonType.OK) {
-                    switch (chosenCard.getType()) {
-                        case HELICOPTER:
-                            handleHelicopterCard(chosenCard);
-                            break;
-                        case SANDBAGS:
-                            handleSandbagsCard(chosenCard);
-                            break;
-                    }
-                }
-            });
+        if (gameView == null || !gameView.confirmSpecialCard(chosenCard)) {
+            return;
+        }
+        switch (chosenCard.getType()) {
+            case HELICOPTER -> handleHelicopterCard(chosenCard);
+            case SANDBAGS -> handleSandbagsCard(chosenCard);
         }
     }
 
@@ -243,67 +344,25 @@ public class GameController {
 
     /**
      * Handles using a helicopter card.
-     * Shows dialog for selecting players and handles win condition check.
+     * Flies everyone off the island when the game is won, otherwise shows dialog for selecting players.
      * @param chosenCard The helicopter card being used
      */
     private void handleHelicopterCard(Card chosenCard) {
-        // If all treasures are collected and all players are on Fool's Landing, win the game
-        if (islandController.checkIfAllTreasuresCaptured()) {
-            for (Player player : room.getPlayers()) {
-                if (!island.getTile(player.getPosition()).getName().equals("Blue")) {
-                    break;
-                }
-            }
-            gameOver = true;
-            roomController.sendGameOverMessage("All treasures have been captured!");
+        // If all treasures are collected and all players are on Fool's Landing, fly off the island
+        if (engine != null && GameRules.isWon(island, engine.getPlayers(), engine.getUncapturedTreasures().isEmpty())) {
+            Player user = room.getCurrentProgramPlayer();
+            roomController.sendHelicopterMoveMessage(List.of(), user, user.getPosition(), user.getCards().indexOf(chosenCard));
+            return;
         }
 
-        VBox dialogContent = new VBox(10);
-        dialogContent.setPadding(new Insets(20));
-
-        // Select players to move
-        Label selectPlayersLabel = new Label("Select players to move:");
-        FlowPane playerCheckBoxes = new FlowPane(10, 10);
-        Map<String, CheckBox> playerSelections = new HashMap<>();
-
-        for (Player player : room.getPlayers()) {
-            javafx.scene.control.CheckBox checkBox = new javafx.scene.control.CheckBox(player.getName());
-            playerCheckBoxes.getChildren().add(checkBox);
-            playerSelections.put(player.getName(), checkBox);
+        List<Player> selectedPlayers = gameView.choosePlayers("Use Helicopter", "Select Players to Move",
+                "After selecting, click OK, then click on the target tile", room.getPlayers());
+        if (!selectedPlayers.isEmpty()) {
+            // Wait for user to click target tile
+            showToast("Please click on the tile you want to move to");
+            helicopterPlayers = selectedPlayers;
+            activeSpecialCard = chosenCard;
         }
-
-        // Instructions for selecting target position
-        Label instructionLabel = new Label("After selecting, click OK, then click on the target tile");
-
-        dialogContent.getChildren().addAll(selectPlayersLabel, playerCheckBoxes, instructionLabel);
-
-        Alert dialog = new Alert(Alert.AlertType.CONFIRMATION);
-        dialog.setTitle("Use Helicopter");
-        dialog.setHeaderText("Select Players to Move");
-        dialog.getDialogPane().setContent(dialogContent);
-
-        dialog.showAndWait().ifPresent(result -> {
-            if (result == ButtonType.OK) {
-                List<Player> selectedPlayers = new ArrayList<>();
-                for (Map.Entry<String, javafx.scene.control.CheckBox> entry : playerSelections.entrySet()) {
-                    if (entry.getValue().isSelected()) {
-                        for (Player player : room.getPlayers()) {
-                            if (player.getName().equals(entry.getKey())) {
-                                selectedPlayers.add(player);
-                                break;
-                            }
-                        }
-                    }
-                }
-
-                if (!selectedPlayers.isEmpty()) {
-                    // Wait for user to click target tile
-                    showToast("Please click on the tile you want to move to");
-                    helicopterPlayers = selectedPlayers;
-                    activeSpecialCard = chosenCard;
-                }
-            }
-        });
     }
 
     /**
@@ -382,32 +441,6 @@ public class GameController {
         activeSpecialCard = null;
     }
 
-    /**
-     * Adds a card to the treasure discard pile.
-     * @param card Card to add to discard pile
-     */
-    public void addTreasureDiscardPile(Card card) {
-        cardController.addTreasureDiscardPile(card);
-    }
-
-    /**
-     * Draws flood cards and checks for game-ending conditions.
-     * @param count Number of flood cards to draw
-     * @return List of positions where tiles were flooded
-     */
-    public List<Position> drawFloodCards(int count) {
-        List<Position> floodedPositions = cardController.drawFloodCards(count);
-        // Check if treasure tiles are sunk before treasure collection
-        if (!islandController.checkTreasureTiles()) {
-            gameOver = true;
-            roomController.sendGameOverMessage("A treasure tile has sunk before the treasure is captured!");
-        } else if (!islandController.checkFoolsLanding()) {
-            gameOver = true;
-            roomController.sendGameOverMessage("Fool's Landing has sunk!");
-        }
-        return floodedPositions;
-    }
-
     /**
      * Handles discarding a card action.
      */
@@ -420,44 +453,14 @@ public class GameController {
         }
     }
 
-    /**
-     * Advances to the next player's turn.
-     * Handles flood card drawing at the end of a round.
-     */
-    public void nextTurn() {
-        List<Player> players = room.getPlayers();
-        int nextIndex = (players.indexOf(currentPlayer) + 1) % players.size();
-        Player nextPlayer = players.get(nextIndex);
-        roomController.sendStartTurnMessage(nextPlayer);
-
-        // If completing a round (back to first player), draw flood cards based on water level
-        if (nextIndex == 0) {
-            int waterLevel = islandController.getWaterLevel();
-            int cardsToDraw;
-
-            // Determine number of flood cards based on water level
-            if (waterLevel <= 2) cardsToDraw = 2;
-            else if (waterLevel <= 5) cardsToDraw = 3;
-            else if (waterLevel <= 7) cardsToDraw = 4;
-            else cardsToDraw = 5;
-
-            roomController.sendDrawFloodMessage(cardsToDraw, "system");
-        }
-    }
-
     /**
      * Handles the case when a player is on a sunk tile.
-     * Shows valid move options and checks for game over condition.
+     * Shows valid move options; the game is lost by then if there are none.
      * @param currentProgramPlayer The player on a sunk tile
      */
     public void handlePlayerSunk(Player currentProgramPlayer) {
-        List<Position> validPositions = currentProgramPlayer.getMovePositions(island.getTiles());
-        if (validPositions.isEmpty()) {
-            gameOver = true;
-            roomController.sendGameOverMessage("One player has no valid moves to a non-sunk tile!");
-        }
         List<Tile> validTiles = getValidTilesOnSunk(currentProgramPlayer);
-        
+
         // Update board and show valid moves
         updateBoard();
         gameView.getIslandView().addBoarders(validTiles);
@@ -470,22 +473,9 @@ public class GameController {
      * @return List of valid tiles the player can move to
      */
     public List<Tile> getValidTilesOnSunk(Player player) {
-        List<Position> validPositions = player.getMovePositions(island.getTiles());
         List<Tile> validTiles = new ArrayList<>();
-
-        double minDistance = Double.MAX_VALUE;
-        for (Position position : validPositions) {
-            if (player instanceof Diver) {
-                double distance = Math.sqrt(Math.pow(position.getX() - player.getPosition().getX(), 2) +
-                        Math.pow(position.getY() - player.getPosition().getY(), 2));
-                if (distance <= minDistance) {
-                    if (distance < minDistance) validTiles = new ArrayList<>();
-                    minDistance = distance;
-                    validTiles.add(island.getTile(position));
-                }
-            } else {
-                validTiles.add(island.getTile(position));
-            }
+        for (Position position : GameRules.rescuePositions(player, island)) {
+            validTiles.add(island.getTile(position));
         }
         return validTiles;
     }
@@ -497,10 +487,18 @@ public class GameController {
      */
     public void showToast(String message) {
         if (gameView != null) {
-            Stage primaryStage = gameView.getPrimaryStage();
-            if (primaryStage != null) {
-                Dialog.showToast(primaryStage, message);
-            }
+            gameView.showToast(message);
+        }
+    }
+
+    /**
+     * Shows a message dialog to the user.
+     * @param title Title of the dialog
+     * @param content Message to display
+     */
+    public void showMessage(String title, String content) {
+        if (gameView != null) {
+            gameView.showMessage(title, content);
         }
     }
 
@@ -510,10 +508,7 @@ public class GameController {
      */
     public void showSuccessToast(String message) {
         if (gameView != null) {
-            Stage primaryStage = gameView.getPrimaryStage();
-            if (primaryStage != null) {
-                Dialog.showSuccessToast(primaryStage, message);
-            }
+            gameView.showSuccessToast(message);
         }
     }
 
@@ -523,10 +518,7 @@ public class GameController {
      */
     public void showWarningToast(String message) {
         if (gameView != null) {
-            Stage primaryStage = gameView.getPrimaryStage();
-            if (primaryStage != null) {
-                Dialog.showWarningToast(primaryStage, message);
-            }
+            gameView.showWarningToast(message);
         }
     }
 
@@ -536,13 +528,19 @@ public class GameController {
      */
     public void showErrorToast(String message) {
         if (gameView != null) {
-            Stage primaryStage = gameView.getPrimaryStage();
-            if (primaryStage != null) {
-                Dialog.showErrorToast(primaryStage, message);
-            }
+            gameView.showErrorToast(message);
         }
     }
 
+    /**
+     * Gets the Zobrist hash of the game, see {@link GameEngine#hash()}. Peers that applied the
+     * same messages hash alike, so comparing hashes is a cheap check that they have not diverged.
+     * @return The hash, 0 before the game starts
+     */
+    public long getStateHash() {
+        return engine == null ? 0 : engine.hash();
+    }
+
     // Additional getters and setters
     public boolean isGameOver() { return gameOver; }
     public void setGameOver(boolean gameOver) { this.gameOver = gameOver; }
@@ -602,7 +600,9 @@ public class GameController {
      * Resets all tile borders on the game board.
      */
     public void resetTileBorders() {
-        gameView.getIslandView().clearAllBoarders();
+        if (gameView != null) {
+            gameView.getIslandView().clearAllBoarders();
+        }
     }
 
     /**
@@ -1,5 +1,7 @@
 package com.island.controller;
 
+import com.island.engine.GameRules;
+import com.island.engine.LegalActionCache;
 import com.island.models.Room;
 import com.island.models.adventurers.*;
 import com.island.models.island.*;
@@ -22,6 +24,8 @@ public class PlayerController {
     private Room room;
     /** Currently selected card by the player */
     private Card chosenCard;
+    /** Options of each player, kept until the board or a player changes */
+    private final LegalActionCache legalActions = new LegalActionCache();
 
     /**
      * Constructs a new PlayerController.
@@ -46,20 +50,11 @@ public class PlayerController {
      */
     public void initPlayers(long seed) {
         Island island = gameController.getIslandController().getIsland();
-        ArrayList<PlayerRole> roles = new ArrayList<>(Arrays.asList(PlayerRole.values()));
-        Collections.shuffle(roles, new Random(seed));
+        List<PlayerRole> roles = GameRules.shuffledRoles(seed);
         int playerCount = room.getPlayers().size();
         List<Player> players = room.getPlayers();
         for (int i = 0; i < playerCount; i++) {
-            Player player = players.get(i);
-            switch (roles.get(i)) {
-                case DIVER -> player = new Diver(player.getName());
-                case ENGINEER -> player = new Engineer(player.getName());
-                case EXPLORER -> player = new Explorer(player.getName());
-                case MESSENGER -> player = new Messenger(player.getName());
-                case NAVIGATOR -> player = new Navigator(player.getName());
-                case PILOT -> player = new Pilot(player.getName());
-            }
+            Player player = GameRules.createPlayer(roles.get(i), players.get(i).getName());
             // Update the host player
             if (room.isHost(player.getName())) {
                 room.setHostPlayer(player);
@@ -69,7 +64,7 @@ public class PlayerController {
                 gameController.setCurrentPlayer(player);
             }
             // Set initial position according to the player role
-            player.setPosition(island.findTile(PlayerRole.getColor(player.getRole())));
+            player.setPosition(GameRules.startPosition(island, player.getRole()));
             room.addPlayer(player);
         }
         // Remove the characters of the first playerCount players from the room
@@ -88,16 +83,7 @@ public class PlayerController {
      * @param treasureDeck The deck to deal cards from
      */
     public void dealCards(Deque<Card> treasureDeck) {
-        for (Player player : room.getPlayers()) {
-            while (player.getCards().size() < 2) {
-                Card card = treasureDeck.poll();
-                if (card != null && card.getType() != CardType.WATER_RISE) {
-                    player.addCard(card);
-                } else {
-                    treasureDeck.add(card);
-                }
-            }
-        }
+        GameRules.dealInitialCards(room.getPlayers(), treasureDeck::poll, treasureDeck::add);
     }
 
     /**
@@ -122,8 +108,7 @@ public class PlayerController {
      * @return true if there are any valid tiles to shore up
      */
     public boolean canShoreUpTile(Player player) {
-        List<Position> validPositions = player.getShorePositions(gameController.getIsland().getTiles());
-        return !validPositions.isEmpty();
+        return legalActions.canShoreUp(player, gameController.getIsland(), room.getPlayers());
     }
 
     /**
@@ -133,19 +118,7 @@ public class PlayerController {
      * @return true if the player can give a card to another player
      */
     public boolean canGiveCard(Player player) {
-        if (player.getCards().isEmpty()) return false;
-        if (player.getRole() == PlayerRole.MESSENGER) return true;
-
-        // Other roles must be on the same tile
-        Position playerPos = player.getPosition();
-        if (playerPos == null) return false;
-        for (Player tempPlayer : room.getPlayers()) {
-            if (tempPlayer.equals(player)) continue;
-            if (tempPlayer.getPosition().equals(playerPos)) {
-                return true;
-            }
-        }
-        return false;
+        return legalActions.canGiveCard(player, gameController.getIsland(), room.getPlayers());
     }
 
     /**
@@ -155,23 +128,34 @@ public class PlayerController {
      * @return true if the player can capture a treasure
      */
     public boolean canCaptureTreasure(Player player) {
-        Position playerPos = player.getPosition();
-        Island island = gameController.getIsland();
-        if (playerPos == null) return false;
-        Tile currentTile = island.getTile(playerPos);
-        if (currentTile == null) return false;
-
-        // Check if player is on a treasure tile and has enough matching cards
-        if (currentTile.getTreasureType() != null) {
-            int treasureCardCount = 0;
-            for (Card card : player.getCards()) {
-                if (card.getType() == CardType.TREASURE && card.getTreasureType() == currentTile.getTreasureType()) {
-                    treasureCardCount++;
-                }
-            }
-            return treasureCardCount >= 4;
-        }
-        return false;
+        return legalActions.canCaptureTreasure(player, gameController.getIsland(), room.getPlayers());
+    }
+
+    /**
+     * Gets the positions a player can move to.
+     * @param player Player to check
+     * @return The positions, which must not be modified
+     */
+    public List<Position> getMovePositions(Player player) {
+        return legalActions.getMovePositions(player, gameController.getIsland(), room.getPlayers());
+    }
+
+    /**
+     * Gets the positions of the flooded tiles a player can shore up.
+     * @param player Player to check
+     * @return The positions, which must not be modified
+     */
+    public List<Position> getShorePositions(Player player) {
+        return legalActions.getShorePositions(player, gameController.getIsland(), room.getPlayers());
+    }
+
+    /**
+     * Gets the players a player can give a card to.
+     * @param player Player giving a card
+     * @return The receivers, which must not be modified
+     */
+    public List<Player> getGiveCardPlayers(Player player) {
+        return legalActions.getGiveCardPlayers(player, gameController.getIsland(), room.getPlayers());
     }
 
     /**
@@ -0,0 +1,122 @@
+package com.island.engine;
+
+import com.island.models.island.Island;
+
+/**
+ * Action packs a legal action into an int so {@link GameEngine#legalActions(ActionBuffer)} can list
+ * every option without allocating. Each kind matches one {@link GameCommand}; players are seat
+ * numbers and positions are cell numbers of the {@link Island}.
+ * <p>
+ * Layout, from the low bits: kind (4 bits), seat of the acting player (3), cell (6), seat of the
+ * receiver or moved player (3), card index (5), helicopter passengers (2).
+ */
+public final class Action {
+    /** {@link GameCommand.Move} */
+    public static final int MOVE = 0;
+    /** {@link GameCommand.ShoreUp} */
+    public static final int SHORE_UP = 1;
+    /** {@link GameCommand.GiveCard} */
+    public static final int GIVE_CARD = 2;
+    /** {@link GameCommand.CaptureTreasure} */
+    public static final int CAPTURE_TREASURE = 3;
+    /** {@link GameCommand.NavigatorMove} */
+    public static final int NAVIGATOR_MOVE = 4;
+    /** {@link GameCommand.PlaySandbags} */
+    public static final int PLAY_SANDBAGS = 5;
+    /** {@link GameCommand.PlayHelicopter} */
+    public static final int PLAY_HELICOPTER = 6;
+    /** {@link GameCommand.Discard} */
+    public static final int DISCARD = 7;
+    /** {@link GameCommand.EndTurn} */
+    public static final int END_TURN = 8;
+    /** {@link GameCommand.Swim} */
+    public static final int SWIM = 9;
+
+    /** Helicopter Lift flying everyone off the island */
+    public static final int FLY_OFF = 0;
+    /** Helicopter Lift flying the card holder alone */
+    public static final int FLY_ALONE = 1;
+    /** Helicopter Lift flying everyone on the tile of the card holder */
+    public static final int FLY_GROUP = 2;
+
+    private static final int SEAT_SHIFT = 4;
+    private static final int CELL_SHIFT = 7;
+    private static final int OTHER_SHIFT = 13;
+    private static final int CARD_SHIFT = 16;
+    private static final int FLIGHT_SHIFT = 21;
+
+    /**
+     * Private constructor, the class only has static members
+     */
+    private Action() {
+    }
+
+    /**
+     * Packs an action
+     * @param kind The kind, such as {@link #MOVE}
+     * @param seat Seat of the acting player
+     * @param cell Cell of the destination or tile, 0 if unused
+     * @param other Seat of the receiver or moved player, 0 if unused
+     * @param card Index of the card, 0 if unused
+     * @param flight Helicopter passengers, such as {@link #FLY_ALONE}, 0 if unused
+     * @return The packed action
+     */
+    public static int of(int kind, int seat, int cell, int other, int card, int flight) {
+        return kind | seat << SEAT_SHIFT | cell << CELL_SHIFT | other << OTHER_SHIFT
+                | card << CARD_SHIFT | flight << FLIGHT_SHIFT;
+    }
+
+    /**
+     * Gets the kind of an action
+     * @param action The packed action
+     * @return The kind, such as {@link #MOVE}
+     */
+    public static int kind(int action) {
+        return action & 0xF;
+    }
+
+    /**
+     * Gets the seat of the acting player
+     * @param action The packed action
+     * @return The seat
+     */
+    public static int seat(int action) {
+        return action >>> SEAT_SHIFT & 0x7;
+    }
+
+    /**
+     * Gets the cell of the destination or tile
+     * @param action The packed action
+     * @return The cell number
+     */
+    public static int cell(int action) {
+        return action >>> CELL_SHIFT & 0x3F;
+    }
+
+    /**
+     * Gets the seat of the receiver of a card or of the player moved by the Navigator
+     * @param action The packed action
+     * @return The seat
+     */
+    public static int other(int action) {
+        return action >>> OTHER_SHIFT & 0x7;
+    }
+
+    /**
+     * Gets the index of the card in the hand of the acting player
+     * @param action The packed action
+     * @return The card index
+     */
+    public static int card(int action) {
+        return action >>> CARD_SHIFT & 0x1F;
+    }
+
+    /**
+     * Gets who a Helicopter Lift flies
+     * @param action The packed action
+     * @return {@link #FLY_OFF}, {@link #FLY_ALONE} or {@link #FLY_GROUP}
+     */
+    public static int flight(int action) {
+        return action >>> FLIGHT_SHIFT & 0x3;
+    }
+}
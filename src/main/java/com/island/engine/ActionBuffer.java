@@ -0,0 +1,75 @@
+package com.island.engine;
+
+import java.util.Arrays;
+
+/**
+ * ActionBuffer is a reusable list of packed {@link Action}s. It grows when needed and keeps its
+ * array between uses, so filling it again does not allocate.
+ */
+public class ActionBuffer {
+    /** The actions, valid up to size */
+    private int[] actions;
+    /** Number of actions */
+    private int size;
+
+    /**
+     * Creates a buffer with room for a typical turn
+     */
+    public ActionBuffer() {
+        this(64);
+    }
+
+    /**
+     * Creates a buffer
+     * @param capacity Initial number of actions it can hold
+     */
+    public ActionBuffer(int capacity) {
+        actions = new int[Math.max(capacity, 1)];
+    }
+
+    /**
+     * Empties the buffer, keeping its array
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Adds an action
+     * @param action The packed action
+     */
+    public void add(int action) {
+        if (size == actions.length) {
+            actions = Arrays.copyOf(actions, size * 2);
+        }
+        actions[size++] = action;
+    }
+
+    /**
+     * Gets an action
+     * @param index The index, below {@link #size()}
+     * @return The packed action
+     */
+    public int get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return actions[index];
+    }
+
+    /**
+     * Gets the number of actions
+     * @return The size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the buffer is empty
+     * @return true if there is no action
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
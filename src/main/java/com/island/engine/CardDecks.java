@@ -0,0 +1,200 @@
+package com.island.engine;
+
+import com.island.models.adventurers.Player;
+import com.island.models.card.Card;
+import com.island.models.card.CardType;
+import com.island.models.island.Island;
+import com.island.models.island.Position;
+import com.island.models.island.Tile;
+import com.island.models.treasure.TreasureType;
+import com.island.util.Zobrist;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.random.RandomGenerator;
+
+/**
+ * CardDecks holds the treasure and flood decks of a game with their discard piles, and the rules
+ * for drawing and reshuffling them. Every reshuffle uses a random generator built from the game
+ * seed, so all peers of a game shuffle identically.
+ * <p>
+ * The decks and piles are {@link CardPile}s, which hash their order as every card is drawn,
+ * discarded or put back.
+ */
+public class CardDecks {
+    /** Deck of treasure cards */
+    private final CardPile treasureDeck = new CardPile();
+    /** Deck of flood cards */
+    private final CardPile floodDeck = new CardPile();
+    /** Discard pile for treasure cards */
+    private final CardPile treasureDiscardPile = new CardPile();
+    /** Discard pile for flood cards */
+    private final CardPile floodDiscardPile = new CardPile();
+    /** Cards on top of the flood deck that were put back by Waters Rise, so the players know them */
+    private int returnedFloodCards;
+    /** Random seed for shuffling cards */
+    private long seed;
+
+    /**
+     * Adds the standard cards: four of each treasure, three Helicopter Lift, two Sandbags and three
+     * Waters Rise to the treasure deck, and one flood card per tile of the island to the flood deck
+     * @param island The island
+     */
+    public void fill(Island island) {
+        for (TreasureType type : TreasureType.values()) {
+            if (type != TreasureType.NONE) {
+                for (int i = 0; i < 4; i++) {
+                    treasureDeck.add(Card.createTreasureCard(type, ""));
+                }
+            }
+        }
+        treasureDeck.add(Card.createSpecialCard(CardType.HELICOPTER));
+        treasureDeck.add(Card.createSpecialCard(CardType.HELICOPTER));
+        treasureDeck.add(Card.createSpecialCard(CardType.HELICOPTER));
+        treasureDeck.add(Card.createSpecialCard(CardType.SANDBAGS));
+        treasureDeck.add(Card.createSpecialCard(CardType.SANDBAGS));
+        treasureDeck.add(Card.createSpecialCard(CardType.WATER_RISE));
+        treasureDeck.add(Card.createSpecialCard(CardType.WATER_RISE));
+        treasureDeck.add(Card.createSpecialCard(CardType.WATER_RISE));
+
+        for (Map.Entry<Position, Tile> entry : island.getTiles().entrySet()) {
+            floodDeck.add(Card.createFloodCard(entry.getValue().getName(), entry.getKey(), ""));
+        }
+    }
+
+    /**
+     * Shuffles both decks using the seed
+     */
+    public void shuffle() {
+        Random random = new Random(seed);
+        treasureDeck.shuffle(random);
+        floodDeck.shuffle(random);
+        returnedFloodCards = 0;
+    }
+
+    /**
+     * Shuffles the cards the players have not seen with another generator, so that a simulation
+     * does not play on the order fixed by the seed: the whole treasure deck, and the flood deck
+     * apart from the cards Waters Rise put back on top, which are shuffled among themselves.
+     * @param random The random generator of the simulation
+     */
+    public void determinize(RandomGenerator random) {
+        treasureDeck.shuffle(random);
+        int returned = Math.min(returnedFloodCards, floodDeck.size());
+        floodDeck.shuffle(random, 0, returned);
+        floodDeck.shuffle(random, returned, floodDeck.size());
+    }
+
+    /**
+     * Deals the starting hands from the treasure deck, see {@link GameRules#dealInitialCards}
+     * @param players The players
+     */
+    public void dealInitialCards(List<Player> players) {
+        GameRules.dealInitialCards(players, treasureDeck::draw, treasureDeck::add);
+    }
+
+    /**
+     * Draws a flood card and puts it on the discard pile.
+     * If the deck is empty, the discard pile is shuffled back into it first.
+     * @return The card, or null if there is no flood card left
+     */
+    public Card drawFloodCard() {
+        if (floodDeck.isEmpty()) {
+            if (floodDiscardPile.isEmpty()) {
+                return null;
+            }
+            floodDeck.takeAll(floodDiscardPile);
+            shuffle();
+        }
+        Card card = floodDeck.draw();
+        returnedFloodCards = Math.max(0, returnedFloodCards - 1);
+        if (card != null) {
+            floodDiscardPile.add(card);
+        }
+        return card;
+    }
+
+    /**
+     * Draws a treasure card.
+     * If the deck is empty, the discard pile is shuffled back into it first.
+     * @return The card, or null if there is no treasure card left
+     */
+    public Card drawTreasureCard() {
+        if (treasureDeck.isEmpty()) {
+            if (treasureDiscardPile.isEmpty()) {
+                return null;
+            }
+            treasureDeck.takeAll(treasureDiscardPile);
+            shuffle();
+        }
+        return treasureDeck.draw();
+    }
+
+    /**
+     * Applies a Waters Rise card: the flood discard pile is shuffled and put back on top of the
+     * flood deck, and the Waters Rise card goes to the treasure discard pile
+     */
+    public void waterRise() {
+        if (!floodDiscardPile.isEmpty()) {
+            floodDiscardPile.shuffle(new Random(seed));
+            for (Card card : floodDiscardPile) {
+                floodDeck.putTop(card);
+            }
+            returnedFloodCards += floodDiscardPile.size();
+            floodDiscardPile.clear();
+        }
+        treasureDiscardPile.add(Card.createSpecialCard(CardType.WATER_RISE));
+    }
+
+    /**
+     * Adds a card to the treasure discard pile
+     * @param card Card to add to the discard pile
+     */
+    public void discardTreasure(Card card) {
+        treasureDiscardPile.add(card);
+    }
+
+    /**
+     * Replaces the cards of every deck and pile and the seed with those of other decks
+     * @param other The decks to copy
+     */
+    public void copyFrom(CardDecks other) {
+        treasureDeck.copyFrom(other.treasureDeck);
+        floodDeck.copyFrom(other.floodDeck);
+        treasureDiscardPile.copyFrom(other.treasureDiscardPile);
+        floodDiscardPile.copyFrom(other.floodDiscardPile);
+        returnedFloodCards = other.returnedFloodCards;
+        seed = other.seed;
+    }
+
+    /**
+     * Removes every card
+     */
+    public void clear() {
+        returnedFloodCards = 0;
+        treasureDeck.clear();
+        floodDeck.clear();
+        treasureDiscardPile.clear();
+        floodDiscardPile.clear();
+    }
+
+    /**
+     * Gets the Zobrist hash of the order of both decks and both discard piles
+     * @return The hash
+     */
+    public long getHash() {
+        return Zobrist.key(Zobrist.DECK, 0, treasureDeck.getHash())
+                ^ Zobrist.key(Zobrist.DECK, 1, floodDeck.getHash())
+                ^ Zobrist.key(Zobrist.DECK, 2, treasureDiscardPile.getHash())
+                ^ Zobrist.key(Zobrist.DECK, 3, floodDiscardPile.getHash());
+    }
+
+    // Getters and setters
+    public CardPile getTreasureDeck() { return treasureDeck; }
+    public CardPile getFloodDeck() { return floodDeck; }
+    public CardPile getTreasureDiscardPile() { return treasureDiscardPile; }
+    public CardPile getFloodDiscardPile() { return floodDiscardPile; }
+    public long getSeed() { return seed; }
+    public void setSeed(long seed) { this.seed = seed; }
+}
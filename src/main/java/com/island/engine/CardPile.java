@@ -0,0 +1,167 @@
+package com.island.engine;
+
+import com.island.models.card.Card;
+import com.island.util.Zobrist;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.random.RandomGenerator;
+import java.util.stream.Stream;
+
+/**
+ * CardPile is an ordered pile of cards, used for the decks and the discard piles. Cards are drawn
+ * from the top and added at the bottom, or put back on top; a discard pile only grows at the
+ * bottom, so its last card is the one discarded last. The pile can only be changed through these
+ * methods, so it keeps the {@link Zobrist.Sequence} hash of its order up to date in O(1) per card.
+ */
+public final class CardPile implements Iterable<Card> {
+    /** The cards, top first */
+    private final ArrayDeque<Card> cards = new ArrayDeque<>();
+
+    /** Hash of the order of the cards */
+    private final Zobrist.Sequence order = new Zobrist.Sequence();
+
+    /**
+     * Draws the top card
+     * @return The card, or null if the pile is empty
+     */
+    public Card draw() {
+        Card card = cards.pollFirst();
+        if (card != null) {
+            order.removeFirst(card.getKey());
+        }
+        return card;
+    }
+
+    /**
+     * Adds a card at the bottom, or discards it on a discard pile
+     * @param card The card
+     */
+    public void add(Card card) {
+        cards.addLast(card);
+        order.addLast(card.getKey());
+    }
+
+    /**
+     * Puts a card back on top
+     * @param card The card
+     */
+    public void putTop(Card card) {
+        cards.addFirst(card);
+        order.addFirst(card.getKey());
+    }
+
+    /**
+     * Takes every card of another pile and adds them at the bottom in their order
+     * @param other The pile to empty
+     */
+    public void takeAll(CardPile other) {
+        for (Card card : other.cards) {
+            add(card);
+        }
+        other.clear();
+    }
+
+    /**
+     * Shuffles the pile
+     * @param random The random generator, consumed as by {@link Collections#shuffle(List, RandomGenerator)}
+     */
+    public void shuffle(RandomGenerator random) {
+        shuffle(random, 0, cards.size());
+    }
+
+    /**
+     * Shuffles a range of the pile, leaving the other cards in place
+     * @param random The random generator
+     * @param from Index of the first card of the range, from the top
+     * @param to Index after the last card of the range
+     */
+    public void shuffle(RandomGenerator random, int from, int to) {
+        List<Card> shuffled = new ArrayList<>(cards);
+        Collections.shuffle(shuffled.subList(from, to), random);
+        clear();
+        for (Card card : shuffled) {
+            add(card);
+        }
+    }
+
+    /**
+     * Replaces the cards with those of another pile
+     * @param other The pile to copy
+     */
+    public void copyFrom(CardPile other) {
+        clear();
+        for (Card card : other.cards) {
+            add(card);
+        }
+    }
+
+    /**
+     * Removes every card
+     */
+    public void clear() {
+        cards.clear();
+        order.clear();
+    }
+
+    /**
+     * Gets the number of cards
+     * @return The count
+     */
+    public int size() {
+        return cards.size();
+    }
+
+    /**
+     * Checks whether the pile is empty
+     * @return true if there is no card
+     */
+    public boolean isEmpty() {
+        return cards.isEmpty();
+    }
+
+    /**
+     * Checks whether the pile holds a card
+     * @param card The card
+     * @return true if the card is in the pile
+     */
+    public boolean contains(Card card) {
+        return cards.contains(card);
+    }
+
+    /**
+     * Gets the cards in order
+     * @return A copy of the cards, top first
+     */
+    public List<Card> toList() {
+        return new ArrayList<>(cards);
+    }
+
+    /**
+     * Streams the cards in order
+     * @return The cards, top first
+     */
+    public Stream<Card> stream() {
+        return cards.stream();
+    }
+
+    /**
+     * Iterates over the cards in order, without removing
+     * @return The iterator, top first
+     */
+    @Override
+    public Iterator<Card> iterator() {
+        return Collections.unmodifiableCollection(cards).iterator();
+    }
+
+    /**
+     * Gets the Zobrist hash of the order of the cards
+     * @return The hash, 0 for an empty pile
+     */
+    public long getHash() {
+        return order.get();
+    }
+}
@@ -0,0 +1,47 @@
+package com.island.engine;
+
+import com.island.models.island.Position;
+
+import java.util.List;
+
+/**
+ * A decision of a player, applied to a {@link GameEngine}.
+ * Cards are referred to by their index in the hand of the player, as in the network messages.
+ */
+public sealed interface GameCommand {
+    /**
+     * Gets the name of the player issuing the command
+     * @return The player name
+     */
+    String player();
+
+    /** Moves the current player to a tile, using an action */
+    record Move(String player, Position to) implements GameCommand {}
+
+    /** Shores up a flooded tile in reach of the current player, using an action */
+    record ShoreUp(String player, Position at) implements GameCommand {}
+
+    /** Gives a treasure card to another player, using an action */
+    record GiveCard(String player, String receiver, int cardIndex) implements GameCommand {}
+
+    /** Captures the treasure of the tile of the current player, using an action */
+    record CaptureTreasure(String player) implements GameCommand {}
+
+    /** Moves another player one or two tiles with the Navigator ability, using an action */
+    record NavigatorMove(String player, String target, Position to) implements GameCommand {}
+
+    /** Plays Sandbags on any flooded tile, at any time */
+    record PlaySandbags(String player, int cardIndex, Position at) implements GameCommand {}
+
+    /** Plays Helicopter Lift, flying players off the island or moving them to a tile, at any time */
+    record PlayHelicopter(String player, int cardIndex, List<String> passengers, Position to) implements GameCommand {}
+
+    /** Discards a card, at any time */
+    record Discard(String player, int cardIndex) implements GameCommand {}
+
+    /** Ends the actions of the current player */
+    record EndTurn(String player) implements GameCommand {}
+
+    /** Moves a player off a tile that sank */
+    record Swim(String player, Position to) implements GameCommand {}
+}
@@ -0,0 +1,917 @@
+package com.island.engine;
+
+import com.island.models.adventurers.*;
+import com.island.models.card.Card;
+import com.island.models.card.CardType;
+import com.island.models.island.Bitboard;
+import com.island.models.island.Island;
+import com.island.models.island.Position;
+import com.island.models.island.Tile;
+import com.island.models.treasure.TreasureType;
+import com.island.util.Zobrist;
+
+import java.util.*;
+import java.util.random.RandomGenerator;
+
+/**
+ * GameEngine plays a game of Forbidden Island without a user interface or network.
+ * It is set up from a seed exactly as the controllers set up a game, is driven by
+ * {@link GameCommand}s and reports what happens as {@link GameEvent}s. The end of a turn is
+ * resolved automatically once the current player has used their actions or ended their turn:
+ * treasure cards are drawn, then flood cards, then the flood cards of the round when it ends.
+ * A player holding more than {@link GameRules#HAND_LIMIT} cards, after a draw or a gift, must
+ * discard before the game goes on.
+ * <p>
+ * An engine is not thread safe; simulations run one engine per thread.
+ */
+public class GameEngine {
+    /**
+     * The stage of the game
+     */
+    public enum Phase {
+        /** The current player takes actions */
+        ACTIONS,
+        /** Players on sunk tiles must swim before the game goes on */
+        SWIM,
+        /** A player over the hand limit must discard before the game goes on */
+        DISCARD,
+        /** The players flew off the island */
+        WON,
+        /** The island took the players */
+        LOST
+    }
+
+    /** The island */
+    private final Island island;
+    /** Players in seat order */
+    private final List<Player> players = new ArrayList<>();
+    /** Treasure and flood cards */
+    private final CardDecks decks = new CardDecks();
+    /** Treasures not captured yet */
+    private final EnumSet<TreasureType> uncaptured = EnumSet.of(TreasureType.EARTH_STONE,
+            TreasureType.FIRE_CRYSTAL, TreasureType.OCEAN_CHALICE, TreasureType.WIND_STATUE);
+    /** Players who must swim, in seat order */
+    private final List<Player> swimmers = new ArrayList<>();
+    /** Listeners of the events */
+    private final List<GameEventListener> listeners = new ArrayList<>();
+    /** Names of the players in seat order */
+    private final List<String> playerNames;
+    /** Random seed of the game */
+    private final long seed;
+    /** Starting water level */
+    private final int initialWaterLevel;
+    /** Commands applied so far */
+    private final List<GameCommand> history = new ArrayList<>();
+
+    /** Water level */
+    private int waterLevel;
+    /** Seat of the current player */
+    private int current;
+    /** Seat of the player whose turn starts once the swimmers are safe */
+    private int nextSeat;
+    /** Actions left to the current player */
+    private int remainingActions;
+    /** Whether the current player drew their treasure cards */
+    private boolean treasureDrawn;
+    /** Number of the current turn, starting at 1 */
+    private int turn = 1;
+    /** Stage of the game */
+    private Phase phase = Phase.ACTIONS;
+    /** Why the game was lost, null otherwise */
+    private LossCause lossCause;
+    /** Zobrist hash of the captured treasures */
+    private long treasureHash;
+
+    /**
+     * Sets up a game
+     * @param playerNames Names of the players in seat order, at most one per role
+     * @param seed Random seed of the game, as sent in the game start message
+     * @param waterLevel Starting water level
+     * @throws IllegalArgumentException if there are no players or more players than roles
+     */
+    public GameEngine(List<String> playerNames, long seed, int waterLevel) {
+        this(playerNames, seed, waterLevel, new Island());
+    }
+
+    /**
+     * Sets up a game on a given board, so that views holding the board follow the game
+     * @param playerNames Names of the players in seat order, at most one per role
+     * @param seed Random seed of the game, as sent in the game start message
+     * @param waterLevel Starting water level
+     * @param island The board, empty; the tiles are placed from the seed
+     * @throws IllegalArgumentException if there are no players or more players than roles
+     */
+    public GameEngine(List<String> playerNames, long seed, int waterLevel, Island island) {
+        if (playerNames.isEmpty() || playerNames.size() > PlayerRole.values().length) {
+            throw new IllegalArgumentException("Invalid number of players: " + playerNames.size());
+        }
+        this.playerNames = List.copyOf(playerNames);
+        this.seed = seed;
+        this.initialWaterLevel = waterLevel;
+        this.waterLevel = waterLevel;
+        this.island = island;
+        GameRules.populateIsland(island, seed);
+        List<PlayerRole> roles = GameRules.shuffledRoles(seed);
+        for (int i = 0; i < playerNames.size(); i++) {
+            Player player = GameRules.createPlayer(roles.get(i), playerNames.get(i));
+            player.setPosition(GameRules.startPosition(island, player.getRole()));
+            players.add(player);
+        }
+        decks.setSeed(seed);
+        decks.fill(island);
+        decks.shuffle();
+        for (int i = 0; i < GameRules.INITIAL_FLOOD_CARDS; i++) {
+            Card card = decks.drawFloodCard();
+            if (card != null) {
+                island.floodTile(card.getFloodPosition());
+            }
+        }
+        decks.dealInitialCards(players);
+        remainingActions = GameRules.ACTIONS_PER_TURN;
+    }
+
+    /**
+     * Adds a listener of the events
+     * @param listener The listener
+     */
+    public void addListener(GameEventListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener of the events
+     * @param listener The listener
+     */
+    public void removeListener(GameEventListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Applies a command if it is legal in the current state
+     * @param command The command
+     * @return true if the command was applied, false if it was rejected and nothing changed
+     */
+    public boolean apply(GameCommand command) {
+        Player player = getPlayer(command.player());
+        if (player == null || isOver() || phase == Phase.DISCARD && !canDiscard(player, command)) {
+            return false;
+        }
+        boolean applied = switch (command) {
+            case GameCommand.Move move -> canAct(player) && move(player, move.to());
+            case GameCommand.ShoreUp shoreUp -> canAct(player) && shoreUp(player, shoreUp.at());
+            case GameCommand.GiveCard give -> canAct(player) && giveCard(player, getPlayer(give.receiver()), give.cardIndex());
+            case GameCommand.CaptureTreasure capture -> canAct(player) && captureTreasure(player);
+            case GameCommand.NavigatorMove move -> canAct(player) && navigatorMove(player, getPlayer(move.target()), move.to());
+            case GameCommand.PlaySandbags sandbags -> playSandbags(player, sandbags.cardIndex(), sandbags.at());
+            case GameCommand.PlayHelicopter helicopter -> playHelicopter(player, helicopter.cardIndex(), helicopter.passengers(), helicopter.to());
+            case GameCommand.Discard discard -> discard(player, discard.cardIndex());
+            case GameCommand.EndTurn endTurn -> canAct(player) && endTurn();
+            case GameCommand.Swim swim -> swim(player, swim.to());
+        };
+        if (applied) {
+            history.add(command);
+            resumeAfterDiscard();
+        }
+        return applied;
+    }
+
+    /**
+     * Copies a game state by state: the board, the players, the decks and the counters
+     * @param other The game to copy, only read
+     */
+    private GameEngine(GameEngine other) {
+        this.playerNames = other.playerNames;
+        this.seed = other.seed;
+        this.initialWaterLevel = other.initialWaterLevel;
+        this.island = other.island.copy();
+        for (Player player : other.players) {
+            Player copy = GameRules.createPlayer(player.getRole(), player.getName());
+            copy.copyStateFrom(player);
+            players.add(copy);
+        }
+        for (Player player : players) {
+            if (player instanceof Navigator navigator && navigator.getNavigatorTarget() != null) {
+                navigator.setNavigatorTarget(getPlayer(navigator.getNavigatorTarget().getName()), navigator.getNavigatorMoves());
+            }
+        }
+        for (Player swimmer : other.swimmers) {
+            swimmers.add(players.get(other.players.indexOf(swimmer)));
+        }
+        decks.copyFrom(other.decks);
+        uncaptured.retainAll(other.uncaptured);
+        history.addAll(other.history);
+        this.waterLevel = other.waterLevel;
+        this.current = other.current;
+        this.nextSeat = other.nextSeat;
+        this.remainingActions = other.remainingActions;
+        this.treasureDrawn = other.treasureDrawn;
+        this.turn = other.turn;
+        this.phase = other.phase;
+        this.lossCause = other.lossCause;
+        this.treasureHash = other.treasureHash;
+    }
+
+    /**
+     * Copies the game. The copy is in the same state and evolves on its own; this game is only
+     * read, so several threads may copy it at once. Listeners are not copied.
+     * @return The copy
+     */
+    public GameEngine copy() {
+        return new GameEngine(this);
+    }
+
+    /**
+     * Shuffles the cards the players have not seen, see {@link CardDecks#determinize}. Searches
+     * call this on their copies, so that they do not play on the card order fixed by the seed.
+     * @param random The random generator of the search
+     */
+    public void determinize(RandomGenerator random) {
+        decks.determinize(random);
+    }
+
+    /**
+     * Checks whether a player may take an action
+     * @param player The player
+     * @return true if it is their turn and they have actions left
+     */
+    private boolean canAct(Player player) {
+        return phase == Phase.ACTIONS && player == players.get(current) && remainingActions > 0;
+    }
+
+    /**
+     * Checks whether a command may be applied while a hand is over the limit
+     * @param player The player of the command
+     * @param command The command
+     * @return true if the player is over the limit and discards or plays a special card
+     */
+    private boolean canDiscard(Player player, GameCommand command) {
+        return player == overLimit() && (command instanceof GameCommand.Discard
+                || command instanceof GameCommand.PlaySandbags || command instanceof GameCommand.PlayHelicopter);
+    }
+
+    /**
+     * Moves the current player
+     * @param player The current player
+     * @param to The destination
+     * @return true if the move was legal
+     */
+    private boolean move(Player player, Position to) {
+        if (!player.getMovePositions(island.getTiles()).contains(to)) {
+            return false;
+        }
+        Position from = player.getPosition();
+        player.setPosition(to);
+        if (player instanceof Pilot pilot) {
+            pilot.setHasFlewThisTurn(true);
+        }
+        emit(new GameEvent.PlayerMoved(player.getName(), from, to));
+        spendAction();
+        return true;
+    }
+
+    /**
+     * Shores up a tile next to the current player
+     * @param player The current player
+     * @param at The flooded tile
+     * @return true if the tile could be shored up
+     */
+    private boolean shoreUp(Player player, Position at) {
+        if (!player.getShorePositions(island.getTiles()).contains(at)) {
+            return false;
+        }
+        island.getTile(at).shoreUp();
+        emit(new GameEvent.TileChanged(at, Tile.TileState.NORMAL));
+        boolean canShoreUpAgain = player instanceof Engineer engineer && engineer.isFirstShoreUp()
+                && GameRules.canShoreUp(engineer, island);
+        if (GameRules.completeShoreUp(player, canShoreUpAgain)) {
+            spendAction();
+        }
+        return true;
+    }
+
+    /**
+     * Gives a treasure card of the current player to another player
+     * @param player The current player
+     * @param receiver The receiver
+     * @param cardIndex Index of the card in the hand of the current player
+     * @return true if the card could be given
+     */
+    private boolean giveCard(Player player, Player receiver, int cardIndex) {
+        if (receiver == null || !player.getGiveCardPlayers(players).contains(receiver)
+                || !hasCard(player, cardIndex, CardType.TREASURE)) {
+            return false;
+        }
+        Card card = player.removeCard(cardIndex);
+        receiver.addCard(card);
+        emit(new GameEvent.CardGiven(player.getName(), receiver.getName(), card.getName()));
+        spendAction();
+        return true;
+    }
+
+    /**
+     * Captures the treasure of the tile of the current player, discarding the matching cards
+     * @param player The current player
+     * @return true if the treasure could be captured
+     */
+    private boolean captureTreasure(Player player) {
+        if (!GameRules.canCaptureTreasure(player, island)) {
+            return false;
+        }
+        TreasureType treasure = island.getTile(player.getPosition()).getTreasureType();
+        if (!uncaptured.remove(treasure)) {
+            return false;
+        }
+        treasureHash ^= GameRules.treasureKey(treasure);
+        for (int i = player.getCards().size() - 1; i >= 0; i--) {
+            Card card = player.getCards().get(i);
+            if (card.getType() == CardType.TREASURE && card.getTreasureType() == treasure) {
+                decks.discardTreasure(player.removeCard(i));
+            }
+        }
+        player.addCapturedTreasure(treasure);
+        emit(new GameEvent.TreasureCaptured(player.getName(), treasure));
+        spendAction();
+        return true;
+    }
+
+    /**
+     * Moves another player with the Navigator ability
+     * @param player The current player, who must be the Navigator
+     * @param target The moved player
+     * @param to The destination
+     * @return true if the move was legal
+     */
+    private boolean navigatorMove(Player player, Player target, Position to) {
+        if (!(player instanceof Navigator) || target == null || target == player) {
+            return false;
+        }
+        Position from = target.getPosition();
+        int moves = Math.abs(to.getX() - from.getX()) + Math.abs(to.getY() - from.getY());
+        if (!GameRules.isValidNavigatorMove(from, to, moves, island)) {
+            return false;
+        }
+        target.setPosition(to);
+        emit(new GameEvent.PlayerMoved(target.getName(), from, to));
+        spendAction();
+        return true;
+    }
+
+    /**
+     * Plays Sandbags on a flooded tile
+     * @param player The player holding the card
+     * @param cardIndex Index of the card
+     * @param at The flooded tile
+     * @return true if the card could be played
+     */
+    private boolean playSandbags(Player player, int cardIndex, Position at) {
+        Tile tile = island.getTile(at);
+        if (!hasCard(player, cardIndex, CardType.SANDBAGS) || tile == null || !tile.isFlooded()) {
+            return false;
+        }
+        tile.shoreUp();
+        emit(new GameEvent.TileChanged(at, Tile.TileState.NORMAL));
+        discardCard(player, cardIndex);
+        return true;
+    }
+
+    /**
+     * Plays Helicopter Lift.
+     * With the four treasures captured and everyone on Fool's Landing, the players win; otherwise
+     * the passengers, who must stand on the tile of the card holder, fly to a tile that has not sunk.
+     * @param player The player holding the card
+     * @param cardIndex Index of the card
+     * @param passengers Names of the players to fly
+     * @param to The destination
+     * @return true if the card could be played
+     */
+    private boolean playHelicopter(Player player, int cardIndex, List<String> passengers, Position to) {
+        if (!hasCard(player, cardIndex, CardType.HELICOPTER)) {
+            return false;
+        }
+        if (GameRules.isWon(island, players, uncaptured.isEmpty())) {
+            discardCard(player, cardIndex);
+            phase = Phase.WON;
+            emit(new GameEvent.GameWon(turn));
+            return true;
+        }
+        Tile target = island.getTile(to);
+        if (target == null || target.isSunk() || passengers.isEmpty()) {
+            return false;
+        }
+        List<Player> flown = new ArrayList<>(passengers.size());
+        for (String name : passengers) {
+            Player passenger = getPlayer(name);
+            if (passenger == null || flown.contains(passenger) || !passenger.getPosition().equals(player.getPosition())) {
+                return false;
+            }
+            flown.add(passenger);
+        }
+        for (Player passenger : flown) {
+            Position from = passenger.getPosition();
+            passenger.setPosition(to);
+            emit(new GameEvent.PlayerMoved(passenger.getName(), from, to));
+        }
+        discardCard(player, cardIndex);
+        if (phase == Phase.SWIM) {
+            swimmers.removeIf(swimmer -> !island.getTile(swimmer.getPosition()).isSunk());
+            resumeAfterSwim();
+        }
+        return true;
+    }
+
+    /**
+     * Discards a card of a hand over the limit
+     * @param player The player holding the card
+     * @param cardIndex Index of the card
+     * @return true if the player must discard and holds such a card
+     */
+    private boolean discard(Player player, int cardIndex) {
+        if (phase != Phase.DISCARD || cardIndex < 0 || cardIndex >= player.getCards().size()) {
+            return false;
+        }
+        discardCard(player, cardIndex);
+        return true;
+    }
+
+    /**
+     * Moves a player off a sunk tile
+     * @param player The player
+     * @param to The destination
+     * @return true if the player had to swim and the destination is among the allowed ones
+     */
+    private boolean swim(Player player, Position to) {
+        if (phase != Phase.SWIM || !swimmers.contains(player)
+                || !GameRules.rescuePositions(player, island).contains(to)) {
+            return false;
+        }
+        Position from = player.getPosition();
+        player.setPosition(to);
+        swimmers.remove(player);
+        emit(new GameEvent.PlayerMoved(player.getName(), from, to));
+        resumeAfterSwim();
+        return true;
+    }
+
+    /**
+     * Checks whether a player holds a card of a type at an index
+     * @param player The player
+     * @param cardIndex Index of the card
+     * @param type The expected type
+     * @return true if the card exists and has the type
+     */
+    private static boolean hasCard(Player player, int cardIndex, CardType type) {
+        return cardIndex >= 0 && cardIndex < player.getCards().size()
+                && player.getCards().get(cardIndex).getType() == type;
+    }
+
+    /**
+     * Moves a card from a hand to the treasure discard pile
+     * @param player The player holding the card
+     * @param cardIndex Index of the card
+     */
+    private void discardCard(Player player, int cardIndex) {
+        Card card = player.removeCard(cardIndex);
+        decks.discardTreasure(card);
+        emit(new GameEvent.CardDiscarded(player.getName(), card.getName()));
+    }
+
+    /**
+     * Uses an action of the current player, ending the turn after the last one unless a gift
+     * put a hand over the limit
+     */
+    private void spendAction() {
+        remainingActions--;
+        if (overLimit() != null) {
+            phase = Phase.DISCARD;
+        } else if (remainingActions == 0) {
+            endTurn();
+        }
+    }
+
+    /**
+     * Resolves the end of the turn: treasure cards, then the rest of the turn once the current
+     * player is within the hand limit
+     * @return Always true
+     */
+    private boolean endTurn() {
+        remainingActions = 0;
+        Player player = players.get(current);
+        for (int i = 0; i < GameRules.TREASURE_CARDS_PER_TURN && !isOver(); i++) {
+            drawTreasureCard(player);
+        }
+        treasureDrawn = true;
+        if (!isOver() && overLimit() != null) {
+            phase = Phase.DISCARD;
+        } else {
+            finishTurn();
+        }
+        return true;
+    }
+
+    /**
+     * Resolves the end of the turn after the treasure cards: flood cards, and the flood cards of
+     * the round when the last seat played, then starts the next turn unless someone must swim
+     */
+    private void finishTurn() {
+        if (!isOver()) {
+            drawFloodCards(GameRules.FLOOD_CARDS_PER_TURN);
+        }
+        nextSeat = (current + 1) % players.size();
+        if (nextSeat == 0 && !isOver()) {
+            drawFloodCards(GameRules.floodCardsToDraw(waterLevel));
+        }
+        if (!isOver() && checkSwimmers()) {
+            startTurn(nextSeat);
+        }
+    }
+
+    /**
+     * Goes on with the turn once every hand is within the limit: back to the actions, or on
+     * with the end of the turn that was waiting for the discard
+     */
+    private void resumeAfterDiscard() {
+        if (phase != Phase.DISCARD || overLimit() != null) {
+            return;
+        }
+        phase = Phase.ACTIONS;
+        if (treasureDrawn) {
+            finishTurn();
+        } else if (remainingActions == 0) {
+            endTurn();
+        }
+    }
+
+    /**
+     * Finds a player holding more cards than the hand limit
+     * @return The first such player in seat order, or null if every hand is within the limit
+     */
+    private Player overLimit() {
+        for (int i = 0; i < players.size(); i++) {
+            if (players.get(i).getCards().size() > GameRules.HAND_LIMIT) {
+                return players.get(i);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Draws a treasure card for a player, raising the water on a Waters Rise card
+     * @param player The player
+     */
+    private void drawTreasureCard(Player player) {
+        Card card = decks.drawTreasureCard();
+        if (card == null) {
+            return;
+        }
+        if (card.getType() == CardType.WATER_RISE) {
+            waterLevel++;
+            decks.waterRise();
+            emit(new GameEvent.WaterRose(waterLevel));
+            if (waterLevel >= GameRules.MAX_WATER_LEVEL) {
+                lose(LossCause.WATER_LEVEL);
+            }
+        } else {
+            player.addCard(card);
+            emit(new GameEvent.CardDrawn(player.getName(), card.getName()));
+        }
+    }
+
+    /**
+     * Draws flood cards, then checks the treasure tiles and Fool's Landing
+     * @param count Number of cards
+     */
+    private void drawFloodCards(int count) {
+        for (int i = 0; i < count; i++) {
+            Card card = decks.drawFloodCard();
+            if (card == null) {
+                break;
+            }
+            Tile tile = island.getTile(card.getFloodPosition());
+            tile.flood();
+            emit(new GameEvent.TileChanged(tile.getPosition(), tile.getState()));
+        }
+        LossCause cause = GameRules.checkIsland(island, uncaptured);
+        if (cause != null) {
+            lose(cause);
+        }
+    }
+
+    /**
+     * Finds the players on sunk tiles
+     * @return true if nobody must swim, false if the game waits for swimmers or is lost
+     */
+    private boolean checkSwimmers() {
+        for (Player player : players) {
+            if (island.getTile(player.getPosition()).isSunk()) {
+                List<Position> positions = GameRules.rescuePositions(player, island);
+                if (positions.isEmpty()) {
+                    swimmers.clear();
+                    lose(LossCause.PLAYER_DROWNED);
+                    return false;
+                }
+                swimmers.add(player);
+                emit(new GameEvent.SwimRequired(player.getName(), positions));
+            }
+        }
+        if (swimmers.isEmpty()) {
+            return true;
+        }
+        phase = Phase.SWIM;
+        return false;
+    }
+
+    /**
+     * Starts the next turn once every swimmer is safe
+     */
+    private void resumeAfterSwim() {
+        if (swimmers.isEmpty()) {
+            startTurn(nextSeat);
+        }
+    }
+
+    /**
+     * Starts the turn of a seat
+     * @param seat The seat
+     */
+    private void startTurn(int seat) {
+        current = seat;
+        turn++;
+        remainingActions = GameRules.ACTIONS_PER_TURN;
+        treasureDrawn = false;
+        phase = Phase.ACTIONS;
+        Player player = players.get(seat);
+        player.resetState();
+        emit(new GameEvent.TurnStarted(player.getName(), turn));
+    }
+
+    /**
+     * Ends the game with a loss
+     * @param cause The cause
+     */
+    private void lose(LossCause cause) {
+        phase = Phase.LOST;
+        lossCause = cause;
+        emit(new GameEvent.GameLost(cause, turn));
+    }
+
+    /**
+     * Sends an event to the listeners
+     * @param event The event
+     */
+    private void emit(GameEvent event) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onEvent(event);
+        }
+    }
+
+    /**
+     * Lists the commands that can be applied now: the actions of the current player, or the swims
+     * of the players who must swim, together with the special cards of every player. While a hand
+     * is over the limit only its discards are listed, though its special cards are accepted too.
+     * @return The legal commands
+     */
+    public List<GameCommand> legalCommands() {
+        ActionBuffer buffer = new ActionBuffer();
+        legalActions(buffer);
+        List<GameCommand> commands = new ArrayList<>(buffer.size());
+        for (int i = 0; i < buffer.size(); i++) {
+            commands.add(toCommand(buffer.get(i)));
+        }
+        return commands;
+    }
+
+    /**
+     * Lists the same actions as {@link #legalCommands()}, packed as {@link Action}s into a buffer
+     * that is emptied first. Nothing is allocated once the buffer is large enough, so searches
+     * can call this at every node.
+     * @param buffer The buffer to fill
+     * @return The number of actions
+     */
+    public int legalActions(ActionBuffer buffer) {
+        buffer.clear();
+        if (isOver()) {
+            return 0;
+        }
+        if (phase == Phase.DISCARD) {
+            Player player = overLimit();
+            int seat = players.indexOf(player);
+            for (int i = 0; i < player.getCards().size(); i++) {
+                buffer.add(Action.of(Action.DISCARD, seat, 0, 0, i, 0));
+            }
+            return buffer.size();
+        }
+        if (phase == Phase.SWIM) {
+            for (int i = 0; i < swimmers.size(); i++) {
+                Player swimmer = swimmers.get(i);
+                addCells(buffer, Action.SWIM, players.indexOf(swimmer), GameRules.rescueMask(swimmer, island));
+            }
+        } else {
+            addActions(buffer);
+        }
+        for (int seat = 0; seat < players.size(); seat++) {
+            addSpecialCards(buffer, seat);
+        }
+        return buffer.size();
+    }
+
+    /**
+     * Adds an action for every cell of a mask
+     * @param buffer The buffer
+     * @param kind The kind of action
+     * @param seat Seat of the acting player
+     * @param cells The cells
+     */
+    private static void addCells(ActionBuffer buffer, int kind, int seat, long cells) {
+        for (; cells != 0; cells &= cells - 1) {
+            buffer.add(Action.of(kind, seat, Long.numberOfTrailingZeros(cells), 0, 0, 0));
+        }
+    }
+
+    /**
+     * Lists the actions of the current player
+     * @param buffer The buffer
+     */
+    private void addActions(ActionBuffer buffer) {
+        Player player = players.get(current);
+        addCells(buffer, Action.MOVE, current, player.getMoveMask(island));
+        addCells(buffer, Action.SHORE_UP, current, player.getShoreMask(island));
+        List<Card> cards = player.getCards();
+        for (int seat = 0; seat < players.size(); seat++) {
+            if (!player.canGiveCardTo(players.get(seat))) continue;
+            for (int i = 0; i < cards.size(); i++) {
+                if (cards.get(i).getType() == CardType.TREASURE) {
+                    buffer.add(Action.of(Action.GIVE_CARD, current, 0, seat, i, 0));
+                }
+            }
+        }
+        if (GameRules.canCaptureTreasure(player, island)
+                && uncaptured.contains(island.getTile(player.getPosition()).getTreasureType())) {
+            buffer.add(Action.of(Action.CAPTURE_TREASURE, current, 0, 0, 0, 0));
+        }
+        if (player instanceof Navigator) {
+            for (int seat = 0; seat < players.size(); seat++) {
+                if (seat == current) continue;
+                // Tiles one or two steps away from the target
+                long near = Bitboard.around(players.get(seat).getPosition(), false);
+                long reach = (near | Bitboard.spread(near)) & ~Bitboard.bit(players.get(seat).getPosition());
+                for (long cells = reach & island.getStandableMask(); cells != 0; cells &= cells - 1) {
+                    buffer.add(Action.of(Action.NAVIGATOR_MOVE, current, Long.numberOfTrailingZeros(cells), seat, 0, 0));
+                }
+            }
+        }
+        buffer.add(Action.of(Action.END_TURN, current, 0, 0, 0, 0));
+    }
+
+    /**
+     * Lists the special cards a player can play.
+     * Helicopter Lift is listed once for the win when it is possible, otherwise for every other
+     * tile, flying either the holder alone or everyone on the holder's tile.
+     * @param buffer The buffer
+     * @param seat Seat of the player
+     */
+    private void addSpecialCards(ActionBuffer buffer, int seat) {
+        Player player = players.get(seat);
+        List<Card> cards = player.getCards();
+        for (int i = 0; i < cards.size(); i++) {
+            CardType type = cards.get(i).getType();
+            if (type == CardType.SANDBAGS) {
+                for (long cells = island.getFloodedMask(); cells != 0; cells &= cells - 1) {
+                    buffer.add(Action.of(Action.PLAY_SANDBAGS, seat, Long.numberOfTrailingZeros(cells), 0, i, 0));
+                }
+            } else if (type == CardType.HELICOPTER) {
+                if (GameRules.isWon(island, players, uncaptured.isEmpty())) {
+                    buffer.add(Action.of(Action.PLAY_HELICOPTER, seat, Island.cellOf(player.getPosition()), 0, i, Action.FLY_OFF));
+                    continue;
+                }
+                int group = 0;
+                for (int other = 0; other < players.size(); other++) {
+                    if (players.get(other).getPosition().equals(player.getPosition())) {
+                        group++;
+                    }
+                }
+                long cells = island.getStandableMask() & ~Bitboard.bit(player.getPosition());
+                for (; cells != 0; cells &= cells - 1) {
+                    int cell = Long.numberOfTrailingZeros(cells);
+                    buffer.add(Action.of(Action.PLAY_HELICOPTER, seat, cell, 0, i, Action.FLY_ALONE));
+                    if (group > 1) {
+                        buffer.add(Action.of(Action.PLAY_HELICOPTER, seat, cell, 0, i, Action.FLY_GROUP));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Unpacks an action listed by {@link #legalActions(ActionBuffer)} into a command
+     * @param action The packed action
+     * @return The command
+     */
+    public GameCommand toCommand(int action) {
+        Player player = players.get(Action.seat(action));
+        String name = player.getName();
+        Position position = Position.of(Island.xOf(Action.cell(action)), Island.yOf(Action.cell(action)));
+        int card = Action.card(action);
+        return switch (Action.kind(action)) {
+            case Action.MOVE -> new GameCommand.Move(name, position);
+            case Action.SHORE_UP -> new GameCommand.ShoreUp(name, position);
+            case Action.GIVE_CARD -> new GameCommand.GiveCard(name, players.get(Action.other(action)).getName(), card);
+            case Action.CAPTURE_TREASURE -> new GameCommand.CaptureTreasure(name);
+            case Action.NAVIGATOR_MOVE -> new GameCommand.NavigatorMove(name, players.get(Action.other(action)).getName(), position);
+            case Action.PLAY_SANDBAGS -> new GameCommand.PlaySandbags(name, card, position);
+            case Action.PLAY_HELICOPTER -> new GameCommand.PlayHelicopter(name, card, passengers(player, Action.flight(action)), position);
+            case Action.DISCARD -> new GameCommand.Discard(name, card);
+            case Action.END_TURN -> new GameCommand.EndTurn(name);
+            case Action.SWIM -> new GameCommand.Swim(name, position);
+            default -> throw new IllegalArgumentException("Unknown action: " + action);
+        };
+    }
+
+    /**
+     * Gets the names of the players a Helicopter Lift flies
+     * @param player The card holder
+     * @param flight {@link Action#FLY_OFF}, {@link Action#FLY_ALONE} or {@link Action#FLY_GROUP}
+     * @return The passengers
+     */
+    private List<String> passengers(Player player, int flight) {
+        if (flight == Action.FLY_OFF) {
+            return List.of();
+        } else if (flight == Action.FLY_ALONE) {
+            return List.of(player.getName());
+        }
+        List<String> group = new ArrayList<>();
+        for (Player other : players) {
+            if (other.getPosition().equals(player.getPosition())) {
+                group.add(other.getName());
+            }
+        }
+        return group;
+    }
+
+    /**
+     * Applies an action listed by {@link #legalActions(ActionBuffer)}
+     * @param action The packed action
+     * @return true if the action was applied
+     */
+    public boolean apply(int action) {
+        return apply(toCommand(action));
+    }
+
+    /**
+     * Gets a player by name
+     * @param name The player name
+     * @return The player, or null if nobody has this name
+     */
+    public Player getPlayer(String name) {
+        for (Player player : players) {
+            if (player.getName().equals(name)) {
+                return player;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the Zobrist hash of the state of the game: the tiles, the positions, hands and turn
+     * flags of the players, the order of the decks and discard piles, the water level, the
+     * captured treasures and where the turn stands. The parts are kept up to date as the game
+     * changes, so this costs a few XORs; games in the same state hash alike whatever moves led
+     * there, so searches can share results between them.
+     * @return The hash
+     */
+    public long hash() {
+        long turnState = current | (long) phase.ordinal() << 8 | (phase == Phase.SWIM ? (long) nextSeat << 16 : 0)
+                | (treasureDrawn ? 1L << 24 : 0);
+        long hash = island.getHash() ^ decks.getHash() ^ treasureHash
+                ^ GameRules.waterKey(waterLevel)
+                ^ Zobrist.key(Zobrist.TURN, turnState, remainingActions);
+        for (Player player : players) {
+            hash ^= player.getHash();
+        }
+        return hash;
+    }
+
+    /**
+     * Checks whether the game has ended
+     * @return true if it was won or lost
+     */
+    public boolean isOver() {
+        return phase == Phase.WON || phase == Phase.LOST;
+    }
+
+    // Getters
+    public Island getIsland() { return island; }
+    public List<Player> getPlayers() { return Collections.unmodifiableList(players); }
+    public Player getCurrentPlayer() { return players.get(current); }
+    public CardDecks getDecks() { return decks; }
+    public int getWaterLevel() { return waterLevel; }
+    public int getRemainingActions() { return remainingActions; }
+    public int getTurn() { return turn; }
+    public Phase getPhase() { return phase; }
+    public LossCause getLossCause() { return lossCause; }
+    public Set<TreasureType> getUncapturedTreasures() { return Collections.unmodifiableSet(uncaptured); }
+    public List<Player> getSwimmers() { return Collections.unmodifiableList(swimmers); }
+    public List<String> getPlayerNames() { return playerNames; }
+    public long getSeed() { return seed; }
+    public int getInitialWaterLevel() { return initialWaterLevel; }
+    public List<GameCommand> getHistory() { return Collections.unmodifiableList(history); }
+}
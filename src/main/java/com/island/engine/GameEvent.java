@@ -0,0 +1,45 @@
+package com.island.engine;
+
+import com.island.models.island.Position;
+import com.island.models.island.Tile;
+import com.island.models.treasure.TreasureType;
+
+import java.util.List;
+
+/**
+ * Something that happened in a {@link GameEngine}, reported to its listeners.
+ */
+public sealed interface GameEvent {
+    /** A player starts their turn */
+    record TurnStarted(String player, int turn) implements GameEvent {}
+
+    /** A player was moved, by themselves or by another player */
+    record PlayerMoved(String player, Position from, Position to) implements GameEvent {}
+
+    /** A tile was flooded, sank or was shored up */
+    record TileChanged(Position position, Tile.TileState state) implements GameEvent {}
+
+    /** A player drew a treasure or special card */
+    record CardDrawn(String player, String card) implements GameEvent {}
+
+    /** A card left the hand of a player for the discard pile */
+    record CardDiscarded(String player, String card) implements GameEvent {}
+
+    /** A card was given to another player */
+    record CardGiven(String player, String receiver, String card) implements GameEvent {}
+
+    /** A Waters Rise card was drawn */
+    record WaterRose(int waterLevel) implements GameEvent {}
+
+    /** A treasure was captured */
+    record TreasureCaptured(String player, TreasureType treasure) implements GameEvent {}
+
+    /** The tile of a player sank and they must swim to one of the given positions */
+    record SwimRequired(String player, List<Position> positions) implements GameEvent {}
+
+    /** The players flew off the island with the four treasures */
+    record GameWon(int turn) implements GameEvent {}
+
+    /** The game is lost */
+    record GameLost(LossCause cause, int turn) implements GameEvent {}
+}
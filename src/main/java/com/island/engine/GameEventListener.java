@@ -0,0 +1,13 @@
+package com.island.engine;
+
+/**
+ * Receives the events of a {@link GameEngine}.
+ */
+@FunctionalInterface
+public interface GameEventListener {
+    /**
+     * Called on the thread applying the command, after the state changed
+     * @param event The event
+     */
+    void onEvent(GameEvent event);
+}
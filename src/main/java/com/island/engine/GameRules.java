@@ -0,0 +1,382 @@
+package com.island.engine;
+
+import com.island.models.adventurers.*;
+import com.island.models.card.Card;
+import com.island.models.card.CardType;
+import com.island.models.island.Bitboard;
+import com.island.models.island.Island;
+import com.island.models.island.Position;
+import com.island.models.island.Tile;
+import com.island.models.treasure.TreasureType;
+import com.island.util.Zobrist;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static com.island.util.Constant.tilesNames;
+
+/**
+ * GameRules holds the rules of Forbidden Island as plain functions over the models.
+ * They are shared by the controllers, which apply them for the user interface and the network,
+ * and by {@link GameEngine}, which plays whole games without any of them. Nothing here depends on
+ * JavaFX, a room or a controller.
+ */
+public final class GameRules {
+    /** Water level at which the island sinks */
+    public static final int MAX_WATER_LEVEL = 10;
+
+    /** Most players in a game */
+    public static final int MAX_PLAYERS = 4;
+
+    /** Most cards in a hand once the treasure cards are drawn */
+    public static final int HAND_LIMIT = 5;
+
+    /** Actions of a player per turn */
+    public static final int ACTIONS_PER_TURN = 3;
+
+    /** Treasure cards drawn at the end of a turn */
+    public static final int TREASURE_CARDS_PER_TURN = 2;
+
+    /** Flood cards drawn by a player at the end of a turn */
+    public static final int FLOOD_CARDS_PER_TURN = 2;
+
+    /** Flood cards drawn when the game starts */
+    public static final int INITIAL_FLOOD_CARDS = 6;
+
+    /** Treasure cards dealt to each player when the game starts */
+    public static final int INITIAL_HAND_SIZE = 2;
+
+    /** Matching treasure cards needed to capture a treasure */
+    public static final int CARDS_TO_CAPTURE = 4;
+
+    /** Name of the Fool's Landing tile, where the game is won */
+    public static final String FOOLS_LANDING = "Blue";
+
+    private GameRules() {
+    }
+
+    /**
+     * Places the tiles on an empty island in the diamond layout, in an order given by the seed
+     * @param island The island to fill
+     * @param seed Random seed for tile placement
+     */
+    public static void populateIsland(Island island, long seed) {
+        List<String> tilesList = new ArrayList<>(Arrays.asList(tilesNames));
+        Collections.shuffle(tilesList, new Random(seed));
+        int i = 2, j = 0;
+        for (String tileName : tilesList) {
+            island.placeTile(new Tile(tileName, Position.of(i, j), treasureOf(tileName)));
+            i++;
+            if (j < 2 && i == 4 + j) {
+                i = 5 - i;
+                j++;
+            } else if (j == 2 && i == 6) {
+                i = 0;
+                j++;
+            } else if (j > 2 && i == 9 - j) {
+                i = 7 - i;
+                j++;
+            }
+        }
+    }
+
+    /**
+     * Gets the treasure that can be captured on a tile
+     * @param tileName The tile name
+     * @return The treasure type, or null for a tile without treasure
+     */
+    public static TreasureType treasureOf(String tileName) {
+        if (tileName.contains("Earth")) {
+            return TreasureType.EARTH_STONE;
+        } else if (tileName.contains("Fire")) {
+            return TreasureType.FIRE_CRYSTAL;
+        } else if (tileName.contains("Ocean")) {
+            return TreasureType.OCEAN_CHALICE;
+        } else if (tileName.contains("Wind")) {
+            return TreasureType.WIND_STATUE;
+        }
+        return null;
+    }
+
+    /**
+     * Gets the roles in the order they are given to the seats
+     * @param seed Random seed for role assignment
+     * @return Every role, shuffled
+     */
+    public static List<PlayerRole> shuffledRoles(long seed) {
+        List<PlayerRole> roles = new ArrayList<>(Arrays.asList(PlayerRole.values()));
+        Collections.shuffle(roles, new Random(seed));
+        return roles;
+    }
+
+    /**
+     * Creates the adventurer of a role
+     * @param role The role
+     * @param name The player name
+     * @return The player with the abilities of the role
+     */
+    public static Player createPlayer(PlayerRole role, String name) {
+        return switch (role) {
+            case DIVER -> new Diver(name);
+            case ENGINEER -> new Engineer(name);
+            case EXPLORER -> new Explorer(name);
+            case MESSENGER -> new Messenger(name);
+            case NAVIGATOR -> new Navigator(name);
+            case PILOT -> new Pilot(name);
+        };
+    }
+
+    /**
+     * Gets the tile a role starts on, the one of its color
+     * @param island The island
+     * @param role The role
+     * @return The starting position, or null if the tile is missing
+     */
+    public static Position startPosition(Island island, PlayerRole role) {
+        return island.findTile(PlayerRole.getColor(role));
+    }
+
+    /**
+     * Deals the starting hands, putting the Waters Rise cards drawn back at the bottom of the deck
+     * @param players The players
+     * @param draw Draws the top card of the shuffled treasure deck
+     * @param putBack Puts a card back at the bottom of the deck
+     */
+    public static void dealInitialCards(List<Player> players, Supplier<Card> draw, Consumer<Card> putBack) {
+        for (Player player : players) {
+            while (player.getCards().size() < INITIAL_HAND_SIZE) {
+                Card card = draw.get();
+                if (card != null && card.getType() != CardType.WATER_RISE) {
+                    player.addCard(card);
+                } else {
+                    putBack.accept(card);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the Zobrist key of a water level
+     * @param waterLevel The water level
+     * @return The key
+     */
+    public static long waterKey(int waterLevel) {
+        return Zobrist.key(Zobrist.WATER, waterLevel, 0);
+    }
+
+    /**
+     * Gets the Zobrist key of a captured treasure
+     * @param treasure The treasure
+     * @return The key
+     */
+    public static long treasureKey(TreasureType treasure) {
+        return Zobrist.key(Zobrist.TREASURE, treasure.ordinal(), 0);
+    }
+
+    /**
+     * Gets the number of flood cards drawn at the end of a round
+     * @param waterLevel The water level
+     * @return The number of cards
+     */
+    public static int floodCardsToDraw(int waterLevel) {
+        if (waterLevel <= 2) return 2;
+        if (waterLevel <= 5) return 3;
+        if (waterLevel <= 7) return 4;
+        return 5;
+    }
+
+    /**
+     * Checks whether a player can shore up a tile
+     * @param player The player
+     * @param island The island
+     * @return true if a flooded tile is in reach
+     */
+    public static boolean canShoreUp(Player player, Island island) {
+        return !player.getShorePositions(island.getTiles()).isEmpty();
+    }
+
+    /**
+     * Records a shore up and tells whether it used an action.
+     * An Engineer shores up two tiles for one action: the first one is free while a second is in reach.
+     * @param player The player who shored up
+     * @param canShoreUpAgain Whether the player can still shore up a tile
+     * @return true if the shore up used an action
+     */
+    public static boolean completeShoreUp(Player player, boolean canShoreUpAgain) {
+        if (player instanceof Engineer engineer) {
+            if (engineer.isFirstShoreUp() && canShoreUpAgain) {
+                engineer.setFirstShoreUp(false);
+                return false;
+            }
+            engineer.setFirstShoreUp(true);
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a player can give a card.
+     * Players must share a tile with the receiver unless they are the Messenger.
+     * @param player The player giving a card
+     * @param players All players
+     * @return true if the player holds a card and has someone to give it to
+     */
+    public static boolean canGiveCard(Player player, List<Player> players) {
+        if (player.getCards().isEmpty()) return false;
+        if (player.getRole() == PlayerRole.MESSENGER) return true;
+        Position playerPos = player.getPosition();
+        if (playerPos == null) return false;
+        for (Player other : players) {
+            if (other.equals(player)) continue;
+            if (other.getPosition().equals(playerPos)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether a player can capture the treasure of the tile they stand on
+     * @param player The player
+     * @param island The island
+     * @return true if the player is on a treasure tile and holds enough matching cards
+     */
+    public static boolean canCaptureTreasure(Player player, Island island) {
+        Position playerPos = player.getPosition();
+        if (playerPos == null) return false;
+        Tile currentTile = island.getTile(playerPos);
+        if (currentTile == null || currentTile.getTreasureType() == null) return false;
+        int treasureCardCount = 0;
+        for (Card card : player.getCards()) {
+            if (card.getType() == CardType.TREASURE && card.getTreasureType() == currentTile.getTreasureType()) {
+                treasureCardCount++;
+            }
+        }
+        return treasureCardCount >= CARDS_TO_CAPTURE;
+    }
+
+    /**
+     * Checks a move of another player by the Navigator
+     * @param from The position of the moved player
+     * @param to The destination
+     * @param moves The number of steps chosen, 1 or 2
+     * @param island The island
+     * @return true if the destination is that many steps away and not sunk
+     */
+    public static boolean isValidNavigatorMove(Position from, Position to, int moves, Island island) {
+        int distance = Math.abs(to.getX() - from.getX()) + Math.abs(to.getY() - from.getY());
+        if ((moves != 1 && moves != 2) || distance != moves) {
+            return false;
+        }
+        Tile tile = island.getTile(to);
+        return tile != null && !tile.isSunk();
+    }
+
+    /**
+     * Checks whether a treasure can no longer be captured, both of its tiles having sunk
+     * @param island The island
+     * @param treasure The treasure
+     * @return true if the treasure is lost
+     */
+    public static boolean isTreasureLost(Island island, TreasureType treasure) {
+        if (treasure == null) {
+            return false;
+        }
+        int count = 2;
+        for (long cells = island.getSunkMask(); cells != 0; cells &= cells - 1) {
+            if (island.getTile(Long.numberOfTrailingZeros(cells)).getTreasureType() == treasure) {
+                count--;
+            }
+        }
+        return count <= 0;
+    }
+
+    /**
+     * Checks whether Fool's Landing has sunk
+     * @param island The island
+     * @return true if nobody can be flown off the island anymore
+     */
+    public static boolean isFoolsLandingSunk(Island island) {
+        for (long cells = island.getSunkMask(); cells != 0; cells &= cells - 1) {
+            if (island.getTile(Long.numberOfTrailingZeros(cells)).getName().equals(FOOLS_LANDING)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks the island after flood cards were drawn
+     * @param island The island
+     * @param uncaptured The treasures not captured yet
+     * @return The cause of the loss, or null if the game goes on
+     */
+    public static LossCause checkIsland(Island island, Collection<TreasureType> uncaptured) {
+        for (TreasureType treasure : uncaptured) {
+            if (isTreasureLost(island, treasure)) {
+                return LossCause.TREASURE_SUNK;
+            }
+        }
+        return isFoolsLandingSunk(island) ? LossCause.FOOLS_LANDING_SUNK : null;
+    }
+
+    /**
+     * Checks whether the players win by flying off the island
+     * @param island The island
+     * @param players All players
+     * @param allTreasuresCaptured Whether the four treasures are captured
+     * @return true if every treasure is captured and everyone stands on Fool's Landing
+     */
+    public static boolean isWon(Island island, List<Player> players, boolean allTreasuresCaptured) {
+        if (!allTreasuresCaptured) {
+            return false;
+        }
+        for (Player player : players) {
+            Tile tile = island.getTile(player.getPosition());
+            if (tile == null || !tile.getName().equals(FOOLS_LANDING)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the tiles a player may swim to when their tile sinks.
+     * A Diver must swim to one of the nearest tiles; the others move as usual.
+     * @param player The player on a sunk tile
+     * @param island The island
+     * @return The positions, empty if the player drowns
+     */
+    public static List<Position> rescuePositions(Player player, Island island) {
+        return Bitboard.toPositions(rescueMask(player, island));
+    }
+
+    /**
+     * Gets the cells a player on a sunk tile can swim to, as {@link #rescuePositions}
+     * @param player The player
+     * @param island The island
+     * @return The {@link Bitboard} mask of the cells
+     */
+    public static long rescueMask(Player player, Island island) {
+        long moves = player.getMoveMask(island);
+        if (!(player instanceof Diver)) {
+            return moves;
+        }
+        long nearest = 0;
+        int minDistance = Integer.MAX_VALUE;
+        for (long cells = moves; cells != 0; cells &= cells - 1) {
+            int cell = Long.numberOfTrailingZeros(cells);
+            int dx = Island.xOf(cell) - player.getPosition().getX();
+            int dy = Island.yOf(cell) - player.getPosition().getY();
+            int distance = dx * dx + dy * dy;
+            if (distance < minDistance) {
+                minDistance = distance;
+                nearest = 0;
+            }
+            if (distance == minDistance) {
+                nearest |= 1L << cell;
+            }
+        }
+        return nearest;
+    }
+}
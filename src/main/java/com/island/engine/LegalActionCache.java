@@ -0,0 +1,205 @@
+package com.island.engine;
+
+import com.island.models.adventurers.Player;
+import com.island.models.island.Island;
+import com.island.models.island.Position;
+
+import java.util.*;
+
+/**
+ * LegalActionCache keeps the move, shore-up and give-card options of each player until the game
+ * changes, so views can ask for them on every refresh.
+ * <p>
+ * An entry is valid while the island and every player have the version they had when it was
+ * filled: {@link Island#getVersion()} grows when a tile changes and {@link Player#getVersion()}
+ * when a player moves, gets or loses a card or starts a turn. Checking that is one comparison per
+ * player, so repeated queries between two changes cost O(1). Options are computed on first use
+ * only, and the returned lists must not be modified.
+ */
+public class LegalActionCache {
+    /** Cached options by player */
+    private final Map<Player, Entry> entries = new IdentityHashMap<>();
+
+    /**
+     * Gets the positions a player can move to
+     * @param player The player
+     * @param island The island
+     * @param players All players
+     * @return The positions
+     */
+    public List<Position> getMovePositions(Player player, Island island, List<Player> players) {
+        Entry entry = entry(player, island, players);
+        if (entry.movePositions == null) {
+            entry.movePositions = Collections.unmodifiableList(player.getMovePositions(island.getTiles()));
+        }
+        return entry.movePositions;
+    }
+
+    /**
+     * Gets the positions a player can shore up
+     * @param player The player
+     * @param island The island
+     * @param players All players
+     * @return The positions
+     */
+    public List<Position> getShorePositions(Player player, Island island, List<Player> players) {
+        Entry entry = entry(player, island, players);
+        if (entry.shorePositions == null) {
+            entry.shorePositions = Collections.unmodifiableList(player.getShorePositions(island.getTiles()));
+        }
+        return entry.shorePositions;
+    }
+
+    /**
+     * Gets the players a player can give a card to
+     * @param player The player
+     * @param island The island
+     * @param players All players
+     * @return The receivers
+     */
+    public List<Player> getGiveCardPlayers(Player player, Island island, List<Player> players) {
+        Entry entry = entry(player, island, players);
+        if (entry.giveCardPlayers == null) {
+            entry.giveCardPlayers = Collections.unmodifiableList(player.getGiveCardPlayers(players));
+        }
+        return entry.giveCardPlayers;
+    }
+
+    /**
+     * Checks whether a player can shore up a tile, as {@link GameRules#canShoreUp}
+     * @param player The player
+     * @param island The island
+     * @param players All players
+     * @return true if there is a tile to shore up
+     */
+    public boolean canShoreUp(Player player, Island island, List<Player> players) {
+        return !getShorePositions(player, island, players).isEmpty();
+    }
+
+    /**
+     * Checks whether a player can give a card, as {@link GameRules#canGiveCard}
+     * @param player The player
+     * @param island The island
+     * @param players All players
+     * @return true if the player can give a card
+     */
+    public boolean canGiveCard(Player player, Island island, List<Player> players) {
+        Entry entry = entry(player, island, players);
+        if (entry.canGiveCard == null) {
+            entry.canGiveCard = GameRules.canGiveCard(player, players);
+        }
+        return entry.canGiveCard;
+    }
+
+    /**
+     * Checks whether a player can capture a treasure, as {@link GameRules#canCaptureTreasure}
+     * @param player The player
+     * @param island The island
+     * @param players All players
+     * @return true if the player can capture the treasure of their tile
+     */
+    public boolean canCaptureTreasure(Player player, Island island, List<Player> players) {
+        Entry entry = entry(player, island, players);
+        if (entry.canCaptureTreasure == null) {
+            entry.canCaptureTreasure = GameRules.canCaptureTreasure(player, island);
+        }
+        return entry.canCaptureTreasure;
+    }
+
+    /**
+     * Forgets every cached option
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Gets the entry of a player, emptied first if the game changed since it was filled
+     * @param player The player
+     * @param island The island
+     * @param players All players
+     * @return The entry
+     */
+    private Entry entry(Player player, Island island, List<Player> players) {
+        Entry entry = entries.get(player);
+        if (entry == null) {
+            entry = new Entry();
+            entries.put(player, entry);
+        }
+        if (!entry.isCurrent(player, island, players)) {
+            entry.reset(player, island, players);
+        }
+        return entry;
+    }
+
+    /**
+     * Entry holds the options of one player and the versions they were computed at.
+     */
+    private static final class Entry {
+        private Island island;
+        private long islandVersion = -1;
+        private long playerVersion = -1;
+        private Player[] players = new Player[0];
+        private long[] playerVersions = new long[0];
+        private List<Position> movePositions;
+        private List<Position> shorePositions;
+        private List<Player> giveCardPlayers;
+        private Boolean canGiveCard;
+        private Boolean canCaptureTreasure;
+
+        /**
+         * Checks whether nothing changed since the entry was filled
+         * @param player The player
+         * @param island The island
+         * @param players All players
+         * @return true if the cached options still hold
+         */
+        private boolean isCurrent(Player player, Island island, List<Player> players) {
+            if (this.island != island || islandVersion != versionOf(island)
+                    || playerVersion != player.getVersion() || this.players.length != players.size()) {
+                return false;
+            }
+            for (int i = 0; i < this.players.length; i++) {
+                Player other = players.get(i);
+                if (this.players[i] != other || playerVersions[i] != other.getVersion()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Empties the entry and records the current versions
+         * @param player The player
+         * @param island The island
+         * @param players All players
+         */
+        private void reset(Player player, Island island, List<Player> players) {
+            this.island = island;
+            islandVersion = versionOf(island);
+            playerVersion = player.getVersion();
+            if (this.players.length != players.size()) {
+                this.players = new Player[players.size()];
+                playerVersions = new long[players.size()];
+            }
+            for (int i = 0; i < this.players.length; i++) {
+                this.players[i] = players.get(i);
+                playerVersions[i] = this.players[i].getVersion();
+            }
+            movePositions = null;
+            shorePositions = null;
+            giveCardPlayers = null;
+            canGiveCard = null;
+            canCaptureTreasure = null;
+        }
+
+        /**
+         * Gets the version of the island, for options such as giving a card that do not need one
+         * @param island The island, may be null
+         * @return The version, or -1 without island
+         */
+        private static long versionOf(Island island) {
+            return island == null ? -1 : island.getVersion();
+        }
+    }
+}
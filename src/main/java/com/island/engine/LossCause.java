@@ -0,0 +1,25 @@
+package com.island.engine;
+
+/**
+ * The ways a game of Forbidden Island is lost.
+ */
+public enum LossCause {
+    WATER_LEVEL("Water level has reached the maximum!"),
+    TREASURE_SUNK("A treasure tile has sunk before the treasure is captured!"),
+    FOOLS_LANDING_SUNK("Fool's Landing has sunk!"),
+    PLAYER_DROWNED("One player has no valid moves to a non-sunk tile!");
+
+    private final String description;
+
+    LossCause(String description) {
+        this.description = description;
+    }
+
+    /**
+     * Gets the message shown to the players
+     * @return The description
+     */
+    public String getDescription() {
+        return description;
+    }
+}
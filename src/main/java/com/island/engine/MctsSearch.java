@@ -0,0 +1,295 @@
+package com.island.engine;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * MctsSearch chooses the action of a player with Monte Carlo Tree Search over
+ * {@link GameEngine#legalActions(ActionBuffer)}. The search is root parallel: every worker grows
+ * its own tree from a copy of the game until the thinking time is up, then the visits of the
+ * root actions are added up and the most visited action wins. Nodes are selected with UCT and
+ * leaves are played out to the end with a {@link PlayoutPolicy}.
+ * <p>
+ * The order of the decks is hidden from the players, so every iteration plays on a copy of the
+ * game whose unseen cards are shuffled again with {@link GameEngine#determinize}. The tree is
+ * shared by these deals: a child whose action is not legal in the current deal is not followed,
+ * and the iteration plays out from its parent. Only the root is restricted to the searching
+ * player; deeper levels play every seat, since the players win or lose together.
+ */
+public class MctsSearch {
+    /** Weight of the exploration term of UCT, for rewards between 0 and 1 */
+    private static final double EXPLORATION = 0.7;
+
+    /** Number of turns after which surviving longer adds nothing to the reward */
+    private static final int SURVIVAL_HORIZON = 20;
+
+    /** Number of treasures of a game */
+    private static final int TREASURES = 4;
+
+    /** Pool running the workers */
+    private final ForkJoinPool pool;
+
+    /** Number of trees grown in parallel */
+    private final int workers;
+
+    /** Choices of the players in the playouts */
+    private final PlayoutPolicy policy;
+
+    /**
+     * Creates a search with one tree per core of the common pool and heuristic playouts
+     */
+    public MctsSearch() {
+        this(ForkJoinPool.commonPool(), ForkJoinPool.getCommonPoolParallelism(), PlayoutPolicy.HEURISTIC);
+    }
+
+    /**
+     * Creates a search
+     * @param pool Pool running the workers
+     * @param workers Number of trees grown in parallel
+     * @param policy Choices of the players in the playouts
+     */
+    public MctsSearch(ForkJoinPool pool, int workers, PlayoutPolicy policy) {
+        this.pool = pool;
+        this.workers = Math.max(workers, 1);
+        this.policy = policy;
+    }
+
+    /**
+     * Chooses an action of a player
+     * @param game The game, which is left unchanged
+     * @param seat Seat of the player
+     * @param thinkMillis Thinking time in milliseconds
+     * @return The packed action, or -1 if the player has no legal action
+     */
+    public int choose(GameEngine game, int seat, long thinkMillis) {
+        return choose(game, seat, thinkMillis, Integer.MAX_VALUE, System.nanoTime());
+    }
+
+    /**
+     * Chooses an action of a player, stopping at the thinking time or after a number of
+     * iterations per worker, whichever comes first
+     * @param game The game, which is left unchanged
+     * @param seat Seat of the player
+     * @param thinkMillis Thinking time in milliseconds
+     * @param iterations Maximum number of iterations per worker
+     * @param seed Seed of the playouts
+     * @return The packed action, or -1 if the player has no legal action
+     */
+    int choose(GameEngine game, int seat, long thinkMillis, int iterations, long seed) {
+        ActionBuffer actions = new ActionBuffer();
+        int count = rootActions(game, seat, actions);
+        if (count <= 1) {
+            // Nothing to think about
+            return count == 0 ? -1 : actions.get(0);
+        }
+        long deadline = System.nanoTime() + thinkMillis * 1_000_000L;
+        SplittableRandom random = new SplittableRandom(seed);
+        List<ForkJoinTask<Node>> tasks = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            Worker worker = new Worker(game.copy(), seat, random.split(), deadline, iterations);
+            tasks.add(pool.submit(worker::search));
+        }
+        // Add up the statistics of the root actions over every tree
+        Map<Integer, long[]> visits = new LinkedHashMap<>();
+        Map<Integer, Double> rewards = new HashMap<>();
+        for (ForkJoinTask<Node> task : tasks) {
+            for (Node child : task.join().children) {
+                visits.computeIfAbsent(child.action, action -> new long[1])[0] += child.visits;
+                rewards.merge(child.action, child.reward, Double::sum);
+            }
+        }
+        int best = actions.get(0);
+        long bestVisits = -1;
+        double bestMean = -1;
+        for (Map.Entry<Integer, long[]> entry : visits.entrySet()) {
+            long n = entry.getValue()[0];
+            double mean = n == 0 ? 0 : rewards.get(entry.getKey()) / n;
+            if (n > bestVisits || n == bestVisits && mean > bestMean) {
+                best = entry.getKey();
+                bestVisits = n;
+                bestMean = mean;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Lists the legal actions of one player
+     * @param game The game
+     * @param seat Seat of the player
+     * @param actions Buffer receiving the actions of the player
+     * @return The number of actions
+     */
+    static int rootActions(GameEngine game, int seat, ActionBuffer actions) {
+        ActionBuffer all = new ActionBuffer();
+        game.legalActions(all);
+        actions.clear();
+        for (int i = 0; i < all.size(); i++) {
+            if (Action.seat(all.get(i)) == seat) {
+                actions.add(all.get(i));
+            }
+        }
+        return actions.size();
+    }
+
+    /**
+     * Scores a finished playout: 1 for a win, otherwise partial credit for the captured
+     * treasures and the turns survived, so that the search still learns while wins are rare
+     * @param engine The finished game
+     * @param startTurn Turn at the root of the search
+     * @return The reward between 0 and 1
+     */
+    static double reward(GameEngine engine, int startTurn) {
+        if (engine.getPhase() == GameEngine.Phase.WON) {
+            return 1;
+        }
+        double treasures = (TREASURES - engine.getUncapturedTreasures().size()) / (double) TREASURES;
+        double survival = Math.min(engine.getTurn() - startTurn, SURVIVAL_HORIZON) / (double) SURVIVAL_HORIZON;
+        return 0.6 * treasures + 0.3 * survival;
+    }
+
+    /**
+     * Node is a state of the tree, reached by playing its action from its parent.
+     */
+    private static final class Node {
+        /** Packed action leading to the node, -1 at the root */
+        private final int action;
+        /** Parent node, null at the root */
+        private final Node parent;
+        /** Children expanded so far */
+        private final List<Node> children = new ArrayList<>();
+        /** Actions not expanded yet, null until the node is first reached */
+        private int[] untried;
+        /** Number of actions not expanded yet */
+        private int untriedCount;
+        /** Number of playouts through the node */
+        private long visits;
+        /** Sum of the rewards of the playouts through the node */
+        private double reward;
+
+        /**
+         * Creates a node
+         * @param action Action leading to the node
+         * @param parent Parent node
+         */
+        private Node(int action, Node parent) {
+            this.action = action;
+            this.parent = parent;
+        }
+
+        /**
+         * Lists the actions of the node the first time it is reached
+         * @param actions The legal actions of its state
+         */
+        private void setActions(ActionBuffer actions) {
+            untried = new int[actions.size()];
+            for (int i = 0; i < untried.length; i++) {
+                untried[i] = actions.get(i);
+            }
+            untriedCount = untried.length;
+        }
+
+        /**
+         * Picks the child with the best UCT value
+         * @return The child
+         */
+        private Node select() {
+            double logVisits = Math.log(visits);
+            Node best = null;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (Node child : children) {
+                double value = child.reward / child.visits + EXPLORATION * Math.sqrt(logVisits / child.visits);
+                if (value > bestValue) {
+                    best = child;
+                    bestValue = value;
+                }
+            }
+            return best;
+        }
+    }
+
+    /**
+     * Worker grows one tree. It owns its engine copies, so workers share nothing.
+     */
+    private final class Worker {
+        /** The game at the root */
+        private final GameEngine root;
+        /** Seat of the searching player */
+        private final int seat;
+        /** Random stream of the worker */
+        private final SplittableRandom random;
+        /** Time at which the search stops, from {@link System#nanoTime()} */
+        private final long deadline;
+        /** Maximum number of iterations */
+        private final int iterations;
+        /** Buffer for the legal actions */
+        private final ActionBuffer actions = new ActionBuffer();
+
+        /**
+         * Creates a worker
+         * @param root The game at the root
+         * @param seat Seat of the searching player
+         * @param random Random stream of the worker
+         * @param deadline Time at which the search stops
+         * @param iterations Maximum number of iterations
+         */
+        private Worker(GameEngine root, int seat, SplittableRandom random, long deadline, int iterations) {
+            this.root = root;
+            this.seat = seat;
+            this.random = random;
+            this.deadline = deadline;
+            this.iterations = iterations;
+        }
+
+        /**
+         * Grows the tree until the deadline or the iteration limit
+         * @return The root of the tree
+         */
+        private Node search() {
+            Node rootNode = new Node(-1, null);
+            rootActions(root, seat, actions);
+            rootNode.setActions(actions);
+            int startTurn = root.getTurn();
+            for (int i = 0; i < iterations && (i == 0 || System.nanoTime() < deadline); i++) {
+                GameEngine engine = root.copy();
+                engine.determinize(random);
+                Node node = rootNode;
+                // Selection, as far as the deal allows
+                boolean dealt = true;
+                while (dealt && node.untriedCount == 0 && !node.children.isEmpty()) {
+                    Node child = node.select();
+                    dealt = engine.apply(child.action);
+                    if (dealt) {
+                        node = child;
+                    }
+                }
+                // Expansion
+                if (dealt && !engine.isOver()) {
+                    if (node.untried == null) {
+                        engine.legalActions(actions);
+                        node.setActions(actions);
+                    }
+                    if (node.untriedCount > 0) {
+                        int pick = random.nextInt(node.untriedCount);
+                        int action = node.untried[pick];
+                        if (engine.apply(action)) {
+                            node.untried[pick] = node.untried[--node.untriedCount];
+                            Node child = new Node(action, node);
+                            node.children.add(child);
+                            node = child;
+                        }
+                    }
+                }
+                // Playout and backpropagation
+                MonteCarloEstimator.playout(engine, policy, random, actions);
+                double reward = reward(engine, startTurn);
+                for (; node != null; node = node.parent) {
+                    node.visits++;
+                    node.reward += reward;
+                }
+            }
+            return rootNode;
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.island.engine;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * MonteCarloEstimator estimates how winnable a game is by playing it to the end many times with
+ * the headless {@link GameEngine}. Playouts run in parallel on a {@link ForkJoinPool}; the range of
+ * playouts is split in halves, each half taking its own {@link SplittableRandom} stream split from
+ * the parent one, so the estimate depends on the seed only and not on the scheduling.
+ * <p>
+ * Every playout copies the starting game and shuffles the cards the players have not seen with
+ * its own random stream, so the estimate covers the possible deck orders rather than the one
+ * fixed by the game seed. Usage: MonteCarloEstimator [playouts=2000] [players=4] [gameSeed=1] [policy=heuristic]
+ * prints the estimate for each starting water level.
+ */
+public class MonteCarloEstimator {
+    /** Playouts a task plays itself instead of splitting */
+    private static final int THRESHOLD = 16;
+
+    /** Names of the seats */
+    private static final List<String> NAMES = List.of("Alice", "Bob", "Carol", "Dave", "Erin", "Frank");
+
+    /** Pool running the playouts */
+    private final ForkJoinPool pool;
+
+    /**
+     * Estimate is the outcome of a batch of playouts.
+     * @param playouts Number of games played
+     * @param wins Number of games won
+     * @param losses Number of games lost, by cause
+     * @param totalTurns Sum of the number of turns of the games
+     */
+    public record Estimate(int playouts, int wins, Map<LossCause, Integer> losses, long totalTurns) {
+        /**
+         * Gets the share of games won
+         * @return The win rate between 0 and 1
+         */
+        public double winRate() {
+            return playouts == 0 ? 0 : (double) wins / playouts;
+        }
+
+        /**
+         * Gets the lower bound of the 95% Wilson score interval of the win rate
+         * @return The lower bound between 0 and 1
+         */
+        public double lowerBound() {
+            return wilson(-1.96);
+        }
+
+        /**
+         * Gets the upper bound of the 95% Wilson score interval of the win rate
+         * @return The upper bound between 0 and 1
+         */
+        public double upperBound() {
+            return wilson(1.96);
+        }
+
+        /**
+         * Gets the share of games lost to a cause
+         * @param cause The cause
+         * @return The loss rate between 0 and 1
+         */
+        public double lossRate(LossCause cause) {
+            return playouts == 0 ? 0 : (double) losses.getOrDefault(cause, 0) / playouts;
+        }
+
+        /**
+         * Gets the average length of the games
+         * @return The mean number of turns
+         */
+        public double meanTurns() {
+            return playouts == 0 ? 0 : (double) totalTurns / playouts;
+        }
+
+        /**
+         * Computes a bound of the Wilson score interval, which stays within 0 and 1 and behaves
+         * well for the win rates close to 0 that random play gives
+         * @param z Quantile of the normal distribution, negative for the lower bound
+         * @return The bound
+         */
+        private double wilson(double z) {
+            if (playouts == 0) {
+                return z < 0 ? 0 : 1;
+            }
+            double p = winRate();
+            double z2 = z * z;
+            double center = p + z2 / (2.0 * playouts);
+            double spread = z * Math.sqrt(p * (1 - p) / playouts + z2 / (4.0 * playouts * playouts));
+            return Math.min(1, Math.max(0, (center + spread) / (1 + z2 / playouts)));
+        }
+
+        /**
+         * Adds two estimates
+         * @param other The other estimate
+         * @return The estimate of both batches
+         */
+        private Estimate plus(Estimate other) {
+            Map<LossCause, Integer> sum = new EnumMap<>(LossCause.class);
+            sum.putAll(losses);
+            other.losses.forEach((cause, count) -> sum.merge(cause, count, Integer::sum));
+            return new Estimate(playouts + other.playouts, wins + other.wins, sum, totalTurns + other.totalTurns);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder(String.format("win %.1f%% [%.1f%%, %.1f%%] of %d, %.1f turns",
+                    100 * winRate(), 100 * lowerBound(), 100 * upperBound(), playouts, meanTurns()));
+            for (LossCause cause : LossCause.values()) {
+                builder.append(String.format(", %s %.1f%%", cause.name(), 100 * lossRate(cause)));
+            }
+            return builder.toString();
+        }
+    }
+
+    /**
+     * Creates an estimator on the common pool
+     */
+    public MonteCarloEstimator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates an estimator
+     * @param pool Pool running the playouts
+     */
+    public MonteCarloEstimator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Estimates a new game
+     * @param playerNames Names of the players in seat order
+     * @param gameSeed Seed of the game, as sent in the game start message
+     * @param waterLevel Starting water level
+     * @param playouts Number of games to play
+     * @param policy Choices of the players
+     * @param seed Seed of the players' choices
+     * @return The estimate
+     */
+    public Estimate estimate(List<String> playerNames, long gameSeed, int waterLevel,
+                             int playouts, PlayoutPolicy policy, long seed) {
+        return estimate(new GameEngine(playerNames, gameSeed, waterLevel), playouts, policy, seed);
+    }
+
+    /**
+     * Estimates a game in progress, which is only read and must not change meanwhile
+     * @param start The game
+     * @param playouts Number of games to play from it
+     * @param policy Choices of the players
+     * @param seed Seed of the players' choices
+     * @return The estimate
+     */
+    public Estimate estimate(GameEngine start, int playouts, PlayoutPolicy policy, long seed) {
+        return pool.invoke(new PlayoutTask(start, playouts, policy, new SplittableRandom(seed)));
+    }
+
+    /**
+     * Plays one game to the end
+     * @param engine The game, changed in place
+     * @param policy Choices of the players
+     * @param random Random stream of the playout
+     * @param actions Buffer for the legal actions
+     */
+    static void playout(GameEngine engine, PlayoutPolicy policy, SplittableRandom random, ActionBuffer actions) {
+        while (!engine.isOver()) {
+            engine.legalActions(actions);
+            engine.apply(actions.get(policy.choose(engine, actions, random)));
+        }
+    }
+
+    /**
+     * PlayoutTask plays a range of playouts, splitting it while it is large. Tasks are never
+     * serialized, their fields are transient.
+     */
+    private static final class PlayoutTask extends RecursiveTask<Estimate> {
+        private static final long serialVersionUID = 1L;
+
+        /** Game the playouts start from, shared by the tasks and only copied */
+        private final transient GameEngine start;
+        /** Number of playouts */
+        private final int playouts;
+        /** Choices of the players */
+        private final transient PlayoutPolicy policy;
+        /** Random stream of the range */
+        private final transient SplittableRandom random;
+
+        /**
+         * Creates a task
+         * @param start Game the playouts start from
+         * @param playouts Number of playouts
+         * @param policy Choices of the players
+         * @param random Random stream of the range
+         */
+        private PlayoutTask(GameEngine start, int playouts, PlayoutPolicy policy, SplittableRandom random) {
+            this.start = start;
+            this.playouts = playouts;
+            this.policy = policy;
+            this.random = random;
+        }
+
+        @Override
+        protected Estimate compute() {
+            if (playouts > THRESHOLD) {
+                // Copying only reads the starting game, so both halves share it
+                PlayoutTask left = new PlayoutTask(start, playouts / 2, policy, random.split());
+                PlayoutTask right = new PlayoutTask(start, playouts - playouts / 2, policy, random.split());
+                left.fork();
+                Estimate estimate = right.compute();
+                return left.join().plus(estimate);
+            }
+            Map<LossCause, Integer> losses = new EnumMap<>(LossCause.class);
+            ActionBuffer actions = new ActionBuffer();
+            int wins = 0;
+            long turns = 0;
+            for (int i = 0; i < playouts; i++) {
+                GameEngine engine = start.copy();
+                engine.determinize(random);
+                playout(engine, policy, random, actions);
+                turns += engine.getTurn();
+                if (engine.getPhase() == GameEngine.Phase.WON) {
+                    wins++;
+                } else {
+                    losses.merge(engine.getLossCause(), 1, Integer::sum);
+                }
+            }
+            return new Estimate(playouts, wins, losses, turns);
+        }
+    }
+
+    /**
+     * Prints the estimate of a game for each starting water level
+     * @param args Number of playouts, players, game seed and policy
+     */
+    public static void main(String[] args) {
+        int playouts = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        long gameSeed = args.length > 2 ? Long.parseLong(args[2]) : 1L;
+        PlayoutPolicy policy = args.length > 3 && args[3].equals("random") ? PlayoutPolicy.RANDOM : PlayoutPolicy.HEURISTIC;
+        MonteCarloEstimator estimator = new MonteCarloEstimator();
+        for (int waterLevel = 1; waterLevel <= 4; waterLevel++) {
+            long start = System.nanoTime();
+            Estimate estimate = estimator.estimate(NAMES.subList(0, players), gameSeed, waterLevel, playouts, policy, 42L);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("water %d: %s (%.0f playouts/s)%n", waterLevel, estimate, playouts / seconds);
+        }
+    }
+}
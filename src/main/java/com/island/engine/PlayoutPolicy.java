@@ -0,0 +1,124 @@
+package com.island.engine;
+
+import com.island.models.adventurers.Player;
+import com.island.models.card.Card;
+import com.island.models.card.CardType;
+import com.island.models.island.Island;
+import com.island.models.island.Tile;
+import com.island.models.treasure.TreasureType;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * PlayoutPolicy chooses the actions of every player during a simulated game.
+ */
+@FunctionalInterface
+public interface PlayoutPolicy {
+    /** Chooses uniformly among the legal actions */
+    PlayoutPolicy RANDOM = (engine, actions, random) -> random.nextInt(actions.size());
+
+    /**
+     * Prefers the actions that lead to a win: flying off, capturing treasures, shoring up the
+     * tiles that matter, passing cards to the player collecting them and walking to the tile of a
+     * treasure one holds cards for, and discarding the cards of captured treasures, then the least
+     * collected treasure, before the special cards. Ties are broken at random.
+     */
+    PlayoutPolicy HEURISTIC = (engine, actions, random) -> {
+        int best = -1;
+        int bestScore = Integer.MIN_VALUE;
+        int ties = 0;
+        for (int i = 0; i < actions.size(); i++) {
+            int score = score(engine, actions.get(i));
+            if (score > bestScore) {
+                bestScore = score;
+                best = i;
+                ties = 1;
+            } else if (score == bestScore && random.nextInt(++ties) == 0) {
+                best = i;
+            }
+        }
+        return best;
+    };
+
+    /**
+     * Chooses an action
+     * @param engine The game, which must not be changed
+     * @param actions The legal actions, never empty
+     * @param random The random stream of the playout
+     * @return Index of the chosen action in the buffer
+     */
+    int choose(GameEngine engine, ActionBuffer actions, SplittableRandom random);
+
+    /**
+     * Scores an action for {@link #HEURISTIC}
+     * @param engine The game
+     * @param action The packed action
+     * @return The score, higher is better
+     */
+    private static int score(GameEngine engine, int action) {
+        Island island = engine.getIsland();
+        List<Player> players = engine.getPlayers();
+        Player player = players.get(Action.seat(action));
+        Tile tile = island.getTile(Action.cell(action));
+        return switch (Action.kind(action)) {
+            case Action.PLAY_HELICOPTER -> Action.flight(action) == Action.FLY_OFF ? 100 : -10;
+            case Action.CAPTURE_TREASURE -> 90;
+            case Action.SWIM -> 0;
+            case Action.SHORE_UP -> isKeyTile(engine, tile) ? 60 : 40;
+            case Action.PLAY_SANDBAGS -> isKeyTile(engine, tile) && tile.getTreasureType() != null ? 50 : -10;
+            case Action.GIVE_CARD -> {
+                TreasureType treasure = player.getCards().get(Action.card(action)).getTreasureType();
+                Player receiver = players.get(Action.other(action));
+                yield countCards(receiver, treasure) > countCards(player, treasure) ? 70 : -5;
+            }
+            case Action.MOVE -> {
+                TreasureType treasure = tile.getTreasureType();
+                if (engine.getUncapturedTreasures().isEmpty()) {
+                    yield GameRules.FOOLS_LANDING.equals(tile.getName()) ? 80 : 10;
+                }
+                yield engine.getUncapturedTreasures().contains(treasure)
+                        && countCards(player, treasure) >= 2 ? 30 : 10;
+            }
+            case Action.DISCARD -> {
+                Card card = player.getCards().get(Action.card(action));
+                if (card.getType() != CardType.TREASURE) {
+                    yield 0;
+                }
+                TreasureType treasure = card.getTreasureType();
+                yield engine.getUncapturedTreasures().contains(treasure) ? 40 - 10 * countCards(player, treasure) : 50;
+            }
+            case Action.NAVIGATOR_MOVE -> 5;
+            case Action.END_TURN -> 0;
+            default -> -20;
+        };
+    }
+
+    /**
+     * Checks whether losing a tile would lose the game: Fool's Landing or the tile of a treasure
+     * not captured yet
+     * @param engine The game
+     * @param tile The tile
+     * @return true if the tile must be kept
+     */
+    private static boolean isKeyTile(GameEngine engine, Tile tile) {
+        return GameRules.FOOLS_LANDING.equals(tile.getName())
+                || engine.getUncapturedTreasures().contains(tile.getTreasureType());
+    }
+
+    /**
+     * Counts the treasure cards of a kind in a hand
+     * @param player The player
+     * @param treasure The treasure
+     * @return The number of cards
+     */
+    private static int countCards(Player player, TreasureType treasure) {
+        int count = 0;
+        for (Card card : player.getCards()) {
+            if (card.getType() == CardType.TREASURE && card.getTreasureType() == treasure) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -79,10 +79,29 @@ public class Room {
 
     /**
      * Removes a player from the room.
+     * Keeps the current program player index pointing at the same player.
      * @param player The player to remove
      */
     public void removePlayer(Player player) {
-        players.remove(player);
+        int index = players.indexOf(player);
+        if (index < 0) {
+            return;
+        }
+        players.remove(index);
+        if (index < currentProgramPlayerIndex) {
+            currentProgramPlayerIndex--;
+        }
+    }
+
+    /**
+     * Elects the host among the players in the room.
+     * The first player in the current order wins, so every peer elects the same host
+     * from the same player list without exchanging messages.
+     * @return The elected host, or null if the room is empty
+     */
+    public Player electHost() {
+        hostPlayer = players.isEmpty() ? null : players.get(0);
+        return hostPlayer;
     }
 
     /**
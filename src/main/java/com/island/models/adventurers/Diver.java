@@ -1,7 +1,10 @@
 package com.island.models.adventurers;
 
-import java.util.*;
+import java.util.List;
+import java.util.Map;
 
+import com.island.models.island.Bitboard;
+import com.island.models.island.Island;
 import com.island.models.island.Position;
 import com.island.models.island.Tile;
 
@@ -23,56 +26,41 @@ public class Diver extends Player{
     /**
      * Gets all valid positions the Diver can move to.
      * The Diver can move through flooded tiles and can only move orthogonally.
-     * Uses breadth-first search to find all reachable positions.
+     * The search runs on the {@link Bitboard} masks of the tiles.
      * @param tiles A map of all tiles on the board with their positions
      * @return A list of valid positions the Diver can move to
      */
     @Override
     public List<Position> getMovePositions(Map<Position, Tile> tiles) {
-        // Use breadth-first search
-        List<Position> movePositions = new ArrayList<>();
-        List<Position> visited = new ArrayList<>();
-        Queue<Position> queue = new LinkedList<>();
-        queue.add(getPosition());
-        visited.add(getPosition());
-
-        while (!queue.isEmpty()) {
-            Position current = queue.poll();
-            List<Position> neighbors = getAdjacentPositions(current);
-            for (Position neighbor : neighbors) {
-                Tile tile = tiles.get(neighbor);
-                if (!visited.contains(neighbor) && tile != null) {
-                    visited.add(neighbor);
-                    if (tile.getState() != Tile.TileState.NORMAL) {
-                        queue.add(neighbor);
-                    }
-                    if (tile.getState() != Tile.TileState.SUNK) {
-                        movePositions.add(neighbor);
-                    }
-                }
-            }
+        if (tiles instanceof Island.TileMap board) {
+            return Bitboard.toPositions(getMoveMask(board.getIsland()));
         }
-        return movePositions;
+        long water = Bitboard.cellsMatching(tiles, tile -> tile.getState() != Tile.TileState.NORMAL);
+        long standable = Bitboard.cellsMatching(tiles, tile -> !tile.isSunk());
+        return Bitboard.toPositions(swimMoves(Bitboard.bit(getPosition()), water, standable));
     }
 
     /**
-     * Gets the adjacent positions (up, down, left, right) for a given position.
-     * The Diver can only move orthogonally, not diagonally.
-     * @param position The current position
-     * @return A list of adjacent positions
+     * Gets the cells the Diver can move to, without allocating.
+     * The Diver can step onto any tile that has not sunk next to the region of flooded and sunk
+     * tiles reachable from its own, found with {@link Bitboard#reachable}.
+     * @param island The island
+     * @return The {@link Bitboard} mask of the cells
      */
-    private List<Position> getAdjacentPositions(Position position) {
-        List<Position> neighbors = new ArrayList<>();
-
-        // Up
-        neighbors.add(new Position(position.getX(), position.getY() - 1));
-        // Down
-        neighbors.add(new Position(position.getX(), position.getY() + 1));
-        // Left
-        neighbors.add(new Position(position.getX() - 1, position.getY()));
-        // Right
-        neighbors.add(new Position(position.getX() + 1, position.getY()));
+    @Override
+    public long getMoveMask(Island island) {
+        return swimMoves(Bitboard.bit(getPosition()), island.getFloodedMask() | island.getSunkMask(),
+                island.getStandableMask());
+    }
 
-        return neighbors;
+    /**
+     * Gets the tiles next to the region the Diver can swim through
+     * @param start The cell of the Diver
+     * @param water The flooded and sunk cells
+     * @param standable The cells that have not sunk
+     * @return The mask of the cells the Diver can move to
+     */
+    private static long swimMoves(long start, long water, long standable) {
+        return Bitboard.spread(Bitboard.reachable(start, water)) & standable & ~start;
     }
 }
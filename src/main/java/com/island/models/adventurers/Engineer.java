@@ -33,6 +33,16 @@ public class Engineer extends Player {
         firstShoreUp = b;
     }
 
+    /**
+     * Copies the state of another Engineer, including whether the ability was used.
+     * @param other The player to copy
+     */
+    @Override
+    public void copyStateFrom(Player other) {
+        super.copyStateFrom(other);
+        firstShoreUp = ((Engineer) other).firstShoreUp;
+    }
+
     /**
      * Resets the Engineer's state at the start of a new turn.
      * This includes resetting the special ability flag.
@@ -42,4 +52,13 @@ public class Engineer extends Player {
         super.resetState();
         firstShoreUp = true;
     }
+
+    /**
+     * Adds whether the Engineer has used their special ability this turn to the turn key.
+     * @return The key
+     */
+    @Override
+    protected long turnHash() {
+        return super.turnHash() ^ (firstShoreUp ? 0 : turnKey(1, 1));
+    }
 }
@@ -4,6 +4,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+import com.island.models.island.Bitboard;
+import com.island.models.island.Island;
 import com.island.models.island.Position;
 import com.island.models.island.Tile;
 
@@ -30,10 +32,13 @@ public class Explorer extends Player {
      */
     @Override
     public List<Position> getMovePositions(Map<Position, Tile> tiles) {
+        if (tiles instanceof Island.TileMap board) {
+            return Bitboard.toPositions(getMoveMask(board.getIsland()));
+        }
         List<Position> positions = new ArrayList<>();
         for (int dx = -1; dx <= 1; dx++) {
             for (int dy = -1; dy <= 1; dy++) {
-                Position newPosition = new Position(getPosition().getX() + dx, getPosition().getY() + dy);
+                Position newPosition = Position.of(getPosition().getX() + dx, getPosition().getY() + dy);
                 if (tiles.containsKey(newPosition) && tiles.get(newPosition).getState() != Tile.TileState.SUNK) {
                     positions.add(newPosition);
                 }
@@ -50,10 +55,13 @@ public class Explorer extends Player {
      */
     @Override
     public List<Position> getShorePositions(Map<Position, Tile> tiles) {
+        if (tiles instanceof Island.TileMap board) {
+            return Bitboard.toPositions(getShoreMask(board.getIsland()));
+        }
         List<Position> positions = new ArrayList<>();
         for (int dx = -1; dx <= 1; dx++) {
             for (int dy = -1; dy <= 1; dy++) {
-                Position newPosition = new Position(getPosition().getX() + dx, getPosition().getY() + dy);
+                Position newPosition = Position.of(getPosition().getX() + dx, getPosition().getY() + dy);
                 if (tiles.containsKey(newPosition) && tiles.get(newPosition).getState() == Tile.TileState.FLOODED) {
                     positions.add(newPosition);
                 }
@@ -61,4 +69,25 @@ public class Explorer extends Player {
         }
         return positions;
     }
+
+    /**
+     * Gets the cells the Explorer can move to in all 8 directions, without allocating.
+     * Like the map version, the Explorer's own tile is included.
+     * @param island The island
+     * @return The {@link Bitboard} mask of the cells
+     */
+    @Override
+    public long getMoveMask(Island island) {
+        return (Bitboard.around(getPosition(), true) | Bitboard.bit(getPosition())) & island.getStandableMask();
+    }
+
+    /**
+     * Gets the cells of flooded tiles the Explorer can shore up in all 8 directions, without allocating.
+     * @param island The island
+     * @return The {@link Bitboard} mask of the cells
+     */
+    @Override
+    public long getShoreMask(Island island) {
+        return (Bitboard.around(getPosition(), true) | Bitboard.bit(getPosition())) & island.getFloodedMask();
+    }
 }
@@ -27,4 +27,14 @@ public class Messenger extends Player{
         // Cannot give cards to oneself
         return  players.stream().filter(player -> !player.equals(this)).toList();
     }
+
+    /**
+     * Checks whether this Messenger can give cards to another player, wherever they are.
+     * @param player The receiver
+     * @return true if the receiver is another player
+     */
+    @Override
+    public boolean canGiveCardTo(Player player) {
+        return !player.equals(this);
+    }
 }
@@ -54,6 +54,18 @@ public class Navigator extends Player{
         navigatorMoves = 0;
     }
 
+    /**
+     * Copies the state of another Navigator. The target is the player of the other game; the
+     * copy of a game points it to its own player.
+     * @param other The player to copy
+     */
+    @Override
+    public void copyStateFrom(Player other) {
+        super.copyStateFrom(other);
+        Navigator navigator = (Navigator) other;
+        setNavigatorTarget(navigator.navigatorTarget, navigator.navigatorMoves);
+    }
+
     /**
      * Resets the Navigator's state at the start of a new turn.
      * This includes resetting the target player and remaining moves.
@@ -63,4 +75,14 @@ public class Navigator extends Player{
         super.resetState();
         resetTargetAndMoves();
     }
+
+    /**
+     * Adds the target of the Navigator and its remaining moves to the turn key.
+     * @return The key
+     */
+    @Override
+    protected long turnHash() {
+        return super.turnHash() ^ (navigatorTarget == null ? 0
+                : turnKey(1, (long) navigatorTarget.getName().hashCode() << 8 | navigatorMoves));
+    }
 }
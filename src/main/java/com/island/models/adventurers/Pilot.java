@@ -3,6 +3,8 @@ package com.island.models.adventurers;
 import java.util.List;
 import java.util.Map;
 
+import com.island.models.island.Bitboard;
+import com.island.models.island.Island;
 import com.island.models.island.Position;
 import com.island.models.island.Tile;
 
@@ -34,6 +36,8 @@ public class Pilot extends Player{
     public List<Position> getMovePositions(Map<Position, Tile> tiles) {
         if (hasFlewThisTurn) {
             return super.getMovePositions(tiles);
+        } else if (tiles instanceof Island.TileMap board) {
+            return Bitboard.toPositions(getMoveMask(board.getIsland()));
         } else {
             // Select all non-sunk tiles
             return tiles.keySet().stream()
@@ -42,6 +46,27 @@ public class Pilot extends Player{
         }
     }
 
+    /**
+     * Gets the cells the Pilot can move to, without allocating.
+     * Before flying this turn, that is every tile that has not sunk.
+     * @param island The island
+     * @return The {@link Bitboard} mask of the cells
+     */
+    @Override
+    public long getMoveMask(Island island) {
+        return hasFlewThisTurn ? super.getMoveMask(island) : island.getStandableMask();
+    }
+
+    /**
+     * Copies the state of another Pilot, including whether they have flown this turn.
+     * @param other The player to copy
+     */
+    @Override
+    public void copyStateFrom(Player other) {
+        super.copyStateFrom(other);
+        hasFlewThisTurn = ((Pilot) other).hasFlewThisTurn;
+    }
+
     /**
      * Resets the Pilot's state at the start of a new turn.
      * This includes resetting the flying ability flag.
@@ -58,5 +83,15 @@ public class Pilot extends Player{
      */
     public void setHasFlewThisTurn(boolean b) {
         hasFlewThisTurn = b;
+        changed();
+    }
+
+    /**
+     * Adds whether the Pilot has flown this turn to the turn key.
+     * @return The key
+     */
+    @Override
+    protected long turnHash() {
+        return super.turnHash() ^ (hasFlewThisTurn ? turnKey(1, 1) : 0);
     }
 }
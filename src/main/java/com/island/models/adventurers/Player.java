@@ -1,17 +1,25 @@
 package com.island.models.adventurers;
 
 import com.island.models.card.Card;
+import com.island.models.island.Bitboard;
+import com.island.models.island.Island;
 import com.island.models.island.Position;
 import com.island.models.island.Tile;
 import com.island.models.treasure.TreasureType;
+import com.island.util.Zobrist;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * Represents a player in the Forbidden Island game.
  * Each player has a name, position on the island, cards, role, and can capture treasures.
+ * <p>
+ * The player keeps a {@link Zobrist} hash of its position and hand, updated by
+ * {@link #setPosition(Position)}, {@link #addCard(Card)} and the removeCard methods; cards added to
+ * or removed from {@link #getCards()} directly are not seen by it.
  */
 public class Player {
     private String name;
@@ -21,6 +29,9 @@ public class Player {
     private boolean hasDrawnTreasureCards;
     private int drawnFloodCards;
     private List<TreasureType> capturedTreasures;
+    private long version;
+    private long positionHash;
+    private long handHash;
 
     /**
      * Creates a new player with the specified name.
@@ -48,6 +59,7 @@ public class Player {
      */
     public void setName(String name) {
         this.name = name;
+        rehash();
     }
 
     /**
@@ -64,6 +76,8 @@ public class Player {
      */
     public void setPosition(Position position) {
         this.position = position;
+        positionHash = positionKey();
+        changed();
     }
 
     /**
@@ -80,6 +94,8 @@ public class Player {
      */
     public void setCards(List<Card> cards) {
         this.cards = cards;
+        rehash();
+        changed();
     }
 
     /**
@@ -144,7 +160,8 @@ public class Player {
      */
     public void addCard(Card card) {
         cards.add(card);
-        card.setBelongingPlayer(name);
+        handHash += cardKey(card);
+        changed();
     }
 
     /**
@@ -153,11 +170,14 @@ public class Player {
      * @return List of valid positions the player can move to
      */
     public List<Position> getMovePositions(Map<Position, Tile> tiles) {
+        if (tiles instanceof Island.TileMap board) {
+            return Bitboard.toPositions(getMoveMask(board.getIsland()));
+        }
         List<Position> validPositions = new ArrayList<>();
         for (int dx = -1; dx <= 1; dx++) {
             for (int dy = -1; dy <= 1; dy++) {
                 if (Math.abs(dx) + Math.abs(dy) > 1 || dx == 0 && dy == 0) continue;
-                Position newPosition = new Position(position.getX() + dx, position.getY() + dy);
+                Position newPosition = Position.of(position.getX() + dx, position.getY() + dy);
                 if (tiles.containsKey(newPosition) && tiles.get(newPosition).getState() != Tile.TileState.SUNK) {
                     validPositions.add(newPosition);
                 }
@@ -172,11 +192,14 @@ public class Player {
      * @return List of positions of flooded tiles that can be shored up
      */
     public List<Position> getShorePositions(Map<Position, Tile> tiles) {
+        if (tiles instanceof Island.TileMap board) {
+            return Bitboard.toPositions(getShoreMask(board.getIsland()));
+        }
         List<Position> validPositions = new ArrayList<>();
         for (int dx = -1; dx <= 1; dx++) {
             for (int dy = -1; dy <= 1; dy++) {
                 if (Math.abs(dx) + Math.abs(dy) > 1) continue;
-                Position newPosition = new Position(position.getX() + dx, position.getY() + dy);
+                Position newPosition = Position.of(position.getX() + dx, position.getY() + dy);
                 if (tiles.containsKey(newPosition) && tiles.get(newPosition).getState() == Tile.TileState.FLOODED) {
                     validPositions.add(newPosition);
                 }
@@ -185,12 +208,123 @@ public class Player {
         return validPositions;
     }
 
+    /**
+     * Gets the cells the player can move to, without allocating.
+     * @param island The island
+     * @return The {@link Bitboard} mask of the cells
+     */
+    public long getMoveMask(Island island) {
+        return Bitboard.around(position, false) & island.getStandableMask();
+    }
+
+    /**
+     * Gets the cells of flooded tiles the player can shore up, without allocating.
+     * @param island The island
+     * @return The {@link Bitboard} mask of the cells
+     */
+    public long getShoreMask(Island island) {
+        return (Bitboard.around(position, false) | Bitboard.bit(position)) & island.getFloodedMask();
+    }
+
+    /**
+     * Copies the position, hand, captured treasures and turn state of another player of the
+     * same role, for copies of a game. The cards are shared, the lists holding them are not, so
+     * the hands never write to the cards: whose list holds a card is its only owner.
+     * @param other The player to copy
+     */
+    public void copyStateFrom(Player other) {
+        this.position = other.position;
+        this.cards = new ArrayList<>(other.cards);
+        this.hasDrawnTreasureCards = other.hasDrawnTreasureCards;
+        this.drawnFloodCards = other.drawnFloodCards;
+        this.capturedTreasures = new ArrayList<>(other.capturedTreasures);
+        this.version = other.version;
+        this.positionHash = other.positionHash;
+        this.handHash = other.handHash;
+    }
+
     /**
      * Resets the player's state for a new turn.
      */
     public void resetState() {
         this.hasDrawnTreasureCards = false;
         this.drawnFloodCards = 0;
+        changed();
+    }
+
+    /**
+     * Gets the version of the player, which grows with every move, card change and reset, so
+     * results computed from the player can be kept until it changes.
+     * @return The version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the Zobrist hash of the player: its position, the multiset of its cards and its state
+     * within the turn. The cards add their keys, so holding the same card twice is told apart
+     * from holding it once or not at all.
+     * @return The hash
+     */
+    public long getHash() {
+        return positionHash ^ handHash ^ turnHash();
+    }
+
+    /**
+     * Gets the key of the state of the player within the turn, computed on demand since it is
+     * reset every turn. Roles with abilities limited to once a turn add their own flags.
+     * @return The key, 0 for a player who has not drawn yet
+     */
+    protected long turnHash() {
+        return hasDrawnTreasureCards || drawnFloodCards != 0
+                ? turnKey(0, (hasDrawnTreasureCards ? 1 : 0) | drawnFloodCards << 1) : 0;
+    }
+
+    /**
+     * Gets the key of a per-turn flag of the player
+     * @param flag Number of the flag
+     * @param value Value of the flag
+     * @return The key
+     */
+    protected long turnKey(int flag, long value) {
+        return Zobrist.key(Zobrist.PLAYER_TURN, (long) Objects.hashCode(name) << 8 | flag, value);
+    }
+
+    /**
+     * Gets the key of the position of the player
+     * @return The key, 0 if the player is not on the board
+     */
+    private long positionKey() {
+        int cell = Island.cellOf(position);
+        return cell < 0 ? 0 : Zobrist.key(Zobrist.POSITION, Objects.hashCode(name), cell);
+    }
+
+    /**
+     * Gets the key of a card in the hand of the player
+     * @param card The card
+     * @return The key
+     */
+    private long cardKey(Card card) {
+        return Zobrist.key(Zobrist.HAND, Objects.hashCode(name), card.getKey());
+    }
+
+    /**
+     * Recomputes the hash after the name or the whole hand changed
+     */
+    private void rehash() {
+        positionHash = positionKey();
+        handHash = 0;
+        for (Card card : cards) {
+            handHash += cardKey(card);
+        }
+    }
+
+    /**
+     * Records a change to the position, the cards or the abilities of the player.
+     */
+    protected void changed() {
+        version++;
     }
 
     /**
@@ -201,13 +335,22 @@ public class Player {
     public List<Player> getGiveCardPlayers(List<Player> players) {
         List<Player> eligiblePlayers = new ArrayList<>();
         for (Player player : players) {
-            if (!player.equals(this) && player.getPosition().equals(position)) {
+            if (canGiveCardTo(player)) {
                 eligiblePlayers.add(player);
             }
         }
         return  eligiblePlayers;
     }
 
+    /**
+     * Checks whether this player can give cards to another player.
+     * @param player The receiver
+     * @return true if the receiver is another player on the same tile
+     */
+    public boolean canGiveCardTo(Player player) {
+        return !player.equals(this) && player.getPosition().equals(position);
+    }
+
     /**
      * Removes a card from the player's hand by name.
      * @param cardName The name of the card to remove
@@ -217,7 +360,8 @@ public class Player {
         for (Card card : cards) {
             if (card.getName().equals(cardName)) {
                 cards.remove(card);
-                card.setBelongingPlayer("");
+                handHash -= cardKey(card);
+                changed();
                 return card;
             }
         }
@@ -230,8 +374,10 @@ public class Player {
      * @return The removed card
      */
     public Card removeCard(int cardIndex) {
-        cards.get(cardIndex).setBelongingPlayer("");
-        return cards.remove(cardIndex);
+        Card card = cards.remove(cardIndex);
+        handHash -= cardKey(card);
+        changed();
+        return card;
     }
 
     /**
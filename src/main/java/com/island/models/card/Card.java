@@ -2,6 +2,9 @@ package com.island.models.card;
 
 import com.island.models.island.Position;
 import com.island.models.treasure.TreasureType;
+import com.island.util.Zobrist;
+
+import java.util.Objects;
 
 /**
  * Represents a card in the Forbidden Island game.
@@ -13,6 +16,7 @@ public class Card {
     private String belongingPlayer;
     private Position floodPosition;  // Used for flood cards
     private TreasureType treasureType;  // Used for treasure cards
+    private final long key;             // Zobrist key, equal for cards of the same kind
 
     /**
      * Creates a treasure card.
@@ -72,6 +76,7 @@ public class Card {
         this.belongingPlayer = belongingPlayer;
         this.floodPosition = floodPosition;
         this.treasureType = treasureType;
+        this.key = Zobrist.key(Zobrist.CARD, type.ordinal(), Objects.hashCode(name));
     }
 
     /**
@@ -99,8 +104,16 @@ public class Card {
     public TreasureType getTreasureType() { return treasureType; }
 
     /**
-     * Gets the player who owns the card.
-     * @return The name of the owning player
+     * Gets the Zobrist key of the card, which depends on its type and name only, so that
+     * interchangeable cards hash alike.
+     * @return The key
+     */
+    public long getKey() { return key; }
+
+    /**
+     * Gets the player named when the card was created. Hands do not update it, since
+     * copies of a game share their cards; the owner is the player whose hand holds it.
+     * @return The name of the player
      */
     public String getBelongingPlayer() {
         return belongingPlayer;
@@ -0,0 +1,196 @@
+package com.island.models.island;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Bitboard holds the masks and helpers for sets of cells packed in a long, one bit per cell of
+ * the {@value Island#SIZE}×{@value Island#SIZE} board with bit {@code y * SIZE + x} for cell (x, y).
+ * <p>
+ * The neighbour masks of every cell are computed once, so the movement rules become a few AND and
+ * OR operations on the state masks of {@link Island}. Set cells are walked with
+ * {@code Long.numberOfTrailingZeros} and {@code mask &= mask - 1} without allocating.
+ */
+public final class Bitboard {
+    /** Mask of every cell of the board */
+    public static final long BOARD = (1L << Island.CELLS) - 1;
+
+    /** Mask of the leftmost column */
+    private static final long FIRST_COLUMN;
+
+    /** Mask of the rightmost column */
+    private static final long LAST_COLUMN;
+
+    /** Up, down, left and right neighbours of each cell */
+    private static final long[] ORTHOGONAL = new long[Island.CELLS];
+
+    /** Diagonal neighbours of each cell */
+    private static final long[] DIAGONAL = new long[Island.CELLS];
+
+    static {
+        long first = 0;
+        long last = 0;
+        for (int y = 0; y < Island.SIZE; y++) {
+            first |= bit(Island.cellOf(0, y));
+            last |= bit(Island.cellOf(Island.SIZE - 1, y));
+        }
+        FIRST_COLUMN = first;
+        LAST_COLUMN = last;
+        for (int cell = 0; cell < Island.CELLS; cell++) {
+            int x = Island.xOf(cell);
+            int y = Island.yOf(cell);
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dy = -1; dy <= 1; dy++) {
+                    int neighbor = Island.cellOf(x + dx, y + dy);
+                    if (neighbor < 0 || neighbor == cell) continue;
+                    if (dx == 0 || dy == 0) {
+                        ORTHOGONAL[cell] |= bit(neighbor);
+                    } else {
+                        DIAGONAL[cell] |= bit(neighbor);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Private constructor, the class only has static members
+     */
+    private Bitboard() {
+    }
+
+    /**
+     * Gets the mask of a single cell
+     * @param cell The cell number, or -1
+     * @return The mask, 0 for -1
+     */
+    public static long bit(int cell) {
+        return cell < 0 ? 0 : 1L << cell;
+    }
+
+    /**
+     * Gets the mask of a single position
+     * @param position The position, may be null
+     * @return The mask, 0 if the position is null or off the board
+     */
+    public static long bit(Position position) {
+        return bit(Island.cellOf(position));
+    }
+
+    /**
+     * Checks whether a mask holds a cell
+     * @param mask The mask
+     * @param cell The cell number, or -1
+     * @return true if the bit of the cell is set
+     */
+    public static boolean contains(long mask, int cell) {
+        return cell >= 0 && (mask & (1L << cell)) != 0;
+    }
+
+    /**
+     * Gets the up, down, left and right neighbours of a cell
+     * @param cell The cell number
+     * @return The mask of the neighbours
+     */
+    public static long orthogonal(int cell) {
+        return ORTHOGONAL[cell];
+    }
+
+    /**
+     * Gets the diagonal neighbours of a cell
+     * @param cell The cell number
+     * @return The mask of the neighbours
+     */
+    public static long diagonal(int cell) {
+        return DIAGONAL[cell];
+    }
+
+    /**
+     * Gets the cells next to a position
+     * @param position The position, may be null
+     * @param diagonal Whether diagonal neighbours count
+     * @return The mask of the neighbours, 0 if the position is null or off the board
+     */
+    public static long around(Position position, boolean diagonal) {
+        int cell = Island.cellOf(position);
+        if (cell < 0) {
+            return 0;
+        }
+        return diagonal ? ORTHOGONAL[cell] | DIAGONAL[cell] : ORTHOGONAL[cell];
+    }
+
+    /**
+     * Gets the up, down, left and right neighbours of every cell of a mask at once
+     * @param mask The cells
+     * @return The mask of their neighbours, which may include cells of the mask itself
+     */
+    public static long spread(long mask) {
+        return ((mask << 1) & ~FIRST_COLUMN
+                | (mask >>> 1) & ~LAST_COLUMN
+                | mask << Island.SIZE
+                | mask >>> Island.SIZE) & BOARD;
+    }
+
+    /**
+     * Gets the cells reachable from a set of cells by up, down, left and right steps through
+     * other cells of a set, such as the flooded and sunk tiles a Diver swims through.
+     * The region grows a ring at a time with {@link #spread}, so the search needs neither a
+     * visited list nor a queue and allocates nothing.
+     * @param from The starting cells, always part of the result
+     * @param through The cells that can be passed through
+     * @return The starting cells and every cell of {@code through} connected to them
+     */
+    public static long reachable(long from, long through) {
+        long reached;
+        do {
+            reached = from;
+            from = reached | spread(reached) & through;
+        } while (from != reached);
+        return reached;
+    }
+
+    /**
+     * Gets the cells of a tile map whose tile matches a predicate, for the queries on a map
+     * that is not the board of an island
+     * @param tiles The tiles
+     * @param predicate The test of each tile
+     * @return The mask of the matching cells; positions off the board are left out
+     */
+    public static long cellsMatching(Map<Position, Tile> tiles, Predicate<Tile> predicate) {
+        if (tiles instanceof Island.TileMap board) {
+            return board.getIsland().cellsMatching(predicate);
+        }
+        long mask = 0;
+        for (Map.Entry<Position, Tile> entry : tiles.entrySet()) {
+            if (predicate.test(entry.getValue())) {
+                mask |= bit(entry.getKey());
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Counts the cells of a mask
+     * @param mask The mask
+     * @return The number of set bits
+     */
+    public static int count(long mask) {
+        return Long.bitCount(mask);
+    }
+
+    /**
+     * Converts a mask to the shared positions of its cells, in cell order
+     * @param mask The cells
+     * @return The positions
+     */
+    public static List<Position> toPositions(long mask) {
+        List<Position> positions = new ArrayList<>(Long.bitCount(mask));
+        for (; mask != 0; mask &= mask - 1) {
+            int cell = Long.numberOfTrailingZeros(mask);
+            positions.add(Position.of(Island.xOf(cell), Island.yOf(cell)));
+        }
+        return positions;
+    }
+}
@@ -1,23 +1,77 @@
 package com.island.models.island;
 
+import com.island.util.Zobrist;
+
 import java.util.*;
+import java.util.function.Predicate;
 
 /**
  * Represents the game board of Forbidden Island.
  * The island consists of a collection of tiles arranged in a grid pattern.
+ * <p>
+ * The tiles are kept in a fixed {@value #SIZE}×{@value #SIZE} array indexed by cell number,
+ * {@code y * SIZE + x}, with the state of the cells packed into three {@link Bitboard} masks that
+ * the tiles keep up to date. Movement queries combine the masks directly; {@link #getTiles()} is a
+ * map view over the array for the callers that work with positions.
+ * <p>
+ * The island also keeps a {@link Zobrist} hash of its tiles, updated as they are placed, removed,
+ * flooded or shored up.
  */
 public class Island {
-    private final Map<Position, Tile> tiles; // Stores all tiles on the island
+    /** Number of cells on a side of the board */
+    public static final int SIZE = 6;
+
+    /** Number of cells on the board */
+    public static final int CELLS = SIZE * SIZE;
+
+    /** State code of a cell without tile */
+    public static final byte ABSENT = 0;
+
+    /** State code of a normal tile */
+    public static final byte NORMAL = 1;
+
+    /** State code of a flooded tile */
+    public static final byte FLOODED = 2;
+
+    /** State code of a sunk tile */
+    public static final byte SUNK = 3;
+
+    /** Tile of each cell, null where there is none */
+    private final Tile[] cells = new Tile[CELLS];
+
+    /** Shared position of each cell holding a tile */
+    private final Position[] keys = new Position[CELLS];
+
+    /** Cells holding a tile */
+    private long presentMask;
+
+    /** Cells holding a flooded tile */
+    private long floodedMask;
+
+    /** Cells holding a sunk tile */
+    private long sunkMask;
+
+    /** Number of tiles */
+    private int tileCount;
+
+    /** Number of changes to the tiles so far */
+    private long version;
+
+    /** Zobrist hash of the names and states of the tiles */
+    private long hash;
+
+    /** Map view of the tiles */
+    private final TileMap tiles = new TileMap();
 
     /**
      * Creates a new empty island.
      */
     public Island() {
-        this.tiles = new HashMap<>();
     }
 
     /**
      * Gets all tiles on the island.
+     * The map is a live view of the board: it only accepts positions on the board.
      * @return A map of positions to tiles
      */
     public Map<Position, Tile> getTiles() {
@@ -30,11 +84,35 @@ public class Island {
      * @return The tile at the position, or null if no tile exists
      */
     public Tile getTile(Position position) {
-        try {
-            return tiles.get(position);
-        } catch (Exception e) {
-            return null;
-        }
+        int cell = cellOf(position);
+        return cell < 0 ? null : cells[cell];
+    }
+
+    /**
+     * Gets the tile of a cell
+     * @param cell The cell number
+     * @return The tile, or null if the cell is empty
+     */
+    public Tile getTile(int cell) {
+        return cells[cell];
+    }
+
+    /**
+     * Gets the position of the tile of a cell
+     * @param cell The cell number
+     * @return The shared position of the cell, or null if the cell is empty
+     */
+    public Position getPosition(int cell) {
+        return keys[cell];
+    }
+
+    /**
+     * Places a tile at its own position, replacing any tile of that cell
+     * @param tile The tile
+     * @throws IllegalArgumentException if the position is off the board
+     */
+    public void placeTile(Tile tile) {
+        tiles.put(tile.getPosition(), tile);
     }
 
     /**
@@ -43,9 +121,9 @@ public class Island {
      * @return The position of the tile, or null if not found
      */
     public Position findTile(String name) {
-        for (Position pos : tiles.keySet()) {
-            if (tiles.get(pos).getName().equals(name)) {
-                return pos;
+        for (int cell = 0; cell < CELLS; cell++) {
+            if (cells[cell] != null && cells[cell].getName().equals(name)) {
+                return keys[cell];
             }
         }
         return null;
@@ -57,9 +135,411 @@ public class Island {
      * @param position The position of the tile to flood
      */
     public void floodTile(Position position) {
-        Tile tile = tiles.get(position);
+        Tile tile = getTile(position);
         if (tile != null) {
             tile.flood();
         }
     }
+
+    /**
+     * Gets the state code of a cell
+     * @param cell The cell number
+     * @return {@link #ABSENT}, {@link #NORMAL}, {@link #FLOODED} or {@link #SUNK}
+     */
+    public byte getState(int cell) {
+        long bit = 1L << cell;
+        if ((presentMask & bit) == 0) {
+            return ABSENT;
+        } else if ((sunkMask & bit) != 0) {
+            return SUNK;
+        }
+        return (floodedMask & bit) != 0 ? FLOODED : NORMAL;
+    }
+
+    /**
+     * Checks whether a player can stand on a cell
+     * @param cell The cell number, or -1
+     * @return true if the cell holds a tile that has not sunk
+     */
+    public boolean isStandable(int cell) {
+        return Bitboard.contains(getStandableMask(), cell);
+    }
+
+    /**
+     * Checks whether a cell holds a flooded tile
+     * @param cell The cell number, or -1
+     * @return true if the tile can be shored up
+     */
+    public boolean isFlooded(int cell) {
+        return Bitboard.contains(floodedMask, cell);
+    }
+
+    /**
+     * Gets the cells holding a tile
+     * @return The mask of the cells
+     */
+    public long getPresentMask() {
+        return presentMask;
+    }
+
+    /**
+     * Gets the cells holding a flooded tile
+     * @return The mask of the cells
+     */
+    public long getFloodedMask() {
+        return floodedMask;
+    }
+
+    /**
+     * Gets the cells holding a sunk tile
+     * @return The mask of the cells
+     */
+    public long getSunkMask() {
+        return sunkMask;
+    }
+
+    /**
+     * Gets the cells a player can stand on, the tiles that have not sunk
+     * @return The mask of the cells
+     */
+    public long getStandableMask() {
+        return presentMask & ~sunkMask;
+    }
+
+    /**
+     * Gets the cells whose tile matches a predicate
+     * @param predicate The test of each tile
+     * @return The mask of the cells
+     */
+    public long cellsMatching(Predicate<Tile> predicate) {
+        long mask = 0;
+        for (long cells = presentMask; cells != 0; cells &= cells - 1) {
+            int cell = Long.numberOfTrailingZeros(cells);
+            if (predicate.test(this.cells[cell])) {
+                mask |= 1L << cell;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Gets the version of the board, which grows with every tile placed, removed, flooded or
+     * shored up, so results computed from the board can be kept until it changes
+     * @return The version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the Zobrist hash of the board, the XOR of the keys of the name and the state of the tile
+     * of every cell, so boards with the same tiles in the same states hash alike
+     * @return The hash
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Copies the board: every tile is copied in its state, and the masks, the version and the
+     * hash are taken over as they are instead of being rebuilt tile by tile.
+     * @return The copy
+     */
+    public Island copy() {
+        Island copy = new Island();
+        for (int cell = 0; cell < CELLS; cell++) {
+            if (cells[cell] != null) {
+                Tile tile = new Tile(cells[cell]);
+                tile.attach(copy, cell);
+                copy.cells[cell] = tile;
+                copy.keys[cell] = keys[cell];
+            }
+        }
+        copy.presentMask = presentMask;
+        copy.floodedMask = floodedMask;
+        copy.sunkMask = sunkMask;
+        copy.tileCount = tileCount;
+        copy.version = version;
+        copy.hash = hash;
+        return copy;
+    }
+
+    /**
+     * Gets the number of tiles
+     * @return The count
+     */
+    public int getTileCount() {
+        return tileCount;
+    }
+
+    /**
+     * Gets the cell number of a position
+     * @param x The column
+     * @param y The row
+     * @return The cell number, or -1 if the position is off the board
+     */
+    public static int cellOf(int x, int y) {
+        return x >= 0 && x < SIZE && y >= 0 && y < SIZE ? y * SIZE + x : -1;
+    }
+
+    /**
+     * Gets the cell number of a position
+     * @param position The position, may be null
+     * @return The cell number, or -1 if the position is null or off the board
+     */
+    public static int cellOf(Position position) {
+        return position == null ? -1 : cellOf(position.getX(), position.getY());
+    }
+
+    /**
+     * Gets the column of a cell
+     * @param cell The cell number
+     * @return The x-coordinate
+     */
+    public static int xOf(int cell) {
+        return cell % SIZE;
+    }
+
+    /**
+     * Gets the row of a cell
+     * @param cell The cell number
+     * @return The y-coordinate
+     */
+    public static int yOf(int cell) {
+        return cell / SIZE;
+    }
+
+    /**
+     * Converts a tile state to its code
+     * @param state The state, null counts as normal
+     * @return The state code
+     */
+    static byte codeOf(Tile.TileState state) {
+        if (state == null) {
+            return NORMAL;
+        }
+        return switch (state) {
+            case NORMAL -> NORMAL;
+            case FLOODED -> FLOODED;
+            case SUNK -> SUNK;
+        };
+    }
+
+    /**
+     * Records the new state of a tile, called by the tile itself
+     * @param cell The cell of the tile
+     * @param state The new state
+     */
+    void updateState(int cell, Tile.TileState state) {
+        setState(cell, codeOf(state));
+    }
+
+    /**
+     * Sets the bits of a cell in the state masks
+     * @param cell The cell number
+     * @param code The state code
+     */
+    private void setState(int cell, byte code) {
+        hash ^= stateKey(cell, getState(cell)) ^ stateKey(cell, code);
+        long bit = 1L << cell;
+        presentMask = code == ABSENT ? presentMask & ~bit : presentMask | bit;
+        floodedMask = code == FLOODED ? floodedMask | bit : floodedMask & ~bit;
+        sunkMask = code == SUNK ? sunkMask | bit : sunkMask & ~bit;
+        version++;
+    }
+
+    /**
+     * Gets the key of the state of a cell
+     * @param cell The cell number
+     * @param code The state code
+     * @return The key, 0 for a cell without tile
+     */
+    private static long stateKey(int cell, byte code) {
+        return code == ABSENT ? 0 : Zobrist.key(Zobrist.TILE_STATE, cell, code);
+    }
+
+    /**
+     * Gets the key of the tile of a cell
+     * @param cell The cell number
+     * @param tile The tile
+     * @return The key
+     */
+    private static long nameKey(int cell, Tile tile) {
+        return Zobrist.key(Zobrist.TILE_NAME, cell, Objects.hashCode(tile.getName()));
+    }
+
+    /**
+     * TileMap is the {@code Map<Position, Tile>} view of the board, for the callers written
+     * against a map. Lookups convert the position to a cell number instead of hashing it.
+     */
+    public final class TileMap extends AbstractMap<Position, Tile> {
+        /**
+         * Gets the island the map is a view of
+         * @return The island
+         */
+        public Island getIsland() {
+            return Island.this;
+        }
+
+        @Override
+        public int size() {
+            return tileCount;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof Position position && getTile(position) != null;
+        }
+
+        @Override
+        public Tile get(Object key) {
+            return key instanceof Position position ? getTile(position) : null;
+        }
+
+        @Override
+        public Tile put(Position key, Tile tile) {
+            int cell = cellOf(key);
+            if (cell < 0) {
+                throw new IllegalArgumentException("Position off the board: " + key);
+            }
+            Tile previous = cells[cell];
+            if (previous == null) {
+                tileCount++;
+            } else {
+                previous.detach();
+                hash ^= nameKey(cell, previous);
+            }
+            hash ^= nameKey(cell, tile);
+            cells[cell] = tile;
+            keys[cell] = Position.of(key.getX(), key.getY());
+            setState(cell, codeOf(tile.getState()));
+            tile.attach(Island.this, cell);
+            return previous;
+        }
+
+        @Override
+        public Tile remove(Object key) {
+            int cell = key instanceof Position position ? cellOf(position) : -1;
+            return cell < 0 ? null : removeCell(cell);
+        }
+
+        /**
+         * Removes the tile of a cell
+         * @param cell The cell number
+         * @return The removed tile, or null if the cell was empty
+         */
+        private Tile removeCell(int cell) {
+            Tile previous = cells[cell];
+            if (previous != null) {
+                previous.detach();
+                hash ^= nameKey(cell, previous);
+                cells[cell] = null;
+                keys[cell] = null;
+                setState(cell, ABSENT);
+                tileCount--;
+            }
+            return previous;
+        }
+
+        @Override
+        public void clear() {
+            for (int cell = 0; cell < CELLS; cell++) {
+                removeCell(cell);
+            }
+        }
+
+        @Override
+        public Collection<Tile> values() {
+            return new AbstractCollection<>() {
+                @Override
+                public Iterator<Tile> iterator() {
+                    return new CellIterator<>() {
+                        @Override
+                        Tile element(int cell) {
+                            return cells[cell];
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return tileCount;
+                }
+            };
+        }
+
+        @Override
+        public Set<Entry<Position, Tile>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<Position, Tile>> iterator() {
+                    return new CellIterator<>() {
+                        @Override
+                        Entry<Position, Tile> element(int cell) {
+                            return new SimpleImmutableEntry<>(keys[cell], cells[cell]);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return tileCount;
+                }
+            };
+        }
+
+        /**
+         * Iterates over the occupied cells in cell order
+         * @param <E> Type of the elements
+         */
+        private abstract class CellIterator<E> implements Iterator<E> {
+            /** Next occupied cell, CELLS at the end */
+            private int next = advance(0);
+            /** Cell of the last element returned, -1 if none */
+            private int last = -1;
+
+            /**
+             * Finds the next occupied cell
+             * @param from First cell to look at
+             * @return The cell, or CELLS if none is left
+             */
+            private int advance(int from) {
+                while (from < CELLS && cells[from] == null) {
+                    from++;
+                }
+                return from;
+            }
+
+            /**
+             * Builds the element of a cell
+             * @param cell The cell number
+             * @return The element
+             */
+            abstract E element(int cell);
+
+            @Override
+            public boolean hasNext() {
+                return next < CELLS;
+            }
+
+            @Override
+            public E next() {
+                if (next >= CELLS) {
+                    throw new NoSuchElementException();
+                }
+                last = next;
+                next = advance(next + 1);
+                return element(last);
+            }
+
+            @Override
+            public void remove() {
+                if (last < 0) {
+                    throw new IllegalStateException();
+                }
+                removeCell(last);
+                last = -1;
+            }
+        }
+    }
 }
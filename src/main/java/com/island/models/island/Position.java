@@ -1,12 +1,37 @@
 package com.island.models.island;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Represents a position on the game board using x and y coordinates.
  * This class is used to track the location of tiles and players on the island.
+ * <p>
+ * Positions are immutable. {@link #of(int, int)} returns one shared instance per cell of the
+ * board, each holding its neighbours, so movement checks neither allocate nor hash.
  */
-public class Position {
-    private int x;
-    private int y;
+public final class Position {
+    /** Shared position of each cell of the board, by cell number */
+    private static final Position[] CELLS = new Position[Island.CELLS];
+
+    /** Up, down, left and right neighbours on the board of each cell, in dx then dy order */
+    private static final Position[][] ORTHOGONAL = new Position[Island.CELLS][];
+
+    /** Diagonal neighbours on the board of each cell, in dx then dy order */
+    private static final Position[][] DIAGONAL = new Position[Island.CELLS][];
+
+    static {
+        for (int cell = 0; cell < Island.CELLS; cell++) {
+            CELLS[cell] = new Position(Island.xOf(cell), Island.yOf(cell));
+        }
+        for (int cell = 0; cell < Island.CELLS; cell++) {
+            ORTHOGONAL[cell] = neighbors(CELLS[cell], false);
+            DIAGONAL[cell] = neighbors(CELLS[cell], true);
+        }
+    }
+
+    private final int x;
+    private final int y;
 
     /**
      * Creates a new position with the specified coordinates.
@@ -18,6 +43,58 @@ public class Position {
         this.y = y;
     }
 
+    /**
+     * Gets the position of the specified coordinates.
+     * Positions on the board are shared instances; others are created on each call.
+     * @param x The x-coordinate
+     * @param y The y-coordinate
+     * @return The position
+     */
+    public static Position of(int x, int y) {
+        int cell = Island.cellOf(x, y);
+        return cell < 0 ? new Position(x, y) : CELLS[cell];
+    }
+
+    /**
+     * Computes the neighbours on the board of a position
+     * @param position The position
+     * @param diagonal true for the diagonal neighbours, false for the orthogonal ones
+     * @return The neighbours in dx then dy order
+     */
+    private static Position[] neighbors(Position position, boolean diagonal) {
+        List<Position> neighbors = new ArrayList<>();
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                if (dx == 0 && dy == 0 || (dx != 0 && dy != 0) != diagonal) continue;
+                int cell = Island.cellOf(position.x + dx, position.y + dy);
+                if (cell >= 0) {
+                    neighbors.add(CELLS[cell]);
+                }
+            }
+        }
+        return neighbors.toArray(new Position[0]);
+    }
+
+    /**
+     * Gets the up, down, left and right neighbours of this position that are on the board.
+     * The array is shared and must not be modified.
+     * @return The neighbours in dx then dy order
+     */
+    public Position[] getOrthogonalNeighbors() {
+        int cell = Island.cellOf(x, y);
+        return cell < 0 ? neighbors(this, false) : ORTHOGONAL[cell];
+    }
+
+    /**
+     * Gets the diagonal neighbours of this position that are on the board.
+     * The array is shared and must not be modified.
+     * @return The neighbours in dx then dy order
+     */
+    public Position[] getDiagonalNeighbors() {
+        int cell = Island.cellOf(x, y);
+        return cell < 0 ? neighbors(this, true) : DIAGONAL[cell];
+    }
+
     /**
      * Gets the x-coordinate.
      * @return The x-coordinate
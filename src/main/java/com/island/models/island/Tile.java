@@ -21,6 +21,8 @@ public class Tile {
     private final Position position;     // Position of the tile
     private TileState state;            // Current state of the tile
     private final TreasureType treasureType;  // Type of treasure (if any)
+    private Island board;               // Island the tile is placed on, if any
+    private int cell = -1;              // Cell of the tile on that island
 
     /**
      * Creates a new tile with the specified properties.
@@ -35,6 +37,17 @@ public class Tile {
         this.treasureType = treasureType;
     }
 
+    /**
+     * Creates a copy of a tile in the same state, not placed on any island.
+     * @param tile The tile to copy
+     */
+    Tile(Tile tile) {
+        this.name = tile.name;
+        this.position = tile.position;
+        this.state = tile.state;
+        this.treasureType = tile.treasureType;
+    }
+
     /**
      * Gets the name of the tile.
      * @return The tile name
@@ -68,6 +81,9 @@ public class Tile {
         } else if (state == TileState.FLOODED) {
             state = TileState.SUNK;
         }
+        if (board != null) {
+            board.updateState(cell, state);
+        }
     }
 
     /**
@@ -92,9 +108,30 @@ public class Tile {
     public void shoreUp() {
         if (this.state == TileState.FLOODED) {
             this.state = TileState.NORMAL;
+            if (board != null) {
+                board.updateState(cell, state);
+            }
         }
     }
 
+    /**
+     * Places the tile on an island, which keeps a packed copy of its state.
+     * @param board The island
+     * @param cell The cell of the tile
+     */
+    void attach(Island board, int cell) {
+        this.board = board;
+        this.cell = cell;
+    }
+
+    /**
+     * Removes the tile from its island.
+     */
+    void detach() {
+        this.board = null;
+        this.cell = -1;
+    }
+
     /**
      * Checks if the tile is in normal state.
      * @return true if the tile is normal, false otherwise
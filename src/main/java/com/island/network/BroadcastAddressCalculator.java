@@ -2,6 +2,9 @@ package com.island.network;
 
 import java.net.*;
 import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * Utility class for calculating broadcast addresses and managing network interfaces.
@@ -105,6 +108,35 @@ public class BroadcastAddressCalculator {
         }
     }
 
+    /**
+     * Get the broadcast address of every active IPv4 interface.
+     * Loop-back interfaces and point-to-point addresses (prefix length 32) are skipped, so a machine
+     * with both Ethernet and Wi-Fi, or a VPN, gets one address per reachable segment.
+     * @return The broadcast addresses, without duplicates, in interface order
+     * @throws SocketException If there's an error accessing network interfaces
+     */
+    public static List<InetAddress> getBroadcastAddresses() throws SocketException {
+        Set<InetAddress> addresses = new LinkedHashSet<>();
+        Enumeration<NetworkInterface> networks = NetworkInterface.getNetworkInterfaces();
+        if (networks == null) {
+            return List.of();
+        }
+        while (networks.hasMoreElements()) {
+            NetworkInterface network = networks.nextElement();
+            if (!network.isUp() || network.isLoopback() || isDisconnected(network)) {
+                continue;
+            }
+            for (InterfaceAddress address : network.getInterfaceAddresses()) {
+                if (address.getAddress() instanceof Inet4Address
+                        && address.getNetworkPrefixLength() != 32
+                        && address.getBroadcast() != null) {
+                    addresses.add(address.getBroadcast());
+                }
+            }
+        }
+        return List.copyOf(addresses);
+    }
+
     /**
      * Check if a network interface is in disconnected state
      * @param network The network interface to check
@@ -1,81 +1,111 @@
 package com.island.network;
 
-import com.island.util.EncryptionUtil;
-import javafx.application.Platform;
-import java.io.IOException;
-import java.net.DatagramPacket;
-import java.net.DatagramSocket;
+import com.island.network.payload.GameStartCommand;
 import java.net.InetAddress;
-import java.net.SocketException;
+import java.util.concurrent.CountDownLatch;
 
 /**
  * BroadcastReceiver handles UDP broadcast messages for game communication.
- * It listens for both heartbeat messages and game-specific messages on a dedicated port.
+ * It receives both heartbeat messages and game-specific messages of its room from the
+ * process-wide {@link DatagramEndpoint}, which owns the port and routes packets by room id.
+ * Messages are queued by {@link MessagePriority} on the room's receive queue and processed on its
+ * thread, so acknowledgments and heartbeats are handled ahead of a backlog of game messages.
  */
-public class BroadcastReceiver implements Runnable {
-    /** UDP socket for receiving broadcast messages */
-    private final DatagramSocket socket;
-    
+public class BroadcastReceiver implements Runnable, DatagramEndpoint.Listener {
     /** Reference to the room controller for handling received messages */
     private final RoomController roomController;
     
     /** Flag indicating whether the receiver is currently running */
     private volatile boolean running;
 
+    /** Room id the receiver is registered under, -1 while not registered */
+    private int registeredRoomId = -1;
+
+    /** Filter telling new acknowledged messages from retransmissions before parsing */
+    private final DuplicateFilter duplicates = new DuplicateFilter();
+
+    /** Start of each header field of the message being processed, used by the processing thread only */
+    private final int[] header = new int[7];
+
+    /** Number of retransmissions answered without parsing them */
+    private long fastReAcks = 0;
+
+    /** Released when the receiver stops, ends {@link #run()} */
+    private final CountDownLatch stopped = new CountDownLatch(1);
+
     /**
      * Constructor that initializes the broadcast receiver
      * @param roomController The room controller to handle received messages
-     * @throws RuntimeException if socket creation fails
      */
     public BroadcastReceiver(RoomController roomController) {
-        try {
-            this.socket = new DatagramSocket(null);  // Create unbound socket
-            this.socket.setReuseAddress(true);       // Enable address reuse
-            this.socket.bind(new java.net.InetSocketAddress(8888));  // Bind to specific port
-            this.roomController = roomController;
-            this.running = true;
-        } catch (SocketException e) {
-            throw new RuntimeException(e);
+        this.roomController = roomController;
+    }
+
+    /**
+     * Registers the receiver with the shared endpoint for the room of its controller
+     * Calling this method again while running has no effect.
+     * @throws RuntimeException if the game port cannot be bound
+     */
+    public synchronized void start() {
+        if (running || stopped.getCount() == 0) {
+            return;
         }
+        registeredRoomId = roomController.getRoomId();
+        DatagramEndpoint.register(registeredRoomId, this);
+        running = true;
     }
 
     /**
-     * Main loop that continuously listens for incoming broadcast messages
-     * Handles message decryption and processing
+     * Registers the receiver and blocks until it is stopped
+     * For callers that dedicate a thread to the receiver; {@link #start()} does not block.
      */
     @Override
     public void run() {
-        byte[] buffer = new byte[1024];
-        while (running) {
-            try {
-                DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
-                socket.receive(packet);
-                String encryptedMessage = new String(packet.getData(), 0, packet.getLength());
-                
-                // Decrypt the received message
-                String message = EncryptionUtil.decrypt(encryptedMessage);
-                
-                handleMessage(message, packet.getAddress());
-            } catch (IOException e) {
-                if (!running) {
-                    // Socket was intentionally closed, exit gracefully
-                    break;
-                } else {
-                    e.printStackTrace();
-                }
-            }
+        start();
+        try {
+            stopped.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 
     /**
-     * Processes received messages and routes them to appropriate handlers
+     * Queues a received message on the receive queue of its priority class
+     * Called by the endpoint on its receive thread, which is shared by every room of the process,
+     * so only the receive time and the class are read here.
      * @param message The decrypted message content
      * @param sender The address of the message sender
      */
-    private void handleMessage(String message, InetAddress sender) {
-        String[] parts = message.split("\\|");
-        if (parts[0].equals("HEARTBEAT")) {
+    @Override
+    public void handleMessage(String message, InetAddress sender) {
+        if (!running) {
+            return;
+        }
+        ClockSync clock = roomController.getClockSync();
+        long receivedAt = clock == null ? 0 : clock.now();
+        PriorityScheduler queue = roomController.getReceiveQueue();
+        if (queue == null) {
+            processMessage(message, sender, receivedAt);
+        } else {
+            queue.submit(MessagePriority.ofWire(message), () -> processMessage(message, sender, receivedAt));
+        }
+    }
+
+    /**
+     * Processes a received message and routes it to the appropriate handler
+     * Called on the thread draining the receive queue. Acknowledgments are handled on that thread;
+     * the other game messages are passed to the game thread of the room.
+     * @param message The decrypted message content
+     * @param sender The address of the message sender
+     * @param receivedAt Receive time on the local clock, 0 if unknown
+     */
+    private void processMessage(String message, InetAddress sender, long receivedAt) {
+        if (!running) {
+            return;
+        }
+        if (message.startsWith("HEARTBEAT|")) {
             // Handle heartbeat messages
+            String[] parts = message.split("\\|");
             int roomId = Integer.parseInt(parts[1]);
             // Check if room ID matches
             if (roomId != roomController.getRoomId()) {
@@ -83,24 +113,68 @@ public class BroadcastReceiver implements Runnable {
             }
             String username = parts[2];
             roomController.updatePlayerHeartbeat(username);
+            for (int i = 4; i < parts.length; i++) {
+                if (parts[i].equals(FrameCompressor.CAPABILITY)) {
+                    roomController.addCompressionPeer(username);
+                    break;
+                }
+            }
+            if (parts.length > 3 && receivedAt > 0) {
+                handleHeartbeatTimes(parts, receivedAt);
+            }
         } else {
             // Handle game messages
             try {
-                Message gameMessage = Message.fromString(message);
+                // Acknowledged messages go through the duplicate filter before being parsed
+                long messageId = 0;
+                int senderHash = 0;
+                boolean tracked = false;
+                boolean unseen = false;
+                if (scanHeader(message) && message.startsWith("true|", header[5])) {
+                    messageId = Long.parseLong(message, header[0], header[1] - 1, 10);
+                    senderHash = DuplicateFilter.hashSender(message, header[3], header[4] - 1);
+                    tracked = true;
+                    if (!duplicates.mightContain(senderHash, messageId)) {
+                        unseen = true;
+                    } else if (reAckDuplicate(message)) {
+                        return;
+                    }
+                }
+                Message gameMessage = Message.fromWire(message, roomController.getSessionDictionary());
+                gameMessage.setReceivedAt(receivedAt);
                 // Check if room ID matches
                 if (gameMessage.getRoomId() != roomController.getRoomId()) {
                     return;
                 }
-                if (gameMessage.getTo() != null
-                        && !gameMessage.getTo().equals(roomController.getRoom().getCurrentProgramPlayer().getName())
-                        && !gameMessage.getTo().equals("system") // When draw flood cards in a turn end, the message is from a system, but it's actually for the host player
-                        && !gameMessage.getType().equals(MessageType.TURN_START) // Turn start message is sent to all players
-                ) {
+                if (!isForLocalPlayer(gameMessage)) {
+                    return;
+                }
+                // The state stream is for spectators, players hold the state themselves
+                if (gameMessage.getType() == MessageType.STATE_SNAPSHOT
+                        || gameMessage.getType() == MessageType.STATE_DELTA) {
+                    return;
+                }
+                if (tracked) {
+                    gameMessage.setUnseen(unseen);
+                    duplicates.add(senderHash, messageId);
+                }
+                TrafficJournal journal = roomController.getJournal();
+                if (journal != null) {
+                    journal.record(TrafficJournal.Direction.INBOUND, gameMessage, sender);
+                }
+                // Install the dictionary before the next message is decoded
+                if (gameMessage.getType() == MessageType.GAME_START) {
+                    GameStartCommand start = gameMessage.getPayload(GameStartCommand.class);
+                    roomController.startSession(start.playerNames());
+                }
+                // Acknowledgments only update the delivery tracking, they do not wait for the UI
+                if (gameMessage.getType() == MessageType.MESSAGE_ACK) {
+                    handleGameMessage(gameMessage);
                     return;
                 }
                 // Notify game manager to process message
-                Platform.runLater(() -> {
-                    // Update UI in JavaFX thread
+                roomController.getGameThread().execute(() -> {
+                    // Update the game on its thread, the JavaFX thread in the application
                     try {
                         handleGameMessage(gameMessage);
                     } catch (Exception e) {
@@ -113,6 +187,109 @@ public class BroadcastReceiver implements Runnable {
         }
     }
 
+    /**
+     * Finds the six header fields of a game message
+     * @param message The decrypted message
+     * @return true if the message has a complete header
+     */
+    private boolean scanHeader(String message) {
+        int pos = 0;
+        for (int i = 0; i < 6; i++) {
+            int end = message.indexOf('|', pos);
+            if (end < 0) {
+                return false;
+            }
+            header[i] = pos;
+            pos = end + 1;
+        }
+        header[6] = pos;
+        return true;
+    }
+
+    /**
+     * Answers a retransmission of an already handled message with an acknowledgment
+     * Only the header is decoded, and the message is not passed to the game thread.
+     * @param message The decrypted message, flagged as a probable duplicate by the filter
+     * @return true if the message was a duplicate and is fully handled, false for a filter false positive
+     */
+    private boolean reAckDuplicate(String message) {
+        MessageHandler handler = roomController.getMessageHandler();
+        if (handler == null) {
+            return false;
+        }
+        Message duplicate = Message.fromWireHeader(message, roomController.getSessionDictionary());
+        if (!handler.hasReceived(duplicate)) {
+            return false;
+        }
+        if (duplicate.getRoomId() == roomController.getRoomId() && isForLocalPlayer(duplicate)) {
+            roomController.sendAckMessage(duplicate);
+            fastReAcks++;
+        }
+        return true;
+    }
+
+    /**
+     * Gets the number of retransmissions answered without parsing them
+     * @return The count
+     */
+    public long getFastReAcks() {
+        return fastReAcks;
+    }
+
+    /**
+     * Passes the clock fields of a heartbeat to the room controller
+     * Fields: "HEARTBEAT|roomId|name|sentAt|deflate|peer:peerSentAt:receivedAt|...", where the echo
+     * addressed to the local player completes a clock sample. Fields without ':' are not echoes.
+     * @param parts The heartbeat fields
+     * @param receivedAt Receive time on the local clock
+     */
+    private void handleHeartbeatTimes(String[] parts, long receivedAt) {
+        try {
+            long sentAt = Long.parseLong(parts[3]);
+            String localName = roomController.getRoom().getCurrentProgramPlayer().getName();
+            long echoSentAt = 0;
+            long echoReceivedAt = 0;
+            for (int i = 4; i < parts.length; i++) {
+                // Names may contain ':', the two times are the last fields of an echo
+                int second = parts[i].lastIndexOf(':');
+                int first = parts[i].lastIndexOf(':', second - 1);
+                if (first > 0 && parts[i].substring(0, first).equals(localName)) {
+                    echoSentAt = Long.parseLong(parts[i], first + 1, second, 10);
+                    echoReceivedAt = Long.parseLong(parts[i], second + 1, parts[i].length(), 10);
+                    break;
+                }
+            }
+            roomController.recordHeartbeatTimes(parts[2], sentAt, receivedAt, echoSentAt, echoReceivedAt);
+        } catch (NumberFormatException e) {
+            // Heartbeat without valid times, presence was already recorded
+        }
+    }
+
+    /**
+     * Checks whether a game message is addressed to the local player
+     * During a game the recipient is compared by dictionary slot, before it by name.
+     * @param message The decoded game message
+     * @return true if the message should be handled by this peer
+     */
+    private boolean isForLocalPlayer(Message message) {
+        if (message.getTo() == null) {
+            return true;
+        }
+        int toSlot = message.getToSlot();
+        if (toSlot >= 0) {
+            if (toSlot == roomController.getLocalSlot() || toSlot == SessionDictionary.SYSTEM_SLOT) {
+                return true;
+            }
+        } else if (message.getTo().equals(roomController.getRoom().getCurrentProgramPlayer().getName())
+                || message.getTo().equals(SessionDictionary.SYSTEM)) {
+            return true;
+        }
+        // After a host migration, the new host receives the messages addressed to the departed host,
+        // and the host receives those addressed to the bots it plays
+        return (roomController.hasDeparted(message.getTo()) || roomController.isBot(message.getTo()))
+                && roomController.isLocalHost();
+    }
+
     /**
      * Forwards game messages to the RoomController for processing
      * @param message The game message to be processed
@@ -124,13 +301,15 @@ public class BroadcastReceiver implements Runnable {
     }
 
     /**
-     * Stops the broadcast receiver and cleans up resources
-     * Ensures proper socket disconnection and closure
+     * Stops the broadcast receiver and unregisters it from the shared endpoint
+     * The endpoint closes the port when the last receiver of the process stops.
      */
-    public void stop() {
+    public synchronized void stop() {
         running = false;
-        if (socket != null && !socket.isClosed()) {
-            socket.close();
+        if (registeredRoomId >= 0) {
+            DatagramEndpoint.unregister(registeredRoomId, this);
+            registeredRoomId = -1;
         }
+        stopped.countDown();
     }
-}
\ No newline at end of file
+}
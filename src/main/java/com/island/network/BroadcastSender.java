@@ -1,59 +1,134 @@
 package com.island.network;
 
+import java.io.IOException;
 import java.net.DatagramPacket;
 import java.net.DatagramSocket;
 import java.net.InetAddress;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.island.util.EncryptionUtil;
 
 /**
  * BroadcastSender handles sending UDP broadcast messages for game communication.
  * It manages the broadcast socket and encrypts messages before transmission.
+ * Messages are sent to the broadcast address of every active interface; the resolved
+ * addresses are cached and only refreshed by the interface watcher. Messages are encrypted into a
+ * {@link PacketBuffer} from the shared pool and the same packet is sent to every address.
  */
 public class BroadcastSender {
+    /** Port the broadcast receivers listen on */
+    private static final int PORT = 8888;
+
+    /** Interval between two checks of the network interfaces (5 seconds) */
+    private static final long WATCH_INTERVAL = 5000;
+
     /** UDP socket for sending broadcast messages */
     private final DatagramSocket socket;
     
-    /** Network broadcast address for message distribution */
-    private final String broadcastAddress;
+    /** Broadcast addresses of the active interfaces, replaced as a whole when interfaces change */
+    private volatile List<InetAddress> targets;
+
+    /** Flag indicating whether the targets were given and are not refreshed from the interfaces */
+    private final boolean fixedTargets;
+
+    /** Datagrams sent, one per address of every message */
+    private final AtomicLong datagramsSent = new AtomicLong();
+
+    /** Bytes of the datagrams sent */
+    private final AtomicLong bytesSent = new AtomicLong();
 
     /**
      * Constructor that initializes the broadcast sender
-     * Creates a broadcast-enabled socket and calculates the broadcast address
+     * Creates a broadcast-enabled socket and resolves the broadcast addresses
      * @throws RuntimeException if the broadcast sender cannot be created
      */
     public BroadcastSender() {
         try {
             this.socket = new DatagramSocket();
             this.socket.setBroadcast(true);
-            this.broadcastAddress = BroadcastAddressCalculator.getLocalIpAndSubnet();
+            this.targets = BroadcastAddressCalculator.getBroadcastAddresses();
+            this.fixedTargets = false;
         } catch (Exception e) {
             throw new RuntimeException("Failed to create broadcast sender", e);
         }
     }
 
     /**
-     * Broadcasts a string message to all listeners on the network
+     * Constructor for a sender with fixed targets, such as the loopback address
+     * The targets are not refreshed when the interfaces change.
+     * @param targets The addresses messages are sent to
+     * @throws RuntimeException if the broadcast sender cannot be created
+     */
+    public BroadcastSender(List<InetAddress> targets) {
+        try {
+            this.socket = new DatagramSocket();
+            this.socket.setBroadcast(true);
+            this.targets = List.copyOf(targets);
+            this.fixedTargets = true;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to create broadcast sender", e);
+        }
+    }
+
+    /**
+     * Broadcasts a string message to all listeners on the network, uncompressed
      * @param message The message to broadcast
      * @throws Exception if broadcasting fails
      * @throws IllegalStateException if broadcast address is not available
      */
     public void broadcast(String message) throws Exception {
-        if (broadcastAddress == null) {
+        broadcast(message, false);
+    }
+
+    /**
+     * Broadcasts a string message to all listeners on the network
+     * The message is sent on every interface; it fails only if no interface could send it.
+     * @param message The message to broadcast
+     * @param compress true if every listener reads compressed frames
+     * @throws Exception if broadcasting fails
+     * @throws IllegalStateException if broadcast address is not available
+     */
+    public void broadcast(String message, boolean compress) throws Exception {
+        List<InetAddress> addresses = targets;
+        if (addresses.isEmpty()) {
             throw new IllegalStateException("Unable to get broadcast address");
         }
         
-        // Encrypt the message before sending
-        String encryptedMessage = EncryptionUtil.encrypt(message);
-        
-        InetAddress address = InetAddress.getByName(broadcastAddress);
-        DatagramPacket packet = new DatagramPacket(
-                encryptedMessage.getBytes(),
-                encryptedMessage.length(),
-                address,
-                8888
-        );
-        socket.send(packet);
+        // Encrypt the message before sending, into a pooled buffer when it fits
+        PacketBuffer buffer = PacketBufferPool.shared().acquire();
+        IOException failure = null;
+        int sent = 0;
+        try {
+            DatagramPacket packet = buffer.getPacket();
+            int length = buffer.encode(message, compress);
+            if (length < 0) {
+                byte[] encryptedMessage = EncryptionUtil.encrypt(message).getBytes(StandardCharsets.UTF_8);
+                packet = new DatagramPacket(encryptedMessage, encryptedMessage.length);
+            } else {
+                packet.setData(buffer.getWire(), 0, length);
+            }
+            packet.setPort(PORT);
+            for (InetAddress address : addresses) {
+                packet.setAddress(address);
+                try {
+                    socket.send(packet);
+                    sent++;
+                    datagramsSent.incrementAndGet();
+                    bytesSent.addAndGet(packet.getLength());
+                } catch (IOException e) {
+                    failure = e;
+                }
+            }
+        } finally {
+            PacketBufferPool.shared().release(buffer);
+        }
+        if (sent == 0 && failure != null) {
+            throw failure;
+        }
     }
 
     /**
@@ -65,6 +140,61 @@ public class BroadcastSender {
         broadcast(message.toString());
     }
 
+    /**
+     * Resolves the broadcast addresses again
+     * The previous addresses are kept if the interfaces cannot be read, and fixed targets are never replaced.
+     * @return true if the set of addresses changed
+     */
+    public boolean refreshTargets() {
+        if (fixedTargets) {
+            return false;
+        }
+        try {
+            List<InetAddress> addresses = BroadcastAddressCalculator.getBroadcastAddresses();
+            if (addresses.equals(targets)) {
+                return false;
+            }
+            targets = addresses;
+            return true;
+        } catch (SocketException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Starts watching the network interfaces for changes
+     * The watcher runs in the given scope and stops when the scope closes.
+     * @param scope The room scope owning the watcher
+     */
+    public void watchInterfaces(RoomScope scope) {
+        scope.scheduleAtFixedRate(this::refreshTargets, WATCH_INTERVAL, WATCH_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Gets the broadcast addresses messages are currently sent to
+     * @return The cached broadcast addresses
+     */
+    public List<InetAddress> getTargets() {
+        return targets;
+    }
+
+    /**
+     * Gets the number of datagrams sent
+     * @return The count, one per address of every message
+     */
+    public long getDatagramsSent() {
+        return datagramsSent.get();
+    }
+
+    /**
+     * Gets the number of bytes of the datagrams sent
+     * @return The count
+     */
+    public long getBytesSent() {
+        return bytesSent.get();
+    }
+
     /**
      * Closes the broadcast socket and releases resources
      */
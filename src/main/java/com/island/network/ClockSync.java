@@ -0,0 +1,210 @@
+package com.island.network;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ClockSync estimates the clock offset and skew between this peer and every other peer of a room,
+ * in the manner of NTP. Each sample is a request/response timestamp pair piggybacked on heartbeats
+ * and acknowledgments: t0 when the request left this peer, t1 when the peer received it, t2 when
+ * the peer answered and t3 when the answer arrived here. All times are microseconds, each on the
+ * clock of the peer that took it.
+ * <p>
+ * For each peer the sample with the smallest round-trip delay among the recent ones gives the offset,
+ * since queuing only ever adds delay, and a least-squares fit of the offsets over time gives the skew.
+ * Room time is the clock of the host, so every peer can express a timestamp on a common scale.
+ */
+public class ClockSync {
+    /** Number of recent samples kept per peer */
+    private static final int WINDOW = 8;
+
+    /** Epoch time in microseconds when this instance was created */
+    private final long baseMicros;
+
+    /** Monotonic time in nanoseconds when this instance was created */
+    private final long baseNanos;
+
+    /** Estimators of each peer */
+    private final Map<String, PeerClock> peers = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a clock synchronizer anchored on the current wall clock
+     */
+    public ClockSync() {
+        this.baseMicros = System.currentTimeMillis() * 1000;
+        this.baseNanos = System.nanoTime();
+    }
+
+    /**
+     * Gets the local time
+     * Advances monotonically from the wall clock at creation, so samples are not disturbed by clock steps.
+     * @return Local time in epoch microseconds
+     */
+    public long now() {
+        return baseMicros + (System.nanoTime() - baseNanos) / 1000;
+    }
+
+    /**
+     * Adds a request/response sample with a peer
+     * Samples with timestamps that cannot be ordered are ignored.
+     * @param peer Name of the peer that answered
+     * @param t0 Time the request was sent, local clock
+     * @param t1 Time the peer received the request, peer clock
+     * @param t2 Time the peer sent the answer, peer clock
+     * @param t3 Time the answer was received, local clock
+     */
+    public void addSample(String peer, long t0, long t1, long t2, long t3) {
+        long delay = (t3 - t0) - (t2 - t1);
+        if (t0 <= 0 || t1 <= 0 || t2 < t1 || t3 < t0 || delay < 0) {
+            return;
+        }
+        long offset = ((t1 - t0) + (t2 - t3)) / 2;
+        peers.computeIfAbsent(peer, name -> new PeerClock()).add(t3, offset, delay);
+    }
+
+    /**
+     * Checks whether a peer has been sampled
+     * @param peer Name of the peer
+     * @return true if an offset estimate exists for the peer
+     */
+    public boolean hasEstimate(String peer) {
+        return peers.containsKey(peer);
+    }
+
+    /**
+     * Gets the estimated offset of a peer's clock at a local time
+     * @param peer Name of the peer
+     * @param localTime Local time in microseconds
+     * @return Peer clock minus local clock in microseconds, 0 if the peer has not been sampled
+     */
+    public long offset(String peer, long localTime) {
+        PeerClock clock = peers.get(peer);
+        return clock == null ? 0 : clock.offsetAt(localTime);
+    }
+
+    /**
+     * Gets the estimated skew of a peer's clock
+     * @param peer Name of the peer
+     * @return Drift of the peer clock against the local clock, in microseconds per second
+     */
+    public double skew(String peer) {
+        PeerClock clock = peers.get(peer);
+        return clock == null ? 0 : clock.skew() * 1_000_000;
+    }
+
+    /**
+     * Converts a timestamp taken by a peer to the local clock
+     * @param peer Name of the peer that took the timestamp
+     * @param peerTime Peer time in microseconds
+     * @return The same instant on the local clock
+     */
+    public long toLocal(String peer, long peerTime) {
+        return peerTime - offset(peer, peerTime);
+    }
+
+    /**
+     * Gets the current room time
+     * @param host Name of the room host, whose clock is the room clock
+     * @param localName Name of the local player
+     * @return The host clock estimated now, in microseconds
+     */
+    public long roomTime(String host, String localName) {
+        long now = now();
+        return host == null || host.equals(localName) ? now : now + offset(host, now);
+    }
+
+    /**
+     * Forgets the samples of a peer
+     * @param peer Name of the peer
+     */
+    public void remove(String peer) {
+        peers.remove(peer);
+    }
+
+    /**
+     * Recent samples of one peer, kept in a ring
+     */
+    private static final class PeerClock {
+        /** Local receive time of each sample */
+        private final long[] times = new long[WINDOW];
+
+        /** Offset of each sample */
+        private final long[] offsets = new long[WINDOW];
+
+        /** Round-trip delay of each sample */
+        private final long[] delays = new long[WINDOW];
+
+        /** Number of samples added so far */
+        private int count = 0;
+
+        /** Index of the sample with the smallest delay */
+        private int best = 0;
+
+        /** Offset change per local microsecond */
+        private double skew = 0;
+
+        /**
+         * Adds a sample and updates the estimates
+         * @param time Local receive time
+         * @param offset Measured offset
+         * @param delay Measured round-trip delay
+         */
+        synchronized void add(long time, long offset, long delay) {
+            int slot = count % WINDOW;
+            times[slot] = time;
+            offsets[slot] = offset;
+            delays[slot] = delay;
+            count++;
+
+            int size = Math.min(count, WINDOW);
+            best = 0;
+            for (int i = 1; i < size; i++) {
+                if (delays[i] < delays[best]) {
+                    best = i;
+                }
+            }
+            skew = size < 2 ? 0 : fitSlope(size);
+        }
+
+        /**
+         * Fits the offsets against time by least squares
+         * @param size Number of samples
+         * @return The slope, 0 if all samples were taken at the same time
+         */
+        private double fitSlope(int size) {
+            double meanTime = 0;
+            double meanOffset = 0;
+            for (int i = 0; i < size; i++) {
+                meanTime += times[i];
+                meanOffset += offsets[i];
+            }
+            meanTime /= size;
+            meanOffset /= size;
+            double covariance = 0;
+            double variance = 0;
+            for (int i = 0; i < size; i++) {
+                double dt = times[i] - meanTime;
+                covariance += dt * (offsets[i] - meanOffset);
+                variance += dt * dt;
+            }
+            return variance == 0 ? 0 : covariance / variance;
+        }
+
+        /**
+         * Gets the offset extrapolated to a local time
+         * @param time Local time
+         * @return The estimated offset
+         */
+        synchronized long offsetAt(long time) {
+            return offsets[best] + Math.round(skew * (time - times[best]));
+        }
+
+        /**
+         * Gets the estimated skew
+         * @return Offset change per local microsecond
+         */
+        synchronized double skew() {
+            return skew;
+        }
+    }
+}
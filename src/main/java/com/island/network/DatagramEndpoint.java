@@ -0,0 +1,181 @@
+package com.island.network;
+
+import com.island.util.EncryptionUtil;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DatagramEndpoint is the single owner of the game port in a process.
+ * Every room of the process registers its {@link BroadcastReceiver} here instead of binding its own
+ * socket, as do spectators following a room. Each packet is received into a pooled
+ * {@link PacketBuffer} and decrypted once, then routed by room id to the listeners of that room.
+ * The routing table is read without locking; registrations replace the listener array of a room
+ * as a whole. The socket is opened by the first registration and closed with the last.
+ */
+public final class DatagramEndpoint {
+    /**
+     * Receiver of the decrypted messages of a room
+     */
+    interface Listener {
+        /**
+         * Handles a decrypted message, called on the endpoint's receive thread
+         * @param message The decrypted message content
+         * @param sender The address of the message sender
+         */
+        void handleMessage(String message, InetAddress sender);
+    }
+
+    /** Port the game messages are broadcast on */
+    private static final int PORT = 8888;
+
+    /** Endpoint shared by the rooms of the process, null while no room is registered */
+    private static DatagramEndpoint shared;
+
+    /** Socket bound to the game port */
+    private final DatagramSocket socket;
+
+    /** Listeners of each room id, copied on write */
+    private final Map<Integer, Listener[]> routes = new ConcurrentHashMap<>();
+
+    /** Number of registered listeners, guarded by the class lock */
+    private int registrations = 0;
+
+    /**
+     * Binds the game port and starts the receive loop
+     * @throws SocketException if the port cannot be bound
+     */
+    private DatagramEndpoint() throws SocketException {
+        this.socket = new DatagramSocket(null);  // Create unbound socket
+        this.socket.setReuseAddress(true);       // Enable address reuse
+        this.socket.bind(new InetSocketAddress(PORT));
+        Thread.ofVirtual().name("datagram-endpoint").start(this::receiveLoop);
+    }
+
+    /**
+     * Registers a listener for a room, opening the endpoint if needed
+     * @param roomId The room identifier
+     * @param receiver The listener of the room
+     * @throws RuntimeException if the game port cannot be bound
+     */
+    static synchronized void register(int roomId, Listener receiver) {
+        if (shared == null) {
+            try {
+                shared = new DatagramEndpoint();
+            } catch (SocketException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        shared.routes.compute(roomId, (id, receivers) -> {
+            if (receivers == null) {
+                return new Listener[] {receiver};
+            }
+            Listener[] copy = Arrays.copyOf(receivers, receivers.length + 1);
+            copy[receivers.length] = receiver;
+            return copy;
+        });
+        shared.registrations++;
+    }
+
+    /**
+     * Unregisters a listener, closing the endpoint when no listener is left
+     * @param roomId The room identifier
+     * @param receiver The listener to remove
+     */
+    static synchronized void unregister(int roomId, Listener receiver) {
+        if (shared == null) {
+            return;
+        }
+        boolean[] removed = {false};
+        shared.routes.computeIfPresent(roomId, (id, receivers) -> {
+            Listener[] rest = Arrays.stream(receivers)
+                    .filter(r -> r != receiver)
+                    .toArray(Listener[]::new);
+            removed[0] = rest.length < receivers.length;
+            return rest.length == 0 ? null : rest;
+        });
+        if (removed[0] && --shared.registrations == 0) {
+            shared.socket.close();
+            shared = null;
+        }
+    }
+
+    /**
+     * Receives packets until the socket is closed
+     */
+    private void receiveLoop() {
+        PacketBuffer buffer = PacketBufferPool.shared().acquire();
+        DatagramPacket packet = buffer.getPacket();
+        while (!socket.isClosed()) {
+            try {
+                packet.setData(buffer.getWire());
+                socket.receive(packet);
+
+                // Decrypt the received message straight from the packet bytes
+                String message = buffer.decode(packet.getLength());
+                dispatch(message, packet.getAddress());
+            } catch (IOException e) {
+                if (socket.isClosed()) {
+                    // Last room unregistered, exit gracefully
+                    break;
+                }
+                e.printStackTrace();
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+        PacketBufferPool.shared().release(buffer);
+    }
+
+    /**
+     * Routes a decrypted message to the listeners of its room
+     * @param message The decrypted message
+     * @param sender The address of the message sender
+     */
+    private void dispatch(String message, InetAddress sender) {
+        int roomId = parseRoomId(message);
+        if (roomId < 0) {
+            return;
+        }
+        Listener[] receivers = routes.get(roomId);
+        if (receivers == null) {
+            return;
+        }
+        for (Listener receiver : receivers) {
+            receiver.handleMessage(message, sender);
+        }
+    }
+
+    /**
+     * Reads the room id of a message without decoding it
+     * Heartbeats carry it in the second field ("HEARTBEAT|roomId|name"), game messages in the third.
+     * @param message The decrypted message
+     * @return The room id, or -1 if the message is malformed
+     */
+    static int parseRoomId(String message) {
+        int field = message.startsWith("HEARTBEAT|") ? 1 : 2;
+        int start = 0;
+        for (int i = 0; i < field; i++) {
+            start = message.indexOf('|', start) + 1;
+            if (start == 0) {
+                return -1;
+            }
+        }
+        int end = message.indexOf('|', start);
+        if (end < 0) {
+            end = message.length();
+        }
+        try {
+            return Integer.parseInt(message, start, end, 10);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.island.network;
+
+import java.util.List;
+
+/**
+ * DeliveryException signals that a reliable message was not acknowledged by every receiver
+ * before the retry limit was reached. It carries the receivers that never answered.
+ */
+public class DeliveryException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    /** Identifier of the undelivered message */
+    private final long messageId;
+
+    /** Receivers that did not acknowledge the message, not serialized */
+    private final transient List<String> missingReceivers;
+
+    /**
+     * Constructor for creating a delivery failure
+     * @param messageId Identifier of the undelivered message
+     * @param missingReceivers Receivers that did not acknowledge the message
+     */
+    public DeliveryException(long messageId, List<String> missingReceivers) {
+        super("Player(s) " + missingReceivers + " did not receive the message!");
+        this.messageId = messageId;
+        this.missingReceivers = List.copyOf(missingReceivers);
+    }
+
+    /**
+     * Gets the identifier of the undelivered message
+     * @return The message ID
+     */
+    public long getMessageId() {
+        return messageId;
+    }
+
+    /**
+     * Gets the receivers that did not acknowledge the message
+     * @return Unmodifiable list of missing receivers, empty after deserialization
+     */
+    public List<String> getMissingReceivers() {
+        return missingReceivers == null ? List.of() : missingReceivers;
+    }
+}
@@ -0,0 +1,125 @@
+package com.island.network;
+
+import java.util.Arrays;
+
+/**
+ * DuplicateFilter is a rotating Bloom filter over the (sender, message id) pairs of the
+ * acknowledged messages a peer received. It answers in a few bit tests, before any parsing,
+ * whether a packet is certainly new or probably a retransmission.
+ * <p>
+ * Two generations are kept: pairs are added to the current one and looked up in both. When the
+ * current generation is older than {@value #GENERATION_MILLIS} ms it becomes the previous one and
+ * the oldest is cleared, so every pair is remembered for at least that long, well beyond the retry
+ * window of {@link MessageHandler}. Generations are rotated on time only, never on fill, so a
+ * "certainly new" answer stays exact under load; a busier generation only answers "probably
+ * seen" more often, which must be confirmed against the received messages anyway.
+ */
+public class DuplicateFilter {
+    /** Number of bits of a generation, a power of two (2 KB, about 1% false positives at 1500 pairs) */
+    private static final int BITS = 1 << 14;
+
+    /** Number of bit positions per pair */
+    private static final int HASHES = 3;
+
+    /** Time after which a generation is rotated in milliseconds */
+    private static final long GENERATION_MILLIS = 30_000;
+
+    /** Generation receiving the new pairs */
+    private long[] current = new long[BITS / 64];
+
+    /** Previous generation, still looked up */
+    private long[] previous = new long[BITS / 64];
+
+    /** Creation time of the current generation in milliseconds */
+    private long generationStart = System.currentTimeMillis();
+
+    /**
+     * Hashes the sender field of a serialized message without extracting it
+     * @param message The serialized message
+     * @param start Start of the sender field
+     * @param end End of the sender field
+     * @return The hash of the field
+     */
+    public static int hashSender(String message, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + message.charAt(i);
+        }
+        return hash;
+    }
+
+    /**
+     * Mixes a pair into a 64-bit hash
+     * @param senderHash Hash of the sender field
+     * @param messageId The message id
+     * @return The mixed hash
+     */
+    private static long mix(int senderHash, long messageId) {
+        long h = messageId * 0x9E3779B97F4A7C15L ^ senderHash * 0xC2B2AE3D27D4EB4FL;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Checks whether a pair may have been added
+     * @param senderHash Hash of the sender field
+     * @param messageId The message id
+     * @return false if the pair was certainly not added within the last generation period
+     */
+    public synchronized boolean mightContain(int senderHash, long messageId) {
+        long h = mix(senderHash, messageId);
+        return contains(current, h) || contains(previous, h);
+    }
+
+    /**
+     * Adds a pair, rotating the generations when needed
+     * @param senderHash Hash of the sender field
+     * @param messageId The message id
+     */
+    public synchronized void add(int senderHash, long messageId) {
+        long now = System.currentTimeMillis();
+        if (now - generationStart >= GENERATION_MILLIS) {
+            long[] cleared = previous;
+            Arrays.fill(cleared, 0);
+            previous = current;
+            current = cleared;
+            generationStart = now;
+        }
+        long h = mix(senderHash, messageId);
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32);
+        for (int i = 0; i < HASHES; i++) {
+            int bit = (h1 + i * h2) & (BITS - 1);
+            current[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    /**
+     * Tests the bits of a hash in one generation
+     * @param bits The generation
+     * @param h The mixed hash
+     * @return true if every bit is set
+     */
+    private static boolean contains(long[] bits, long h) {
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32);
+        for (int i = 0; i < HASHES; i++) {
+            int bit = (h1 + i * h2) & (BITS - 1);
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Forgets every pair
+     */
+    public synchronized void clear() {
+        Arrays.fill(current, 0);
+        Arrays.fill(previous, 0);
+        generationStart = System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,156 @@
+package com.island.network;
+
+import com.island.models.card.CardType;
+import com.island.models.treasure.TreasureType;
+import com.island.util.Constant;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.zip.Adler32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * FrameCompressor is the optional compression stage applied to a message before encryption.
+ * Messages shorter than {@value #THRESHOLD} bytes are sent as they are; larger ones, such as
+ * UPDATE_ROOM, GAME_START or state snapshots, are deflated with a preset dictionary made of the
+ * game's own vocabulary: tile names, message types, card and treasure names and payload keys.
+ * A compressed frame starts with {@link #MARKER}, a byte no text message starts with, so
+ * receivers tell both kinds apart and older frames stay readable. The zlib header carries the
+ * checksum of the dictionary, and frames deflated with another dictionary are refused.
+ * <p>
+ * Peers that predate compression cannot read compressed frames, so a peer advertises
+ * {@link #CAPABILITY} in its heartbeats and a room only compresses once every player did.
+ * <p>
+ * An instance holds a deflater and an inflater and is used by one thread at a time.
+ */
+public class FrameCompressor {
+    /** First byte of a compressed frame */
+    public static final byte MARKER = 0x01;
+
+    /** Heartbeat field advertising that a peer reads compressed frames */
+    public static final String CAPABILITY = "deflate";
+
+    /** Smallest message that is compressed, in bytes */
+    public static final int THRESHOLD = 192;
+
+    /** Preset dictionary shared by every peer, most frequent strings last */
+    private static final byte[] DICTIONARY = buildDictionary();
+
+    /** Flag indicating whether large messages are compressed, receiving always works */
+    private static volatile boolean enabled = true;
+
+    /** Deflater reused for every message */
+    private final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+
+    /** Inflater reused for every message */
+    private final Inflater inflater = new Inflater();
+
+    /** Checksum of the dictionary, as read from the zlib header of a frame */
+    private final int dictionaryId;
+
+    /**
+     * Creates a compressor
+     */
+    public FrameCompressor() {
+        Adler32 adler = new Adler32();
+        adler.update(DICTIONARY);
+        this.dictionaryId = (int) adler.getValue();
+    }
+
+    /**
+     * Builds the preset dictionary from the game vocabulary
+     * The order only depends on the game constants, so every peer builds the same bytes.
+     * @return The dictionary bytes
+     */
+    private static byte[] buildDictionary() {
+        List<String> words = new ArrayList<>();
+        words.addAll(new TreeSet<>(Constant.tileNameMap.values()));
+        words.addAll(new TreeSet<>(Constant.tileNameMap.keySet()));
+        for (TreasureType treasure : TreasureType.values()) {
+            words.add(treasure.name());
+            words.add(treasure.getDisplayName());
+        }
+        for (CardType card : CardType.values()) {
+            words.add(card.name());
+        }
+        words.addAll(List.of("WaterRise", "Helicopter", "Sandbags"));
+        for (MessageType type : MessageType.values()) {
+            words.add("|" + type.name() + "|");
+        }
+        words.addAll(List.of("description=", "isRequest=", "isAccepted=", "departedHost=", "treasureType=",
+                "treasures=", "tiles=", "sequence=", "baseSequence=", "seed=", "newPositionX=", "newPositionY=",
+                "playerName=", "waterLevel=", "cardIndex=", "tileName=", "positionX=", "positionY=",
+                "playerCount=", "|player", "|false|", "|true|", "|all|"));
+        return String.join("", words).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Enables or disables the compression of outgoing messages
+     * @param enabled false to send every message uncompressed
+     */
+    public static void setEnabled(boolean enabled) {
+        FrameCompressor.enabled = enabled;
+    }
+
+    /**
+     * Checks whether a decrypted frame is compressed
+     * @param frame The frame bytes
+     * @param length Number of frame bytes
+     * @return true if the frame starts with {@link #MARKER}
+     */
+    public static boolean isCompressed(byte[] frame, int length) {
+        return length > 0 && frame[0] == MARKER;
+    }
+
+    /**
+     * Compresses a message if it is large enough and compression pays off
+     * @param message The message bytes
+     * @param length Number of message bytes
+     * @param out Buffer receiving the marker and the deflated bytes
+     * @return Number of bytes written, or -1 if the message should be sent as it is
+     */
+    public int compress(byte[] message, int length, byte[] out) {
+        if (!enabled || length < THRESHOLD) {
+            return -1;
+        }
+        deflater.reset();
+        deflater.setDictionary(DICTIONARY);
+        deflater.setInput(message, 0, length);
+        deflater.finish();
+        out[0] = MARKER;
+        int deflated = deflater.deflate(out, 1, Math.min(out.length, length) - 1);
+        if (!deflater.finished()) {
+            return -1;
+        }
+        return deflated + 1;
+    }
+
+    /**
+     * Restores a compressed frame
+     * @param frame The frame, starting with {@link #MARKER}
+     * @param length Number of frame bytes
+     * @param out Buffer receiving the message bytes
+     * @return Number of message bytes, or -1 if the frame is corrupt, too large or uses another dictionary
+     */
+    public int decompress(byte[] frame, int length, byte[] out) {
+        inflater.reset();
+        inflater.setInput(frame, 1, length - 1);
+        try {
+            int inflated = inflater.inflate(out);
+            if (inflater.needsDictionary()) {
+                if (inflater.getAdler() != dictionaryId) {
+                    return -1;
+                }
+                inflater.setDictionary(DICTIONARY);
+                inflated = inflater.inflate(out);
+            }
+            return inflater.finished() ? inflated : -1;
+        } catch (DataFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.island.network;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * HeartbeatMonitor tracks the last heartbeat of every peer and reports the peers that stopped
+ * sending them. Timeouts are counted in missed heartbeat intervals: the host is declared lost
+ * after {@value #HOST_MISSED_BEATS} missed beats, so a new host takes over quickly, while other
+ * players get {@value #PLAYER_MISSED_BEATS} before a bot stands in for them.
+ */
+public class HeartbeatMonitor {
+    /** Missed heartbeats after which the host is lost */
+    static final int HOST_MISSED_BEATS = 2;
+
+    /** Missed heartbeats after which another player is lost */
+    static final int PLAYER_MISSED_BEATS = 3;
+
+    /** Interval between the heartbeats of a peer in milliseconds */
+    private final long interval;
+
+    /** Time of the last heartbeat of each peer in milliseconds */
+    private final Map<String, Long> lastHeartbeat = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a monitor
+     * @param interval Interval between the heartbeats of a peer in milliseconds
+     */
+    public HeartbeatMonitor(long interval) {
+        this.interval = interval;
+    }
+
+    /**
+     * Records a heartbeat
+     * @param username The username of the peer
+     * @param now Receive time in milliseconds
+     */
+    public void beat(String username, long now) {
+        lastHeartbeat.put(username, now);
+    }
+
+    /**
+     * Stops tracking a peer
+     * @param username The username of the peer
+     */
+    public void remove(String username) {
+        lastHeartbeat.remove(username);
+    }
+
+    /**
+     * Stops tracking every peer
+     */
+    public void clear() {
+        lastHeartbeat.clear();
+    }
+
+    /**
+     * Gets the time without heartbeat after which a peer is lost
+     * @param host true for the host of the room
+     * @return The timeout in milliseconds
+     */
+    public long timeout(boolean host) {
+        return interval * (host ? HOST_MISSED_BEATS : PLAYER_MISSED_BEATS);
+    }
+
+    /**
+     * Removes and returns the peers whose heartbeats stopped
+     * @param now Current time in milliseconds
+     * @param isHost Tells whether a peer is the host of the room
+     * @return The lost peers, no longer tracked
+     */
+    public List<String> expire(long now, Predicate<String> isHost) {
+        List<String> lost = new ArrayList<>();
+        lastHeartbeat.entrySet().removeIf(entry -> {
+            if (now - entry.getValue() > timeout(isHost.test(entry.getKey()))) {
+                lost.add(entry.getKey());
+                return true;
+            }
+            return false;
+        });
+        return lost;
+    }
+}
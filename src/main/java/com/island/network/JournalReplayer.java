@@ -0,0 +1,73 @@
+package com.island.network;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * JournalReplayer feeds the messages of a {@link TrafficJournal} back through a {@link MessageHandler}
+ * to reproduce a recorded session. Only inbound messages are replayed: a peer also receives its
+ * own broadcasts, so the inbound records already contain everything its handler processed.
+ * Run from the command line, it prints the journal in a readable form.
+ */
+public class JournalReplayer {
+    /** Recorded entries in recording order */
+    private final List<TrafficJournal.Entry> entries;
+
+    /**
+     * Creates a replayer for a journal file
+     * @param file The journal file
+     * @throws Exception if the journal cannot be read
+     */
+    public JournalReplayer(Path file) throws Exception {
+        this.entries = TrafficJournal.read(file);
+    }
+
+    /**
+     * Gets the recorded entries
+     * @return The entries in recording order
+     */
+    public List<TrafficJournal.Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Replays the inbound messages through a message handler
+     * The handler must belong to a game set up like the recorded one, and is called on the calling thread.
+     * @param handler The handler processing the messages
+     * @param realTime true to wait between messages as long as during the recording, false to replay at full speed
+     * @return The number of messages replayed
+     * @throws Exception if the handler fails or the replay is interrupted
+     */
+    public int replay(MessageHandler handler, boolean realTime) throws Exception {
+        int replayed = 0;
+        long previous = -1;
+        for (TrafficJournal.Entry entry : entries) {
+            if (entry.direction() != TrafficJournal.Direction.INBOUND) {
+                continue;
+            }
+            if (realTime && previous >= 0 && entry.timestamp() > previous) {
+                Thread.sleep(entry.timestamp() - previous);
+            }
+            previous = entry.timestamp();
+            handler.handleMessage(entry.message());
+            replayed++;
+        }
+        return replayed;
+    }
+
+    /**
+     * Prints a journal file, one message per line
+     * @param args The path of the journal file
+     * @throws Exception if the journal cannot be read
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length != 1) {
+            System.out.println("Usage: JournalReplayer <journal file>");
+            return;
+        }
+        for (TrafficJournal.Entry entry : new JournalReplayer(Path.of(args[0])).getEntries()) {
+            System.out.println(entry.timestamp() + " " + entry.direction() + " "
+                    + (entry.peer() == null ? "-" : entry.peer().getHostAddress()) + " " + entry.message());
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.island.network;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * LatencyMetrics collects the one-way latency of the actions applied from each peer: the time
+ * between the peer sending a message and the local handler applying it, both on the local clock
+ * once the send stamp is converted with {@link ClockSync}. The figure includes the network transit
+ * and the wait for the JavaFX thread, which is what a player experiences as lag.
+ */
+public class LatencyMetrics {
+    /** Statistics of each peer */
+    private final Map<String, PeerStats> peers = new ConcurrentHashMap<>();
+
+    /**
+     * Latency statistics of one peer
+     * @param count Number of actions applied
+     * @param mean Mean latency in microseconds
+     * @param max Largest latency in microseconds
+     * @param last Latency of the most recent action in microseconds
+     */
+    public record Snapshot(long count, long mean, long max, long last) {
+    }
+
+    /**
+     * Records the latency of an applied action
+     * @param peer Name of the peer that sent the action
+     * @param micros One-way latency in microseconds
+     */
+    public void record(String peer, long micros) {
+        peers.computeIfAbsent(peer, name -> new PeerStats()).add(Math.max(0, micros));
+    }
+
+    /**
+     * Gets the statistics of a peer
+     * @param peer Name of the peer
+     * @return The statistics, or null if no action of the peer was recorded
+     */
+    public Snapshot get(String peer) {
+        PeerStats stats = peers.get(peer);
+        return stats == null ? null : stats.snapshot();
+    }
+
+    /**
+     * Gets the statistics of every peer
+     * @return Statistics by peer name, sorted by name
+     */
+    public Map<String, Snapshot> snapshot() {
+        Map<String, Snapshot> result = new TreeMap<>();
+        peers.forEach((peer, stats) -> result.put(peer, stats.snapshot()));
+        return result;
+    }
+
+    /**
+     * Formats the statistics for logging
+     * One line per peer: name, count, then mean, max and last latency in milliseconds.
+     * @return The report
+     */
+    public String report() {
+        StringBuilder sb = new StringBuilder();
+        snapshot().forEach((peer, stats) -> sb.append(String.format("%s\tn=%d\tmean=%.1fms\tmax=%.1fms\tlast=%.1fms%n",
+                peer, stats.count(), stats.mean() / 1000.0, stats.max() / 1000.0, stats.last() / 1000.0)));
+        return sb.toString();
+    }
+
+    /**
+     * Forgets the statistics of every peer
+     */
+    public void clear() {
+        peers.clear();
+    }
+
+    /**
+     * Running statistics of one peer
+     */
+    private static final class PeerStats {
+        private long count;
+        private long total;
+        private long max;
+        private long last;
+
+        /**
+         * Adds a latency
+         * @param micros Latency in microseconds
+         */
+        synchronized void add(long micros) {
+            count++;
+            total += micros;
+            max = Math.max(max, micros);
+            last = micros;
+        }
+
+        /**
+         * Copies the current statistics
+         * @return The snapshot
+         */
+        synchronized Snapshot snapshot() {
+            return new Snapshot(count, count == 0 ? 0 : total / count, max, last);
+        }
+    }
+}
@@ -1,5 +1,10 @@
 package com.island.network;
 
+import com.island.network.payload.Payload;
+import com.island.network.payload.PayloadRegistry;
+import com.island.network.payload.PayloadWriter;
+import com.island.network.payload.WireReader;
+
 import java.util.HashMap;
 import java.util.Map;
 
@@ -25,10 +30,37 @@ public class Message {
     
     /** Flag indicating whether this is an acknowledgment message */
     private boolean isAck;
+
+    /** Session dictionary slot of the sender, -1 if the message was not decoded with one */
+    private int fromSlot = -1;
+
+    /** Session dictionary slot of the recipient, -1 if the message was not decoded with one */
+    private int toSlot = -1;
     
-    /** Additional data carried by the message as key-value pairs */
+    /** Sender clock when the message was first sent in microseconds, 0 if not stamped */
+    private long sentAt;
+
+    /** Sent time of the acknowledged message, echoed by acknowledgments, 0 if none */
+    private long echoSentAt;
+
+    /** Receive time of the acknowledged message on the acknowledging peer's clock, 0 if none */
+    private long echoReceivedAt;
+
+    /** Local clock when the message was received in microseconds, not transmitted */
+    private long receivedAt;
+
+    /** Flag set by the receiver when the message is certainly not a retransmission, not transmitted */
+    private boolean unseen;
+
+    /** Typed content of the message, see {@link PayloadRegistry} */
+    private Payload payload;
+
+    /** Additional untyped data carried by the message as key-value pairs */
     private Map<String, Object> data = new HashMap<>();
 
+    /** Message types indexed by ordinal, used to parse the type without allocating */
+    private static final MessageType[] MESSAGE_TYPES = MessageType.values();
+
     /**
      * Default constructor
      */
@@ -46,6 +78,13 @@ public class Message {
         this.from = message.getFrom();
         this.to = message.getTo();
         this.isAck = message.isAck();
+        this.fromSlot = message.fromSlot;
+        this.toSlot = message.toSlot;
+        this.sentAt = message.sentAt;
+        this.echoSentAt = message.echoSentAt;
+        this.echoReceivedAt = message.echoReceivedAt;
+        this.receivedAt = message.receivedAt;
+        this.payload = message.payload;
         this.data = new HashMap<>(message.getData());
     }
 
@@ -137,20 +176,70 @@ public class Message {
     }
 
     /**
-     * Converts the message to a string format for network transmission
-     * Format: messageId|type|roomId|from|to|isAck|key1=value1|key2=value2|...
+     * Sets the typed payload of the message
+     * @param payload The payload, which must be the record registered for the message type
+     */
+    public void setPayload(Payload payload) {
+        this.payload = payload;
+    }
+
+    /**
+     * Gets the typed payload of the message
+     * Messages built with {@link #addExtraData} are converted from their data map on first access.
+     * @param payloadClass The expected payload record class
+     * @param <P> The payload type
+     * @return The payload, or null if the message carries none
+     * @throws IllegalArgumentException if the data map does not hold a valid payload
+     * @throws ClassCastException if the payload is not of the expected class
+     */
+    public <P extends Payload> P getPayload(Class<P> payloadClass) {
+        if (payload == null && !data.isEmpty()) {
+            payload = PayloadRegistry.fromData(type, data);
+        }
+        return payloadClass.cast(payload);
+    }
+
+    /**
+     * Converts the message to a readable string, also used as the wire format before a game starts
+     * Format: messageId|type|roomId|from|to|isAck|timestamps|payload fields|key1=value1|key2=value2|...
+     * The timestamps "@t=sentAt|" and "@e=echoSentAt:echoReceivedAt|" are only present when set.
      * @return String representation of the message
      */
     @Override
     public String toString() {
+        return toWire(null);
+    }
+
+    /**
+     * Converts the message to its string format for network transmission
+     * Player, tile and card names are replaced by their session dictionary tokens when the
+     * message type is encoded with the dictionary.
+     * @param dictionary Dictionary of the session, or null before a game starts
+     * @return Wire representation of the message
+     */
+    public String toWire(SessionDictionary dictionary) {
+        SessionDictionary dict = dictionary != null && SessionDictionary.appliesTo(type) ? dictionary : null;
         StringBuilder sb = new StringBuilder();
         sb.append(messageId).append("|");
         sb.append(type.name()).append("|");
         sb.append(roomId).append("|");
-        sb.append(from == null ? "" : from).append("|");
-        sb.append(to == null ? "" : to).append("|");
+        appendName(sb, from, dict);
+        appendName(sb, to, dict);
         sb.append(isAck).append("|");
 
+        // serialize timestamps
+        if (sentAt != 0) {
+            sb.append("@t=").append(sentAt).append('|');
+        }
+        if (echoSentAt != 0) {
+            sb.append("@e=").append(echoSentAt).append(':').append(echoReceivedAt).append('|');
+        }
+
+        // serialize payload
+        if (payload != null) {
+            payload.write(new PayloadWriter(sb, dict));
+        }
+
         // serialize data
         if (data != null && !data.isEmpty()) {
             for (Map.Entry<String, Object> entry : data.entrySet()) {
@@ -163,40 +252,171 @@ public class Message {
     }
 
     /**
-     * Creates a Message object from its string representation
+     * Appends the sender or recipient field
+     * @param sb The buffer of the message being serialized
+     * @param name The player name, may be null
+     * @param dictionary Dictionary of the session, or null for plain text
+     */
+    private static void appendName(StringBuilder sb, String name, SessionDictionary dictionary) {
+        if (dictionary != null) {
+            dictionary.append(sb, name);
+        } else if (name != null) {
+            sb.append(name);
+        }
+        sb.append('|');
+    }
+
+    /**
+     * Creates a Message object from its plain string representation
      * @param message String representation of the message
      * @return New Message object
      * @throws IllegalArgumentException if the message format is invalid
      */
     public static Message fromString(String message) {
-        String[] parts = message.split("\\|", -1);  // use negative restriction to keep empty fields at the end
-        if (parts.length < 4) {
-            throw new IllegalArgumentException("Invalid message format");
+        return fromWire(message, null);
+    }
+
+    /**
+     * Creates a Message object from its wire representation
+     * Payload fields are decoded in place into their typed record. Fields in an order the
+     * payload decoder does not expect are kept in the data map and decoded on first access.
+     * @param message Wire representation of the message
+     * @param dictionary Dictionary of the session, or null before a game starts
+     * @return New Message object
+     * @throws IllegalArgumentException if the message format is invalid
+     */
+    public static Message fromWire(String message, SessionDictionary dictionary) {
+        int[] bounds = new int[7];
+        Message msg = decodeHeader(message, dictionary, bounds);
+        SessionDictionary dict = dictionary != null && SessionDictionary.appliesTo(msg.type) ? dictionary : null;
+        int pos = bounds[6];
+
+        // decode the timestamps
+        try {
+            if (message.startsWith("@t=", pos)) {
+                int end = message.indexOf('|', pos);
+                msg.sentAt = Long.parseLong(message, pos + 3, end, 10);
+                pos = end + 1;
+            }
+            if (message.startsWith("@e=", pos)) {
+                int end = message.indexOf('|', pos);
+                int colon = message.indexOf(':', pos);
+                msg.echoSentAt = Long.parseLong(message, pos + 3, colon, 10);
+                msg.echoReceivedAt = Long.parseLong(message, colon + 1, end, 10);
+                pos = end + 1;
+            }
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid message timestamp", e);
         }
-        Message msg = new Message();
-        msg.setMessageId(Long.parseLong(parts[0]));
-        msg.setType(MessageType.valueOf(parts[1]));
-        msg.setRoomId(Integer.parseInt(parts[2]));
-        msg.setFrom(parts[3]);
-        String toPlayer = parts[4].isEmpty() ? null : parts[4];
-        msg.setTo(toPlayer);
-        msg.setIsAck(Boolean.parseBoolean(parts[5]));
-
-        // deserialize data
-        for (int i = 6; i < parts.length; i++) {
-            String part = parts[i];
-            if (!part.isEmpty()) {
-                String[] kv = parts[i].split("=", 2);
-                if (kv.length != 2) {
+
+        // decode the typed payload
+        if (PayloadRegistry.hasPayload(msg.type)) {
+            try {
+                WireReader reader = new WireReader(message, pos, dict);
+                Payload payload = PayloadRegistry.read(msg.type, reader);
+                if (payload != null) {
+                    msg.payload = payload;
+                    pos = reader.position();
+                }
+            } catch (IllegalArgumentException e) {
+                // Unexpected field order, keep the fields in the data map
+            }
+        }
+
+        // deserialize remaining data
+        while (pos < message.length()) {
+            int end = message.indexOf('|', pos);
+            if (end < 0) {
+                end = message.length();
+            }
+            if (end > pos) {
+                int eq = message.indexOf('=', pos);
+                if (eq < 0 || eq > end) {
                     throw new IllegalArgumentException("Invalid message format");
                 }
-                msg.addExtraData(kv[0], kv[1]);
+                msg.addExtraData(message.substring(pos, eq), message.substring(eq + 1, end));
             }
+            pos = end + 1;
         }
 
         return msg;
     }
 
+    /**
+     * Decodes the header fields of a message, leaving the payload and data unread
+     * Used on its own to answer a retransmission without parsing the rest of it.
+     * @param message Wire representation of the message
+     * @param dictionary Dictionary of the session, or null before a game starts
+     * @return New Message object holding only the header fields
+     * @throws IllegalArgumentException if the message format is invalid
+     */
+    public static Message fromWireHeader(String message, SessionDictionary dictionary) {
+        return decodeHeader(message, dictionary, new int[7]);
+    }
+
+    /**
+     * Decodes the header fields of a message
+     * @param message Wire representation of the message
+     * @param dictionary Dictionary of the session, or null before a game starts
+     * @param bounds Receives the start of each of the six header fields and of the rest
+     * @return New Message object holding the header fields
+     * @throws IllegalArgumentException if the message format is invalid
+     */
+    private static Message decodeHeader(String message, SessionDictionary dictionary, int[] bounds) {
+        int pos = 0;
+        for (int i = 0; i < 6; i++) {
+            int end = message.indexOf('|', pos);
+            if (end < 0) {
+                throw new IllegalArgumentException("Invalid message format");
+            }
+            bounds[i] = pos;
+            pos = end + 1;
+        }
+        bounds[6] = pos;
+
+        Message msg = new Message();
+        try {
+            msg.setMessageId(Long.parseLong(message, bounds[0], bounds[1] - 1, 10));
+            msg.setType(parseType(message, bounds[1], bounds[2] - 1));
+            msg.setRoomId(Integer.parseInt(message, bounds[2], bounds[3] - 1, 10));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid message format", e);
+        }
+        SessionDictionary dict = dictionary != null && SessionDictionary.appliesTo(msg.type) ? dictionary : null;
+        if (dict == null) {
+            msg.setFrom(message.substring(bounds[3], bounds[4] - 1));
+            msg.setTo(bounds[5] - 1 == bounds[4] ? null : message.substring(bounds[4], bounds[5] - 1));
+        } else {
+            msg.setFrom(dict.decode(message, bounds[3], bounds[4] - 1));
+            msg.fromSlot = dict.indexAt(message, bounds[3], bounds[4] - 1);
+            if (bounds[5] - 1 > bounds[4]) {
+                msg.setTo(dict.decode(message, bounds[4], bounds[5] - 1));
+                msg.toSlot = dict.indexAt(message, bounds[4], bounds[5] - 1);
+            }
+        }
+        msg.setIsAck(message.startsWith("true|", bounds[5]));
+        return msg;
+    }
+
+    /**
+     * Parses a message type name without allocating
+     * @param message The serialized message
+     * @param start Start of the type name
+     * @param end End of the type name
+     * @return The matching message type
+     * @throws IllegalArgumentException if no message type matches
+     */
+    private static MessageType parseType(String message, int start, int end) {
+        int length = end - start;
+        for (MessageType messageType : MESSAGE_TYPES) {
+            String name = messageType.name();
+            if (name.length() == length && message.startsWith(name, start)) {
+                return messageType;
+            }
+        }
+        throw new IllegalArgumentException("Invalid message type");
+    }
+
     /**
      * Sets the message type
      * @param type The message type to set
@@ -219,6 +439,7 @@ public class Message {
      */
     public void setFrom(String from) {
         this.from = from;
+        this.fromSlot = -1;
     }
 
     /**
@@ -227,6 +448,7 @@ public class Message {
      */
     public void setTo(String to) {
         this.to = to;
+        this.toSlot = -1;
     }
 
     /**
@@ -269,6 +491,22 @@ public class Message {
         return to;
     }
 
+    /**
+     * Gets the session dictionary slot of the sender
+     * @return The slot, or -1 if the sender was not decoded as a dictionary token
+     */
+    public int getFromSlot() {
+        return fromSlot;
+    }
+
+    /**
+     * Gets the session dictionary slot of the recipient
+     * @return The slot, or -1 if the recipient was not decoded as a dictionary token
+     */
+    public int getToSlot() {
+        return toSlot;
+    }
+
     /**
      * Gets the message ID
      * @return The message ID
@@ -308,4 +546,78 @@ public class Message {
     public Map<String, Object> getData() {
         return data;
     }
+
+    /**
+     * Gets the time the sender first sent the message
+     * @return Sender clock in microseconds, 0 if the message is not stamped
+     */
+    public long getSentAt() {
+        return sentAt;
+    }
+
+    /**
+     * Stamps the message with the time it is sent
+     * @param sentAt Sender clock in microseconds
+     */
+    public void setSentAt(long sentAt) {
+        this.sentAt = sentAt;
+    }
+
+    /**
+     * Echoes the timestamps of the message being acknowledged
+     * @param echoSentAt Sent time of the acknowledged message, on its sender's clock
+     * @param echoReceivedAt Receive time of the acknowledged message, on the local clock
+     */
+    public void setEcho(long echoSentAt, long echoReceivedAt) {
+        this.echoSentAt = echoSentAt;
+        this.echoReceivedAt = echoReceivedAt;
+    }
+
+    /**
+     * Gets the echoed sent time of the acknowledged message
+     * @return Time on the clock of this acknowledgment's recipient, 0 if none
+     */
+    public long getEchoSentAt() {
+        return echoSentAt;
+    }
+
+    /**
+     * Gets the echoed receive time of the acknowledged message
+     * @return Time on the clock of this acknowledgment's sender, 0 if none
+     */
+    public long getEchoReceivedAt() {
+        return echoReceivedAt;
+    }
+
+    /**
+     * Checks whether the receiver found the message certainly not seen before
+     * @return true if the duplicate check can be skipped
+     */
+    public boolean isUnseen() {
+        return unseen;
+    }
+
+    /**
+     * Marks the message as certainly not seen before, see {@link DuplicateFilter}
+     * @param unseen true if the duplicate check can be skipped
+     */
+    public void setUnseen(boolean unseen) {
+        this.unseen = unseen;
+    }
+
+    /**
+     * Gets the time the message was received
+     * @return Local clock in microseconds, 0 if the message was not received from the network
+     */
+    public long getReceivedAt() {
+        return receivedAt;
+    }
+
+    /**
+     * Sets the time the message was received
+     * @param receivedAt Local clock in microseconds
+     */
+    public void setReceivedAt(long receivedAt) {
+        this.receivedAt = receivedAt;
+    }
 }
@@ -2,35 +2,61 @@ package com.island.network;
 
 import com.island.controller.GameController;
 import com.island.models.Room;
+import com.island.models.adventurers.Engineer;
 import com.island.models.adventurers.Navigator;
-import com.island.models.adventurers.Pilot;
 import com.island.models.adventurers.Player;
-import com.island.models.card.Card;
 import com.island.models.game.GameState;
-import com.island.models.island.Position;
-import com.island.models.island.Tile;
-import com.island.models.treasure.TreasureType;
+import com.island.network.payload.*;
 import com.island.util.Constant;
 import com.island.views.ui.ActionLogView;
 
-import static com.island.util.ui.Dialog.showMessage;
-
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Handles all network messages in the game, including message processing, retrying, and acknowledgment.
  * This class manages the communication between players and maintains game state consistency.
+ * The messages of player decisions are applied to the game through the {@link GameController},
+ * which resolves the draws and turn starts itself; only the decisions it accepts are logged.
  */
 public class MessageHandler {
     /** Map to store messages that haven't been acknowledged by all recipients */
     private final Map<Long, UnconfirmedMessage> unconfirmedMessages = new ConcurrentHashMap<>();
     
-    /** Map to store received messages to prevent duplicate processing */
-    private Map<Long, Message> receivedMessages = new ConcurrentHashMap<>();
+    /** Map to store received messages to prevent duplicate processing, by sender, ID and type */
+    private final Map<ReceivedKey, Message> receivedMessages = new ConcurrentHashMap<>();
+
+    /** Messages requiring acknowledgment received within the retry window, oldest first, relayed on host migration */
+    private final Deque<ReceivedMessage> recentMessages = new ConcurrentLinkedDeque<>();
+
+    /**
+     * A message with the time it was received
+     * @param time Reception time in milliseconds
+     * @param message The received message
+     */
+    private record ReceivedMessage(long time, Message message) {
+    }
+
+    /**
+     * Identifies a handled message. IDs are only unique per sender, so the sender and the type are
+     * part of the key.
+     * @param from Name of the sender
+     * @param messageId The message ID
+     * @param type The message type
+     */
+    private record ReceivedKey(String from, long messageId, MessageType type) {
+        /**
+         * Gets the key of a message
+         * @param message The message
+         * @return The key
+         */
+        static ReceivedKey of(Message message) {
+            return new ReceivedKey(message.getFrom(), message.getMessageId(), message.getType());
+        }
+    }
     
     /** Reference to the game controller for managing game state */
     private GameController gameController;
@@ -41,15 +67,33 @@ public class MessageHandler {
     /** Reference to the current game room */
     private Room room;
 
-    /** Scheduler for handling message retries and timeouts */
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(8);
+    /** Scope running message retries, shared with the room controller */
+    private final RoomScope scope;
+
+    /** Flag indicating whether the scope was created by this handler and must be closed by it */
+    private final boolean ownsScope;
     
-    /** Time interval between message retry attempts (in milliseconds) */
+    /** Default time interval between message retry attempts (in milliseconds) */
     private static final long RETRY_INTERVAL = 3000;
     
-    /** Maximum number of retry attempts for unconfirmed messages */
+    /** Default maximum number of retry attempts for unconfirmed messages */
     private static final int MAX_RETRY_COUNT = 3;
 
+    /** Time interval between message retry attempts (in milliseconds) */
+    private final long retryInterval;
+
+    /** Maximum number of retry attempts for unconfirmed messages */
+    private final int maxRetryCount;
+
+    /** Time during which a sender may still be retrying a message, after which it is not relayed */
+    private final long relayWindow;
+
+    /** Number of retry rounds of unconfirmed messages */
+    private final AtomicLong retries = new AtomicLong();
+
+    /** Number of messages given up after the last retry */
+    private final AtomicLong failures = new AtomicLong();
+
     /** Queue for storing message IDs to ensure ordered processing */
     private final PriorityQueue<Long> messageQueue = new PriorityQueue<>();
     
@@ -64,8 +108,24 @@ public class MessageHandler {
      * @param gameController The game controller instance
      */
     public MessageHandler(GameController gameController) {
+        this(gameController, RETRY_INTERVAL, MAX_RETRY_COUNT);
+    }
+
+    /**
+     * Constructor for MessageHandler with its own retry policy
+     * @param gameController The game controller instance
+     * @param retryInterval Time interval between message retry attempts, in milliseconds
+     * @param maxRetryCount Maximum number of retry attempts for unconfirmed messages
+     */
+    public MessageHandler(GameController gameController, long retryInterval, int maxRetryCount) {
         this.gameController = gameController;
+        this.retryInterval = retryInterval;
+        this.maxRetryCount = maxRetryCount;
+        this.relayWindow = retryInterval * (maxRetryCount + 1);
         room = gameController.getRoomController().getRoom();
+        RoomScope roomScope = gameController.getRoomController().getScope();
+        this.ownsScope = roomScope == null;
+        this.scope = ownsScope ? new RoomScope(room.getId()) : roomScope;
     }
 
     /**
@@ -74,8 +134,8 @@ public class MessageHandler {
      * @throws Exception if message handling fails
      */
     public void handleMessage(Message message) throws Exception {
-        // Check if this message has already been processed
-        if (message.isAck() && receivedMessages.containsKey(message.getMessageId())) {
+        // Check if this message has already been processed, unless the receiver's filter ruled it out
+        if (message.isAck() && !message.isUnseen() && hasReceived(message)) {
             // If we've already processed this message, just send an ACK and return
             gameController.getRoomController().sendAckMessage(message);
             return;
@@ -83,8 +143,9 @@ public class MessageHandler {
 
         if (message.isAck()) {
             gameController.getRoomController().sendAckMessage(message);
+            rememberRecent(message);
         }
-        receivedMessages.put(message.getMessageId(), message);
+        receivedMessages.put(ReceivedKey.of(message), message);
 
         switch (message.getType()) {
             case PLAYER_JOIN -> gameController.handlePlayerJoin(message);
@@ -92,8 +153,6 @@ public class MessageHandler {
             case LEAVE_ROOM -> handleLeaveRoom(message);
             case UPDATE_ROOM -> handleUpdateRoom(message);
             case GAME_START -> handleGameStart(message);
-            case DRAW_TREASURE_CARD -> handleDrawTreasureCard(message);
-            case TURN_START -> handleTurnStart(message);
             case MOVE_PLAYER -> handlePlayerMove(message);
             case SHORE_UP -> handleShoreUp(message);
             case GIVE_CARD -> handleGiveCard(message);
@@ -102,10 +161,77 @@ public class MessageHandler {
             case END_TURN -> handleEndTurn(message);
             case HELICOPTER_MOVE -> handleMoveByHelicopter(message);
             case SANDBAGS_USE -> handleUseSandbags(message);
-            case DRAW_FLOOD_CARD -> handleDrawFloodCard(message);
             case DISCARD_CARD -> handleDiscardCard(message);
             case GAME_OVER -> handleGameOver(message);
             case MESSAGE_ACK -> handleMessageAck(message);
+            case HOST_MIGRATION -> handleHostMigration(message);
+        }
+        if (message.getType() != MessageType.MESSAGE_ACK) {
+            gameController.getRoomController().recordApplyLatency(message);
+        }
+    }
+
+    /**
+     * Checks whether a message has already been processed
+     * Safe to call from the receive thread.
+     * @param message The message, of which only the header is read
+     * @return true if a message with the same sender, ID and type was handled
+     */
+    public boolean hasReceived(Message message) {
+        return receivedMessages.containsKey(ReceivedKey.of(message));
+    }
+
+    /**
+     * Keeps a received message for the duration of the retry window
+     * @param message The received message
+     */
+    private void rememberRecent(Message message) {
+        long now = System.currentTimeMillis();
+        recentMessages.addLast(new ReceivedMessage(now, message));
+        ReceivedMessage oldest;
+        while ((oldest = recentMessages.peekFirst()) != null && now - oldest.time() > relayWindow) {
+            recentMessages.pollFirst();
+        }
+    }
+
+    /**
+     * Handles the announcement of a new host
+     * Peers that have not yet noticed the departure apply the same election immediately.
+     * @param message The host migration message
+     */
+    private void handleHostMigration(Message message) {
+        String departedHost = message.getPayload(HostMigrationCommand.class).departedHost();
+        gameController.getRoomController().migrateHost(departedHost);
+    }
+
+    /**
+     * Takes over the message state of a departed player
+     * Every peer stops waiting for acknowledgments from the departed player. The new host also
+     * re-broadcasts the departed player's messages received within the retry window, under their
+     * original ids, and tracks their acknowledgments in place of the departed player.
+     * @param departed Name of the departed player
+     * @param relay true if the local player is the new host
+     */
+    public void handOver(String departed, boolean relay) {
+        for (Map.Entry<Long, UnconfirmedMessage> entry : unconfirmedMessages.entrySet()) {
+            UnconfirmedMessage unconfirmed = entry.getValue();
+            unconfirmed.removeReceiver(departed);
+            if (!unconfirmed.hasPendingReceivers()) {
+                unconfirmedMessages.remove(entry.getKey());
+                synchronized (queueLock) {
+                    messageQueue.remove(entry.getKey());
+                }
+            }
+        }
+        if (!relay) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (ReceivedMessage received : recentMessages) {
+            Message message = received.message();
+            if (departed.equals(message.getFrom()) && now - received.time() <= relayWindow) {
+                gameController.getRoomController().sendReliably(new Message(message));
+            }
         }
     }
 
@@ -114,6 +240,7 @@ public class MessageHandler {
      * @param message The acknowledgment message
      */
     private void handleMessageAck(Message message) {
+        gameController.getRoomController().recordAckTimes(message);
         long messageId = message.getMessageId();
         if (unconfirmedMessages.containsKey(messageId)) {
             UnconfirmedMessage unconfirmedMessage = unconfirmedMessages.get(messageId);
@@ -139,7 +266,7 @@ public class MessageHandler {
             // Start queue processing if not already running
             if (!isProcessingQueue) {
                 isProcessingQueue = true;
-                scheduler.schedule(this::processMessageQueue, RETRY_INTERVAL, TimeUnit.MILLISECONDS);
+                scope.schedule(this::processMessageQueue, retryInterval, TimeUnit.MILLISECONDS);
             }
         }
     }
@@ -162,6 +289,15 @@ public class MessageHandler {
 
             // Process the message
             processMessageRetry(messageId);
+
+            // Keep draining the queue, including after a message was confirmed or given up
+            synchronized (queueLock) {
+                if (messageQueue.isEmpty()) {
+                    isProcessingQueue = false;
+                    return;
+                }
+            }
+            scope.schedule(this::processMessageQueue, retryInterval, TimeUnit.MILLISECONDS);
         } catch (Exception e) {
             e.printStackTrace();
             synchronized (queueLock) {
@@ -178,7 +314,7 @@ public class MessageHandler {
         UnconfirmedMessage unconfirmed = unconfirmedMessages.get(messageId);
         if (unconfirmed != null && unconfirmed.hasPendingReceivers()) {
 
-            if (unconfirmed.getRetryCount() < MAX_RETRY_COUNT) {
+            if (unconfirmed.getRetryCount() < maxRetryCount) {
                 // Create a copy of pendingReceivers to avoid concurrent modification
                 Set<String> receiversCopy = new HashSet<>(unconfirmed.getPendingReceivers());
 
@@ -191,14 +327,17 @@ public class MessageHandler {
 
                 // Increment retry count
                 unconfirmed.incrementRetryCount();
+                retries.incrementAndGet();
 
-                // Schedule next retry
+                // Queue the next retry
                 synchronized (queueLock) {
                     messageQueue.offer(messageId);
                 }
-                scheduler.schedule(this::processMessageQueue, RETRY_INTERVAL, TimeUnit.MILLISECONDS);
             } else {
-                // Trigger state synchronization after max retries
+                // Give up on the message and report the missing receivers to the sender
+                unconfirmedMessages.remove(messageId);
+                unconfirmed.failDelivery();
+                failures.incrementAndGet();
                 gameController.showErrorToast("Player(s) " + unconfirmed.getPendingReceivers().toString() + " did not receive the message!");
             }
         }
@@ -214,14 +353,14 @@ public class MessageHandler {
         Player currentProgramPlayer = room.getCurrentProgramPlayer();
         if (room.isHost(username) && !currentProgramPlayer.getName().equals(username)) {
             // The host player leaves the room
-            showMessage("Warning", "The host player leaves the room. The game will be closed.");
+            gameController.showMessage("Warning", "The host player leaves the room. The game will be closed.");
             gameController.getGameSubject().setGameState(GameState.GAME_OVER);
             gameController.getGameSubject().notifyObservers();
         } else if (!room.isHost(username)) {
             // Other players leave the room
             room.removePlayer(player);
             gameController.getRoomController().removeHeartbeat(username);
-            if (!currentProgramPlayer.getName().equals(username)) showMessage("Warning", username + " leave the room.");
+            if (!currentProgramPlayer.getName().equals(username)) gameController.showMessage("Warning", username + " leave the room.");
         }
     }
 
@@ -231,7 +370,7 @@ public class MessageHandler {
      */
     private void handlePlayerLeave(Message message) {
         String username = message.getFrom();
-        showMessage("Warning", username + " leave the game. The game will be closed.");
+        gameController.showMessage("Warning", username + " leave the game. The game will be closed.");
         gameController.getGameSubject().setGameState(GameState.GAME_OVER);
         gameController.getGameSubject().notifyObservers();
     }
@@ -241,8 +380,8 @@ public class MessageHandler {
      * @param message The game over message containing the reason
      */
     private void handleGameOver(Message message) {
-        String description = message.getData().get("description").toString();
-        showMessage("Game Over", description);
+        String description = message.getPayload(GameOverCommand.class).description();
+        gameController.showMessage("Game Over", description);
         gameController.getGameSubject().setGameState(GameState.GAME_OVER);
         gameController.getGameSubject().notifyObservers();
     }
@@ -253,41 +392,13 @@ public class MessageHandler {
      */
     private void handleDiscardCard(Message message) {
         String playerName = message.getFrom();
-        Player player = room.getPlayerByUsername(playerName);
-        int cardIndex = Integer.parseInt(message.getData().get("cardIndex").toString());
-        Card removedCard = player.removeCard(cardIndex);
-        gameController.addTreasureDiscardPile(removedCard);
-
-        // Notify using Observer pattern
-        gameController.getGameSubject().notifyCardChanged();
-        gameController.getGameSubject().notifyPlayerInfoChanged();
-        gameController.getGameSubject().notifyActionBarChanged();
-
-        actionLogView.addLog(playerName + " discard " + removedCard.getName());
-    }
-
-    /**
-     * Handles drawing flood cards
-     * @param message The draw flood card message containing count information
-     */
-    private void handleDrawFloodCard(Message message) {
-        String playerName = message.getFrom();
-        int count = Integer.parseInt(message.getData().get("count").toString());
-        List<Position> positions = gameController.drawFloodCards(count);
-        StringBuilder sb = new StringBuilder();
-        sb.append(playerName).append(" draw ").append(count).append(" flood card(s): ");
-        for (Position position : positions) {
-            Tile floodedTile = gameController.getIsland().getTile(position);
-            sb.append(Constant.tileNameMap.get(floodedTile.getName()));
-            sb.append(", ");
+        Player player = gameController.getEngine() == null ? null : gameController.getEngine().getPlayer(playerName);
+        int cardIndex = message.getPayload(DiscardCommand.class).cardIndex();
+        String cardName = player != null && cardIndex >= 0 && cardIndex < player.getCards().size()
+                ? player.getCards().get(cardIndex).getName() : "a card";
+        if (gameController.apply(message)) {
+            addLog(playerName + " discard " + cardName);
         }
-        sb.delete(sb.length() - 2, sb.length());
-        actionLogView.addLog(sb.toString());
-
-        // Notifying using Observer pattern
-        gameController.getGameSubject().notifyActionBarChanged();
-        gameController.getGameSubject().notifyBoardChanged();
-        gameController.getGameSubject().notifyCardChanged();
     }
 
     /**
@@ -296,26 +407,10 @@ public class MessageHandler {
      */
     private void handleUseSandbags(Message message) {
         String playerName = message.getFrom();
-        Player player = room.getPlayerByUsername(playerName);
-        String positionX = message.getData().get("positionX").toString();
-        String positionY = message.getData().get("positionY").toString();
-        int x = Integer.parseInt(positionX);
-        int y = Integer.parseInt(positionY);
-        Position position = new Position(x, y);
-        String tileName = message.getData().get("tileName").toString();
-        int cardIndex = Integer.parseInt(message.getData().get("cardIndex").toString());
-        gameController.getIsland().getTile(position).shoreUp();
-
-        Card removedCard =  player.removeCard(cardIndex);
-        gameController.addTreasureDiscardPile(removedCard);
-
-        // Notifying using Observer pattern
-        gameController.getGameSubject().notifyActionBarChanged();
-        gameController.getGameSubject().notifyBoardChanged();
-        gameController.getGameSubject().notifyCardChanged();
-        gameController.getGameSubject().notifyPlayerInfoChanged();
-
-        actionLogView.addLog(playerName + " use sandbags to shore up " + Constant.tileNameMap.get(tileName));
+        String tileName = message.getPayload(SandbagsCommand.class).tileName();
+        if (gameController.apply(message)) {
+            addLog(playerName + " use sandbags to shore up " + Constant.tileNameMap.get(tileName));
+        }
     }
 
     /**
@@ -324,35 +419,19 @@ public class MessageHandler {
      */
     private void handleMoveByHelicopter(Message message) {
         String username = message.getFrom();
-        Player user = room.getPlayerByUsername(username);
-        int newPositionX = Integer.parseInt(message.getData().get("newPositionX").toString());
-        int newPositionY = Integer.parseInt(message.getData().get("newPositionY").toString());
-        Position newPosition = new Position(newPositionX, newPositionY);
-        String tileName = message.getData().get("tileName").toString();
-        int cardIndex = Integer.parseInt(message.getData().get("cardIndex").toString());
-        int playerCount = Integer.parseInt(message.getData().get("playerCount").toString());
+        HelicopterCommand helicopter = message.getPayload(HelicopterCommand.class);
+        if (!gameController.apply(message)) {
+            return;
+        }
+        if (helicopter.playerNames().isEmpty()) {
+            addLog(username + " use helicopter to fly off the island");
+            return;
+        }
         StringBuilder sb = new StringBuilder();
         sb.append(username).append(" use helicopter to move ");
-        int i = 0;
-        while (i != playerCount) {
-            String playerName = (String) message.getData().get("player" + i);
-            Player player = room.getPlayerByUsername(playerName);
-            player.setPosition(newPosition);
-            sb.append(playerName).append(", ");
-            i++;
-        }
-        sb.delete(sb.length() - 2, sb.length());
-        sb.append(" to ").append(Constant.tileNameMap.get(tileName));
-        actionLogView.addLog(sb.toString());
-
-        Card removedCard = user.removeCard(cardIndex);
-        gameController.addTreasureDiscardPile(removedCard);
-
-        // Notify using Observer pattern
-        gameController.getGameSubject().notifyActionBarChanged();
-        gameController.getGameSubject().notifyBoardChanged();
-        gameController.getGameSubject().notifyPlayerInfoChanged();
-        gameController.getGameSubject().notifyCardChanged();
+        sb.append(String.join(", ", helicopter.playerNames()));
+        sb.append(" to ").append(Constant.tileNameMap.get(helicopter.tileName()));
+        addLog(sb.toString());
     }
 
     /**
@@ -360,13 +439,10 @@ public class MessageHandler {
      * @param message The end turn message
      */
     private void handleEndTurn(Message message) {
-        gameController.setRemainingActions(0);
         String playerName = message.getFrom();
-
-        // Notify using Observer pattern
-        gameController.getGameSubject().notifyActionBarChanged();
-
-        actionLogView.addLog(playerName + " has ended turn");
+        if (gameController.apply(message)) {
+            addLog(playerName + " has ended turn");
+        }
     }
 
     /**
@@ -375,17 +451,10 @@ public class MessageHandler {
      */
     private void handleCaptureTreasure(Message message) {
         String playerName = message.getFrom();
-        Player player = room.getPlayerByUsername(playerName);
-        String treasureName = message.getData().get("treasureType").toString();
-        TreasureType treasureType = TreasureType.valueOf(treasureName);
-        gameController.getIslandController().captureTreasure(player, treasureType);
-
-        // Notify using Observer pattern
-        gameController.getGameSubject().notifyPlayerInfoChanged();
-        gameController.getGameSubject().notifyCardChanged();
-        gameController.getGameSubject().notifyBoardChanged();
-
-        actionLogView.addLog(playerName + " capture " + treasureName);
+        String treasureName = message.getPayload(CaptureTreasureCommand.class).treasureType().name();
+        if (gameController.apply(message)) {
+            addLog(playerName + " capture " + treasureName);
+        }
     }
 
     /**
@@ -395,22 +464,12 @@ public class MessageHandler {
     private void handleMoveByNavigator(Message message) {
         String playerName = message.getFrom();
         Player player = room.getPlayerByUsername(playerName);
-        String toPlayer = message.getData().get("playerName").toString();
-        Player playerTo = room.getPlayerByUsername(toPlayer);
-        String positionX = message.getData().get("positionX").toString();
-        String positionY = message.getData().get("positionY").toString();
-        int x = Integer.parseInt(positionX);
-        int y = Integer.parseInt(positionY);
-        Position position = new Position(x, y);
-        playerTo.setPosition(position);
-        String tileName = message.getData().get("tileName").toString();
-        gameController.decreaseRemainingActions();
-
-        // Notify using Observer pattern
-        gameController.getGameSubject().notifyActionBarChanged();
-        gameController.getGameSubject().notifyBoardChanged();
-
-        actionLogView.addLog(playerName + " use navigator ability to move " + toPlayer + " to " + Constant.tileNameMap.get(tileName));
+        NavigatorMoveCommand move = message.getPayload(NavigatorMoveCommand.class);
+        String toPlayer = move.playerName();
+        String tileName = move.tileName();
+        if (gameController.apply(message)) {
+            addLog(playerName + " use navigator ability to move " + toPlayer + " to " + Constant.tileNameMap.get(tileName));
+        }
 
         if (player instanceof Navigator navigator) {
             navigator.resetTargetAndMoves();
@@ -423,14 +482,10 @@ public class MessageHandler {
      */
     private void handleGiveCard(Message message) {
         String fromPlayer = message.getFrom();
-        Player playerFrom = room.getPlayerByUsername(fromPlayer);
-        String toPlayer = message.getData().get("playerName").toString();
-        Player playerTo = room.getPlayerByUsername(toPlayer);
-        String cardName = message.getData().get("Card").toString();
-        gameController.giveCard(playerFrom, playerTo, cardName);
-        gameController.getGameSubject().notifyActionBarChanged();
-        gameController.getGameSubject().notifyPlayerInfoChanged();
-        actionLogView.addLog(fromPlayer + " give " + cardName + " to " + toPlayer);
+        GiveCardCommand give = message.getPayload(GiveCardCommand.class);
+        if (gameController.apply(message)) {
+            addLog(fromPlayer + " give " + give.card() + " to " + give.playerName());
+        }
     }
 
     /**
@@ -439,17 +494,16 @@ public class MessageHandler {
      */
     private void handleShoreUp(Message message) {
         String playerName = message.getFrom();
-        Player player = room.getPlayerByUsername(playerName);
-        String positionX = message.getData().get("positionX").toString();
-        String positionY = message.getData().get("positionY").toString();
-        int x = Integer.parseInt(positionX);
-        int y = Integer.parseInt(positionY);
-        Position position = new Position(x, y);
-        String tileName = message.getData().get("tileName").toString();
-        gameController.getIslandController().shoreUpTile(player, position);
-        gameController.getGameSubject().notifyActionBarChanged();
-        gameController.getGameSubject().notifyBoardChanged();
-        actionLogView.addLog(playerName + " shore up " + Constant.tileNameMap.get(tileName));
+        String tileName = message.getPayload(ShoreUpCommand.class).tileName();
+        if (!gameController.apply(message)) {
+            return;
+        }
+        gameController.getIslandController().clearChosenTile();
+        addLog(playerName + " shore up " + Constant.tileNameMap.get(tileName));
+        // An Engineer shores up a second tile for the same action
+        if (gameController.getEngine().getPlayer(playerName) instanceof Engineer engineer && !engineer.isFirstShoreUp()) {
+            gameController.showToast("You can shore up one more tile.");
+        }
     }
 
     /**
@@ -458,58 +512,25 @@ public class MessageHandler {
      */
     private void handlePlayerMove(Message message) {
         String playerName = message.getFrom();
-        Player player = room.getPlayerByUsername(playerName);
-        String positionX = message.getData().get("positionX").toString();
-        String positionY = message.getData().get("positionY").toString();
-        int x = Integer.parseInt(positionX);
-        int y = Integer.parseInt(positionY);
-        Position position = new Position(x, y);
-        player.setPosition(position);
-        String tileName = message.getData().get("tileName").toString();
-        gameController.decreaseRemainingActions();
-        gameController.getGameSubject().notifyActionBarChanged();
-        gameController.getGameSubject().notifyPlayerMoved(player, position);
-        actionLogView.addLog(playerName + " move to " + Constant.tileNameMap.get(tileName));
-
-        if (player instanceof Pilot pilot) {
-            pilot.setHasFlewThisTurn(true);
+        String tileName = message.getPayload(MoveCommand.class).tileName();
+        if (gameController.apply(message)) {
+            addLog(playerName + " move to " + Constant.tileNameMap.get(tileName));
         }
     }
 
-    /**
-     * Handles start of turn action
-     * @param message The turn start message
-     */
-    private void handleTurnStart(Message message) {
-        Player player = room.getPlayerByUsername(message.getTo());
-        gameController.startTurn(player);
-    }
-
-    /**
-     * Handles drawing treasure cards
-     * @param message The draw treasure card message containing count information
-     */
-    private void handleDrawTreasureCard(Message message) {
-        String playerName = message.getFrom();
-        Player player = room.getPlayerByUsername(playerName);
-        int count = Integer.parseInt(message.getData().get("count").toString());
-        gameController.handleDrawTreasureCard(count, player);
-        actionLogView.addLog(playerName + " draw " + count + " treasure card(s)");
-        gameController.getGameSubject().notifyCardChanged();
-        gameController.getGameSubject().notifyPlayerInfoChanged();
-        gameController.getGameSubject().notifyActionBarChanged();
-    }
-
     /**
      * Handles game start action
      * @param message The game start message containing initial game parameters
      */
     private void handleGameStart(Message message) {
-        long seed = Long.parseLong(message.getData().get("seed").toString());
-        int waterLevel = Integer.parseInt(message.getData().get("waterLevel").toString());
+        GameStartCommand start = message.getPayload(GameStartCommand.class);
+        long seed = start.seed();
+        int waterLevel = start.waterLevel();
+        List<String> playerNames = start.playerNames().isEmpty()
+                ? room.getPlayers().stream().map(Player::getName).toList()
+                : start.playerNames();
         // Game start
-        gameController.startGame(seed);
-        gameController.setWaterLevel(waterLevel);
+        gameController.startGame(seed, waterLevel, playerNames);
         gameController.getGameSubject().notifyWaterLevelChanged(waterLevel);
     }
 
@@ -520,13 +541,9 @@ public class MessageHandler {
      */
     private void handleUpdateRoom(Message message) {
         // Update room information
-        int playerCount = Integer.parseInt((String) message.getData().get("playerCount"));
         ArrayList<Player> players = new ArrayList<>();
-        int i = 1;
-        while (i != playerCount + 1) {
-            String username = (String) message.getData().get("player" + i);
+        for (String username : message.getPayload(RoomUpdateCommand.class).playerNames()) {
             players.add(new Player(username));
-            i++;
         }
         room.setPlayers(players);
 
@@ -536,6 +553,16 @@ public class MessageHandler {
         }
     }
 
+    /**
+     * Adds a line to the action log, if a log is shown
+     * @param line The line
+     */
+    private void addLog(String line) {
+        if (actionLogView != null) {
+            actionLogView.addLog(line);
+        }
+    }
+
     /**
      * Sets the action log view for displaying game actions
      * @param actionLogView The action log view instance
@@ -561,23 +588,37 @@ public class MessageHandler {
         return unconfirmedMessages;
     }
 
+    /**
+     * Gets the number of retry rounds of unconfirmed messages
+     * @return The count, one per message each time it is sent again
+     */
+    public long getRetries() {
+        return retries.get();
+    }
+
+    /**
+     * Gets the number of messages given up after the last retry
+     * @return The count
+     */
+    public long getFailures() {
+        return failures.get();
+    }
+
     /**
      * Shuts down the message handler
-     * Stops the scheduler and cleans up resources
+     * Pending retries are cancelled when the room scope closes; a scope created by
+     * this handler itself is closed here.
      */
     public void shutdown() {
-        if (scheduler != null) {
-            scheduler.shutdownNow();
-            try {
-                scheduler.awaitTermination(2, TimeUnit.SECONDS);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
+        if (ownsScope) {
+            scope.close();
         }
-        
-        // Clear all pending messages
+
+        // Fail and clear all pending messages
+        unconfirmedMessages.values().forEach(UnconfirmedMessage::failDelivery);
         unconfirmedMessages.clear();
         receivedMessages.clear();
+        recentMessages.clear();
         synchronized (queueLock) {
             messageQueue.clear();
             isProcessingQueue = false;
@@ -0,0 +1,67 @@
+package com.island.network;
+
+/**
+ * Priority classes of the room traffic, each with its own send and receive queue.
+ * Control traffic (acknowledgments and heartbeats) keeps the retry and liveness timers honest and
+ * must never wait behind a burst of game messages or a state snapshot. The weight is the number of
+ * messages of the class a {@link PriorityScheduler} serves per round when every class is busy.
+ */
+public enum MessagePriority {
+    /** Acknowledgments and heartbeats */
+    CONTROL(8),
+    /** Game actions and room updates, the reliable traffic, kept in order within the class */
+    GAME(4),
+    /** Spectator state snapshots and deltas */
+    BULK(1);
+
+    /** Messages served per scheduling round */
+    private final int weight;
+
+    /**
+     * Creates a priority class
+     * @param weight Messages served per scheduling round
+     */
+    MessagePriority(int weight) {
+        this.weight = weight;
+    }
+
+    /**
+     * Gets the weight of the class
+     * @return Messages served per scheduling round
+     */
+    public int getWeight() {
+        return weight;
+    }
+
+    /**
+     * Gets the class of a message type
+     * @param type The message type
+     * @return The priority class
+     */
+    public static MessagePriority of(MessageType type) {
+        return switch (type) {
+            case MESSAGE_ACK -> CONTROL;
+            case STATE_SNAPSHOT, STATE_DELTA -> BULK;
+            default -> GAME;
+        };
+    }
+
+    /**
+     * Gets the class of a decrypted message without decoding it
+     * @param message The decrypted message
+     * @return The priority class
+     */
+    public static MessagePriority ofWire(String message) {
+        if (message.startsWith("HEARTBEAT|")) {
+            return CONTROL;
+        }
+        int type = message.indexOf('|') + 1;
+        if (message.startsWith("MESSAGE_ACK|", type)) {
+            return CONTROL;
+        }
+        if (message.startsWith("STATE_SNAPSHOT|", type) || message.startsWith("STATE_DELTA|", type)) {
+            return BULK;
+        }
+        return GAME;
+    }
+}
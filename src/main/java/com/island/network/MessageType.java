@@ -5,10 +5,7 @@ public enum MessageType {
     SHORE_UP,                   // shore up tiles
     GIVE_CARD,                  // give the card
     CAPTURE_TREASURE,           // capture the treasure
-    DRAW_TREASURE_CARD,         // draw treasure card
-    DRAW_FLOOD_CARD,            // draw flood card
     GAME_START,                 // game start
-    TURN_START,                 // turn start
     PLAYER_JOIN,                // player join in the room
     PLAYER_LEAVE,               // player leave the room
     UPDATE_ROOM,                // update the room information
@@ -20,4 +17,7 @@ public enum MessageType {
     GAME_OVER,                  // game end
     LEAVE_ROOM,                 // leave the room
     MESSAGE_ACK,                // confirm the message
+    HOST_MIGRATION,             // a new host replaces a disconnected one
+    STATE_SNAPSHOT,             // full game state streamed to spectators
+    STATE_DELTA,                // game state changes streamed to spectators
 }
@@ -0,0 +1,131 @@
+package com.island.network;
+
+import com.island.util.EncryptionUtil;
+
+import javax.crypto.Cipher;
+import java.net.DatagramPacket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * PacketBuffer holds everything needed to encrypt or decrypt one datagram without allocating:
+ * the plain, compressed, cipher and wire byte arrays, a reusable {@link DatagramPacket} over the
+ * wire array, a cipher for each direction and a {@link FrameCompressor}. Buffers are taken from a {@link PacketBufferPool} and used by
+ * one thread at a time.
+ */
+public class PacketBuffer {
+    /** Size of the wire array, the largest datagram sent or received */
+    public static final int CAPACITY = 8192;
+
+    /** Largest plain message that fits in the wire array once encrypted and encoded */
+    static final int MAX_PLAIN = CAPACITY / 4 * 3 - 16;
+
+    /** Plain message bytes */
+    private final byte[] plain = new byte[CAPACITY];
+
+    /** Compressed frame, or the inflated message of a received frame */
+    private final byte[] packed = new byte[CAPACITY];
+
+    /** Encrypted bytes before Base64 encoding, or after decoding */
+    private final byte[] cipherBytes = new byte[CAPACITY];
+
+    /** Base64 text as sent on the wire */
+    private final byte[] wire = new byte[CAPACITY];
+
+    /** Packet over the wire array */
+    private final DatagramPacket packet = new DatagramPacket(wire, CAPACITY);
+
+    /** Cipher encrypting outgoing messages */
+    private final Cipher encryptor = EncryptionUtil.newCipher(Cipher.ENCRYPT_MODE);
+
+    /** Cipher decrypting incoming messages */
+    private final Cipher decryptor = EncryptionUtil.newCipher(Cipher.DECRYPT_MODE);
+
+    /** Compression stage ahead of encryption */
+    private final FrameCompressor compressor = new FrameCompressor();
+
+    /**
+     * Encrypts a message into the wire array without compressing it, so any peer can read it
+     * @param message The message to encrypt
+     * @return Number of wire bytes, or -1 if the message is too large or could not be encrypted
+     */
+    public int encode(String message) {
+        return encode(message, false);
+    }
+
+    /**
+     * Compresses and encrypts a message into the wire array
+     * Messages made of ASCII characters are copied without allocating; other messages are
+     * encoded as UTF-8 through a temporary array. Messages above the compression threshold
+     * only need to fit once compressed.
+     * @param message The message to encrypt
+     * @param compress true if every receiver reads compressed frames, see {@link FrameCompressor#CAPABILITY}
+     * @return Number of wire bytes, or -1 if the message is too large or could not be encrypted
+     */
+    public int encode(String message, boolean compress) {
+        int length = message.length();
+        if (length > CAPACITY) {
+            return -1;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = message.charAt(i);
+            if (c >= 0x80) {
+                byte[] utf8 = message.getBytes(StandardCharsets.UTF_8);
+                if (utf8.length > CAPACITY) {
+                    return -1;
+                }
+                System.arraycopy(utf8, 0, plain, 0, utf8.length);
+                length = utf8.length;
+                break;
+            }
+            plain[i] = (byte) c;
+        }
+        byte[] frame = plain;
+        int compressed = compress ? compressor.compress(plain, length, packed) : -1;
+        if (compressed > 0) {
+            frame = packed;
+            length = compressed;
+        }
+        if (length > MAX_PLAIN) {
+            return -1;
+        }
+        return EncryptionUtil.encrypt(encryptor, frame, length, cipherBytes, wire);
+    }
+
+    /**
+     * Decrypts the wire array into a message, inflating compressed frames
+     * Text that is not an encrypted message, or a frame that cannot be inflated, is returned as it
+     * is, like {@link EncryptionUtil#decrypt(String)}.
+     * @param length Number of wire bytes
+     * @return The message
+     */
+    public String decode(int length) {
+        int plainLength = EncryptionUtil.decrypt(decryptor, wire, length, cipherBytes, plain);
+        if (plainLength < 0) {
+            return new String(wire, 0, length, StandardCharsets.UTF_8);
+        }
+        if (FrameCompressor.isCompressed(plain, plainLength)) {
+            int inflated = compressor.decompress(plain, plainLength, packed);
+            if (inflated < 0) {
+                return new String(wire, 0, length, StandardCharsets.UTF_8);
+            }
+            return new String(packed, 0, inflated, StandardCharsets.UTF_8);
+        }
+        return new String(plain, 0, plainLength, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Gets the packet over the wire array
+     * @return The reusable packet
+     */
+    public DatagramPacket getPacket() {
+        return packet;
+    }
+
+    /**
+     * Gets the wire array
+     * @return The Base64 text of the last encoded message, or the last received datagram
+     */
+    public byte[] getWire() {
+        return wire;
+    }
+}
@@ -0,0 +1,79 @@
+package com.island.network;
+
+/**
+ * PacketBufferPool keeps the {@link PacketBuffer}s released by the send and receive paths so that
+ * steady-state messaging reuses them instead of allocating new arrays, packets and ciphers.
+ * The pool is bounded; buffers released beyond its size are left to the garbage collector.
+ */
+public class PacketBufferPool {
+    /** Number of buffers kept by the shared pool */
+    private static final int SHARED_SIZE = 16;
+
+    /** Pool shared by the senders and the endpoint of the process */
+    private static final PacketBufferPool SHARED = new PacketBufferPool(SHARED_SIZE);
+
+    /** Idle buffers, the first {@code idle} entries are set */
+    private final PacketBuffer[] buffers;
+
+    /** Number of idle buffers */
+    private int idle = 0;
+
+    /** Number of buffers created because the pool was empty */
+    private long created = 0;
+
+    /**
+     * Creates an empty pool
+     * @param size Maximum number of idle buffers kept
+     */
+    public PacketBufferPool(int size) {
+        this.buffers = new PacketBuffer[size];
+    }
+
+    /**
+     * Gets the pool shared by the process
+     * @return The shared pool
+     */
+    public static PacketBufferPool shared() {
+        return SHARED;
+    }
+
+    /**
+     * Takes an idle buffer, creating one if none is left
+     * @return A buffer owned by the caller until released
+     */
+    public synchronized PacketBuffer acquire() {
+        if (idle > 0) {
+            PacketBuffer buffer = buffers[--idle];
+            buffers[idle] = null;
+            return buffer;
+        }
+        created++;
+        return new PacketBuffer();
+    }
+
+    /**
+     * Gives a buffer back to the pool
+     * @param buffer The buffer, no longer used by the caller
+     */
+    public synchronized void release(PacketBuffer buffer) {
+        if (idle < buffers.length) {
+            buffers[idle++] = buffer;
+        }
+    }
+
+    /**
+     * Gets the number of idle buffers
+     * @return The count
+     */
+    public synchronized int getIdle() {
+        return idle;
+    }
+
+    /**
+     * Gets the number of buffers the pool had to create
+     * @return The count
+     */
+    public synchronized long getCreated() {
+        return created;
+    }
+}
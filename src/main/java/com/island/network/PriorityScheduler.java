@@ -0,0 +1,269 @@
+package com.island.network;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * PriorityScheduler is a queue of tasks split by {@link MessagePriority}, drained by a single
+ * thread of a {@link RoomScope}. Tasks of a class run in submission order. Between classes a
+ * weighted round robin applies: each round serves up to {@link MessagePriority#getWeight()} tasks
+ * of every busy class, control first, so control traffic is served first while bulk traffic is
+ * never starved. Each class holds at most {@value #CAPACITY} tasks; further tasks are dropped and
+ * counted, as a lost datagram would be.
+ */
+public class PriorityScheduler {
+    /** Largest number of queued tasks per class */
+    private static final int CAPACITY = 1024;
+
+    /** Name of the draining thread */
+    private final String name;
+
+    /** Queued tasks of each class, guarded by the lock */
+    private final List<ArrayDeque<Entry>> queues;
+
+    /** Tasks each class may still run in the current round, guarded by the lock */
+    private final int[] credits;
+
+    /** Tasks run per class, guarded by the lock */
+    private final long[] served;
+
+    /** Tasks dropped per class because the queue was full, guarded by the lock */
+    private final long[] dropped;
+
+    /** Total time tasks of each class waited in the queue in nanoseconds, guarded by the lock */
+    private final long[] waitNanos;
+
+    /** Longest time a task of each class waited in the queue in nanoseconds, guarded by the lock */
+    private final long[] maxWaitNanos;
+
+    /** Lock guarding the queues */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Signalled when a task is queued */
+    private final Condition notEmpty = lock.newCondition();
+
+    /**
+     * A queued task and its submission time
+     * @param task The task
+     * @param queuedAt Submission time in System.nanoTime units
+     */
+    private record Entry(Runnable task, long queuedAt) {}
+
+    /**
+     * Creates an empty scheduler
+     * @param name Name of the draining thread, for diagnostics
+     */
+    public PriorityScheduler(String name) {
+        int classes = MessagePriority.values().length;
+        this.name = name;
+        this.queues = new ArrayList<>(classes);
+        for (int i = 0; i < classes; i++) {
+            queues.add(new ArrayDeque<>());
+        }
+        this.credits = new int[classes];
+        this.served = new long[classes];
+        this.dropped = new long[classes];
+        this.waitNanos = new long[classes];
+        this.maxWaitNanos = new long[classes];
+        refill();
+    }
+
+    /**
+     * Starts draining the queues on a thread of the scope, until the scope closes
+     * @param scope The room scope owning the thread
+     */
+    public void start(RoomScope scope) {
+        scope.fork(() -> {
+            Thread.currentThread().setName(name);
+            while (!scope.isClosed()) {
+                Runnable task;
+                try {
+                    task = take();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    e.printStackTrace();
+                }
+            }
+        });
+    }
+
+    /**
+     * Queues a task
+     * @param priority The class of the task
+     * @param task The task
+     * @return true if the task was queued, false if the queue of its class is full
+     */
+    public boolean submit(MessagePriority priority, Runnable task) {
+        int index = priority.ordinal();
+        lock.lock();
+        try {
+            ArrayDeque<Entry> queue = queues.get(index);
+            if (queue.size() >= CAPACITY) {
+                dropped[index]++;
+                return false;
+            }
+            queue.addLast(new Entry(task, System.nanoTime()));
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits for the next task in weighted order
+     * @return The task to run
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private Runnable take() throws InterruptedException {
+        lock.lock();
+        try {
+            Entry entry;
+            while ((entry = poll()) == null) {
+                notEmpty.await();
+            }
+            return entry.task();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs the next task in weighted order on the calling thread, for callers that drain the
+     * queues themselves
+     * @return true if a task was run, false if every queue was empty
+     */
+    public boolean runNext() {
+        Entry entry;
+        lock.lock();
+        try {
+            entry = poll();
+        } finally {
+            lock.unlock();
+        }
+        if (entry == null) {
+            return false;
+        }
+        entry.task().run();
+        return true;
+    }
+
+    /**
+     * Removes the next task in weighted order, called with the lock held
+     * A new round starts when no busy class has credits left.
+     * @return The entry, or null if every queue is empty
+     */
+    private Entry poll() {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            boolean busy = false;
+            for (int i = 0; i < queues.size(); i++) {
+                ArrayDeque<Entry> queue = queues.get(i);
+                if (queue.isEmpty()) {
+                    continue;
+                }
+                busy = true;
+                if (credits[i] > 0) {
+                    credits[i]--;
+                    Entry entry = queue.pollFirst();
+                    long wait = System.nanoTime() - entry.queuedAt();
+                    served[i]++;
+                    waitNanos[i] += wait;
+                    maxWaitNanos[i] = Math.max(maxWaitNanos[i], wait);
+                    return entry;
+                }
+            }
+            if (!busy) {
+                return null;
+            }
+            refill();
+        }
+        return null;
+    }
+
+    /**
+     * Starts a new round, giving every class its weight in credits
+     */
+    private void refill() {
+        for (MessagePriority priority : MessagePriority.values()) {
+            credits[priority.ordinal()] = priority.getWeight();
+        }
+    }
+
+    /**
+     * Gets the number of queued tasks of a class
+     * @param priority The class
+     * @return The count
+     */
+    public int getQueued(MessagePriority priority) {
+        lock.lock();
+        try {
+            return queues.get(priority.ordinal()).size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of tasks of a class that were run
+     * @param priority The class
+     * @return The count
+     */
+    public long getServed(MessagePriority priority) {
+        lock.lock();
+        try {
+            return served[priority.ordinal()];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of tasks of a class dropped because the queue was full
+     * @param priority The class
+     * @return The count
+     */
+    public long getDropped(MessagePriority priority) {
+        lock.lock();
+        try {
+            return dropped[priority.ordinal()];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the mean time the tasks of a class waited in the queue
+     * @param priority The class
+     * @return The mean wait in microseconds, 0 if none was run
+     */
+    public long getMeanWaitMicros(MessagePriority priority) {
+        lock.lock();
+        try {
+            int index = priority.ordinal();
+            return served[index] == 0 ? 0 : waitNanos[index] / served[index] / 1000;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the longest time a task of a class waited in the queue
+     * @param priority The class
+     * @return The longest wait in microseconds
+     */
+    public long getMaxWaitMicros(MessagePriority priority) {
+        lock.lock();
+        try {
+            return maxWaitNanos[priority.ordinal()] / 1000;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
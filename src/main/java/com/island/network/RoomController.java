@@ -1,6 +1,9 @@
 package com.island.network;
 
+import com.island.controller.BotController;
 import com.island.controller.GameController;
+import com.island.engine.GameCommand;
+import com.island.engine.GameEngine;
 import com.island.models.adventurers.Player;
 import com.island.models.card.Card;
 import com.island.models.island.Island;
@@ -8,6 +11,7 @@ import com.island.models.island.Position;
 import com.island.models.island.Tile;
 import com.island.models.treasure.TreasureType;
 import com.island.models.Room;
+import com.island.network.payload.*;
 import com.island.util.ui.Dialog;
 
 import javafx.application.Platform;
@@ -18,9 +22,9 @@ import javafx.scene.control.ButtonType;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
@@ -35,59 +39,135 @@ public class RoomController {
     /** Broadcast receiver for network messages */
     private final BroadcastReceiver receiver;
     
-    /** Map to track last heartbeat time for each player */
-    private final Map<String, Long> playerLastHeartbeat;
+    /** Last heartbeat time of each player */
+    private final HeartbeatMonitor heartbeats;
+
+    /** Send time of each peer's last heartbeat and its local receive time, echoed in our heartbeats */
+    private final Map<String, long[]> heartbeatEchoes = new ConcurrentHashMap<>();
+
+    /** Peers whose heartbeats advertise {@link FrameCompressor#CAPABILITY} */
+    private final Set<String> compressionPeers = ConcurrentHashMap.newKeySet();
+
+    /** Clock offset and skew estimates of the peers */
+    private final ClockSync clockSync = new ClockSync();
+
+    /** One-way latency of the actions applied from each peer */
+    private final LatencyMetrics latencyMetrics = new LatencyMetrics();
+
+    /** Players removed from the game by a host migration, whose acknowledgments the new host receives */
+    private final Set<String> departedPlayers = ConcurrentHashMap.newKeySet();
     
-    /** Scheduler for periodic tasks */
-    private final ScheduledExecutorService scheduler;
+    /** Scope owning every background task of this room */
+    private final RoomScope scope;
+
+    /** Outgoing datagrams by priority class, sent by one thread of the scope */
+    private final PriorityScheduler sendQueue;
+
+    /** Incoming messages by priority class, handled by one thread of the scope */
+    private final PriorityScheduler receiveQueue;
+
+    /** Journal recording the room traffic, null when recording is disabled */
+    private final TrafficJournal journal;
+
+    /** Thread owning the game state, the JavaFX thread in the application */
+    private final Executor gameThread;
     
     /** Handler for processing game messages */
     private MessageHandler messageHandler;
     
     /** Game controller reference */
     private GameController gameController;
+
+    /** Bots playing seats of the room */
+    private final BotController botController;
     
     /** Island instance reference */
     private Island island;
 
+    /** Dictionary agreed at GAME_START, null until a game starts */
+    private volatile SessionDictionary sessionDictionary;
+
+    /** Dictionary slot of the local player, -1 until a game starts */
+    private volatile int localSlot = -1;
+
     /** Interval for sending heartbeat messages (5 seconds) */
     private static final long HEARTBEAT_INTERVAL = 5000;
     
-    /** Timeout threshold for player disconnection (15 seconds) */
-    private static final long PLAYER_TIMEOUT = 15000;
-
     /**
      * Constructs a new RoomController
      * @param room The game room to be controlled
      */
     public RoomController(Room room) {
+        this(room, new BroadcastSender(), Platform::runLater);
+    }
+
+    /**
+     * Constructs a new RoomController with its own sender and game thread
+     * Used to run rooms without a user interface, such as in the load generator.
+     * @param room The game room to be controlled
+     * @param sender The sender of the room's datagrams, closed with the room
+     * @param gameThread Thread owning the game state, on which game messages are handled
+     */
+    public RoomController(Room room, BroadcastSender sender, Executor gameThread) {
         this.room = room;
-        this.sender = new BroadcastSender();
+        this.sender = sender;
+        this.gameThread = gameThread;
         this.receiver = new BroadcastReceiver(this);
-        this.playerLastHeartbeat = new ConcurrentHashMap<>();
-        this.scheduler = Executors.newScheduledThreadPool(2);
+        this.heartbeats = new HeartbeatMonitor(HEARTBEAT_INTERVAL);
+        this.scope = new RoomScope(room.getId());
+        scope.onClose(receiver::stop);
+        scope.onClose(sender::close);
+
+        // Acknowledgments and heartbeats never wait behind game or bulk traffic
+        this.sendQueue = new PriorityScheduler("room-" + room.getId() + "-send");
+        this.receiveQueue = new PriorityScheduler("room-" + room.getId() + "-receive");
+        sendQueue.start(scope);
+        receiveQueue.start(scope);
 
-        // Start receiver thread
-        new Thread(receiver).start();
+        // Follow interface changes such as Wi-Fi or VPN coming up
+        sender.watchInterfaces(scope);
+
+        // Record the traffic when a journal file is configured
+        this.journal = TrafficJournal.fromSystemProperty(room.getId());
+        if (journal != null) {
+            scope.onClose(journal::close);
+        }
+
+        // Start receiving the room's packets from the shared endpoint
+        receiver.start();
 
         // Start heartbeat sending task
         startHeartbeat();
 
         // Start heartbeat checking task
         startHeartbeatCheck();
+
+        // Stream the game state to spectators while this peer hosts a game
+        new StateStreamer(this).start(scope);
+
+        this.botController = new BotController(this);
     }
 
     /**
      * Starts the heartbeat sending task
-     * Sends periodic heartbeat messages to notify other players of this player's presence
+     * Sends periodic heartbeat messages to notify other players of this player's presence.
+     * Each heartbeat carries its send time and echoes the last heartbeat of every peer with its
+     * receive time: "HEARTBEAT|roomId|name|sentAt|deflate|peer:peerSentAt:receivedAt|...", so that every
+     * peer gets a clock sample from it, see {@link ClockSync}. The "deflate" field tells the peers
+     * that this one reads compressed frames; older peers skip it like an echo of another player.
      */
     private void startHeartbeat() {
         // Send heartbeat periodically
-        scheduler.scheduleAtFixedRate(() -> {
+        scope.scheduleAtFixedRate(() -> {
             try {
-                String heartbeatMsg = String.format("HEARTBEAT|%d|%s", room.getId(), room.getCurrentProgramPlayer().getName());
+                StringBuilder heartbeatMsg = new StringBuilder(String.format("HEARTBEAT|%d|%s|",
+                        room.getId(), room.getCurrentProgramPlayer().getName()));
+                heartbeatMsg.append(clockSync.now()).append('|');
+                heartbeatMsg.append(FrameCompressor.CAPABILITY).append('|');
+                heartbeatEchoes.forEach((peer, times) ->
+                        heartbeatMsg.append(peer).append(':').append(times[0]).append(':').append(times[1]).append('|'));
                 // Heartbeat message will be encrypted by BroadcastSender.broadcast method
-                sender.broadcast(heartbeatMsg);
+                send(MessagePriority.CONTROL, heartbeatMsg.toString());
             } catch (Exception e) {
                 e.printStackTrace();
             }
@@ -96,23 +176,19 @@ public class RoomController {
 
     /**
      * Starts the heartbeat checking task
-     * Monitors other players' heartbeats and handles disconnections
+     * Monitors other players' heartbeats and handles disconnections. The host is lost after two
+     * missed heartbeats, so that a new host takes over quickly; see {@link HeartbeatMonitor}.
      */
     private void startHeartbeatCheck() {
         // Check for player timeouts
-        scheduler.scheduleAtFixedRate(() -> {
-            long now = System.currentTimeMillis();
-            playerLastHeartbeat.entrySet().removeIf(entry -> {
-                if (now - entry.getValue() > PLAYER_TIMEOUT) {
-                    try {
-                        handlePlayerDisconnect(entry.getKey());
-                    } catch (Exception e) {
-                        throw new RuntimeException(e);
-                    }
-                    return true;
+        scope.scheduleAtFixedRate(() -> {
+            for (String username : heartbeats.expire(System.currentTimeMillis(), room::isHost)) {
+                try {
+                    handlePlayerDisconnect(username);
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
                 }
-                return false;
-            });
+            }
         }, 0, 1000, TimeUnit.MILLISECONDS);
     }
 
@@ -121,7 +197,10 @@ public class RoomController {
      * @param username The username of the player to remove
      */
     public void removeHeartbeat(String username) {
-        playerLastHeartbeat.remove(username);
+        heartbeats.remove(username);
+        heartbeatEchoes.remove(username);
+        compressionPeers.remove(username);
+        clockSync.remove(username);
     }
 
     /**
@@ -131,6 +210,18 @@ public class RoomController {
      * @throws Exception If there's an error handling the disconnection
      */
     private void handlePlayerDisconnect(String username) throws Exception {
+        // A host lost mid-game is replaced instead of ending the game
+        if (room.isHost(username) && gameController != null && gameController.isGameStart()
+                && room.getPlayers().size() > 1) {
+            gameThread.execute(() -> migrateHost(username));
+            return;
+        }
+        // A player lost mid-game is replaced by a bot of the host instead of ending the game
+        if (gameController != null && gameController.isGameStart() && !gameController.isGameOver()) {
+            removeHeartbeat(username);
+            gameThread.execute(() -> botController.standIn(username));
+            return;
+        }
         // Notify game message handler about player disconnection
         if (messageHandler != null) {
             Message leaveMsg = new Message(
@@ -142,46 +233,198 @@ public class RoomController {
         }
     }
 
+    /**
+     * Replaces a departed host
+     * Every peer removes the departed host and elects the first remaining player, so all peers
+     * agree on the new host without negotiation. The new host announces itself and relays the
+     * messages of the departed host that other peers may have missed; during a game a bot takes the
+     * seat of the departed host. Calling this method again for the same player has no effect.
+     * @param departedHost Name of the host that stopped sending heartbeats
+     */
+    public void migrateHost(String departedHost) {
+        Player departed = room.getPlayerByUsername(departedHost);
+        if (departed == null || !room.isHost(departedHost)) {
+            return;
+        }
+        departedPlayers.add(departedHost);
+        room.removePlayer(departed);
+        removeHeartbeat(departedHost);
+        Player newHost = room.electHost();
+        boolean localHost = room.isHost(room.getCurrentProgramPlayer().getName());
+        if (messageHandler != null) {
+            messageHandler.handOver(departedHost, localHost);
+        }
+
+        if (localHost) {
+            Message message = new Message(MessageType.HOST_MIGRATION, room.getId(), newHost.getName(), true);
+            message.setPayload(new HostMigrationCommand(departedHost));
+            sendReliably(message);
+        }
+        if (gameController != null) {
+            gameController.updatePlayersInfo();
+            gameController.showToast(departedHost + " disconnected. " + newHost.getName() + " is now the host");
+        }
+        // The new host takes over the bots, and a bot plays the seat of the departed host
+        if (gameController != null && gameController.isGameStart() && !gameController.isGameOver()) {
+            botController.standIn(departedHost);
+        } else {
+            botController.update();
+        }
+    }
+
+    /**
+     * Checks whether a player left the game through a host migration
+     * @param username The username of the player
+     * @return true if the player departed
+     */
+    public boolean hasDeparted(String username) {
+        return departedPlayers.contains(username);
+    }
+
+    /**
+     * Checks whether a seat is played by a bot
+     * @param username The username of the seat
+     * @return true if a bot plays it
+     */
+    public boolean isBot(String username) {
+        return botController.isBot(username);
+    }
+
+    /**
+     * Checks whether the local player is the host of the room
+     * @return true if the local player is the host
+     */
+    public boolean isLocalHost() {
+        return room.isHost(room.getCurrentProgramPlayer().getName());
+    }
+
     /**
      * Updates the last heartbeat time for a player
      * @param username The username of the player
      */
     public void updatePlayerHeartbeat(String username) {
-        playerLastHeartbeat.put(username, System.currentTimeMillis());
+        heartbeats.beat(username, System.currentTimeMillis());
     }
 
     /**
-     * Shuts down the room controller
-     * Stops all scheduled tasks and closes network connections
+     * Records that a peer reads compressed frames
+     * @param username The username of the peer
      */
-    public void shutdown() {
-        // Stop the message handler scheduler first
-        if (messageHandler != null) {
-            messageHandler.shutdown();
-        }
-        
-        // Stop the scheduler
-        if (scheduler != null) {
-            scheduler.shutdownNow();  // Immediately stop all tasks
-            try {
-                scheduler.awaitTermination(2, TimeUnit.SECONDS);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
+    public void addCompressionPeer(String username) {
+        compressionPeers.add(username);
+    }
+
+    /**
+     * Checks whether outgoing messages may be compressed
+     * @return true if every other player of the room advertised {@link FrameCompressor#CAPABILITY}
+     */
+    public boolean canCompress() {
+        String localName = room.getCurrentProgramPlayer().getName();
+        for (Player player : room.getPlayers()) {
+            if (!player.getName().equals(localName) && !compressionPeers.contains(player.getName())) {
+                return false;
             }
         }
+        return true;
+    }
 
-        // Turn off the transmitter
-        if (sender != null) {
-            sender.close();
+    /**
+     * Records the timestamps of a peer's heartbeat
+     * The send time is echoed in the next local heartbeat; an echo of our own heartbeat in it
+     * completes a clock sample with the peer.
+     * @param username The username of the peer
+     * @param sentAt Send time of the heartbeat on the peer's clock
+     * @param receivedAt Receive time of the heartbeat on the local clock
+     * @param echoSentAt Send time of our heartbeat echoed by the peer, 0 if none
+     * @param echoReceivedAt Receive time of our heartbeat on the peer's clock
+     */
+    public void recordHeartbeatTimes(String username, long sentAt, long receivedAt,
+                                     long echoSentAt, long echoReceivedAt) {
+        heartbeatEchoes.put(username, new long[] {sentAt, receivedAt});
+        if (echoSentAt > 0) {
+            clockSync.addSample(username, echoSentAt, echoReceivedAt, sentAt, receivedAt);
         }
+    }
 
-        // Stop the receiver
-        if (receiver != null) {
-            receiver.stop();
+    /**
+     * Completes a clock sample from an acknowledgment of one of our messages
+     * @param ack The acknowledgment, echoing the send and receive times of the acknowledged message
+     */
+    public void recordAckTimes(Message ack) {
+        // Acknowledgments relayed to a departed host echo that host's clock
+        if (!room.getCurrentProgramPlayer().getName().equals(ack.getTo())) {
+            return;
+        }
+        if (ack.getEchoSentAt() > 0 && ack.getSentAt() > 0 && ack.getReceivedAt() > 0) {
+            clockSync.addSample(ack.getFrom(), ack.getEchoSentAt(), ack.getEchoReceivedAt(),
+                    ack.getSentAt(), ack.getReceivedAt());
+        }
+    }
+
+    /**
+     * Records the one-way latency of an action applied from a peer
+     * Messages that are not stamped, or from peers without a clock estimate yet, are ignored.
+     * @param message The applied message
+     */
+    public void recordApplyLatency(Message message) {
+        String from = message.getFrom();
+        if (message.getSentAt() > 0 && from != null && clockSync.hasEstimate(from)) {
+            latencyMetrics.record(from, clockSync.now() - clockSync.toLocal(from, message.getSentAt()));
         }
+    }
+
+    /**
+     * Gets the clock estimates of the peers
+     * @return The clock synchronizer of the room
+     */
+    public ClockSync getClockSync() {
+        return clockSync;
+    }
+
+    /**
+     * Gets the current room time, the clock of the host as estimated locally
+     * @return Room time in microseconds
+     */
+    public long getRoomTime() {
+        Player host = room.getHostPlayer();
+        return clockSync.roomTime(host == null ? null : host.getName(), room.getCurrentProgramPlayer().getName());
+    }
+
+    /**
+     * Gets the action latency statistics of the peers
+     * @return The latency metrics of the room
+     */
+    public LatencyMetrics getLatencyMetrics() {
+        return latencyMetrics;
+    }
+
+    /**
+     * Shuts down the room controller
+     * Cancels every task of the room and closes network connections
+     */
+    public void shutdown() {
+        // Clear pending message state first
+        if (messageHandler != null) {
+            messageHandler.shutdown();
+        }
+
+        // Cancel all room tasks, then stop the receiver and the transmitter
+        scope.close();
 
         // Clean up resources
-        playerLastHeartbeat.clear();
+        heartbeats.clear();
+        heartbeatEchoes.clear();
+        departedPlayers.clear();
+        sessionDictionary = null;
+        localSlot = -1;
+    }
+
+    /**
+     * Gets the scope owning the background tasks of this room
+     * @return The room scope
+     */
+    public RoomScope getScope() {
+        return scope;
     }
 
     /**
@@ -190,25 +433,94 @@ public class RoomController {
      * @param message The message to broadcast
      */
     public void broadcast(Message message) {
-        if (sender != null) {
-            try {
-                sender.broadcast(message.toString());
-                if (message.isAck()) {
-                    if (messageHandler.getUnconfirmedMessages().containsKey(message.getMessageId())) return;
-                    // Get all players who need to receive this message
-                    Set<String> receivers = room.getPlayers().stream()
-                            .map(Player::getName)
-                            .collect(Collectors.toSet());
-                    // If it is a message that requires confirmation, add it to the list of unconfirmed messages
-                    messageHandler.putUnconfirmedMessage(message.getMessageId(), new UnconfirmedMessage(message, receivers));
-                    messageHandler.scheduleMessageRetry(message.getMessageId());
+        sendReliably(message);
+    }
+
+    /**
+     * Broadcasts a message and tracks its delivery
+     * The returned future completes once every player in the room has acknowledged the message,
+     * or completes exceptionally with a {@link DeliveryException} listing the missing players
+     * when the retries are exhausted. Messages that do not require acknowledgment complete once
+     * queued, or exceptionally with a {@link DeliveryException} if the send queue was full.
+     * @param message The message to broadcast
+     * @return Future tracking the delivery of the message
+     */
+    public CompletableFuture<Void> sendReliably(Message message) {
+        if (sender == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        try {
+            // Stamp the first transmission only, retries keep the original send time
+            if (message.getSentAt() == 0) {
+                message.setSentAt(clockSync.now());
+            }
+            boolean queued = send(MessagePriority.of(message.getType()), message.toWire(sessionDictionary));
+            if (journal != null) {
+                journal.record(TrafficJournal.Direction.OUTBOUND, message, null);
+            }
+            if (!message.isAck()) {
+                if (!queued) {
+                    List<String> receivers = room.getPlayers().stream().map(Player::getName).toList();
+                    return CompletableFuture.failedFuture(new DeliveryException(message.getMessageId(), receivers));
                 }
-            } catch (Exception e) {
-                throw new RuntimeException(e);
+                return CompletableFuture.completedFuture(null);
+            }
+            // A reliable message dropped by a full queue is sent again by the retry policy
+            // A retry of a tracked message shares the delivery of the original
+            UnconfirmedMessage tracked = messageHandler.getUnconfirmedMessages().get(message.getMessageId());
+            if (tracked != null) {
+                return tracked.getDelivery();
             }
+            // Get all players who need to receive this message
+            Set<String> receivers = room.getPlayers().stream()
+                    .map(Player::getName)
+                    .collect(Collectors.toSet());
+            // If it is a message that requires confirmation, add it to the list of unconfirmed messages
+            UnconfirmedMessage unconfirmed = new UnconfirmedMessage(message, receivers);
+            messageHandler.putUnconfirmedMessage(message.getMessageId(), unconfirmed);
+            messageHandler.scheduleMessageRetry(message.getMessageId());
+            return unconfirmed.getDelivery();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
         }
     }
 
+    /**
+     * Queues a serialized message on the send queue of its priority class
+     * The message is serialized by the caller, so that it is encoded with the dictionary in
+     * use when it was sent. It is compressed only if every player reads compressed frames
+     * at the time it is sent. A failed send is reported and left to the retry policy.
+     * Messages dropped because the queue was full are counted by {@link PriorityScheduler#getDropped}.
+     * @param priority The priority class of the message
+     * @param wire The serialized message
+     * @return true if the message was queued, false if the queue of its class was full
+     */
+    private boolean send(MessagePriority priority, String wire) {
+        return sendQueue.submit(priority, () -> {
+            try {
+                sender.broadcast(wire, canCompress());
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        });
+    }
+
+    /**
+     * Gets the queue of outgoing datagrams
+     * @return The send queue
+     */
+    public PriorityScheduler getSendQueue() {
+        return sendQueue;
+    }
+
+    /**
+     * Gets the queue of incoming messages
+     * @return The receive queue
+     */
+    public PriorityScheduler getReceiveQueue() {
+        return receiveQueue;
+    }
+
     /**
      * Gets the room ID
      * @return The current room ID
@@ -234,7 +546,13 @@ public class RoomController {
     public void handleGameMessage(Message message) throws Exception {
         // Forward to game message processor
         if (messageHandler != null) {
+            // The receiver's filter already ruled out a duplicate of an unseen message
+            boolean fresh = message.isUnseen() || !messageHandler.hasReceived(message);
             messageHandler.handleMessage(message);
+            // Acknowledgments are handled off the JavaFX thread and mean nothing to the bots
+            if (message.getType() != MessageType.MESSAGE_ACK) {
+                botController.onMessage(message, fresh);
+            }
         }
     }
 
@@ -260,8 +578,13 @@ public class RoomController {
             return;
         }
 
+        PlayerJoinCommand join = message.getPayload(PlayerJoinCommand.class);
+        if (join == null) {
+            return;
+        }
+
         // Check if this is a join request
-        if (message.getData().containsKey("isRequest")) {
+        if (join.request()) {
             // Process join request if current player is host
             if (room.isHost(room.getCurrentProgramPlayer().getName())) {
                 if (room.getPlayers().size() >= 4) {
@@ -302,9 +625,8 @@ public class RoomController {
                 return;
             }
             // Process join response message
-            if (message.getData().containsKey("isAccepted")) {
-                boolean isAccepted = Boolean.parseBoolean(message.getData().get("isAccepted").toString());
-                if (isAccepted) {
+            if (!join.request()) {
+                if (join.accepted()) {
                     // Join successful, update room state
                     Player player = new Player(message.getFrom());
                     room.addPlayer(player);
@@ -335,7 +657,7 @@ public class RoomController {
                 room.getHostPlayer().getName(),
                 username
         );
-        response.addExtraData("isAccepted", b);
+        response.setPayload(PlayerJoinCommand.joinResponse(b));
         try {
             broadcast(response);
         } catch (Exception e) {
@@ -359,6 +681,30 @@ public class RoomController {
         return messageHandler;
     }
 
+    /**
+     * Gets the game controller
+     * @return The game controller, or null before a game view is created
+     */
+    public GameController getGameController() {
+        return gameController;
+    }
+
+    /**
+     * Gets the thread owning the game state
+     * @return The game thread, the JavaFX thread in the application
+     */
+    public Executor getGameThread() {
+        return gameThread;
+    }
+
+    /**
+     * Gets the bot controller of this room
+     * @return The bot controller
+     */
+    public BotController getBotController() {
+        return botController;
+    }
+
     /**
      * Sets the game controller
      * @param gameController The game controller to set
@@ -379,8 +725,9 @@ public class RoomController {
     /**
      * Sends a room update message to all players
      * Updates include player count and player names
+     * @return Future completed when every player has acknowledged the message
      */
-    public void sendUpdateRoomMessage() {
+    public CompletableFuture<Void> sendUpdateRoomMessage() {
         // Update room information
         Message updateRoomMessage = new Message(
                 MessageType.UPDATE_ROOM,
@@ -388,62 +735,68 @@ public class RoomController {
                 room.getHostPlayer().getName(),
                 true
         );
-        updateRoomMessage.addExtraData("playerCount", room.getPlayers().size());
-        int i = 1;
-        for (Player p : room.getPlayers()) {
-            updateRoomMessage.addExtraData("player" + i, p.getName());
-            i++;
-        }
-        broadcast(updateRoomMessage);
+        updateRoomMessage.setPayload(new RoomUpdateCommand(room.getPlayers().stream().map(Player::getName).toList()));
+        return sendReliably(updateRoomMessage);
     }
 
     /**
-     * Sends a message for drawing treasure cards
-     * @param count Number of cards to draw
-     * @param player Player drawing the cards
+     * Sends the message of a command of the game, using the players of the game being played
+     * @param command The command
+     * @return Future completed when every player has acknowledged the message
      */
-    public void sendDrawTreasureCardsMessage(int count, Player player) {
-        Message message = new Message(MessageType.DRAW_TREASURE_CARD,
-                room.getId(),
-                player.getName(),
-                true
-        );
-        message.addExtraData("count", count);
-        broadcast(message);
+    public CompletableFuture<Void> sendCommand(GameCommand command) {
+        GameEngine engine = gameController.getEngine();
+        Player player = engine.getPlayer(command.player());
+        return switch (command) {
+            case GameCommand.Move move -> sendMoveMessage(player, move.to());
+            case GameCommand.Swim swim -> sendMoveMessage(player, swim.to());
+            case GameCommand.ShoreUp shoreUp -> sendShoreUpMessage(player, shoreUp.at());
+            case GameCommand.GiveCard give -> sendGiveCardMessage(player,
+                    engine.getPlayer(give.receiver()), player.getCards().get(give.cardIndex()));
+            case GameCommand.CaptureTreasure capture -> sendCaptureTreasureMessage(player,
+                    engine.getIsland().getTile(player.getPosition()).getTreasureType());
+            case GameCommand.NavigatorMove move -> sendMoveByNavigatorMessage(player,
+                    engine.getPlayer(move.target()), engine.getIsland().getTile(move.to()));
+            case GameCommand.PlaySandbags sandbags -> sendSandbagsMessage(player, sandbags.at(), sandbags.cardIndex());
+            // Without passengers the helicopter flies everyone off the island
+            case GameCommand.PlayHelicopter helicopter -> sendHelicopterMoveMessage(
+                    helicopter.passengers().stream().map(engine::getPlayer).toList(),
+                    player, helicopter.to(), helicopter.cardIndex());
+            case GameCommand.Discard discard -> sendDiscardMessage(player, discard.cardIndex());
+            case GameCommand.EndTurn endTurn -> sendEndTurnMessage(player);
+        };
     }
 
     /**
      * Sends a player movement message
      * @param player Player who is moving
      * @param position New position of the player
+     * @return Future completed when every player has acknowledged the message
      */
-    public void sendMoveMessage(Player player, Position position) {
+    public CompletableFuture<Void> sendMoveMessage(Player player, Position position) {
         Message message = new Message(MessageType.MOVE_PLAYER,
                 room.getId(),
                 player.getName(),
                 true
         );
-        message.addExtraData("positionX", position.getX());
-        message.addExtraData("positionY", position.getY());
-        message.addExtraData("tileName", island.getTile(position).getName());
-        broadcast(message);
+        message.setPayload(new MoveCommand(position.getX(), position.getY(), island.getTile(position).getName()));
+        return sendReliably(message);
     }
 
     /**
      * Sends a shore up action message
      * @param currentPlayer Player performing the shore up
      * @param position Position of the tile being shored up
+     * @return Future completed when every player has acknowledged the message
      */
-    public void sendShoreUpMessage(Player currentPlayer, Position position) {
+    public CompletableFuture<Void> sendShoreUpMessage(Player currentPlayer, Position position) {
         Message message = new Message(MessageType.SHORE_UP,
                 room.getId(),
                 currentPlayer.getName(),
                 true
         );
-        message.addExtraData("positionX", position.getX());
-        message.addExtraData("positionY", position.getY());
-        message.addExtraData("tileName", island.getTile(position).getName());
-        broadcast(message);
+        message.setPayload(new ShoreUpCommand(position.getX(), position.getY(), island.getTile(position).getName()));
+        return sendReliably(message);
     }
 
     /**
@@ -451,16 +804,16 @@ public class RoomController {
      * @param currentPlayer Player giving the card
      * @param selectedPlayer Player receiving the card
      * @param selectedCard Card being given
+     * @return Future completed when every player has acknowledged the message
      */
-    public void sendGiveCardMessage(Player currentPlayer, Player selectedPlayer, Card selectedCard) {
+    public CompletableFuture<Void> sendGiveCardMessage(Player currentPlayer, Player selectedPlayer, Card selectedCard) {
         Message message = new Message(MessageType.GIVE_CARD,
                 room.getId(),
                 currentPlayer.getName(),
                 true
         );
-        message.addExtraData("Card", selectedCard.getName());
-        message.addExtraData("playerName", selectedPlayer.getName());
-        broadcast(message);
+        message.setPayload(new GiveCardCommand(selectedPlayer.getName(), selectedCard.getName()));
+        return sendReliably(message);
     }
 
     /**
@@ -468,46 +821,47 @@ public class RoomController {
      * @param currentPlayer Navigator player
      * @param player Player being moved
      * @param tile Destination tile
+     * @return Future completed when every player has acknowledged the message
      */
-    public void sendMoveByNavigatorMessage(Player currentPlayer, Player player, Tile tile) {
+    public CompletableFuture<Void> sendMoveByNavigatorMessage(Player currentPlayer, Player player, Tile tile) {
         Message message = new Message(MessageType.MOVE_PLAYER_BY_NAVIGATOR,
                 room.getId(),
                 currentPlayer.getName(),
                 true
         );
-        message.addExtraData("positionX", tile.getPosition().getX());
-        message.addExtraData("positionY", tile.getPosition().getY());
-        message.addExtraData("playerName", player.getName());
-        message.addExtraData("tileName", tile.getName());
-        broadcast(message);
+        message.setPayload(new NavigatorMoveCommand(tile.getPosition().getX(), tile.getPosition().getY(),
+                player.getName(), tile.getName()));
+        return sendReliably(message);
     }
 
     /**
      * Sends a message for capturing a treasure
      * @param player Player capturing the treasure
      * @param treasureType Type of treasure being captured
+     * @return Future completed when every player has acknowledged the message
      */
-    public void sendCaptureTreasureMessage(Player player, TreasureType treasureType) {
+    public CompletableFuture<Void> sendCaptureTreasureMessage(Player player, TreasureType treasureType) {
         Message message = new Message(MessageType.CAPTURE_TREASURE,
                 room.getId(),
                 player.getName(),
                 true
         );
-        message.addExtraData("treasureType", treasureType.toString());
-        broadcast(message);
+        message.setPayload(new CaptureTreasureCommand(treasureType));
+        return sendReliably(message);
     }
 
     /**
      * Sends a message to end the current player's turn
      * @param currentPlayer Player ending their turn
+     * @return Future completed when every player has acknowledged the message
      */
-    public void sendEndTurnMessage(Player currentPlayer) {
+    public CompletableFuture<Void> sendEndTurnMessage(Player currentPlayer) {
         Message message = new Message(MessageType.END_TURN,
                 room.getId(),
                 currentPlayer.getName(),
                 true
         );
-        broadcast(message);
+        return sendReliably(message);
     }
 
     /**
@@ -515,19 +869,18 @@ public class RoomController {
      * @param user Player using the sandbags
      * @param position Position where sandbags are being used
      * @param cardIndex Index of the sandbags card being used
+     * @return Future completed when every player has acknowledged the message
      */
-    public void sendSandbagsMessage(Player user, Position position, int cardIndex) {
+    public CompletableFuture<Void> sendSandbagsMessage(Player user, Position position, int cardIndex) {
         Message message = new Message(
                 MessageType.SANDBAGS_USE,
                 room.getId(),
                 user.getName(),
                 true
         );
-        message.addExtraData("positionX", position.getX());
-        message.addExtraData("positionY", position.getY());
-        message.addExtraData("tileName", island.getTile(position).getName());
-        message.addExtraData("cardIndex", cardIndex);
-        broadcast(message);
+        message.setPayload(new SandbagsCommand(position.getX(), position.getY(),
+                island.getTile(position).getName(), cardIndex));
+        return sendReliably(message);
     }
 
     /**
@@ -536,90 +889,63 @@ public class RoomController {
      * @param user Player using the helicopter card
      * @param newPosition Destination position
      * @param cardIndex Index of the helicopter card being used
+     * @return Future completed when every player has acknowledged the message
      */
-    public void sendHelicopterMoveMessage(List<Player> helicopterPlayers, Player user, Position newPosition, int cardIndex) {
+    public CompletableFuture<Void> sendHelicopterMoveMessage(List<Player> helicopterPlayers, Player user, Position newPosition, int cardIndex) {
         Message message = new Message(
                 MessageType.HELICOPTER_MOVE,
                 room.getId(),
                 user.getName(),
                 true
         );
-        message.addExtraData("newPositionX", newPosition.getX());
-        message.addExtraData("newPositionY", newPosition.getY());
-        message.addExtraData("tileName", island.getTile(newPosition).getName());
-        message.addExtraData("cardIndex", cardIndex);
-        message.addExtraData("playerCount", helicopterPlayers.size());
-        for (int i = 0; i < helicopterPlayers.size(); i++) {
-            message.addExtraData("player" + i, helicopterPlayers.get(i).getName());
-        }
-        broadcast(message);
-    }
-
-    /**
-     * Sends a message for drawing flood cards
-     * @param count Number of flood cards to draw
-     * @param playerName Name of the player drawing cards
-     */
-    public void sendDrawFloodMessage(int count, String playerName) {
-        Message message = new Message(MessageType.DRAW_FLOOD_CARD,
-                room.getId(),
-                playerName,
-                true
-        );
-        message.addExtraData("count", count);
-        broadcast(message);
+        message.setPayload(new HelicopterCommand(newPosition.getX(), newPosition.getY(),
+                island.getTile(newPosition).getName(), cardIndex,
+                helicopterPlayers.stream().map(Player::getName).toList()));
+        return sendReliably(message);
     }
 
     /**
      * Sends a game over message
      * @param description Description of how the game ended
+     * @return Future completed when every player has acknowledged the message
      */
-    public void sendGameOverMessage(String description) {
+    public CompletableFuture<Void> sendGameOverMessage(String description) {
         Message message = new Message(MessageType.GAME_OVER,
                 room.getId(),
                 "system",
                 true
         );
-        message.addExtraData("description", description);
-        broadcast(message);
+        message.setPayload(new GameOverCommand(description));
+        return sendReliably(message);
     }
 
     /**
      * Sends a message for discarding a card
      * @param player Player discarding the card
      * @param cardIndex Index of the card being discarded
+     * @return Future completed when every player has acknowledged the message
      */
-    public void sendDiscardMessage(Player player, int cardIndex) {
+    public CompletableFuture<Void> sendDiscardMessage(Player player, int cardIndex) {
         Message message = new Message(MessageType.DISCARD_CARD,
                 room.getId(),
                 player.getName(),
                 true
         );
-        message.addExtraData("cardIndex", cardIndex);
-        broadcast(message);
-    }
-
-    /**
-     * Sends a message to start a player's turn
-     * @param nextPlayer Player whose turn is starting
-     */
-    public void sendStartTurnMessage(Player nextPlayer) {
-        Message message = new Message(MessageType.TURN_START,
-                room.getId(),
-                room.getCurrentProgramPlayer().getName(),
-                nextPlayer.getName(),
-                true
-        );
-        broadcast(message);
+        message.setPayload(new DiscardCommand(cardIndex));
+        return sendReliably(message);
     }
 
     /**
      * Sends a message to start the game
      * @param player Player starting the game
      * @param waterLevel Initial water level
+     * @return Future completed when every player has acknowledged the message
      */
-    public void sendStartGameMessage(Player player, AtomicInteger waterLevel) {
+    public CompletableFuture<Void> sendStartGameMessage(Player player, AtomicInteger waterLevel) {
         long seed = System.currentTimeMillis();
+        List<String> playerNames = room.getPlayers().stream().map(Player::getName).toList();
+        // Peers may send dictionary tokens as soon as they receive the start message
+        startSession(playerNames);
         // Start game message
         Message startGameMessage = new Message(
                 MessageType.GAME_START,
@@ -627,9 +953,46 @@ public class RoomController {
                 player.getName(),
                 true
         );
-        startGameMessage.addExtraData("seed", seed);
-        startGameMessage.addExtraData("waterLevel", waterLevel.get());
-        broadcast(startGameMessage);
+        startGameMessage.setPayload(new GameStartCommand(seed, waterLevel.get(), playerNames));
+        return sendReliably(startGameMessage);
+    }
+
+    /**
+     * Installs the session dictionary for the given player order
+     * Called when the start message is sent or received, before any tokenized message can arrive.
+     * @param playerNames Names of the players in slot order, or an empty list to use the room order
+     */
+    public void startSession(List<String> playerNames) {
+        List<String> names = playerNames.isEmpty()
+                ? room.getPlayers().stream().map(Player::getName).toList()
+                : playerNames;
+        SessionDictionary dictionary = new SessionDictionary(names);
+        localSlot = dictionary.slotOf(room.getCurrentProgramPlayer().getName());
+        sessionDictionary = dictionary;
+    }
+
+    /**
+     * Gets the journal recording the room traffic
+     * @return The journal, or null if recording is disabled
+     */
+    public TrafficJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Gets the dictionary of the current game session
+     * @return The session dictionary, or null if no game has started
+     */
+    public SessionDictionary getSessionDictionary() {
+        return sessionDictionary;
+    }
+
+    /**
+     * Gets the dictionary slot of the local player
+     * @return The slot, or -1 if no game has started
+     */
+    public int getLocalSlot() {
+        return localSlot;
     }
 
     /**
@@ -637,13 +1000,25 @@ public class RoomController {
      * @param message Original message being acknowledged
      */
     public void sendAckMessage(Message message) {
+        sendAckMessage(message, room.getCurrentProgramPlayer().getName());
+    }
+
+    /**
+     * Sends an acknowledgment on behalf of a player, such as a bot played by this peer
+     * @param message Original message being acknowledged
+     * @param from Name of the acknowledging player
+     */
+    public void sendAckMessage(Message message, String from) {
         Message ackMessage = new Message(
                 message.getMessageId(),
                 MessageType.MESSAGE_ACK,
                 room.getId(),
-                room.getCurrentProgramPlayer().getName(),
+                from,
                 message.getFrom()
         );
+        if (message.getSentAt() > 0 && message.getReceivedAt() > 0) {
+            ackMessage.setEcho(message.getSentAt(), message.getReceivedAt());
+        }
         broadcast(ackMessage);
     }
 }
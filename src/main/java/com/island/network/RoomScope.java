@@ -0,0 +1,158 @@
+package com.island.network;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * RoomScope owns every background task of a single room: the receive loop, the heartbeat
+ * and liveness checks, and message retries. Each task runs on its own virtual thread, so the
+ * number of platform threads does not grow with the number of rooms hosted in one process.
+ * Calling {@link #close()} is the single cancellation point for all of them.
+ */
+public class RoomScope implements AutoCloseable {
+    /** Executor starting one virtual thread per submitted task */
+    private final ExecutorService executor;
+
+    /** Resources released when the scope closes, in registration order */
+    private final List<Runnable> closeHooks = new CopyOnWriteArrayList<>();
+
+    /** Flag indicating whether the scope has been closed */
+    private volatile boolean closed = false;
+
+    /**
+     * Creates a new scope for the given room
+     * @param roomId Room identifier, used to name the virtual threads
+     */
+    public RoomScope(int roomId) {
+        this.executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("room-" + roomId + "-", 0).factory());
+    }
+
+    /**
+     * Runs a task on a new virtual thread owned by this scope
+     * @param task The task to run
+     * @return Future of the task, already cancelled if the scope is closed
+     */
+    public Future<?> fork(Runnable task) {
+        if (closed) {
+            return cancelled();
+        }
+        try {
+            return executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            return cancelled();
+        }
+    }
+
+    /**
+     * Runs a task once after the given delay
+     * @param task The task to run
+     * @param delay Delay before running the task
+     * @param unit Time unit of the delay
+     * @return Future of the task, cancelled if the scope closes before it runs
+     */
+    public Future<?> schedule(Runnable task, long delay, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(delay);
+        return fork(() -> {
+            if (sleepUntil(deadline)) {
+                task.run();
+            }
+        });
+    }
+
+    /**
+     * Runs a task periodically until the scope closes
+     * An exception thrown by one run is reported and does not stop the following runs.
+     * @param task The task to run
+     * @param initialDelay Delay before the first run
+     * @param period Period between the start of consecutive runs
+     * @param unit Time unit of the delay and period
+     * @return Future of the periodic task
+     */
+    public Future<?> scheduleAtFixedRate(Runnable task, long initialDelay, long period, TimeUnit unit) {
+        long periodNanos = unit.toNanos(period);
+        long first = System.nanoTime() + unit.toNanos(initialDelay);
+        return fork(() -> {
+            long next = first;
+            while (sleepUntil(next)) {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    e.printStackTrace();
+                }
+                next += periodNanos;
+            }
+        });
+    }
+
+    /**
+     * Registers a resource to release when the scope closes
+     * Used for sockets, whose blocking calls must be unblocked by closing them.
+     * @param hook The action releasing the resource
+     */
+    public void onClose(Runnable hook) {
+        closeHooks.add(hook);
+    }
+
+    /**
+     * Checks whether the scope has been closed
+     * @return true if the scope is closed, false otherwise
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Cancels every task of the room and releases the registered resources
+     * Calling this method more than once has no further effect.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        executor.shutdownNow();
+        for (Runnable hook : closeHooks) {
+            try {
+                hook.run();
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+        closeHooks.clear();
+    }
+
+    /**
+     * Parks the current virtual thread until the deadline
+     * @param deadline Deadline in System.nanoTime units
+     * @return true if the deadline was reached, false if the scope was closed or the thread interrupted
+     */
+    private boolean sleepUntil(long deadline) {
+        long remaining;
+        while (!closed && (remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+        }
+        return !closed && !Thread.currentThread().isInterrupted();
+    }
+
+    /**
+     * Creates a future that is already cancelled
+     * @return A cancelled future
+     */
+    private static Future<?> cancelled() {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        future.cancel(false);
+        return future;
+    }
+}
@@ -0,0 +1,196 @@
+package com.island.network;
+
+import com.island.models.treasure.TreasureType;
+import com.island.util.Constant;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SessionDictionary holds the strings a room agrees on at GAME_START: the "system" sender,
+ * the player slots in room order, the 24 tile names and the card names.
+ * Once a game has started, messages carry a two-character token "~c" instead of any of
+ * these strings, where c encodes the dictionary index in a single byte. Strings outside the
+ * dictionary are written as they are, with a leading '~' doubled.
+ */
+public final class SessionDictionary {
+    /** Prefix of an encoded dictionary entry */
+    public static final char ESCAPE = '~';
+
+    /** Index of the "system" sender used for end-of-turn flood draws */
+    public static final int SYSTEM_SLOT = 0;
+
+    /** Name of the "system" sender */
+    public static final String SYSTEM = "system";
+
+    /** Character encoding index 0, indices are encoded as consecutive characters from here */
+    private static final char FIRST_CODE = '0';
+
+    /** Largest number of entries whose codes stay below the '|' separator */
+    private static final int MAX_ENTRIES = '|' - FIRST_CODE;
+
+    /** Entries indexed by their code */
+    private final String[] entries;
+
+    /** Index of each entry */
+    private final Map<String, Integer> indices;
+
+    /** Number of player slots, which follow the system slot */
+    private final int playerCount;
+
+    /**
+     * Creates a dictionary for the given player order
+     * @param playerNames Names of the players in slot order
+     * @throws IllegalArgumentException if the dictionary would not fit in one-byte codes
+     */
+    public SessionDictionary(List<String> playerNames) {
+        List<String> list = new ArrayList<>();
+        list.add(SYSTEM);
+        list.addAll(playerNames);
+        Collections.addAll(list, Constant.tilesNames);
+        for (TreasureType treasureType : TreasureType.values()) {
+            if (treasureType != TreasureType.NONE) {
+                list.add(treasureType.getDisplayName());
+            }
+        }
+        list.add("Helicopter");
+        list.add("Sandbags");
+        list.add("WaterRise");
+        if (list.size() > MAX_ENTRIES) {
+            throw new IllegalArgumentException("Too many dictionary entries: " + list.size());
+        }
+
+        this.entries = list.toArray(new String[0]);
+        this.indices = new HashMap<>();
+        for (int i = entries.length - 1; i >= 0; i--) {
+            indices.put(entries[i], i);
+        }
+        this.playerCount = playerNames.size();
+    }
+
+    /**
+     * Gets the index of a string
+     * @param value The string to look up
+     * @return The dictionary index, or -1 if the string is not in the dictionary
+     */
+    public int indexOf(String value) {
+        Integer index = value == null ? null : indices.get(value);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Gets the slot of a player or of the system sender
+     * @param name The player name
+     * @return The slot, or -1 if the name is not a player of the session
+     */
+    public int slotOf(String name) {
+        int index = indexOf(name);
+        return index <= playerCount ? index : -1;
+    }
+
+    /**
+     * Gets the string at an index
+     * @param index The dictionary index
+     * @return The string
+     * @throws IllegalArgumentException if the index is out of range
+     */
+    public String get(int index) {
+        if (index < 0 || index >= entries.length) {
+            throw new IllegalArgumentException("Unknown dictionary index " + index);
+        }
+        return entries[index];
+    }
+
+    /**
+     * Gets the number of entries
+     * @return The number of entries
+     */
+    public int size() {
+        return entries.length;
+    }
+
+    /**
+     * Appends a string, replaced by its token when it is in the dictionary
+     * @param sb The buffer of the message being serialized
+     * @param value The string to append, may be null
+     * @return The index written, or -1 if the string was written as text
+     */
+    public int append(StringBuilder sb, String value) {
+        int index = indexOf(value);
+        if (index >= 0) {
+            sb.append(ESCAPE).append((char) (FIRST_CODE + index));
+        } else if (value != null) {
+            if (!value.isEmpty() && value.charAt(0) == ESCAPE) {
+                sb.append(ESCAPE);
+            }
+            sb.append(value);
+        }
+        return index;
+    }
+
+    /**
+     * Gets the index encoded by a field, without allocating
+     * @param src The serialized message
+     * @param start Start of the field
+     * @param end End of the field
+     * @return The encoded index, or -1 if the field holds plain text
+     * @throws IllegalArgumentException if the field holds an unknown token
+     */
+    public int indexAt(String src, int start, int end) {
+        if (end - start != 2 || src.charAt(start) != ESCAPE || src.charAt(start + 1) == ESCAPE) {
+            return -1;
+        }
+        int index = src.charAt(start + 1) - FIRST_CODE;
+        get(index);
+        return index;
+    }
+
+    /**
+     * Decodes a field written by {@link #append}
+     * @param src The serialized message
+     * @param start Start of the field
+     * @param end End of the field
+     * @return The decoded string
+     * @throws IllegalArgumentException if the field holds an unknown token
+     */
+    public String decode(String src, int start, int end) {
+        int index = indexAt(src, start, end);
+        if (index >= 0) {
+            return entries[index];
+        }
+        if (end > start && src.charAt(start) == ESCAPE) {
+            start++;
+        }
+        return src.substring(start, end);
+    }
+
+    /**
+     * Checks whether messages of a type are encoded with the dictionary
+     * Join, room update and game start messages are exchanged before every peer holds the
+     * dictionary, and spectators never hold it, so these messages are always sent as plain text.
+     * @param type The message type
+     * @return true if the message type is encoded with the dictionary
+     */
+    public static boolean appliesTo(MessageType type) {
+        return switch (type) {
+            case PLAYER_JOIN, PLAYER_LEAVE, LEAVE_ROOM, UPDATE_ROOM, GAME_START, STATE_SNAPSHOT, STATE_DELTA -> false;
+            default -> true;
+        };
+    }
+
+    /**
+     * Creates a readable listing of the dictionary for debugging
+     * @return One "index token value" line per entry, separated by tabs
+     */
+    public String dump() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < entries.length; i++) {
+            sb.append(i).append('\t').append(ESCAPE).append((char) (FIRST_CODE + i))
+                    .append('\t').append(entries[i]).append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,116 @@
+package com.island.network;
+
+import com.island.network.payload.StateStreamCommand;
+
+import java.net.InetAddress;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
+
+/**
+ * SpectatorClient follows a game without taking part in it.
+ * It listens on the shared {@link DatagramEndpoint} for the STATE_SNAPSHOT and STATE_DELTA messages
+ * the host of a room broadcasts, and keeps a {@link SpectatorState} up to date. It never sends
+ * anything: no join request, heartbeat or acknowledgment, so the players do not know it exists.
+ */
+public class SpectatorClient implements DatagramEndpoint.Listener, AutoCloseable {
+    /** Identifier of the followed room */
+    private final int roomId;
+
+    /** State rebuilt from the stream */
+    private final SpectatorState state = new SpectatorState();
+
+    /** Called with the state after each applied snapshot or delta */
+    private final Consumer<SpectatorState> onUpdate;
+
+    /** Flag indicating whether the client is registered with the endpoint */
+    private boolean open = false;
+
+    /**
+     * Creates a spectator for a room
+     * @param roomId Identifier of the room to follow
+     * @param onUpdate Called on the endpoint's receive thread after each state change
+     */
+    public SpectatorClient(int roomId, Consumer<SpectatorState> onUpdate) {
+        this.roomId = roomId;
+        this.onUpdate = onUpdate;
+    }
+
+    /**
+     * Starts listening to the room
+     * @throws RuntimeException if the game port cannot be bound
+     */
+    public synchronized void start() {
+        if (!open) {
+            DatagramEndpoint.register(roomId, this);
+            open = true;
+        }
+    }
+
+    /**
+     * Applies the state messages of the room, ignoring the game traffic
+     * @param message The decrypted message content
+     * @param sender The address of the message sender
+     */
+    @Override
+    public void handleMessage(String message, InetAddress sender) {
+        if (message.startsWith("HEARTBEAT|") || !isStateMessage(message)) {
+            return;
+        }
+        try {
+            StateStreamCommand command = Message.fromString(message).getPayload(StateStreamCommand.class);
+            synchronized (state) {
+                if (command != null && state.apply(command)) {
+                    onUpdate.accept(state);
+                }
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Checks the type field of a message without decoding it
+     * @param message The decrypted message
+     * @return true for STATE_SNAPSHOT and STATE_DELTA messages
+     */
+    private static boolean isStateMessage(String message) {
+        int start = message.indexOf('|') + 1;
+        return message.startsWith("STATE_SNAPSHOT|", start) || message.startsWith("STATE_DELTA|", start);
+    }
+
+    /**
+     * Gets the state rebuilt from the stream
+     * @return The spectator state
+     */
+    public SpectatorState getState() {
+        return state;
+    }
+
+    /**
+     * Stops listening to the room
+     */
+    @Override
+    public synchronized void close() {
+        if (open) {
+            DatagramEndpoint.unregister(roomId, this);
+            open = false;
+        }
+    }
+
+    /**
+     * Follows a room from the command line, printing the board after each update
+     * @param args The room identifier
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length != 1) {
+            System.out.println("Usage: SpectatorClient <room id>");
+            return;
+        }
+        try (SpectatorClient client = new SpectatorClient(Integer.parseInt(args[0]),
+                state -> System.out.println(state.render()))) {
+            client.start();
+            new CountDownLatch(1).await();
+        }
+    }
+}
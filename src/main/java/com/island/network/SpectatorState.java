@@ -0,0 +1,277 @@
+package com.island.network;
+
+import com.island.models.adventurers.Player;
+import com.island.models.island.Island;
+import com.island.models.island.Position;
+import com.island.models.island.Tile;
+import com.island.models.treasure.TreasureType;
+import com.island.network.payload.StateStreamCommand;
+import com.island.util.Constant;
+
+import java.util.*;
+
+/**
+ * SpectatorState is the compact game state streamed to spectators: the cell and state of every
+ * tile, the position, hand size and role of every player, the water level and the captured
+ * treasures. The host captures it from its game and sends a snapshot or the delta against the
+ * previous capture; a spectator applies them to its own copy. It holds no reference to the game.
+ */
+public class SpectatorState {
+    /** Size of the board side */
+    private static final int BOARD_SIZE = 6;
+
+    /** Number of the state, 0 before the first capture or snapshot */
+    private int sequence;
+
+    /** Water level */
+    private int waterLevel;
+
+    /** Board cell of each tile by index in {@link Constant#tilesNames}, -1 if absent */
+    private final int[] cells = new int[Constant.tilesNames.length];
+
+    /** State letter of each tile by index in {@link Constant#tilesNames}: N, F or S */
+    private final char[] states = new char[Constant.tilesNames.length];
+
+    /** Encoded entry of each player by name, in seat order */
+    private final Map<String, String> players = new LinkedHashMap<>();
+
+    /** Captured treasures, comma separated */
+    private String treasures = "";
+
+    /**
+     * Creates an empty state
+     */
+    public SpectatorState() {
+        Arrays.fill(cells, -1);
+        Arrays.fill(states, 'S');
+    }
+
+    /**
+     * Captures the state of a game
+     * @param sequence Number of the captured state
+     * @param island The island of the game
+     * @param playerList The players in seat order
+     * @param waterLevel The water level
+     * @return The captured state
+     */
+    public static SpectatorState capture(int sequence, Island island, List<Player> playerList, int waterLevel) {
+        SpectatorState state = new SpectatorState();
+        state.sequence = sequence;
+        state.waterLevel = waterLevel;
+        for (Tile tile : island.getTiles().values()) {
+            int index = tileIndex(tile.getName());
+            if (index >= 0) {
+                state.cells[index] = tile.getPosition().getY() * BOARD_SIZE + tile.getPosition().getX();
+                state.states[index] = tile.getState().name().charAt(0);
+            }
+        }
+        StringJoiner captured = new StringJoiner(",");
+        for (Player player : playerList) {
+            Position position = player.getPosition();
+            state.players.put(player.getName(), (position == null ? "-1,-1" : position.getX() + "," + position.getY())
+                    + "," + player.getCards().size()
+                    + "," + (player.getRole() == null ? "" : player.getRole().name())
+                    + "," + player.getName());
+            for (TreasureType treasure : player.getCapturedTreasures()) {
+                captured.add(treasure.name());
+            }
+        }
+        state.treasures = captured.toString();
+        return state;
+    }
+
+    /**
+     * Gets the index of a tile name in {@link Constant#tilesNames}
+     * @param name The tile name
+     * @return The index, or -1 for an unknown tile
+     */
+    private static int tileIndex(String name) {
+        for (int i = 0; i < Constant.tilesNames.length; i++) {
+            if (Constant.tilesNames[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Encodes the whole state
+     * @return The snapshot payload
+     */
+    public StateStreamCommand snapshot() {
+        StringBuilder tiles = new StringBuilder();
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] >= 0) {
+                appendTile(tiles, i);
+            }
+        }
+        return new StateStreamCommand(sequence, -1, waterLevel, tiles.toString(),
+                new ArrayList<>(players.values()), treasures);
+    }
+
+    /**
+     * Encodes what changed since an earlier state
+     * A player joining or leaving changes the seat order, which is sent as a snapshot instead.
+     * @param previous The state the delta applies to
+     * @return The delta payload, or null if nothing changed
+     */
+    public StateStreamCommand delta(SpectatorState previous) {
+        if (!new ArrayList<>(players.keySet()).equals(new ArrayList<>(previous.players.keySet()))) {
+            return snapshot();
+        }
+        StringBuilder tiles = new StringBuilder();
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] >= 0 && (cells[i] != previous.cells[i] || states[i] != previous.states[i])) {
+                appendTile(tiles, i);
+            }
+        }
+        List<String> changed = new ArrayList<>();
+        players.forEach((name, entry) -> {
+            if (!entry.equals(previous.players.get(name))) {
+                changed.add(entry);
+            }
+        });
+        if (tiles.isEmpty() && changed.isEmpty() && waterLevel == previous.waterLevel
+                && treasures.equals(previous.treasures)) {
+            return null;
+        }
+        return new StateStreamCommand(sequence, previous.sequence, waterLevel, tiles.toString(), changed, treasures);
+    }
+
+    /**
+     * Appends the three-character encoding of a tile
+     * @param sb The buffer
+     * @param index The tile index
+     */
+    private void appendTile(StringBuilder sb, int index) {
+        sb.append(Character.forDigit(index, 36)).append(Character.forDigit(cells[index], 36)).append(states[index]);
+    }
+
+    /**
+     * Applies a snapshot or delta received from the host
+     * Snapshots always replace the state. A delta is only applied on top of the state it was
+     * computed against; after a lost packet the spectator waits for the next snapshot.
+     * @param command The received state
+     * @return true if the state was applied
+     */
+    public boolean apply(StateStreamCommand command) {
+        boolean snapshot = command.baseSequence() < 0;
+        if (!snapshot && command.baseSequence() != sequence) {
+            return false;
+        }
+        if (snapshot) {
+            Arrays.fill(cells, -1);
+            players.clear();
+        }
+        String tiles = command.tiles();
+        for (int i = 0; i + 2 < tiles.length(); i += 3) {
+            int index = Character.digit(tiles.charAt(i), 36);
+            if (index >= 0 && index < cells.length) {
+                cells[index] = Character.digit(tiles.charAt(i + 1), 36);
+                states[index] = tiles.charAt(i + 2);
+            }
+        }
+        for (String entry : command.players()) {
+            players.put(playerName(entry), entry);
+        }
+        sequence = command.sequence();
+        waterLevel = command.waterLevel();
+        treasures = command.treasures();
+        return true;
+    }
+
+    /**
+     * Extracts the name of an encoded player, the last field which may itself contain commas
+     * @param entry The encoded player
+     * @return The player name
+     */
+    private static String playerName(String entry) {
+        int comma = -1;
+        for (int i = 0; i < 4; i++) {
+            comma = entry.indexOf(',', comma + 1);
+            if (comma < 0) {
+                return entry;
+            }
+        }
+        return entry.substring(comma + 1);
+    }
+
+    /**
+     * Gets the number of the state
+     * @return The sequence number
+     */
+    public int getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Gets the water level
+     * @return The water level
+     */
+    public int getWaterLevel() {
+        return waterLevel;
+    }
+
+    /**
+     * Gets the state of a tile
+     * @param name The tile name
+     * @return The tile state, or null if the tile is not on the board
+     */
+    public Tile.TileState getTileState(String name) {
+        int index = tileIndex(name);
+        if (index < 0 || cells[index] < 0) {
+            return null;
+        }
+        return switch (states[index]) {
+            case 'N' -> Tile.TileState.NORMAL;
+            case 'F' -> Tile.TileState.FLOODED;
+            default -> Tile.TileState.SUNK;
+        };
+    }
+
+    /**
+     * Gets the encoded players
+     * @return Entries "x,y,cardCount,ROLE,name" in seat order
+     */
+    public Collection<String> getPlayers() {
+        return Collections.unmodifiableCollection(players.values());
+    }
+
+    /**
+     * Gets the captured treasures
+     * @return Treasure names, comma separated
+     */
+    public String getTreasures() {
+        return treasures;
+    }
+
+    /**
+     * Draws the board as text, one row per line
+     * Each cell shows the first letters of its tile, lower case when flooded, "~~" when sunk.
+     * @return The board
+     */
+    public String render() {
+        String[] grid = new String[BOARD_SIZE * BOARD_SIZE];
+        Arrays.fill(grid, "  ");
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] >= 0 && cells[i] < grid.length) {
+                String label = Constant.tilesNames[i].charAt(0) + Constant.tilesNames[i].substring(Constant.tilesNames[i].length() - 1);
+                grid[cells[i]] = switch (states[i]) {
+                    case 'N' -> label.toUpperCase();
+                    case 'F' -> label.toLowerCase();
+                    default -> "~~";
+                };
+            }
+        }
+        StringBuilder sb = new StringBuilder();
+        for (int y = 0; y < BOARD_SIZE; y++) {
+            for (int x = 0; x < BOARD_SIZE; x++) {
+                sb.append('[').append(grid[y * BOARD_SIZE + x]).append(']');
+            }
+            sb.append('\n');
+        }
+        sb.append("water level ").append(waterLevel).append(", treasures ").append(treasures).append('\n');
+        players.values().forEach(entry -> sb.append(entry).append('\n'));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,92 @@
+package com.island.network;
+
+import com.island.controller.GameController;
+import com.island.network.payload.StateStreamCommand;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StateStreamer broadcasts the game state of the host to spectators.
+ * Every {@value #TICK_INTERVAL} ms the host captures a {@link SpectatorState} and broadcasts the
+ * changes since the previous capture as a STATE_DELTA, and every {@value #SNAPSHOT_INTERVAL} ms
+ * the whole state as a STATE_SNAPSHOT so that new or lagging spectators catch up. The messages
+ * are neither acknowledged nor retried, so any number of spectators adds no traffic between players.
+ * Only the current host streams, which keeps the stream going after a host migration.
+ */
+public class StateStreamer {
+    /** Interval between captures in milliseconds */
+    private static final long TICK_INTERVAL = 250;
+
+    /** Interval between snapshots in milliseconds */
+    private static final long SNAPSHOT_INTERVAL = 2000;
+
+    /** Controller of the streamed room */
+    private final RoomController roomController;
+
+    /** Last captured state, null while not streaming */
+    private SpectatorState last;
+
+    /** Time of the last snapshot in milliseconds */
+    private long lastSnapshot;
+
+    /**
+     * Creates a streamer for a room
+     * @param roomController Controller of the room
+     */
+    public StateStreamer(RoomController roomController) {
+        this.roomController = roomController;
+    }
+
+    /**
+     * Starts capturing the state periodically
+     * Captures run on the game thread of the room, where the game state is modified.
+     * @param scope Scope of the room, which cancels the task when closed
+     */
+    public void start(RoomScope scope) {
+        scope.scheduleAtFixedRate(() -> {
+            // Skip the game thread entirely while no game is running
+            GameController game = roomController.getGameController();
+            if (game != null && game.isGameStart()) {
+                roomController.getGameThread().execute(this::tick);
+            }
+        }, TICK_INTERVAL, TICK_INTERVAL, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Captures the state and broadcasts a delta or snapshot if needed
+     */
+    void tick() {
+        GameController game = roomController.getGameController();
+        if (game == null || !game.isGameStart() || game.isGameOver() || !roomController.isLocalHost()) {
+            last = null;
+            return;
+        }
+        SpectatorState current = SpectatorState.capture(last == null ? 1 : last.getSequence() + 1,
+                game.getIsland(), roomController.getRoom().getPlayers(),
+                game.getIslandController().getWaterLevel());
+        long now = System.currentTimeMillis();
+        if (last == null || now - lastSnapshot >= SNAPSHOT_INTERVAL) {
+            send(MessageType.STATE_SNAPSHOT, current.snapshot());
+            lastSnapshot = now;
+            last = current;
+            return;
+        }
+        StateStreamCommand delta = current.delta(last);
+        if (delta != null) {
+            send(delta.baseSequence() < 0 ? MessageType.STATE_SNAPSHOT : MessageType.STATE_DELTA, delta);
+            last = current;
+        }
+    }
+
+    /**
+     * Broadcasts a state message without acknowledgment
+     * @param type STATE_SNAPSHOT or STATE_DELTA
+     * @param state The state payload
+     */
+    private void send(MessageType type, StateStreamCommand state) {
+        Message message = new Message(type, roomController.getRoomId(),
+                roomController.getRoom().getCurrentProgramPlayer().getName());
+        message.setPayload(state);
+        roomController.broadcast(message);
+    }
+}
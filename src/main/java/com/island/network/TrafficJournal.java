@@ -0,0 +1,282 @@
+package com.island.network;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * TrafficJournal records every message a room sends and receives to a compact binary file,
+ * so a session that went wrong can be inspected and replayed afterwards with {@link JournalReplayer}.
+ * Recording a message serializes it and hands the record to a writer thread through a bounded
+ * queue, so the network threads never wait for the file. The writer collects records in a buffer
+ * written when full or every {@value #FLUSH_INTERVAL_MILLIS} ms; when the queue is full the record
+ * is dropped and counted, as the journal must not slow the game down.
+ * <p>
+ * File layout: the magic number "FIJ1", then one record per message made of the direction byte,
+ * the timestamp in epoch milliseconds, the peer address length and bytes (0 for none), and the
+ * length-prefixed UTF-8 text of the message in its plain {@link Message#toString()} form.
+ */
+public class TrafficJournal implements AutoCloseable {
+    /** Magic number at the start of every journal file */
+    private static final int MAGIC = 0x46494A31;
+
+    /** Size of the write buffer (64 KB) */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** Largest number of records waiting for the writer */
+    private static final int QUEUE_CAPACITY = 4096;
+
+    /** Longest time a record stays in the write buffer, in milliseconds */
+    private static final long FLUSH_INTERVAL_MILLIS = 1000;
+
+    /** Record telling the writer to stop */
+    private static final byte[] END = new byte[0];
+
+    /** Size of a record without its address and message bytes */
+    private static final int RECORD_HEADER_SIZE = 1 + 8 + 1 + 4;
+
+    /** System property naming the journal file, recording is disabled when it is not set */
+    public static final String JOURNAL_PROPERTY = "island.journal";
+
+    /**
+     * Direction of a recorded message
+     */
+    public enum Direction {
+        /** Message received from a peer */
+        INBOUND,
+        /** Message sent by this peer */
+        OUTBOUND
+    }
+
+    /**
+     * A message read back from a journal
+     * @param direction Whether the message was received or sent
+     * @param timestamp Time of the record in epoch milliseconds
+     * @param peer Address of the sender for inbound messages, null otherwise
+     * @param message The recorded message
+     */
+    public record Entry(Direction direction, long timestamp, InetAddress peer, Message message) {
+    }
+
+    /** Channel of the journal file */
+    private final FileChannel channel;
+
+    /** Buffer collecting records until it is written, used by the writer thread only */
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+    /** Records waiting for the writer thread */
+    private final BlockingQueue<byte[]> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+    /** Thread writing the records to the file */
+    private final Thread writer;
+
+    /** Records dropped because the queue was full */
+    private final AtomicLong dropped = new AtomicLong();
+
+    /** Flag indicating whether the journal has been closed */
+    private volatile boolean closed = false;
+
+    /**
+     * Creates a journal, replacing any existing file
+     * @param file The journal file
+     * @throws IOException if the file cannot be opened
+     */
+    public TrafficJournal(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        buffer.putInt(MAGIC);
+        this.writer = new Thread(this::drain, "traffic-journal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Opens the journal configured by the {@value #JOURNAL_PROPERTY} system property
+     * The room id is appended to the configured name so rooms do not share a file.
+     * @param roomId The room identifier
+     * @return The journal, or null if recording is disabled or the file cannot be opened
+     */
+    public static TrafficJournal fromSystemProperty(int roomId) {
+        String path = System.getProperty(JOURNAL_PROPERTY);
+        if (path == null || path.isBlank()) {
+            return null;
+        }
+        try {
+            return new TrafficJournal(Path.of(path + "-room" + roomId + ".bin"));
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Appends a message to the journal
+     * The record is queued for the writer thread, or dropped if the queue is full.
+     * @param direction Whether the message was received or sent
+     * @param message The message
+     * @param peer Address of the sender, or null for outbound messages
+     */
+    public void record(Direction direction, Message message, InetAddress peer) {
+        if (closed) {
+            return;
+        }
+        long timestamp = System.currentTimeMillis();
+        byte[] text = message.toString().getBytes(StandardCharsets.UTF_8);
+        byte[] address = peer == null ? new byte[0] : peer.getAddress();
+        byte[] record = new byte[RECORD_HEADER_SIZE + address.length + text.length];
+        ByteBuffer.wrap(record)
+                .put((byte) direction.ordinal())
+                .putLong(timestamp)
+                .put((byte) address.length)
+                .put(address)
+                .putInt(text.length)
+                .put(text);
+        if (!queue.offer(record)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Gets the number of records dropped because the writer fell behind
+     * @return The count
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Writes the queued records until the journal is closed, then closes the file
+     * Failures are reported and do not interrupt the network layer.
+     */
+    private void drain() {
+        long lastFlush = System.currentTimeMillis();
+        try {
+            while (true) {
+                long wait = lastFlush + FLUSH_INTERVAL_MILLIS - System.currentTimeMillis();
+                byte[] record = queue.poll(Math.max(wait, 0), TimeUnit.MILLISECONDS);
+                if (record == END) {
+                    break;
+                }
+                if (record != null) {
+                    append(record);
+                }
+                long now = System.currentTimeMillis();
+                if (now - lastFlush >= FLUSH_INTERVAL_MILLIS) {
+                    flush();
+                    lastFlush = now;
+                }
+            }
+            flush();
+        } catch (IOException e) {
+            e.printStackTrace();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Adds a record to the write buffer, writing the buffer first if the record does not fit
+     * @param record The serialized record
+     * @throws IOException if writing fails
+     */
+    private void append(byte[] record) throws IOException {
+        if (record.length > buffer.remaining()) {
+            flush();
+            if (record.length > buffer.capacity()) {
+                writeFully(ByteBuffer.wrap(record));
+                return;
+            }
+        }
+        buffer.put(record);
+    }
+
+    /**
+     * Writes the buffered records to the file
+     * @throws IOException if writing fails
+     */
+    private void flush() throws IOException {
+        buffer.flip();
+        writeFully(buffer);
+        buffer.clear();
+    }
+
+    /**
+     * Writes a buffer to the channel completely
+     * @param source The buffer to write
+     * @throws IOException if writing fails
+     */
+    private void writeFully(ByteBuffer source) throws IOException {
+        while (source.hasRemaining()) {
+            channel.write(source);
+        }
+    }
+
+    /**
+     * Writes the queued records and closes the file, waiting for the writer thread
+     * Calling this method more than once has no further effect.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            queue.put(END);
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Reads every record of a journal file
+     * The file is memory-mapped, so large journals are not copied into the heap.
+     * @param file The journal file
+     * @return The recorded entries in recording order
+     * @throws IOException if the file cannot be read or is not a journal
+     */
+    public static List<Entry> read(Path file) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer map = in.map(FileChannel.MapMode.READ_ONLY, 0, in.size());
+            if (map.remaining() < 4 || map.getInt() != MAGIC) {
+                throw new IOException("Not a traffic journal: " + file);
+            }
+            Direction[] directions = Direction.values();
+            while (map.remaining() >= RECORD_HEADER_SIZE) {
+                Direction direction = directions[map.get()];
+                long timestamp = map.getLong();
+                byte[] address = new byte[map.get()];
+                int length = address.length <= map.remaining() - 4 ? map.get(address).getInt() : -1;
+                if (length < 0 || length > map.remaining()) {
+                    // Last record cut short, the process stopped while writing it
+                    break;
+                }
+                byte[] text = new byte[length];
+                map.get(text);
+                InetAddress peer = address.length == 0 ? null : InetAddress.getByAddress(address);
+                Message message = Message.fromString(new String(text, StandardCharsets.UTF_8));
+                entries.add(new Entry(direction, timestamp, peer, message));
+            }
+        }
+        return entries;
+    }
+}
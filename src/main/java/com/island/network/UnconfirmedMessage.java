@@ -1,11 +1,14 @@
 package com.island.network;
 
-import java.util.HashSet;
+import java.util.ArrayList;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * UnconfirmedMessage class represents a message that requires acknowledgment from multiple receivers.
- * It tracks the pending receivers and retry attempts for message delivery.
+ * It tracks the pending receivers and retry attempts for message delivery, and exposes
+ * a future completed once every receiver has acknowledged the message.
  */
 public class UnconfirmedMessage {
     /** The original message that needs acknowledgment */
@@ -16,7 +19,10 @@ public class UnconfirmedMessage {
     
     /** Counter for tracking the number of retry attempts */
     private int retryCount = 0;
-    
+
+    /** Future completed when all receivers acknowledged, or exceptionally when delivery fails */
+    private final CompletableFuture<Void> delivery = new CompletableFuture<>();
+
     /**
      * Constructor for creating an unconfirmed message
      * @param message The message to be tracked
@@ -24,7 +30,11 @@ public class UnconfirmedMessage {
      */
     public UnconfirmedMessage(Message message, Set<String> receivers) {
         this.message = message;
-        this.pendingReceivers = new HashSet<>(receivers);
+        this.pendingReceivers = ConcurrentHashMap.newKeySet();
+        this.pendingReceivers.addAll(receivers);
+        if (pendingReceivers.isEmpty()) {
+            delivery.complete(null);
+        }
     }
 
     /**
@@ -32,7 +42,25 @@ public class UnconfirmedMessage {
      * @param receiver The receiver to be removed
      */
     public void removeReceiver(String receiver) {
-        pendingReceivers.remove(receiver);
+        if (pendingReceivers.remove(receiver) && pendingReceivers.isEmpty()) {
+            delivery.complete(null);
+        }
+    }
+
+    /**
+     * Marks the delivery as failed for the receivers that are still pending
+     * The delivery future is completed exceptionally with a {@link DeliveryException}.
+     */
+    public void failDelivery() {
+        delivery.completeExceptionally(new DeliveryException(message.getMessageId(), new ArrayList<>(pendingReceivers)));
+    }
+
+    /**
+     * Gets the future tracking the delivery of this message
+     * @return Future completed when every receiver has acknowledged the message
+     */
+    public CompletableFuture<Void> getDelivery() {
+        return delivery;
     }
 
     /**
@@ -0,0 +1,86 @@
+package com.island.network.load;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * Settings of a load run, see {@link LoadGenerator}.
+ * @param rooms Number of concurrent rooms
+ * @param playersPerRoom Number of peers in each room
+ * @param actionsPerSecond Rate at which the peers of each room take their steps
+ * @param turnsPerGame Number of turns played before the host ends a game
+ * @param gamesPerRoom Number of games played in a row by each room
+ * @param lossRate Probability of dropping each datagram before it is sent, to exercise retries
+ * @param targetAddress Address the peers send their datagrams to, loopback or a LAN broadcast address
+ * @param retryInterval Time before an unacknowledged message is sent again, in milliseconds
+ * @param maxRetries Number of retries before a message is given up
+ */
+public record LoadConfig(int rooms, int playersPerRoom, double actionsPerSecond, int turnsPerGame,
+                         int gamesPerRoom, double lossRate, InetAddress targetAddress,
+                         long retryInterval, int maxRetries) {
+
+    /**
+     * Checks the settings
+     * @throws IllegalArgumentException if a setting is out of range
+     */
+    public LoadConfig {
+        if (rooms < 1 || playersPerRoom < 2 || playersPerRoom > 4 || actionsPerSecond <= 0
+                || turnsPerGame < 1 || gamesPerRoom < 1 || lossRate < 0 || lossRate >= 1
+                || retryInterval < 1 || maxRetries < 0) {
+            throw new IllegalArgumentException("Invalid load configuration");
+        }
+    }
+
+    /**
+     * Creates the default configuration: 8 rooms of 4 players on loopback, 10 actions per second,
+     * one game of 20 turns, no loss, and the retry policy of the game
+     * @return The default configuration
+     */
+    public static LoadConfig defaults() {
+        return new LoadConfig(8, 4, 10, 20, 1, 0, InetAddress.getLoopbackAddress(), 3000, 3);
+    }
+
+    /**
+     * Parses command line options of the form --name=value over the defaults
+     * Options: rooms, players, rate, turns, games, loss, target, retry, maxRetries.
+     * @param args The command line arguments
+     * @return The configuration
+     * @throws IllegalArgumentException if an option is unknown or invalid
+     */
+    public static LoadConfig fromArgs(String[] args) {
+        LoadConfig d = defaults();
+        int rooms = d.rooms;
+        int players = d.playersPerRoom;
+        double rate = d.actionsPerSecond;
+        int turns = d.turnsPerGame;
+        int games = d.gamesPerRoom;
+        double loss = d.lossRate;
+        InetAddress target = d.targetAddress;
+        long retry = d.retryInterval;
+        int maxRetries = d.maxRetries;
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Invalid option: " + arg);
+            }
+            String value = arg.substring(eq + 1);
+            try {
+                switch (arg.substring(2, eq)) {
+                    case "rooms" -> rooms = Integer.parseInt(value);
+                    case "players" -> players = Integer.parseInt(value);
+                    case "rate" -> rate = Double.parseDouble(value);
+                    case "turns" -> turns = Integer.parseInt(value);
+                    case "games" -> games = Integer.parseInt(value);
+                    case "loss" -> loss = Double.parseDouble(value);
+                    case "target" -> target = InetAddress.getByName(value);
+                    case "retry" -> retry = Long.parseLong(value);
+                    case "maxRetries" -> maxRetries = Integer.parseInt(value);
+                    default -> throw new IllegalArgumentException("Unknown option: " + arg);
+                }
+            } catch (NumberFormatException | UnknownHostException e) {
+                throw new IllegalArgumentException("Invalid option: " + arg, e);
+            }
+        }
+        return new LoadConfig(rooms, players, rate, turns, games, loss, target, retry, maxRetries);
+    }
+}
@@ -0,0 +1,73 @@
+package com.island.network.load;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * LoadGenerator runs many rooms of headless peers at once to find how much game traffic a host or
+ * a LAN sustains. Each {@link LoadRoom} plays games between real room controllers, which exchange
+ * their messages through the game's endpoint and apply them to their own games, and the run ends
+ * with a report of throughput, retry rate, delivery latency percentiles, peers out of step and
+ * CPU time per room.
+ * <p>
+ * Usage: LoadGenerator [--rooms=8] [--players=4] [--rate=10] [--turns=20] [--games=1] [--loss=0]
+ * [--target=127.0.0.1] [--retry=3000] [--maxRetries=3]
+ */
+public class LoadGenerator {
+    /** Settings of the run */
+    private final LoadConfig config;
+
+    /**
+     * Creates a load generator
+     * @param config Settings of the run
+     */
+    public LoadGenerator(LoadConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Runs every room until its games are over
+     * @return The statistics of all rooms merged
+     * @throws InterruptedException if interrupted while waiting for the rooms
+     */
+    public LoadStats run() throws InterruptedException {
+        List<LoadRoom> rooms = new ArrayList<>();
+        for (int i = 1; i <= config.rooms(); i++) {
+            rooms.add(new LoadRoom(config, i, System.nanoTime() ^ ((long) i << 32)));
+        }
+        long cpuStart = processCpuNanos();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < rooms.size(); i++) {
+            threads.add(Thread.ofPlatform().name("load-room-" + (i + 1)).start(rooms.get(i)));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        LoadStats stats = LoadStats.merge(rooms.stream().map(LoadRoom::getStats).toList());
+        // The peers share the endpoint and the scheduler threads, so only the process is measured
+        stats.cpuNanos = processCpuNanos() - cpuStart;
+        return stats;
+    }
+
+    /**
+     * Gets the CPU time of the process
+     * @return CPU time in nanoseconds, 0 if unknown
+     */
+    private static long processCpuNanos() {
+        return ProcessHandle.current().info().totalCpuDuration().map(Duration::toNanos).orElse(0L);
+    }
+
+    /**
+     * Runs a load test from the command line and prints its report
+     * @param args Options, see the class documentation
+     * @throws Exception if the run fails
+     */
+    public static void main(String[] args) throws Exception {
+        LoadConfig config = LoadConfig.fromArgs(args);
+        System.out.println("Running " + config);
+        long start = System.nanoTime();
+        LoadStats stats = new LoadGenerator(config).run();
+        System.out.print(stats.report(System.nanoTime() - start));
+    }
+}
@@ -0,0 +1,478 @@
+package com.island.network.load;
+
+import com.island.controller.GameController;
+import com.island.engine.GameCommand;
+import com.island.engine.GameEngine;
+import com.island.engine.GameRules;
+import com.island.models.Room;
+import com.island.models.adventurers.Player;
+import com.island.models.game.GameState;
+import com.island.network.BroadcastSender;
+import com.island.network.MessageHandler;
+import com.island.network.RoomController;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LoadRoom plays headless games between the peers of one room, each a real {@link RoomController}
+ * with its own {@link GameController} and {@link MessageHandler}. The peers exchange their messages
+ * through the process-wide {@code DatagramEndpoint} with the game's codec, session dictionary,
+ * encryption, acknowledgments and retry policy, and apply them to their own {@link GameEngine}, as
+ * the peers of a LAN game do; only the JavaFX thread is replaced by a game thread per peer.
+ * <p>
+ * Every peer plays its own seat with random legal commands at the configured rate: swimmers swim
+ * first, players over the hand limit discard, then the current player acts. One message is in
+ * flight at a time, so every peer decides on the state all peers agree on. The host starts each
+ * game and ends it after the configured number of turns, unless the game ends first; at the end
+ * the games of the peers are compared by hash.
+ */
+public class LoadRoom implements Runnable {
+    /** Water level the games start at */
+    private static final int WATER_LEVEL = 1;
+
+    /** Description of the games ended by the host */
+    private static final String FINISHED = "Load test finished";
+
+    /** Settings of the run */
+    private final LoadConfig config;
+
+    /** Identifier of the room */
+    private final int roomId;
+
+    /** Names of the peers in seat order, the first one hosts */
+    private final List<String> names;
+
+    /** Source of the seeds of the peers */
+    private final SplittableRandom random;
+
+    /** Counters of the room */
+    private final LoadStats stats = new LoadStats();
+
+    /** Set while a message of a peer is being delivered */
+    private final AtomicBoolean acting = new AtomicBoolean();
+
+    /** Time of the last message sent or delivered in nanoseconds */
+    private volatile long lastProgress;
+
+    /** Peers in seat order, created when the room runs */
+    private final List<Peer> peers = new ArrayList<>();
+
+    /**
+     * A peer of the room: a room controller and its game, owned by a game thread of its own
+     */
+    private final class Peer {
+        /** Name of the player */
+        final String name;
+
+        /** Thread owning the game of the peer */
+        final ExecutorService gameThread;
+
+        /** Sender of the peer's datagrams */
+        final LossySender sender;
+
+        /** Controller of the peer's room */
+        final RoomController roomController;
+
+        /** Source of the peer's commands */
+        final SplittableRandom commands;
+
+        /** Controller of the current game, used on the game thread */
+        GameController gameController;
+
+        /** Flag indicating whether the host announced the end of the current game */
+        volatile boolean gameOverSent;
+
+        /** Retries of the previous games */
+        long retries;
+
+        /** Failures of the previous games */
+        long failures;
+
+        /**
+         * Creates a peer and starts its room controller
+         * @param name Name of the player
+         * @param seed Seed of the commands and of the simulated loss
+         */
+        Peer(String name, long seed) {
+            this.name = name;
+            this.gameThread = Executors.newSingleThreadExecutor(
+                    Thread.ofPlatform().name("load-room-" + roomId + "-" + name).factory());
+            SplittableRandom peerRandom = new SplittableRandom(seed);
+            this.commands = peerRandom.split();
+            this.sender = new LossySender(config.targetAddress(), config.lossRate(), peerRandom.split());
+            Room room = new Room(roomId, new Player(name));
+            ArrayList<Player> players = new ArrayList<>();
+            for (String player : names) {
+                players.add(new Player(player));
+            }
+            room.setPlayers(players);
+            this.roomController = new RoomController(room, sender, gameThread);
+        }
+
+        /**
+         * Runs a task on the game thread and waits for it
+         * @param task The task
+         * @return The result of the task
+         * @throws InterruptedException if interrupted while waiting
+         * @throws ExecutionException if the task failed
+         */
+        <T> T call(Callable<T> task) throws InterruptedException, ExecutionException {
+            return gameThread.submit(task).get();
+        }
+
+        /**
+         * Replaces the game controller and message handler for a new game
+         * @return null
+         */
+        Void newGame() {
+            MessageHandler previous = roomController.getMessageHandler();
+            if (previous != null) {
+                retries += previous.getRetries();
+                failures += previous.getFailures();
+                previous.shutdown();
+            }
+            gameController = new GameController(roomController);
+            roomController.setMessageHandler(
+                    new MessageHandler(gameController, config.retryInterval(), config.maxRetries()));
+            gameOverSent = false;
+            return null;
+        }
+
+        /**
+         * Starts the game as the host
+         * @return null
+         */
+        Void startGame() {
+            Player host = roomController.getRoom().getCurrentProgramPlayer();
+            track(roomController.sendStartGameMessage(host, new AtomicInteger(WATER_LEVEL)), false);
+            return null;
+        }
+
+        /**
+         * Takes the next step of the peer if it has to act and no message is in flight
+         * Called on the game thread at the configured rate.
+         */
+        void step() {
+            GameEngine engine = gameController.getEngine();
+            boolean host = roomController.isLocalHost();
+            // A game that ended by itself was announced by the host's game controller
+            if (host && gameController.isGameOver()) {
+                gameOverSent = true;
+            }
+            if (engine == null || isGameOver() || !acting.compareAndSet(false, true)) {
+                return;
+            }
+            if (host && !gameOverSent && (engine.getTurn() > config.turnsPerGame() || isStalled())) {
+                gameOverSent = true;
+                track(roomController.sendGameOverMessage(FINISHED), false);
+                return;
+            }
+            GameCommand command = engine.isOver() ? null : nextCommand(engine);
+            if (command == null) {
+                acting.set(false);
+                return;
+            }
+            track(roomController.sendCommand(command), true);
+        }
+
+        /**
+         * Chooses the command of the peer, if the seat that has to act is its own
+         * @param engine The game of the peer
+         * @return A random legal command, or null if another seat has to act
+         */
+        GameCommand nextCommand(GameEngine engine) {
+            List<GameCommand> legal = engine.legalCommands();
+            if (engine.getPhase() == GameEngine.Phase.SWIM) {
+                return isOwn(engine.getSwimmers().get(0)) ? pick(legal, GameCommand.Swim.class) : null;
+            }
+            for (Player player : engine.getPlayers()) {
+                if (player.getCards().size() > GameRules.HAND_LIMIT) {
+                    return isOwn(player) ? pick(legal, GameCommand.Discard.class) : null;
+                }
+            }
+            if (!isOwn(engine.getCurrentPlayer())) {
+                return null;
+            }
+            List<GameCommand> actions = legal.stream()
+                    .filter(command -> command.player().equals(name) && !(command instanceof GameCommand.Discard))
+                    .toList();
+            return actions.isEmpty() ? null : actions.get(commands.nextInt(actions.size()));
+        }
+
+        /**
+         * Picks a random legal command of the peer's player of a kind
+         * @param legal The legal commands
+         * @param kind The kind of command
+         * @return The command, or null if the player has none of this kind
+         */
+        GameCommand pick(List<GameCommand> legal, Class<? extends GameCommand> kind) {
+            List<GameCommand> own = legal.stream()
+                    .filter(command -> kind.isInstance(command) && command.player().equals(name))
+                    .toList();
+            return own.isEmpty() ? null : own.get(commands.nextInt(own.size()));
+        }
+
+        /**
+         * Checks whether a player is the peer's own
+         * @param player The player
+         * @return true if the peer plays this seat
+         */
+        boolean isOwn(Player player) {
+            return player.getName().equals(name);
+        }
+
+        /**
+         * Checks whether the peer has received the end of the game
+         * @return true once the game is over for this peer
+         */
+        boolean isGameOver() {
+            return gameController.getGameSubject().getGameState() == GameState.GAME_OVER;
+        }
+
+        /**
+         * Checks whether every message of the peer is acknowledged or given up
+         * @return true if no message awaits acknowledgment
+         */
+        boolean isSettled() {
+            MessageHandler handler = roomController.getMessageHandler();
+            return handler == null || handler.getUnconfirmedMessages().isEmpty();
+        }
+
+        /**
+         * Gets the outcome of the current game of the peer
+         * @return The outcome
+         */
+        Outcome outcome() {
+            GameEngine engine = gameController.getEngine();
+            return new Outcome(engine == null ? 0 : engine.hash(), isGameOver(),
+                    engine == null ? 0 : engine.getHistory().size());
+        }
+
+        /**
+         * Stops the room controller and the game thread
+         */
+        void close() {
+            MessageHandler handler = roomController.getMessageHandler();
+            if (handler != null) {
+                retries += handler.getRetries();
+                failures += handler.getFailures();
+            }
+            roomController.shutdown();
+            gameThread.shutdown();
+        }
+    }
+
+    /**
+     * The game of a peer at the end
+     * @param hash Hash of the game
+     * @param over Flag indicating whether the peer received the end of the game
+     * @param commandsApplied Commands applied to the game
+     */
+    private record Outcome(long hash, boolean over, int commandsApplied) {
+    }
+
+    /**
+     * A sender to fixed addresses that drops datagrams at a given rate to simulate loss
+     */
+    private static final class LossySender extends BroadcastSender {
+        /** Probability of dropping a datagram */
+        private final double lossRate;
+
+        /** Source of the drops, used by the send thread of the room only */
+        private final SplittableRandom random;
+
+        /** Datagrams dropped */
+        private final AtomicLong dropped = new AtomicLong();
+
+        /**
+         * Creates the sender
+         * @param target Address the datagrams are sent to
+         * @param lossRate Probability of dropping a datagram
+         * @param random Source of the drops
+         */
+        LossySender(InetAddress target, double lossRate, SplittableRandom random) {
+            super(List.of(target));
+            this.lossRate = lossRate;
+            this.random = random;
+        }
+
+        /**
+         * Sends a message unless it is dropped
+         * @param message The message to send
+         * @param compress true if every listener reads compressed frames
+         * @throws Exception if sending fails
+         */
+        @Override
+        public void broadcast(String message, boolean compress) throws Exception {
+            if (lossRate > 0 && random.nextDouble() < lossRate) {
+                dropped.incrementAndGet();
+                return;
+            }
+            super.broadcast(message, compress);
+        }
+
+        /**
+         * Gets the number of datagrams dropped
+         * @return The count
+         */
+        long getDropped() {
+            return dropped.get();
+        }
+    }
+
+    /**
+     * Creates a room
+     * @param config Settings of the run
+     * @param roomId Identifier of the room
+     * @param seed Seed of the commands and of the simulated loss
+     */
+    public LoadRoom(LoadConfig config, int roomId, long seed) {
+        this.config = config;
+        this.roomId = roomId;
+        this.random = new SplittableRandom(seed);
+        List<String> playerNames = new ArrayList<>();
+        for (int i = 0; i < config.playersPerRoom(); i++) {
+            playerNames.add("Bot" + roomId + "_" + i);
+        }
+        this.names = List.copyOf(playerNames);
+    }
+
+    /**
+     * Starts the peers, plays the configured games, then stops the peers
+     */
+    @Override
+    public void run() {
+        try {
+            for (String name : names) {
+                peers.add(new Peer(name, random.nextLong()));
+            }
+            for (int game = 0; game < config.gamesPerRoom(); game++) {
+                playGame();
+                stats.gamesCompleted++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        } finally {
+            for (Peer peer : peers) {
+                peer.close();
+                stats.retries += peer.retries;
+                stats.failures += peer.failures;
+                stats.datagramsSent += peer.sender.getDatagramsSent();
+                stats.bytesSent += peer.sender.getBytesSent();
+                stats.datagramsDropped += peer.sender.getDropped();
+            }
+            stats.rooms = 1;
+        }
+    }
+
+    /**
+     * Plays one game at the configured rate until its end is delivered, then compares the games of the peers
+     * @throws InterruptedException if interrupted
+     * @throws ExecutionException if a peer failed
+     */
+    private void playGame() throws InterruptedException, ExecutionException {
+        for (Peer peer : peers) {
+            peer.call(peer::newGame);
+        }
+        Peer host = peers.get(0);
+        acting.set(true);
+        host.call(host::startGame);
+
+        long stepNanos = (long) (TimeUnit.SECONDS.toNanos(1) / config.actionsPerSecond());
+        long nextStep = System.nanoTime();
+        while (!isSettled(host)) {
+            for (Peer peer : peers) {
+                peer.gameThread.execute(peer::step);
+            }
+            nextStep += stepNanos;
+            long wait = nextStep - System.nanoTime();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+        }
+
+        Outcome hostOutcome = host.call(host::outcome);
+        for (Peer peer : peers) {
+            Outcome outcome = peer.call(peer::outcome);
+            stats.commandsApplied += outcome.commandsApplied();
+            if (!outcome.over() || outcome.hash() != hostOutcome.hash()) {
+                stats.desyncs++;
+            }
+        }
+    }
+
+    /**
+     * Checks whether the host announced the end of the game and every message is settled
+     * @param host The host peer
+     * @return true if the game is finished
+     */
+    private boolean isSettled(Peer host) {
+        if (!host.gameOverSent || acting.get()) {
+            return false;
+        }
+        for (Peer peer : peers) {
+            if (!peer.isSettled()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether no message was sent or delivered for longer than the retry policy allows
+     * The host then ends the game, so that a game the peers disagree on cannot run forever.
+     * @return true if the game made no progress
+     */
+    private boolean isStalled() {
+        long limit = TimeUnit.MILLISECONDS.toNanos(config.retryInterval() * (config.maxRetries() + 2));
+        return System.nanoTime() - lastProgress > limit;
+    }
+
+    /**
+     * Counts a message sent by a peer and releases the next step once it is delivered or given up
+     * @param delivery Future tracking the delivery of the message
+     * @param command true if the message is a command of the game
+     */
+    private void track(CompletableFuture<Void> delivery, boolean command) {
+        long sentAt = System.nanoTime();
+        lastProgress = sentAt;
+        synchronized (stats) {
+            stats.messagesSent++;
+            if (command) {
+                stats.commandsSent++;
+            }
+        }
+        delivery.whenComplete((result, error) -> {
+            long now = System.nanoTime();
+            if (error == null) {
+                synchronized (stats) {
+                    stats.recordDelivery(TimeUnit.NANOSECONDS.toMicros(now - sentAt));
+                }
+            }
+            lastProgress = now;
+            acting.set(false);
+        });
+    }
+
+    /**
+     * Gets the counters of the room, complete once {@link #run()} returned
+     * @return The room statistics
+     */
+    public LoadStats getStats() {
+        return stats;
+    }
+}
@@ -0,0 +1,200 @@
+package com.island.network.load;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Counters of a load run, kept per room and merged into the final report.
+ */
+public class LoadStats {
+    /** Reliable messages sent by the peers: game starts, commands and game ends */
+    long messagesSent;
+
+    /** Commands of the game sent by the peers */
+    long commandsSent;
+
+    /** Commands applied to the games of the peers, counted once per peer */
+    long commandsApplied;
+
+    /** Retry rounds of messages a receiver had not acknowledged */
+    long retries;
+
+    /** Reliable messages given up after the last retry */
+    long failures;
+
+    /** Datagrams handed to the network */
+    long datagramsSent;
+
+    /** Datagrams dropped on purpose to simulate loss */
+    long datagramsDropped;
+
+    /** Bytes of the datagrams handed to the network */
+    long bytesSent;
+
+    /** Peers whose game ended in another state than the host's, or did not end */
+    int desyncs;
+
+    /** Games played to the end */
+    int gamesCompleted;
+
+    /** CPU time of the process in nanoseconds */
+    long cpuNanos;
+
+    /** Number of rooms merged into these statistics */
+    int rooms;
+
+    /** Delivery latencies in microseconds, from the first send of a message to the last acknowledgment */
+    private long[] deliveryLatencies = new long[1024];
+
+    /** Number of recorded delivery latencies */
+    private int deliveryCount;
+
+    /**
+     * Records the latency of one delivered message
+     * @param micros Latency in microseconds
+     */
+    void recordDelivery(long micros) {
+        if (deliveryCount == deliveryLatencies.length) {
+            deliveryLatencies = Arrays.copyOf(deliveryLatencies, deliveryCount * 2);
+        }
+        deliveryLatencies[deliveryCount++] = micros;
+    }
+
+    /**
+     * Merges the statistics of several rooms
+     * @param parts The statistics of each room
+     * @return The combined statistics
+     */
+    public static LoadStats merge(List<LoadStats> parts) {
+        LoadStats total = new LoadStats();
+        int latencies = parts.stream().mapToInt(part -> part.deliveryCount).sum();
+        total.deliveryLatencies = new long[Math.max(1, latencies)];
+        for (LoadStats part : parts) {
+            total.messagesSent += part.messagesSent;
+            total.commandsSent += part.commandsSent;
+            total.commandsApplied += part.commandsApplied;
+            total.retries += part.retries;
+            total.failures += part.failures;
+            total.datagramsSent += part.datagramsSent;
+            total.datagramsDropped += part.datagramsDropped;
+            total.bytesSent += part.bytesSent;
+            total.desyncs += part.desyncs;
+            total.gamesCompleted += part.gamesCompleted;
+            total.cpuNanos += part.cpuNanos;
+            total.rooms += Math.max(1, part.rooms);
+            System.arraycopy(part.deliveryLatencies, 0, total.deliveryLatencies, total.deliveryCount, part.deliveryCount);
+            total.deliveryCount += part.deliveryCount;
+        }
+        return total;
+    }
+
+    /**
+     * Gets a percentile of the delivery latencies
+     * @param percentile The percentile, between 0 and 100
+     * @return The latency in microseconds, 0 if none was recorded
+     */
+    public long deliveryLatencyPercentile(double percentile) {
+        if (deliveryCount == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(deliveryLatencies, deliveryCount);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100 * deliveryCount) - 1;
+        return sorted[Math.max(0, Math.min(deliveryCount - 1, index))];
+    }
+
+    /**
+     * Gets the share of reliable messages that needed a retry
+     * @return Retries per message sent
+     */
+    public double retryRate() {
+        return messagesSent == 0 ? 0 : (double) retries / messagesSent;
+    }
+
+    /**
+     * Formats the statistics
+     * @param wallNanos Duration of the run in nanoseconds
+     * @return The report
+     */
+    public String report(long wallNanos) {
+        double seconds = wallNanos / 1e9;
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("rooms=%d games=%d duration=%.2fs%n", rooms, gamesCompleted, seconds));
+        sb.append(String.format("messages sent=%d delivered=%d commands sent=%d applied=%d (%.0f/s) desyncs=%d%n",
+                messagesSent, deliveryCount, commandsSent, commandsApplied, commandsApplied / seconds, desyncs));
+        sb.append(String.format("datagrams sent=%d (%.0f/s, %.1f KB/s) dropped=%d%n",
+                datagramsSent, datagramsSent / seconds, bytesSent / 1024.0 / seconds, datagramsDropped));
+        sb.append(String.format("retries=%d (%.2f%% of messages) failures=%d%n",
+                retries, retryRate() * 100, failures));
+        sb.append(String.format("delivery latency p50=%.2fms p90=%.2fms p99=%.2fms max=%.2fms%n",
+                deliveryLatencyPercentile(50) / 1000.0, deliveryLatencyPercentile(90) / 1000.0,
+                deliveryLatencyPercentile(99) / 1000.0, deliveryLatencyPercentile(100) / 1000.0));
+        sb.append(String.format("cpu per room mean=%.1fms (%.2f%% of a core)%n",
+                cpuNanos / 1e6 / Math.max(1, rooms), cpuNanos * 100.0 / Math.max(1, rooms) / wallNanos));
+        return sb.toString();
+    }
+
+    /**
+     * Gets the number of reliable messages sent by the peers
+     * @return The count
+     */
+    public long getMessagesSent() {
+        return messagesSent;
+    }
+
+    /**
+     * Gets the number of commands sent by the peers
+     * @return The count
+     */
+    public long getCommandsSent() {
+        return commandsSent;
+    }
+
+    /**
+     * Gets the number of commands applied to the games of the peers
+     * @return The count, once per peer
+     */
+    public long getCommandsApplied() {
+        return commandsApplied;
+    }
+
+    /**
+     * Gets the number of retries
+     * @return The count
+     */
+    public long getRetries() {
+        return retries;
+    }
+
+    /**
+     * Gets the number of messages given up
+     * @return The count
+     */
+    public long getFailures() {
+        return failures;
+    }
+
+    /**
+     * Gets the number of peers whose game ended out of step with the host's
+     * @return The count
+     */
+    public int getDesyncs() {
+        return desyncs;
+    }
+
+    /**
+     * Gets the number of games played to the end
+     * @return The count
+     */
+    public int getGamesCompleted() {
+        return gamesCompleted;
+    }
+
+    /**
+     * Gets the number of recorded delivery latencies
+     * @return The count
+     */
+    public int getDeliveryCount() {
+        return deliveryCount;
+    }
+}
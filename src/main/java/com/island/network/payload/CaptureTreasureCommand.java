@@ -0,0 +1,26 @@
+package com.island.network.payload;
+
+import com.island.models.treasure.TreasureType;
+
+/**
+ * Payload of a CAPTURE_TREASURE message: the sender captures a treasure.
+ * @param treasureType Type of the captured treasure
+ */
+public record CaptureTreasureCommand(TreasureType treasureType) implements Payload {
+    /** Cached constants, avoiding a copy of the values array per decode */
+    private static final TreasureType[] TREASURE_TYPES = TreasureType.values();
+
+    @Override
+    public void write(PayloadWriter out) {
+        out.writeEnum("treasureType", treasureType);
+    }
+
+    /**
+     * Reads a capture treasure command
+     * @param in The field reader
+     * @return The decoded command
+     */
+    static CaptureTreasureCommand read(PayloadReader in) {
+        return new CaptureTreasureCommand(in.readEnum("treasureType", TREASURE_TYPES));
+    }
+}
@@ -0,0 +1,21 @@
+package com.island.network.payload;
+
+/**
+ * Payload of a DISCARD_CARD message: the sender discards a card.
+ * @param cardIndex Index of the card in the sender's hand
+ */
+public record DiscardCommand(int cardIndex) implements Payload {
+    @Override
+    public void write(PayloadWriter out) {
+        out.writeInt("cardIndex", cardIndex);
+    }
+
+    /**
+     * Reads a discard command
+     * @param in The field reader
+     * @return The decoded command
+     */
+    static DiscardCommand read(PayloadReader in) {
+        return new DiscardCommand(in.readInt("cardIndex"));
+    }
+}
@@ -0,0 +1,21 @@
+package com.island.network.payload;
+
+/**
+ * Payload of a GAME_OVER message: why the game ended.
+ * @param description Description of how the game ended
+ */
+public record GameOverCommand(String description) implements Payload {
+    @Override
+    public void write(PayloadWriter out) {
+        out.writeString("description", description);
+    }
+
+    /**
+     * Reads a game over command
+     * @param in The field reader
+     * @return The decoded command
+     */
+    static GameOverCommand read(PayloadReader in) {
+        return new GameOverCommand(in.readString("description"));
+    }
+}
@@ -0,0 +1,58 @@
+package com.island.network.payload;
+
+import java.util.List;
+
+/**
+ * Payload of a GAME_START message: the shared seed, initial water level and player order.
+ * The player order fixes the player slots of the session dictionary.
+ * @param seed Random seed used by every peer to set up the game
+ * @param waterLevel Initial water level
+ * @param playerNames Names of the players in slot order, empty if the sender did not send them
+ */
+public record GameStartCommand(long seed, int waterLevel, List<String> playerNames) implements Payload {
+    /**
+     * Creates a game start command, copying the player list
+     */
+    public GameStartCommand {
+        playerNames = List.copyOf(playerNames);
+    }
+
+    /**
+     * Creates a game start command without a player order
+     * @param seed Random seed used by every peer to set up the game
+     * @param waterLevel Initial water level
+     */
+    public GameStartCommand(long seed, int waterLevel) {
+        this(seed, waterLevel, List.of());
+    }
+
+    @Override
+    public void write(PayloadWriter out) {
+        out.writeLong("seed", seed);
+        out.writeInt("waterLevel", waterLevel);
+        out.writeInt("playerCount", playerNames.size());
+        for (int i = 0; i < playerNames.size(); i++) {
+            out.writeString("player", i, playerNames.get(i));
+        }
+    }
+
+    /**
+     * Reads a game start command
+     * Messages from peers that do not send the player order decode with an empty list.
+     * @param in The field reader
+     * @return The decoded command
+     */
+    static GameStartCommand read(PayloadReader in) {
+        long seed = in.readLong("seed");
+        int waterLevel = in.readInt("waterLevel");
+        if (!in.has("playerCount")) {
+            return new GameStartCommand(seed, waterLevel);
+        }
+        int playerCount = in.readInt("playerCount");
+        String[] players = new String[playerCount];
+        for (int i = 0; i < playerCount; i++) {
+            players[i] = in.readString("player", i);
+        }
+        return new GameStartCommand(seed, waterLevel, List.of(players));
+    }
+}
@@ -0,0 +1,23 @@
+package com.island.network.payload;
+
+/**
+ * Payload of a GIVE_CARD message: the sender gives a card to another player.
+ * @param playerName Name of the receiving player
+ * @param card Name of the card given
+ */
+public record GiveCardCommand(String playerName, String card) implements Payload {
+    @Override
+    public void write(PayloadWriter out) {
+        out.writeString("playerName", playerName);
+        out.writeString("Card", card);
+    }
+
+    /**
+     * Reads a give card command
+     * @param in The field reader
+     * @return The decoded command
+     */
+    static GiveCardCommand read(PayloadReader in) {
+        return new GiveCardCommand(in.readString("playerName"), in.readString("Card"));
+    }
+}
@@ -0,0 +1,56 @@
+package com.island.network.payload;
+
+import com.island.engine.GameRules;
+
+import java.util.List;
+
+/**
+ * Payload of a HELICOPTER_MOVE message: the sender flies players to another tile.
+ * @param x X-coordinate of the destination
+ * @param y Y-coordinate of the destination
+ * @param tileName Name of the destination tile
+ * @param cardIndex Index of the helicopter card in the sender's hand
+ * @param playerNames Names of the players being moved
+ */
+public record HelicopterCommand(int x, int y, String tileName, int cardIndex, List<String> playerNames) implements Payload {
+    /**
+     * Creates a helicopter command, copying the player list
+     */
+    public HelicopterCommand {
+        playerNames = List.copyOf(playerNames);
+    }
+
+    @Override
+    public void write(PayloadWriter out) {
+        out.writeInt("newPositionX", x);
+        out.writeInt("newPositionY", y);
+        out.writeString("tileName", tileName);
+        out.writeInt("cardIndex", cardIndex);
+        out.writeInt("playerCount", playerNames.size());
+        for (int i = 0; i < playerNames.size(); i++) {
+            out.writeString("player", i, playerNames.get(i));
+        }
+    }
+
+    /**
+     * Reads a helicopter command
+     * @param in The field reader
+     * @return The decoded command
+     * @throws IllegalArgumentException if more players fly than a game holds
+     */
+    static HelicopterCommand read(PayloadReader in) {
+        int x = in.readInt("newPositionX");
+        int y = in.readInt("newPositionY");
+        String tileName = in.readString("tileName");
+        int cardIndex = in.readInt("cardIndex");
+        int playerCount = in.readInt("playerCount");
+        if (playerCount < 0 || playerCount > GameRules.MAX_PLAYERS) {
+            throw new IllegalArgumentException("Field playerCount out of range: " + playerCount);
+        }
+        String[] players = new String[playerCount];
+        for (int i = 0; i < playerCount; i++) {
+            players[i] = in.readString("player", i);
+        }
+        return new HelicopterCommand(x, y, tileName, cardIndex, List.of(players));
+    }
+}
@@ -0,0 +1,21 @@
+package com.island.network.payload;
+
+/**
+ * Payload of a HOST_MIGRATION message: the elected host announces that it replaces a departed one.
+ * @param departedHost Name of the host that stopped sending heartbeats
+ */
+public record HostMigrationCommand(String departedHost) implements Payload {
+    @Override
+    public void write(PayloadWriter out) {
+        out.writeString("departedHost", departedHost);
+    }
+
+    /**
+     * Reads a host migration command
+     * @param in The field reader
+     * @return The decoded command
+     */
+    static HostMigrationCommand read(PayloadReader in) {
+        return new HostMigrationCommand(in.readString("departedHost"));
+    }
+}
@@ -0,0 +1,76 @@
+package com.island.network.payload;
+
+import java.util.Map;
+
+/**
+ * Reads payload fields from the legacy key-value data map of a message.
+ * Used for messages built with {@code addExtraData} or received in field order
+ * that the wire reader does not accept.
+ */
+final class MapReader implements PayloadReader {
+    /** The data map of the message */
+    private final Map<String, Object> data;
+
+    /**
+     * Creates a reader over a data map
+     * @param data The data map of the message
+     */
+    MapReader(Map<String, Object> data) {
+        this.data = data;
+    }
+
+    @Override
+    public boolean has(String key) {
+        return data.containsKey(key);
+    }
+
+    @Override
+    public int readInt(String key) {
+        return Integer.parseInt(value(key));
+    }
+
+    @Override
+    public long readLong(String key) {
+        return Long.parseLong(value(key));
+    }
+
+    @Override
+    public boolean readBoolean(String key) {
+        return Boolean.parseBoolean(value(key));
+    }
+
+    @Override
+    public String readString(String key) {
+        return value(key);
+    }
+
+    @Override
+    public String readString(String prefix, int index) {
+        return value(prefix + index);
+    }
+
+    @Override
+    public <E extends Enum<E>> E readEnum(String key, E[] values) {
+        String name = value(key);
+        for (E value : values) {
+            if (value.name().equals(name)) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Unknown value for field " + key);
+    }
+
+    /**
+     * Gets a field value as a string
+     * @param key The field key
+     * @return The field value
+     * @throws IllegalArgumentException if the field is missing
+     */
+    private String value(String key) {
+        Object value = data.get(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing field " + key);
+        }
+        return value.toString();
+    }
+}
@@ -0,0 +1,25 @@
+package com.island.network.payload;
+
+/**
+ * Payload of a MOVE_PLAYER message: the sender moves to the given tile.
+ * @param x X-coordinate of the destination
+ * @param y Y-coordinate of the destination
+ * @param tileName Name of the destination tile
+ */
+public record MoveCommand(int x, int y, String tileName) implements Payload {
+    @Override
+    public void write(PayloadWriter out) {
+        out.writeInt("positionX", x);
+        out.writeInt("positionY", y);
+        out.writeString("tileName", tileName);
+    }
+
+    /**
+     * Reads a move command
+     * @param in The field reader
+     * @return The decoded command
+     */
+    static MoveCommand read(PayloadReader in) {
+        return new MoveCommand(in.readInt("positionX"), in.readInt("positionY"), in.readString("tileName"));
+    }
+}
@@ -0,0 +1,28 @@
+package com.island.network.payload;
+
+/**
+ * Payload of a MOVE_PLAYER_BY_NAVIGATOR message: the navigator moves another player.
+ * @param x X-coordinate of the destination
+ * @param y Y-coordinate of the destination
+ * @param playerName Name of the player being moved
+ * @param tileName Name of the destination tile
+ */
+public record NavigatorMoveCommand(int x, int y, String playerName, String tileName) implements Payload {
+    @Override
+    public void write(PayloadWriter out) {
+        out.writeInt("positionX", x);
+        out.writeInt("positionY", y);
+        out.writeString("playerName", playerName);
+        out.writeString("tileName", tileName);
+    }
+
+    /**
+     * Reads a navigator move command
+     * @param in The field reader
+     * @return The decoded command
+     */
+    static NavigatorMoveCommand read(PayloadReader in) {
+        return new NavigatorMoveCommand(in.readInt("positionX"), in.readInt("positionY"),
+                in.readString("playerName"), in.readString("tileName"));
+    }
+}
@@ -0,0 +1,17 @@
+package com.island.network.payload;
+
+/**
+ * Typed content of a network message.
+ * Each message type that carries data has exactly one payload record, registered with
+ * its decoder in {@link PayloadRegistry}. Payloads are immutable.
+ */
+public sealed interface Payload permits MoveCommand, ShoreUpCommand, GiveCardCommand, NavigatorMoveCommand,
+        CaptureTreasureCommand, SandbagsCommand, HelicopterCommand, DiscardCommand, GameStartCommand,
+        GameOverCommand, RoomUpdateCommand, PlayerJoinCommand, HostMigrationCommand, StateStreamCommand {
+
+    /**
+     * Writes the fields of this payload, in decoding order
+     * @param out The writer receiving the fields
+     */
+    void write(PayloadWriter out);
+}
@@ -0,0 +1,15 @@
+package com.island.network.payload;
+
+/**
+ * Decoder turning the fields of a message into its typed payload.
+ * @param <P> The payload type produced by this codec
+ */
+@FunctionalInterface
+public interface PayloadCodec<P extends Payload> {
+    /**
+     * Reads a payload from the given fields
+     * @param in The reader positioned on the first field of the payload
+     * @return The decoded payload, or null if the fields carry no payload
+     */
+    P read(PayloadReader in);
+}
@@ -0,0 +1,59 @@
+package com.island.network.payload;
+
+/**
+ * Source of payload fields, read in the order they were written by {@link Payload#write}.
+ * Implementations exist for the wire format and for the legacy key-value data map.
+ */
+public interface PayloadReader {
+    /**
+     * Checks whether the next field has the given key
+     * @param key The field key
+     * @return true if the field is present
+     */
+    boolean has(String key);
+
+    /**
+     * Reads an int field
+     * @param key The field key
+     * @return The field value
+     */
+    int readInt(String key);
+
+    /**
+     * Reads a long field
+     * @param key The field key
+     * @return The field value
+     */
+    long readLong(String key);
+
+    /**
+     * Reads a boolean field
+     * @param key The field key
+     * @return The field value
+     */
+    boolean readBoolean(String key);
+
+    /**
+     * Reads a string field
+     * @param key The field key
+     * @return The field value
+     */
+    String readString(String key);
+
+    /**
+     * Reads an indexed string field such as "player2"
+     * @param prefix The key prefix
+     * @param index The index appended to the prefix
+     * @return The field value
+     */
+    String readString(String prefix, int index);
+
+    /**
+     * Reads an enum field written with its constant name
+     * @param key The field key
+     * @param values The constants of the enum
+     * @param <E> The enum type
+     * @return The matching constant
+     */
+    <E extends Enum<E>> E readEnum(String key, E[] values);
+}
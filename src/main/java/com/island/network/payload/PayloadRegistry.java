@@ -0,0 +1,93 @@
+package com.island.network.payload;
+
+import com.island.network.MessageType;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Registry mapping each message type to the payload record it carries and its decoder.
+ * Message types without an entry (end turn, leave and acknowledgment messages)
+ * carry no payload.
+ */
+public final class PayloadRegistry {
+    /** Decoder for each message type that carries a payload */
+    private static final Map<MessageType, PayloadCodec<?>> CODECS = new EnumMap<>(MessageType.class);
+
+    /** Payload record class for each message type that carries a payload */
+    private static final Map<MessageType, Class<? extends Payload>> TYPES = new EnumMap<>(MessageType.class);
+
+    static {
+        register(MessageType.MOVE_PLAYER, MoveCommand.class, MoveCommand::read);
+        register(MessageType.SHORE_UP, ShoreUpCommand.class, ShoreUpCommand::read);
+        register(MessageType.GIVE_CARD, GiveCardCommand.class, GiveCardCommand::read);
+        register(MessageType.MOVE_PLAYER_BY_NAVIGATOR, NavigatorMoveCommand.class, NavigatorMoveCommand::read);
+        register(MessageType.CAPTURE_TREASURE, CaptureTreasureCommand.class, CaptureTreasureCommand::read);
+        register(MessageType.SANDBAGS_USE, SandbagsCommand.class, SandbagsCommand::read);
+        register(MessageType.HELICOPTER_MOVE, HelicopterCommand.class, HelicopterCommand::read);
+        register(MessageType.DISCARD_CARD, DiscardCommand.class, DiscardCommand::read);
+        register(MessageType.GAME_START, GameStartCommand.class, GameStartCommand::read);
+        register(MessageType.GAME_OVER, GameOverCommand.class, GameOverCommand::read);
+        register(MessageType.UPDATE_ROOM, RoomUpdateCommand.class, RoomUpdateCommand::read);
+        register(MessageType.PLAYER_JOIN, PlayerJoinCommand.class, PlayerJoinCommand::read);
+        register(MessageType.HOST_MIGRATION, HostMigrationCommand.class, HostMigrationCommand::read);
+        register(MessageType.STATE_SNAPSHOT, StateStreamCommand.class, StateStreamCommand::read);
+        register(MessageType.STATE_DELTA, StateStreamCommand.class, StateStreamCommand::read);
+    }
+
+    private PayloadRegistry() {
+    }
+
+    /**
+     * Registers the payload record and decoder of a message type
+     * @param type The message type
+     * @param payloadClass The payload record class
+     * @param codec The decoder
+     * @param <P> The payload type
+     */
+    private static <P extends Payload> void register(MessageType type, Class<P> payloadClass, PayloadCodec<P> codec) {
+        TYPES.put(type, payloadClass);
+        CODECS.put(type, codec);
+    }
+
+    /**
+     * Checks whether a message type carries a payload
+     * @param type The message type
+     * @return true if a payload record is registered for the type
+     */
+    public static boolean hasPayload(MessageType type) {
+        return CODECS.containsKey(type);
+    }
+
+    /**
+     * Gets the payload record class of a message type
+     * @param type The message type
+     * @return The payload class, or null if the type carries no payload
+     */
+    public static Class<? extends Payload> payloadType(MessageType type) {
+        return TYPES.get(type);
+    }
+
+    /**
+     * Decodes the payload of a message from a field reader
+     * @param type The message type
+     * @param in The reader positioned on the first payload field
+     * @return The payload, or null if the type carries no payload
+     * @throws IllegalArgumentException if the fields do not match the payload of the type
+     */
+    public static Payload read(MessageType type, PayloadReader in) {
+        PayloadCodec<?> codec = CODECS.get(type);
+        return codec == null ? null : codec.read(in);
+    }
+
+    /**
+     * Decodes the payload of a message from its legacy data map
+     * @param type The message type
+     * @param data The data map of the message
+     * @return The payload, or null if the type carries no payload
+     * @throws IllegalArgumentException if a field of the payload is missing or malformed
+     */
+    public static Payload fromData(MessageType type, Map<String, Object> data) {
+        return read(type, new MapReader(data));
+    }
+}
@@ -0,0 +1,104 @@
+package com.island.network.payload;
+
+import com.island.network.SessionDictionary;
+
+/**
+ * Writes payload fields in the pipe-separated wire format "key=value|".
+ * Values are appended directly to the message buffer, without boxing.
+ */
+public final class PayloadWriter {
+    /** Buffer receiving the serialized fields */
+    private final StringBuilder sb;
+
+    /** Dictionary replacing known strings with tokens, null to write plain text */
+    private final SessionDictionary dictionary;
+
+    /**
+     * Creates a writer appending plain text to the given buffer
+     * @param sb The buffer of the message being serialized
+     */
+    public PayloadWriter(StringBuilder sb) {
+        this(sb, null);
+    }
+
+    /**
+     * Creates a writer appending to the given buffer
+     * @param sb The buffer of the message being serialized
+     * @param dictionary Dictionary of the session, or null to write plain text
+     */
+    public PayloadWriter(StringBuilder sb, SessionDictionary dictionary) {
+        this.sb = sb;
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Writes an int field
+     * @param key The field key
+     * @param value The field value
+     */
+    public void writeInt(String key, int value) {
+        sb.append(key).append('=').append(value).append('|');
+    }
+
+    /**
+     * Writes a long field
+     * @param key The field key
+     * @param value The field value
+     */
+    public void writeLong(String key, long value) {
+        sb.append(key).append('=').append(value).append('|');
+    }
+
+    /**
+     * Writes a boolean field
+     * @param key The field key
+     * @param value The field value
+     */
+    public void writeBoolean(String key, boolean value) {
+        sb.append(key).append('=').append(value).append('|');
+    }
+
+    /**
+     * Writes a string field
+     * @param key The field key
+     * @param value The field value
+     */
+    public void writeString(String key, String value) {
+        sb.append(key).append('=');
+        appendString(value);
+        sb.append('|');
+    }
+
+    /**
+     * Writes an indexed string field such as "player2"
+     * @param prefix The key prefix
+     * @param index The index appended to the prefix
+     * @param value The field value
+     */
+    public void writeString(String prefix, int index, String value) {
+        sb.append(prefix).append(index).append('=');
+        appendString(value);
+        sb.append('|');
+    }
+
+    /**
+     * Writes an enum field with its constant name
+     * @param key The field key
+     * @param value The field value
+     */
+    public void writeEnum(String key, Enum<?> value) {
+        sb.append(key).append('=').append(value.name()).append('|');
+    }
+
+    /**
+     * Appends a string value, as a token if the session dictionary holds it
+     * @param value The string value
+     */
+    private void appendString(String value) {
+        if (dictionary != null) {
+            dictionary.append(sb, value);
+        } else {
+            sb.append(value);
+        }
+    }
+}
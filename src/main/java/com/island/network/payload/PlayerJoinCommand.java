@@ -0,0 +1,49 @@
+package com.island.network.payload;
+
+/**
+ * Payload of a PLAYER_JOIN message: either a join request or the host's answer to one.
+ * @param request true for a join request, false for a response
+ * @param accepted Whether the host accepted the request, only meaningful for a response
+ */
+public record PlayerJoinCommand(boolean request, boolean accepted) implements Payload {
+    /**
+     * Creates a join request
+     * @return The join request payload
+     */
+    public static PlayerJoinCommand joinRequest() {
+        return new PlayerJoinCommand(true, false);
+    }
+
+    /**
+     * Creates a response to a join request
+     * @param accepted Whether the request is accepted
+     * @return The join response payload
+     */
+    public static PlayerJoinCommand joinResponse(boolean accepted) {
+        return new PlayerJoinCommand(false, accepted);
+    }
+
+    @Override
+    public void write(PayloadWriter out) {
+        if (request) {
+            out.writeBoolean("isRequest", true);
+        } else {
+            out.writeBoolean("isAccepted", accepted);
+        }
+    }
+
+    /**
+     * Reads a player join command
+     * @param in The field reader
+     * @return The decoded command, or null if the message carries neither field
+     */
+    static PlayerJoinCommand read(PayloadReader in) {
+        if (in.has("isRequest")) {
+            return new PlayerJoinCommand(in.readBoolean("isRequest"), false);
+        }
+        if (in.has("isAccepted")) {
+            return joinResponse(in.readBoolean("isAccepted"));
+        }
+        return null;
+    }
+}
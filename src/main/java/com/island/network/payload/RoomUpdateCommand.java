@@ -0,0 +1,38 @@
+package com.island.network.payload;
+
+import java.util.List;
+
+/**
+ * Payload of an UPDATE_ROOM message: the players of the room, host first.
+ * @param playerNames Names of the players in room order
+ */
+public record RoomUpdateCommand(List<String> playerNames) implements Payload {
+    /**
+     * Creates a room update command, copying the player list
+     */
+    public RoomUpdateCommand {
+        playerNames = List.copyOf(playerNames);
+    }
+
+    @Override
+    public void write(PayloadWriter out) {
+        out.writeInt("playerCount", playerNames.size());
+        for (int i = 0; i < playerNames.size(); i++) {
+            out.writeString("player", i + 1, playerNames.get(i));
+        }
+    }
+
+    /**
+     * Reads a room update command
+     * @param in The field reader
+     * @return The decoded command
+     */
+    static RoomUpdateCommand read(PayloadReader in) {
+        int playerCount = in.readInt("playerCount");
+        String[] players = new String[playerCount];
+        for (int i = 0; i < playerCount; i++) {
+            players[i] = in.readString("player", i + 1);
+        }
+        return new RoomUpdateCommand(List.of(players));
+    }
+}
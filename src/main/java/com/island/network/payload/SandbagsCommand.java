@@ -0,0 +1,28 @@
+package com.island.network.payload;
+
+/**
+ * Payload of a SANDBAGS_USE message: the sender plays sandbags on a flooded tile.
+ * @param x X-coordinate of the tile
+ * @param y Y-coordinate of the tile
+ * @param tileName Name of the tile
+ * @param cardIndex Index of the sandbags card in the sender's hand
+ */
+public record SandbagsCommand(int x, int y, String tileName, int cardIndex) implements Payload {
+    @Override
+    public void write(PayloadWriter out) {
+        out.writeInt("positionX", x);
+        out.writeInt("positionY", y);
+        out.writeString("tileName", tileName);
+        out.writeInt("cardIndex", cardIndex);
+    }
+
+    /**
+     * Reads a sandbags command
+     * @param in The field reader
+     * @return The decoded command
+     */
+    static SandbagsCommand read(PayloadReader in) {
+        return new SandbagsCommand(in.readInt("positionX"), in.readInt("positionY"),
+                in.readString("tileName"), in.readInt("cardIndex"));
+    }
+}
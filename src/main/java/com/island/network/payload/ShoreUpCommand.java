@@ -0,0 +1,25 @@
+package com.island.network.payload;
+
+/**
+ * Payload of a SHORE_UP message: the sender shores up the given tile.
+ * @param x X-coordinate of the tile
+ * @param y Y-coordinate of the tile
+ * @param tileName Name of the tile
+ */
+public record ShoreUpCommand(int x, int y, String tileName) implements Payload {
+    @Override
+    public void write(PayloadWriter out) {
+        out.writeInt("positionX", x);
+        out.writeInt("positionY", y);
+        out.writeString("tileName", tileName);
+    }
+
+    /**
+     * Reads a shore up command
+     * @param in The field reader
+     * @return The decoded command
+     */
+    static ShoreUpCommand read(PayloadReader in) {
+        return new ShoreUpCommand(in.readInt("positionX"), in.readInt("positionY"), in.readString("tileName"));
+    }
+}
@@ -0,0 +1,57 @@
+package com.island.network.payload;
+
+import java.util.List;
+
+/**
+ * Payload of the STATE_SNAPSHOT and STATE_DELTA messages streamed to spectators.
+ * A snapshot lists every tile and player; a delta lists only those that changed since the
+ * state numbered {@code baseSequence}. Tiles are three characters each: the tile index in
+ * {@code Constant.tilesNames} and the board cell (y * 6 + x), both in base 36, then the state
+ * letter N, F or S. Players are "x,y,cardCount,ROLE,name" with -1 coordinates when not placed.
+ * @param sequence Number of this state, increasing by one per change
+ * @param baseSequence State this delta applies to, -1 for a snapshot
+ * @param waterLevel Current water level
+ * @param tiles Encoded tiles
+ * @param players Encoded players
+ * @param treasures Names of the captured treasures, comma separated
+ */
+public record StateStreamCommand(int sequence, int baseSequence, int waterLevel, String tiles,
+                                 List<String> players, String treasures) implements Payload {
+    /**
+     * Creates a state stream command, copying the player list
+     */
+    public StateStreamCommand {
+        players = List.copyOf(players);
+    }
+
+    @Override
+    public void write(PayloadWriter out) {
+        out.writeInt("sequence", sequence);
+        out.writeInt("baseSequence", baseSequence);
+        out.writeInt("waterLevel", waterLevel);
+        out.writeString("tiles", tiles);
+        out.writeInt("playerCount", players.size());
+        for (int i = 0; i < players.size(); i++) {
+            out.writeString("player", i, players.get(i));
+        }
+        out.writeString("treasures", treasures);
+    }
+
+    /**
+     * Reads a state stream command
+     * @param in The field reader
+     * @return The decoded command
+     */
+    static StateStreamCommand read(PayloadReader in) {
+        int sequence = in.readInt("sequence");
+        int baseSequence = in.readInt("baseSequence");
+        int waterLevel = in.readInt("waterLevel");
+        String tiles = in.readString("tiles");
+        int playerCount = in.readInt("playerCount");
+        String[] players = new String[playerCount];
+        for (int i = 0; i < playerCount; i++) {
+            players[i] = in.readString("player", i);
+        }
+        return new StateStreamCommand(sequence, baseSequence, waterLevel, tiles, List.of(players), in.readString("treasures"));
+    }
+}
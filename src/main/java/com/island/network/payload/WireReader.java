@@ -0,0 +1,187 @@
+package com.island.network.payload;
+
+import com.island.network.SessionDictionary;
+
+/**
+ * Reads payload fields straight from a serialized message.
+ * Keys are matched in place and numbers parsed from the characters, so only string
+ * fields allocate. Fields must appear in the order written by {@link Payload#write}.
+ */
+public final class WireReader implements PayloadReader {
+    /** The serialized message */
+    private final String src;
+
+    /** Dictionary decoding string tokens, null for plain text */
+    private final SessionDictionary dictionary;
+
+    /** Position of the next field */
+    private int pos;
+
+    /**
+     * Creates a reader over a plain text message
+     * @param src The serialized message
+     * @param offset Position of the first payload field
+     */
+    public WireReader(String src, int offset) {
+        this(src, offset, null);
+    }
+
+    /**
+     * Creates a reader over a serialized message
+     * @param src The serialized message
+     * @param offset Position of the first payload field
+     * @param dictionary Dictionary of the session, or null for plain text
+     */
+    public WireReader(String src, int offset, SessionDictionary dictionary) {
+        this.src = src;
+        this.pos = offset;
+        this.dictionary = dictionary;
+    }
+
+    @Override
+    public boolean has(String key) {
+        return src.startsWith(key, pos) && pos + key.length() < src.length() && src.charAt(pos + key.length()) == '=';
+    }
+
+    @Override
+    public int readInt(String key) {
+        long value = parseNumber(key);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Field " + key + " out of range");
+        }
+        return (int) value;
+    }
+
+    @Override
+    public long readLong(String key) {
+        return parseNumber(key);
+    }
+
+    @Override
+    public boolean readBoolean(String key) {
+        expectKey(key);
+        boolean value = src.startsWith("true", pos);
+        skipValue();
+        return value;
+    }
+
+    @Override
+    public String readString(String key) {
+        expectKey(key);
+        return takeValue();
+    }
+
+    @Override
+    public String readString(String prefix, int index) {
+        if (!src.startsWith(prefix, pos)) {
+            throw new IllegalArgumentException("Expected field " + prefix + index);
+        }
+        pos += prefix.length();
+        int parsed = 0;
+        int start = pos;
+        while (pos < src.length() && Character.isDigit(src.charAt(pos))) {
+            parsed = parsed * 10 + (src.charAt(pos) - '0');
+            pos++;
+        }
+        if (pos == start || parsed != index || pos >= src.length() || src.charAt(pos) != '=') {
+            throw new IllegalArgumentException("Expected field " + prefix + index);
+        }
+        pos++;
+        return takeValue();
+    }
+
+    @Override
+    public <E extends Enum<E>> E readEnum(String key, E[] values) {
+        expectKey(key);
+        int end = valueEnd();
+        for (E value : values) {
+            String name = value.name();
+            if (name.length() == end - pos && src.startsWith(name, pos)) {
+                pos = end + 1;
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Unknown value for field " + key);
+    }
+
+    /**
+     * Consumes the key of the next field and its '=' separator
+     * @param key The expected key
+     */
+    private void expectKey(String key) {
+        if (!has(key)) {
+            throw new IllegalArgumentException("Expected field " + key);
+        }
+        pos += key.length() + 1;
+    }
+
+    /**
+     * Parses a signed decimal number field
+     * @param key The field key
+     * @return The parsed value
+     * @throws IllegalArgumentException if the value is not a number or does not fit in a long
+     */
+    private long parseNumber(String key) {
+        expectKey(key);
+        int end = valueEnd();
+        boolean negative = pos < end && src.charAt(pos) == '-';
+        int i = negative ? pos + 1 : pos;
+        if (i == end) {
+            throw new IllegalArgumentException("Empty number in field " + key);
+        }
+        // Accumulated negatively, as Long.parseLong does, so that Long.MIN_VALUE fits
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long value = 0;
+        for (; i < end; i++) {
+            char c = src.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new IllegalArgumentException("Invalid number in field " + key);
+            }
+            int digit = c - '0';
+            if (value < limit / 10 || value * 10 < limit + digit) {
+                throw new IllegalArgumentException("Field " + key + " out of range");
+            }
+            value = value * 10 - digit;
+        }
+        pos = end + 1;
+        return negative ? value : -value;
+    }
+
+    /**
+     * Takes the value of the current field as a string
+     * @return The field value
+     */
+    private String takeValue() {
+        int end = valueEnd();
+        String value = dictionary == null ? src.substring(pos, end) : dictionary.decode(src, pos, end);
+        pos = end + 1;
+        return value;
+    }
+
+    /**
+     * Skips the value of the current field
+     */
+    private void skipValue() {
+        pos = valueEnd() + 1;
+    }
+
+    /**
+     * Finds the end of the current value
+     * @return Position of the '|' terminating the value
+     */
+    private int valueEnd() {
+        int end = src.indexOf('|', pos);
+        if (end < 0) {
+            throw new IllegalArgumentException("Unterminated field");
+        }
+        return end;
+    }
+
+    /**
+     * Gets the position following the last consumed field
+     * @return The current position
+     */
+    public int position() {
+        return pos;
+    }
+}
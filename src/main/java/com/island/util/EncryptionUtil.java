@@ -6,6 +6,7 @@ import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
 import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import java.util.Base64;
 
 /**
@@ -21,6 +22,20 @@ public class EncryptionUtil {
     /** The secret key instance used for encryption/decryption */
     private static SecretKey secretKey;
 
+    /** Base64 alphabet, the same as {@link Base64#getEncoder()} */
+    private static final byte[] BASE64 = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/"
+            .getBytes(StandardCharsets.US_ASCII);
+
+    /** Value of each Base64 character, -1 for other bytes */
+    private static final int[] BASE64_VALUES = new int[256];
+
+    static {
+        Arrays.fill(BASE64_VALUES, -1);
+        for (int i = 0; i < BASE64.length; i++) {
+            BASE64_VALUES[BASE64[i]] = i;
+        }
+    }
+
     static {
         try {
             // Initialize with fixed key
@@ -51,6 +66,131 @@ public class EncryptionUtil {
         }
     }
 
+    /**
+     * Creates a cipher initialized with the game key, to be reused by one thread at a time
+     * @param mode {@link Cipher#ENCRYPT_MODE} or {@link Cipher#DECRYPT_MODE}
+     * @return The initialized cipher
+     * @throws RuntimeException if the cipher is not available
+     */
+    public static Cipher newCipher(int mode) {
+        try {
+            Cipher cipher = Cipher.getInstance(ALGORITHM);
+            cipher.init(mode, secretKey);
+            return cipher;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Gets the size of the encrypted Base64 form of a message
+     * @param length Length of the plain bytes
+     * @return Length of the Base64 text written by {@link #encrypt(Cipher, byte[], int, byte[], byte[])}
+     */
+    public static int encryptedLength(int length) {
+        int cipherLength = (length / 16 + 1) * 16;
+        return (cipherLength + 2) / 3 * 4;
+    }
+
+    /**
+     * Encrypts plain bytes into Base64 text without allocating
+     * Produces the same bytes as {@link #encrypt(String)} for the same message.
+     * @param cipher A cipher from {@link #newCipher(int)} in encrypt mode
+     * @param plain The plain bytes
+     * @param length Number of plain bytes
+     * @param scratch Buffer for the cipher output, at least length + 16 bytes
+     * @param out Buffer receiving the Base64 text, at least {@link #encryptedLength(int)} bytes
+     * @return Number of bytes written to out, or -1 if encryption failed
+     */
+    public static int encrypt(Cipher cipher, byte[] plain, int length, byte[] scratch, byte[] out) {
+        try {
+            int cipherLength = cipher.doFinal(plain, 0, length, scratch, 0);
+            return encodeBase64(scratch, cipherLength, out);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return -1;
+        }
+    }
+
+    /**
+     * Decrypts Base64 text into plain bytes without allocating
+     * @param cipher A cipher from {@link #newCipher(int)} in decrypt mode
+     * @param text The Base64 text
+     * @param length Number of text bytes
+     * @param scratch Buffer for the decoded cipher bytes, at least 3/4 of length
+     * @param out Buffer receiving the plain bytes, at least as large as scratch
+     * @return Number of plain bytes, or -1 if the text is not an encrypted message
+     */
+    public static int decrypt(Cipher cipher, byte[] text, int length, byte[] scratch, byte[] out) {
+        int cipherLength = decodeBase64(text, length, scratch);
+        if (cipherLength <= 0 || cipherLength % 16 != 0) {
+            return -1;
+        }
+        try {
+            return cipher.doFinal(scratch, 0, cipherLength, out, 0);
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Encodes bytes as padded Base64
+     * @param src The bytes
+     * @param length Number of bytes
+     * @param dst Buffer receiving the text
+     * @return Number of bytes written
+     */
+    private static int encodeBase64(byte[] src, int length, byte[] dst) {
+        int d = 0;
+        int i = 0;
+        for (; i + 2 < length; i += 3) {
+            int bits = (src[i] & 0xFF) << 16 | (src[i + 1] & 0xFF) << 8 | (src[i + 2] & 0xFF);
+            dst[d++] = BASE64[bits >>> 18];
+            dst[d++] = BASE64[(bits >>> 12) & 0x3F];
+            dst[d++] = BASE64[(bits >>> 6) & 0x3F];
+            dst[d++] = BASE64[bits & 0x3F];
+        }
+        int rest = length - i;
+        if (rest > 0) {
+            int bits = (src[i] & 0xFF) << 16 | (rest == 2 ? (src[i + 1] & 0xFF) << 8 : 0);
+            dst[d++] = BASE64[bits >>> 18];
+            dst[d++] = BASE64[(bits >>> 12) & 0x3F];
+            dst[d++] = rest == 2 ? BASE64[(bits >>> 6) & 0x3F] : (byte) '=';
+            dst[d++] = '=';
+        }
+        return d;
+    }
+
+    /**
+     * Decodes padded Base64
+     * @param src The text
+     * @param length Number of text bytes
+     * @param dst Buffer receiving the bytes
+     * @return Number of bytes written, or -1 if the text is not valid Base64
+     */
+    private static int decodeBase64(byte[] src, int length, byte[] dst) {
+        if (length % 4 != 0) {
+            return -1;
+        }
+        int padding = length == 0 ? 0 : (src[length - 1] == '=' ? 1 : 0) + (src[length - 2] == '=' ? 1 : 0);
+        int d = 0;
+        for (int i = 0; i < length; i += 4) {
+            int bits = 0;
+            for (int j = 0; j < 4; j++) {
+                byte c = src[i + j];
+                int value = c == '=' && i + 4 == length && j >= 4 - padding ? 0 : BASE64_VALUES[c & 0xFF];
+                if (value < 0) {
+                    return -1;
+                }
+                bits = bits << 6 | value;
+            }
+            dst[d++] = (byte) (bits >>> 16);
+            dst[d++] = (byte) (bits >>> 8);
+            dst[d++] = (byte) bits;
+        }
+        return d - padding;
+    }
+
     /**
      * Decrypts a message
      * @param encryptedMessage The Base64 encoded encrypted string
@@ -0,0 +1,182 @@
+package com.island.util;
+
+/**
+ * Zobrist provides the 64-bit keys of the game state hashes. A hash is the XOR of the keys of the
+ * features of a state, such as the state of a tile or the cell of a player, so changing one
+ * feature updates the hash in O(1) by XOR-ing the old key out and the new key in. The keys are
+ * derived from the feature by a fixed mix function rather than drawn into random tables, so every
+ * peer and every run computes the same hash for the same state.
+ * <p>
+ * Two features need more than a XOR. A hand can hold the same card twice and equal keys cancel,
+ * so hands add their keys instead. A deck is ordered, so it is hashed by a {@link Sequence}, a
+ * polynomial in {@link #BASE} that cards can leave and join at either end in O(1).
+ */
+public final class Zobrist {
+    /** Domain of the keys of tile states by cell */
+    public static final int TILE_STATE = 1;
+
+    /** Domain of the keys of tile names by cell */
+    public static final int TILE_NAME = 2;
+
+    /** Domain of the keys of player positions */
+    public static final int POSITION = 3;
+
+    /** Domain of the keys of cards */
+    public static final int CARD = 4;
+
+    /** Domain of the keys of cards in a hand */
+    public static final int HAND = 5;
+
+    /** Domain of the keys of the per-turn state of a player */
+    public static final int PLAYER_TURN = 6;
+
+    /** Domain of the keys of decks and discard piles */
+    public static final int DECK = 7;
+
+    /** Domain of the keys of the water level */
+    public static final int WATER = 8;
+
+    /** Domain of the keys of captured treasures */
+    public static final int TREASURE = 9;
+
+    /** Domain of the keys of the turn order */
+    public static final int TURN = 10;
+
+    /** Base of the deck polynomials; odd, so that it has an inverse */
+    public static final long BASE = 0x9E3779B97F4A7C15L;
+
+    /** Inverse of {@link #BASE} modulo 2^64 */
+    public static final long BASE_INVERSE = inverse(BASE);
+
+    /** Seed of the keys */
+    private static final long SEED = 0x2545F4914F6CDD1DL;
+
+    private Zobrist() {
+    }
+
+    /**
+     * Gets the key of a feature
+     * @param domain Kind of feature, one of the domain constants
+     * @param a First value of the feature
+     * @param b Second value of the feature
+     * @return The key
+     */
+    public static long key(int domain, long a, long b) {
+        long h = mix(SEED + domain * BASE);
+        h = mix(h + a * BASE);
+        return mix(h + b * BASE);
+    }
+
+    /**
+     * Scrambles a value with the finalizer of SplitMix64
+     * @param z The value
+     * @return The scrambled value
+     */
+    public static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Raises {@link #BASE} to a power
+     * @param exponent The exponent, not negative
+     * @return BASE^exponent modulo 2^64
+     */
+    static long power(int exponent) {
+        long result = 1;
+        for (long base = BASE; exponent != 0; exponent >>>= 1, base *= base) {
+            if ((exponent & 1) != 0) {
+                result *= base;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Inverts an odd number modulo 2^64 with Newton's iteration, each step doubling the number of
+     * correct low bits
+     * @param odd The number
+     * @return The inverse
+     */
+    private static long inverse(long odd) {
+        long x = odd;
+        for (int i = 0; i < 5; i++) {
+            x *= 2 - odd * x;
+        }
+        return x;
+    }
+
+    /**
+     * Sequence is the hash of an ordered list of keys k0..kn-1, the sum of ki·BASE^i, kept up to
+     * date as keys are added or removed at either end or replaced in place.
+     */
+    public static final class Sequence {
+        /** The hash */
+        private long hash;
+        /** BASE to the power of the length */
+        private long power = 1;
+
+        /**
+         * Adds a key at the front
+         * @param key The key
+         */
+        public void addFirst(long key) {
+            hash = hash * BASE + key;
+            power *= BASE;
+        }
+
+        /**
+         * Adds a key at the back
+         * @param key The key
+         */
+        public void addLast(long key) {
+            hash += key * power;
+            power *= BASE;
+        }
+
+        /**
+         * Removes the key at the front
+         * @param key The key that was at the front
+         */
+        public void removeFirst(long key) {
+            hash = (hash - key) * BASE_INVERSE;
+            power *= BASE_INVERSE;
+        }
+
+        /**
+         * Removes the key at the back
+         * @param key The key that was at the back
+         */
+        public void removeLast(long key) {
+            power *= BASE_INVERSE;
+            hash -= key * power;
+        }
+
+        /**
+         * Replaces a key in place
+         * @param index Index of the key
+         * @param oldKey The key that was there
+         * @param newKey The new key
+         */
+        public void replace(int index, long oldKey, long newKey) {
+            hash += (newKey - oldKey) * power(index);
+        }
+
+        /**
+         * Empties the sequence
+         */
+        public void clear() {
+            hash = 0;
+            power = 1;
+        }
+
+        /**
+         * Gets the hash
+         * @return The hash, 0 for an empty sequence
+         */
+        public long get() {
+            return hash;
+        }
+    }
+}
@@ -75,4 +75,8 @@ public class GameSubjectImpl implements GameSubject {
         this.gameState = gameState;
         notifyObservers();
     }
+
+    public GameState getGameState() {
+        return gameState;
+    }
 }
\ No newline at end of file
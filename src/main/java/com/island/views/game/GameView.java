@@ -2,9 +2,11 @@ package com.island.views.game;
 
 import com.island.controller.GameController;
 import com.island.models.adventurers.Player;
+import com.island.models.card.Card;
 import com.island.models.game.GameState;
 import com.island.models.island.Position;
 import com.island.util.observer.GameObserver;
+import com.island.util.ui.Dialog;
 import com.island.views.ui.ActionBarView;
 import com.island.views.ui.ActionLogView;
 import com.island.views.ui.CardView;
@@ -16,10 +18,19 @@ import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
+import javafx.scene.control.Alert;
+import javafx.scene.control.ButtonType;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.Label;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.layout.*;
 import javafx.stage.Stage;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 public class GameView implements GameObserver {
     private Scene scene;
     private Stage primaryStage;
@@ -110,6 +121,7 @@ public class GameView implements GameObserver {
     public void setGameController(GameController gameController) {
         this.gameController = gameController;
         islandView.setIslandController(gameController.getIslandController());
+        islandView.setPlayerController(gameController.getPlayerController());
         playerView.setPlayerController(gameController.getPlayerController());
         cardView.setCardController(gameController.getCardController());
         actionBarView.setActionBarController(gameController.getActionBarController());
@@ -224,4 +236,112 @@ public class GameView implements GameObserver {
             }
         });
     }
+
+    /**
+     * Asks the user to confirm playing a special card
+     * @param card The Helicopter Lift or Sandbags card
+     * @return true if the user confirmed, false for any other card or answer
+     */
+    public boolean confirmSpecialCard(Card card) {
+        Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
+        alert.setTitle("Use Special Card");
+        alert.setHeaderText("Do you want to use " + card.getName() + "?");
+        switch (card.getType()) {
+            case HELICOPTER -> alert.setContentText("The helicopter can move one or more players from any tile to another non-sunk tile.");
+            case SANDBAGS -> alert.setContentText("Sandbags can shore up any flooded tile.");
+            default -> {
+                return false;
+            }
+        }
+        return alert.showAndWait().filter(response -> response == ButtonType.OK).isPresent();
+    }
+
+    /**
+     * Asks the user to select players
+     * @param title Title of the dialog
+     * @param header Header of the dialog
+     * @param instruction Text shown below the players
+     * @param players The players to choose from
+     * @return The selected players, empty if the dialog was cancelled
+     */
+    public List<Player> choosePlayers(String title, String header, String instruction, List<Player> players) {
+        VBox dialogContent = new VBox(10);
+        dialogContent.setPadding(new Insets(20));
+
+        Label selectPlayersLabel = new Label("Select players to move:");
+        FlowPane playerCheckBoxes = new FlowPane(10, 10);
+        Map<Player, CheckBox> playerSelections = new LinkedHashMap<>();
+        for (Player player : players) {
+            CheckBox checkBox = new CheckBox(player.getName());
+            playerCheckBoxes.getChildren().add(checkBox);
+            playerSelections.put(player, checkBox);
+        }
+        dialogContent.getChildren().addAll(selectPlayersLabel, playerCheckBoxes, new Label(instruction));
+
+        Alert dialog = new Alert(Alert.AlertType.CONFIRMATION);
+        dialog.setTitle(title);
+        dialog.setHeaderText(header);
+        dialog.getDialogPane().setContent(dialogContent);
+
+        List<Player> selectedPlayers = new ArrayList<>();
+        dialog.showAndWait().ifPresent(result -> {
+            if (result == ButtonType.OK) {
+                playerSelections.forEach((player, checkBox) -> {
+                    if (checkBox.isSelected()) {
+                        selectedPlayers.add(player);
+                    }
+                });
+            }
+        });
+        return selectedPlayers;
+    }
+
+    /**
+     * Shows a message dialog
+     * @param title Title of the dialog
+     * @param content Message to display
+     */
+    public void showMessage(String title, String content) {
+        Dialog.showMessage(title, content);
+    }
+
+    /**
+     * Shows a toast notification
+     * @param message Message to display
+     */
+    public void showToast(String message) {
+        if (primaryStage != null) {
+            Dialog.showToast(primaryStage, message);
+        }
+    }
+
+    /**
+     * Shows a success toast notification
+     * @param message Message to display
+     */
+    public void showSuccessToast(String message) {
+        if (primaryStage != null) {
+            Dialog.showSuccessToast(primaryStage, message);
+        }
+    }
+
+    /**
+     * Shows a warning toast notification
+     * @param message Message to display
+     */
+    public void showWarningToast(String message) {
+        if (primaryStage != null) {
+            Dialog.showWarningToast(primaryStage, message);
+        }
+    }
+
+    /**
+     * Shows an error toast notification
+     * @param message Message to display
+     */
+    public void showErrorToast(String message) {
+        if (primaryStage != null) {
+            Dialog.showErrorToast(primaryStage, message);
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package com.island.views.room;
 
 import com.island.controller.GameController;
+import com.island.engine.GameRules;
 import com.island.network.Message;
 import com.island.network.MessageType;
 import com.island.network.RoomController;
@@ -136,13 +137,22 @@ public class CreateRoomView {
         MessageHandler messageHandler = new MessageHandler(gameController);
         roomController.setMessageHandler(messageHandler);
 
+        // Fill a seat with a bot
+        Button addBotButton = createStyledButton("Add Bot");
+        addBotButton.setOnAction(e -> {
+            if (roomController.getBotController().addBot()) {
+                updatePlayerList();
+            } else {
+                gameController.showErrorToast("The room is full.");
+            }
+        });
+
         // Game start button
         Button startGameButton = createStyledButton("Game Start");
         startGameButton.setOnAction(e -> {
             updateThread.interrupt();
-            if (room.getPlayers().size() > 1 && room.getPlayers().size() <= 4) {
+            if (room.getPlayers().size() > 1 && room.getPlayers().size() <= GameRules.MAX_PLAYERS) {
                 roomController.sendStartGameMessage(player, waterLevel);
-                roomController.sendStartTurnMessage(player);
                 primaryStage.setScene(gameView.getScene());
             } else {
                 gameController.showErrorToast("Number of players must be between 2 and 4 to start the game.");
@@ -156,6 +166,7 @@ public class CreateRoomView {
             titleLabel,
             playerListLabel,
             difficultyBox,
+            addBotButton,
             startGameButton
         );
 
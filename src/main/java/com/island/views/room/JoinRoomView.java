@@ -7,6 +7,7 @@ import com.island.network.Message;
 import com.island.network.MessageType;
 import com.island.models.Room;
 import com.island.network.MessageHandler;
+import com.island.network.payload.PlayerJoinCommand;
 import com.island.views.game.GameView;
 import com.island.views.ui.MenuView;
 
@@ -184,7 +185,7 @@ public class JoinRoomView {
                     roomNumber,
                     player.getName()
                 );
-                joinRequestMessage.addExtraData("isRequest", true);
+                joinRequestMessage.setPayload(PlayerJoinCommand.joinRequest());
                 roomController.broadcast(joinRequestMessage);
 
             } catch (Exception ex) {
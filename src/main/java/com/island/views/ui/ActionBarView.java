@@ -1,7 +1,7 @@
 package com.island.views.ui;
 
 import com.island.controller.ActionBarController;
-import com.island.models.Room;
+import com.island.engine.GameRules;
 import com.island.models.adventurers.Player;
 import com.island.models.adventurers.PlayerRole;
 import com.island.models.island.Tile;
@@ -27,7 +27,6 @@ public class ActionBarView {
     private Button shoreUpButton;
     private Button endTurnButton;
     private Button playSpecialButton;
-    private Button drawFloodButton;
     private Button giveCardButton; // Give card button
     private Button moveOtherPlayerButton; // Move other player button
     private Button captureTreasureButton; // Capture treasure button
@@ -55,7 +54,6 @@ public class ActionBarView {
         captureTreasureButton = createCaptureTreasureButton("Capture Treasure");
         endTurnButton = createEndTurnButton("End Turn");
         playSpecialButton = createPlaySpecialButton("Play Special");
-        drawFloodButton = createDrawFloodButton("Draw Flood");
         discardButton = createDiscardButton("Discard");
 
         // Set button events
@@ -66,7 +64,6 @@ public class ActionBarView {
         captureTreasureButton.setOnAction(e -> actionBarController.handleCaptureTreasureAction());
         endTurnButton.setOnAction(e -> actionBarController.handleEndTurnAction());
         playSpecialButton.setOnAction(e -> actionBarController.handlePlaySpecialAction());
-        drawFloodButton.setOnAction(e -> actionBarController.handleDrawFloodAction());
         discardButton.setOnAction(e -> actionBarController.handleDiscardAction());
 
         // Add label and button container to action bar
@@ -125,13 +122,6 @@ public class ActionBarView {
         return button;
     }
 
-    private Button createDrawFloodButton(String text) {
-        Button button = new Button(text);
-        button.setStyle("-fx-background-color: #3F51B5; -fx-text-fill: white; -fx-font-weight: bold;");
-        button.setPrefWidth(100);
-        return button;
-    }
-
     private Button createDiscardButton(String text) {
         Button button = new Button(text);
         button.setStyle("-fx-background-color: #f44336; -fx-text-fill: white; -fx-font-weight: bold;");
@@ -154,7 +144,6 @@ public class ActionBarView {
         Player currentPlayer = actionBarController.getCurrentPlayer();
         Player currentProgramPlayer = actionBarController.getRoom().getCurrentProgramPlayer();
         int remainingActions = actionBarController.getRemainingActions();
-        Room room = actionBarController.getRoom();
         // Check if current player exists
         if (currentPlayer == null) {
             actionLabel.setText("Waiting for game to start...");
@@ -173,79 +162,50 @@ public class ActionBarView {
             } else {
                 actionLabel.setText("Someone is sunk! Please wait for them to swim to a tile.");
             }
+        } else if (currentProgramPlayer.getCards().size() > GameRules.HAND_LIMIT) {
+            // Over the hand limit, whoever's turn it is
+            Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
+            alert.setTitle("Discard Card");
+            alert.setHeaderText("You have more than " + GameRules.HAND_LIMIT + " cards, please discard one or play a special card.");
+            alert.show();
+
+            actionButtons.getChildren().add(discardButton);
+            if (actionBarController.canPlaySpecialCard(currentProgramPlayer)) {
+                actionButtons.getChildren().add(playSpecialButton);
+            }
+        } else if (currentPlayer.getName().equals(currentProgramPlayer.getName())) {
+            // Current player's turn, the game draws the cards once the actions are used
+            actionLabel.setText("You may take " + remainingActions + " action(s)");
+            actionButtons.getChildren().add(moveButton);
+
+            // Check if can shore up tile
+            if (actionBarController.canShoreUpTile(currentPlayer)) {
+                actionButtons.getChildren().add(shoreUpButton);
+            }
+
+            if (actionBarController.canGiveCard(currentPlayer)) {
+                actionButtons.getChildren().add(giveCardButton);
+            }
+
+            // If player is Navigator, add move other player button
+            if (currentPlayer.getRole() == PlayerRole.NAVIGATOR) {
+                actionButtons.getChildren().add(moveOtherPlayerButton);
+            }
+
+            if (actionBarController.canCaptureTreasure(currentPlayer)) {
+                actionButtons.getChildren().add(captureTreasureButton);
+            }
+
+            actionButtons.getChildren().add(endTurnButton);
+
+            if (actionBarController.canPlaySpecialCard(currentPlayer)) {
+                actionButtons.getChildren().add(playSpecialButton);
+            }
         } else {
-            if (currentPlayer.getName().equals(room.getCurrentProgramPlayer().getName())) {
-                if (currentPlayer.getCards().size() > 5) {
-                    // Show alert dialog
-                    Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
-                    alert.setTitle("Discard Card");
-                    alert.setHeaderText("You have more than 5 cards, please discard one or play a special card.");
-                    alert.show();
-
-                    actionButtons.getChildren().add(discardButton);
-                    if (actionBarController.canPlaySpecialCard(currentPlayer)) {
-                        actionButtons.getChildren().add(playSpecialButton);
-                    }
-                } else {
-                    // Current player's turn
-                    if (remainingActions > 0) {
-                        // Still have remaining actions
-                        actionLabel.setText("You may take " + remainingActions + " action(s)");
-                        actionButtons.getChildren().add(moveButton);
-
-                        // Check if can shore up tile
-                        if (actionBarController.canShoreUpTile(currentPlayer)) {
-                            actionButtons.getChildren().add(shoreUpButton);
-                        }
-
-                        if (actionBarController.canGiveCard(currentPlayer)) {
-                            actionButtons.getChildren().add(giveCardButton);
-                        }
-
-                        // If player is Navigator, add move other player button
-                        if (currentPlayer.getRole() == PlayerRole.NAVIGATOR) {
-                            actionButtons.getChildren().add(moveOtherPlayerButton);
-                        }
-
-                        if (actionBarController.canCaptureTreasure(currentPlayer)) {
-                            actionButtons.getChildren().add(captureTreasureButton);
-                        }
-
-                        actionButtons.getChildren().add(endTurnButton);
-
-                        if (actionBarController.canPlaySpecialCard(currentPlayer)) {
-                            actionButtons.getChildren().add(playSpecialButton);
-                        }
-                    } else if (!actionBarController.hasDrawnTreasureCards()) {
-                        actionLabel.setText("Draw 2 Treasure Cards");
-                        actionBarController.setHasDrawnTreasureCards(true);
-                        actionBarController.sendDrawTreasureCardsMessage(2, currentPlayer);
-                    } else if (actionBarController.getDrawnFloodCards() != 2) {
-                        // Need to draw flood cards
-                        actionLabel.setText("Draw A Flood Card or Play Special");
-                        actionButtons.getChildren().addAll(drawFloodButton);
-                        if (actionBarController.canPlaySpecialCard(currentPlayer)) {
-                            actionButtons.getChildren().add(playSpecialButton);
-                        }
-                    } else {
-                        // Turn end
-                        actionBarController.nextTurn();
-                    }
-                }
-            } else {
-                // Other player's turn
-                String status = "";
-                if (remainingActions > 0) {
-                    status = currentPlayer.getName() + " is taking actions (" + remainingActions + " remaining)";
-                } else if (actionBarController.hasDrawnTreasureCards()) {
-                    status = currentPlayer.getName() + " is drawing Treasure Cards";
-                } else if (actionBarController.getDrawnFloodCards() != 2) {
-                    status = currentPlayer.getName() + " is drawing Flood Cards";
-                }
-                actionLabel.setText(status);
-                if (actionBarController.canPlaySpecialCard(room.getCurrentProgramPlayer())) {
-                    actionButtons.getChildren().add(playSpecialButton);
-                }
+            // Other player's turn
+            actionLabel.setText(currentPlayer.getName() + " is taking actions (" + remainingActions + " remaining)");
+            if (actionBarController.canPlaySpecialCard(currentProgramPlayer)) {
+                actionButtons.getChildren().add(playSpecialButton);
             }
         }
 
@@ -1,6 +1,7 @@
 package com.island.views.ui;
 
 import com.island.controller.CardController;
+import com.island.engine.CardPile;
 import com.island.models.card.Card;
 import com.island.models.card.CardType;
 
@@ -17,16 +18,15 @@ import javafx.scene.shape.Rectangle;
 
 import static com.island.views.ui.IslandView.SCALE;
 
-import java.util.Deque;
 import java.util.List;
 
 public class CardView {
     private CardController cardController;
     private VBox cardsInfoBox;
-    private Deque<Card> treasureDeck;
-    private Deque<Card> floodDeck;
-    private List<Card> treasureDiscardPile;
-    private List<Card> floodDiscardPile;
+    private CardPile treasureDeck;
+    private CardPile floodDeck;
+    private CardPile treasureDiscardPile;
+    private CardPile floodDiscardPile;
 
     public CardView(VBox cardsInfoBox) {
         this.cardsInfoBox = cardsInfoBox;
@@ -51,8 +51,9 @@ public class CardView {
         HBox floodCards = new HBox(-30); // Negative value to make cards overlap
         floodCards.setAlignment(Pos.CENTER);
 
-        for (int i = 0; i < floodDiscardPile.size(); i++) {
-            Card card = floodDiscardPile.get(i);
+        List<Card> floodDiscarded = floodDiscardPile.toList();
+        for (int i = 0; i < floodDiscarded.size(); i++) {
+            Card card = floodDiscarded.get(i);
             try {
                 // Load tile image
                 String imagePath = "/flood cards/" + card.getName() + ".png";
@@ -62,7 +63,7 @@ public class CardView {
                 tileView.setFitWidth(147 * SCALE);
 
                 // Last card should be fully visible
-                if (i == floodDiscardPile.size() - 1) {
+                if (i == floodDiscarded.size() - 1) {
                     floodCards.getChildren().add(new StackPane(tileView));
                 } else {
                     // Create a clipping area
@@ -99,8 +100,9 @@ public class CardView {
         treasureCards.setAlignment(Pos.CENTER);
 
         // Show cards in the treasure discard pile
-        for (int i = 0; i < treasureDiscardPile.size(); i++) {
-            Card card = treasureDiscardPile.get(i);
+        List<Card> treasureDiscarded = treasureDiscardPile.toList();
+        for (int i = 0; i < treasureDiscarded.size(); i++) {
+            Card card = treasureDiscarded.get(i);
             try {
                 // Load card image
                 String imagePath = "/treasure cards/" + card.getName() + ".png";
@@ -110,7 +112,7 @@ public class CardView {
                 cardView.setFitWidth(147 * SCALE);
 
                 // Last card should be fully visible
-                if (i == treasureDiscardPile.size() - 1) {
+                if (i == treasureDiscarded.size() - 1) {
                     treasureCards.getChildren().add(new StackPane(cardView));
                 } else {
                     // Create a clipping area
@@ -1,6 +1,8 @@
 package com.island.views.ui;
 
+import com.island.controller.GameController;
 import com.island.controller.IslandController;
+import com.island.controller.PlayerController;
 import com.island.models.*;
 import com.island.models.adventurers.Player;
 import com.island.models.adventurers.PlayerRole;
@@ -23,6 +25,7 @@ import java.util.Map;
 
 public class IslandView {
     private IslandController islandController;
+    private PlayerController playerController;
     private Island island;
     private GridPane boardGrid;
     private VBox waterLevelBox;
@@ -32,6 +35,7 @@ public class IslandView {
     static final double SCALE = 0.55;  // Scale factor
     private static final double TILE_SIZE = 147 * SCALE;
     private static final Color HIGHLIGHT_COLOR = Color.RED;
+    private static final Color OPTION_COLOR = Color.GOLD;  // Tiles the current player can act on
     private static final double BORDER_WIDTH = 2.0;
 
     public IslandView(GridPane boardGrid, VBox waterLevelBox) {
@@ -51,6 +55,10 @@ public class IslandView {
         island = islandController.getIsland();
     }
 
+    public void setPlayerController(PlayerController playerController) {
+        this.playerController = playerController;
+    }
+
     public void initializeBoard() {
         Map<Position, Tile> tiles = island.getTiles();
 
@@ -118,8 +126,8 @@ public class IslandView {
         // Place Treasures
         String[] treasureNames = islandController.getTreasures();
         Position[] treasurePositions = new Position[] {
-                new Position(0, 0), new Position(0, 5),
-                new Position(5, 0), new Position(5, 5)
+                Position.of(0, 0), Position.of(0, 5),
+                Position.of(5, 0), Position.of(5, 5)
         };
         for (int i = 0; i < treasureNames.length; i++) {
             try {
@@ -134,6 +142,8 @@ public class IslandView {
             }
         }
 
+        showActionOptions();
+
         // Restore previously highlighted tiles
         if (tilesToHighlight != null) {
             addBoarders(tilesToHighlight);
@@ -208,7 +218,36 @@ public class IslandView {
         }
     }
 
+    /**
+     * Outlines the tiles the local player can move to or shore up during their turn.
+     * The options come from the player controller's legal action cache, so redrawing the
+     * board between two changes of the game does not recompute them.
+     */
+    private void showActionOptions() {
+        GameController gameController = islandController.getGameController();
+        if (playerController == null || gameController == null || gameController.isGameOver()) {
+            return;
+        }
+        Player player = gameController.getCurrentPlayer();
+        if (player == null || player.getPosition() == null || gameController.getRemainingActions() <= 0
+                || player != islandController.getRoom().getCurrentProgramPlayer()) {
+            return;
+        }
+        List<Position> options = new ArrayList<>(playerController.getMovePositions(player));
+        options.addAll(playerController.getShorePositions(player));
+        for (Position position : options) {
+            Tile tile = island.getTile(position);
+            if (tile != null) {
+                addBoarder(tile, OPTION_COLOR, "option-border");
+            }
+        }
+    }
+
     private void addBoarder(Tile tile) {
+        addBoarder(tile, HIGHLIGHT_COLOR, "tile-border");
+    }
+
+    private void addBoarder(Tile tile, Color color, String borderId) {
         // Find the corresponding StackPane and add border
         for (javafx.scene.Node node : boardGrid.getChildren()) {
             if (node instanceof StackPane tilePane) {
@@ -221,16 +260,16 @@ public class IslandView {
 
                     // Remove any existing border
                     tilePane.getChildren().removeIf(child -> child instanceof Rectangle &&
-                            "tile-border".equals(child.getId()));
+                            borderId.equals(child.getId()));
 
                     // Create new border rectangle
                     Rectangle border = new Rectangle(
                             TILE_SIZE - BORDER_WIDTH,
                             TILE_SIZE - BORDER_WIDTH
                     );
-                    border.setId("tile-border");
+                    border.setId(borderId);
                     border.setFill(Color.TRANSPARENT);
-                    border.setStroke(HIGHLIGHT_COLOR);
+                    border.setStroke(color);
                     border.setStrokeWidth(BORDER_WIDTH);
 
                     // Ensure border is always on top
@@ -94,7 +94,7 @@ public class PlayerView {
                         // Add click event for cards
                         cardView.setOnMouseClicked(event -> {
                             // Only the card owner can click
-                            if (card.getBelongingPlayer().equals(room.getCurrentProgramPlayer().getName())) {
+                            if (player.getName().equals(room.getCurrentProgramPlayer().getName())) {
                                 // Remove border from previously selected card
                                 if (selectedCardView != null) {
                                     selectedCardView.setStyle("");
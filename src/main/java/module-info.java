@@ -2,11 +2,15 @@ module com.island {
     requires javafx.controls;
     requires javafx.fxml;
     requires transitive javafx.graphics;
+    requires java.management;
+    requires jdk.management;
 
     opens com.island.launcher to javafx.fxml;
     exports com.island.controller;
     exports com.island.models;
     exports com.island.network;
+    exports com.island.network.payload;
+    exports com.island.network.load;
     exports com.island.util;
     exports com.island.util.observer;
     exports com.island.util.ui;
@@ -14,5 +18,5 @@ module com.island {
     exports com.island.views.ui;
     exports com.island.views.room;
     exports com.island.launcher;
-    exports com.island.controller.factory;
+    exports com.island.engine;
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.island.controller;
 
 import com.island.models.Room;
 import com.island.models.adventurers.Player;
+import com.island.network.RoomController;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -108,36 +109,22 @@ public class ActionBarControllerTest {
     }
 
     /**
-     * Test hasDrawnTreasureCards
+     * Test handleEndTurnAction
      */
     @Test
-    void testHasDrawnTreasureCards() {
-        when(gameController.getPlayerController()).thenReturn(mock(PlayerController.class));
-        when(gameController.getPlayerController().hasDrawnTreasureCards()).thenReturn(true);
-        assertTrue(actionBarController.hasDrawnTreasureCards());
-    }
-
-    /**
-     * Test getDrawnFloodCards
-     */
-    @Test
-    void testGetDrawnFloodCards() {
-        when(gameController.getPlayerController()).thenReturn(mock(PlayerController.class));
-        when(gameController.getPlayerController().getDrawnFloodCards()).thenReturn(2);
-        assertEquals(2, actionBarController.getDrawnFloodCards());
+    void testHandleEndTurnAction() {
+        RoomController roomController = mock(RoomController.class);
+        when(gameController.getRoomController()).thenReturn(roomController);
+        actionBarController.handleEndTurnAction();
+        verify(roomController).sendEndTurnMessage(player);
     }
 
     /**
-     * Test setHasDrawnTreasureCards
+     * Test handleDiscardAction
      */
     @Test
-    void testSetHasDrawnTreasureCards() {
-        PlayerController playerController = mock(PlayerController.class);
-        when(gameController.getPlayerController()).thenReturn(playerController);
-        doNothing().when(playerController).setHasDrawnTreasureCards(true);
-        
-        actionBarController.setHasDrawnTreasureCards(true);
-        
-        verify(playerController).setHasDrawnTreasureCards(true);
+    void testHandleDiscardAction() {
+        actionBarController.handleDiscardAction();
+        verify(gameController).handleDiscardAction();
     }
 }
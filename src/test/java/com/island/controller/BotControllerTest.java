@@ -0,0 +1,365 @@
+package com.island.controller;
+
+import com.island.engine.ActionBuffer;
+import com.island.engine.GameCommand;
+import com.island.engine.GameEngine;
+import com.island.engine.GameRules;
+import com.island.engine.MctsSearch;
+import com.island.engine.PlayoutPolicy;
+import com.island.models.Room;
+import com.island.models.adventurers.Player;
+import com.island.models.card.Card;
+import com.island.models.card.CardType;
+import com.island.models.island.Tile;
+import com.island.models.treasure.TreasureType;
+import com.island.network.Message;
+import com.island.network.MessageHandler;
+import com.island.network.MessageType;
+import com.island.network.RoomController;
+import com.island.network.RoomScope;
+import com.island.network.payload.*;
+import com.island.views.game.GameView;
+import com.island.views.ui.ActionLogView;
+import com.island.views.ui.IslandView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for BotController.
+ */
+public class BotControllerTest {
+    private static final List<String> NAMES = List.of("Alice", "Bob", "Carol");
+
+    private RoomController roomController;
+    private Room room;
+    private BotController botController;
+    private long messageId;
+
+    @BeforeEach
+    void setUp() {
+        roomController = mock(RoomController.class);
+        room = new Room(1, new Player("Alice"));
+        when(roomController.getRoom()).thenReturn(room);
+        botController = new BotController(roomController,
+                new MctsSearch(ForkJoinPool.commonPool(), 1, PlayoutPolicy.HEURISTIC), 0, Runnable::run);
+    }
+
+    /**
+     * Test that the messages of a game replay it on another peer, up to the end of the game.
+     */
+    @Test
+    void testMessagesReplayGame() {
+        GameEngine game = new GameEngine(NAMES, 5L, 2);
+        GameEngine replay = new GameEngine(NAMES, 5L, 2);
+        ActionBuffer actions = new ActionBuffer();
+        SplittableRandom random = new SplittableRandom(3L);
+        while (!game.isOver()) {
+            game.legalActions(actions);
+            GameCommand command = game.toCommand(actions.get(random.nextInt(actions.size())));
+            if (command instanceof GameCommand.GiveCard give) {
+                // Cards are given by name, which takes the first card of that name
+                command = new GameCommand.GiveCard(give.player(), give.receiver(),
+                        firstOfName(game.getPlayer(give.player()).getCards(), give.cardIndex()));
+            }
+            Message message = toMessage(command, game);
+            assertTrue(game.apply(command));
+            assertTrue(replay.apply(GameController.toCommand(message, replay)), command.toString());
+        }
+        assertEquals(game.getPhase(), replay.getPhase());
+        assertEquals(game.getTurn(), replay.getTurn());
+        assertEquals(game.getWaterLevel(), replay.getWaterLevel());
+        assertEquals(game.hash(), replay.hash());
+    }
+
+    /**
+     * Test that real turns played through the message handler keep the live controllers showing
+     * the game the bots search: the board, positions, hands, decks and water level of a copy of
+     * the engine.
+     */
+    @Test
+    void testLiveGameFollowsEngine() throws Exception {
+        room.addPlayer(new Player("Bob"));
+        room.addPlayer(new Player("Carol"));
+        GameController gameController = new GameController(roomController);
+        GameView gameView = mock(GameView.class);
+        when(gameView.getIslandView()).thenReturn(mock(IslandView.class));
+        gameController.setGameView(gameView);
+        MessageHandler handler = new MessageHandler(gameController);
+        handler.setActionLogView(mock(ActionLogView.class));
+        when(roomController.getGameController()).thenReturn(gameController);
+        try {
+            Message start = new Message(MessageType.GAME_START, 1, "Alice", true);
+            start.setPayload(new GameStartCommand(7L, 2, NAMES));
+            deliver(start, handler);
+            GameEngine engine = gameController.getEngine();
+            SplittableRandom random = new SplittableRandom(11L);
+            int turns = 0;
+            while (!engine.isOver() && turns < 12) {
+                int turn = engine.getTurn();
+                deliver(toMessage(nextCommand(engine, random), engine), handler);
+                if (engine.getTurn() != turn) {
+                    assertFollows(engine.copy(), gameController);
+                    turns++;
+                }
+            }
+            assertTrue(turns > 0);
+            verify(gameView, never()).showErrorToast(anyString());
+        } finally {
+            handler.shutdown();
+        }
+    }
+
+    /**
+     * Test that a bot falls back to ending its turn and tells the players when its search fails.
+     */
+    @Test
+    void testSearchFailureShowsError() {
+        MctsSearch failing = mock(MctsSearch.class);
+        when(failing.choose(any(), anyInt(), anyLong())).thenThrow(new IllegalStateException("no time"));
+        GameEngine engine = new GameEngine(NAMES, 5L, 2);
+        GameController gameController = liveGame(engine);
+        when(roomController.sendEndTurnMessage(any())).thenReturn(new CompletableFuture<>());
+        botController = new BotController(roomController, failing, 0, Runnable::run);
+        botController.standIn(engine.getCurrentPlayer().getName());
+        verify(gameController).showErrorToast(contains("Bots lost track of the game"));
+        verify(roomController).sendEndTurnMessage(engine.getCurrentPlayer());
+    }
+
+    /**
+     * Test that a bot drops the action it found when the game changed during the search, and
+     * searches again.
+     */
+    @Test
+    void testStaleSearchIsDropped() {
+        GameEngine engine = new GameEngine(NAMES, 5L, 2);
+        liveGame(engine);
+        MctsSearch search = mock(MctsSearch.class);
+        when(search.choose(any(), anyInt(), anyLong())).thenAnswer(invocation -> {
+            GameCommand move = engine.legalCommands().stream()
+                    .filter(GameCommand.Move.class::isInstance).findFirst().orElseThrow();
+            assertTrue(engine.apply(move));
+            return 0;
+        }).thenReturn(-1);
+        botController = new BotController(roomController, search, 0, Runnable::run);
+        botController.standIn(engine.getCurrentPlayer().getName());
+        verify(search, times(2)).choose(any(), anyInt(), anyLong());
+        verify(roomController, never()).sendCommand(any());
+    }
+
+    /**
+     * Test that a bot over the hand limit discards even when it is not its turn.
+     */
+    @Test
+    void testDiscardOverHandLimit() {
+        GameEngine engine = new GameEngine(NAMES, 5L, 2);
+        liveGame(engine);
+        List<Player> players = engine.getPlayers();
+        Player waiting = players.get((players.indexOf(engine.getCurrentPlayer()) + 1) % players.size());
+        while (waiting.getCards().size() <= GameRules.HAND_LIMIT) {
+            waiting.addCard(Card.createTreasureCard(TreasureType.OCEAN_CHALICE, ""));
+        }
+        int discard = botController.chooseDiscard(waiting);
+        when(roomController.sendDiscardMessage(any(), anyInt())).thenReturn(new CompletableFuture<>());
+        botController.standIn(waiting.getName());
+        verify(roomController).sendDiscardMessage(waiting, discard);
+    }
+
+    /**
+     * Test that bots take free seats named after the bot prefix.
+     */
+    @Test
+    void testAddBot() {
+        assertTrue(botController.addBot());
+        assertTrue(botController.addBot());
+        assertTrue(botController.addBot());
+        assertFalse(botController.addBot());
+        assertEquals(BotController.BOT_PREFIX + "1", room.getPlayers().get(1).getName());
+        assertEquals(BotController.BOT_PREFIX + "3", room.getPlayers().get(3).getName());
+        verify(roomController, times(3)).sendUpdateRoomMessage();
+    }
+
+    /**
+     * Test that a bot keeps special cards and the treasure it collects.
+     */
+    @Test
+    void testChooseDiscard() {
+        Player bot = new Player(BotController.BOT_PREFIX + "1");
+        bot.addCard(Card.createSpecialCard(CardType.HELICOPTER));
+        bot.addCard(Card.createTreasureCard(TreasureType.FIRE_CRYSTAL, ""));
+        bot.addCard(Card.createTreasureCard(TreasureType.EARTH_STONE, ""));
+        bot.addCard(Card.createTreasureCard(TreasureType.FIRE_CRYSTAL, ""));
+        assertEquals(2, botController.chooseDiscard(bot));
+    }
+
+    /**
+     * Test that a disconnected player becomes a bot seat.
+     */
+    @Test
+    void testStandIn() {
+        assertFalse(botController.isBot("Bob"));
+        botController.standIn("Bob");
+        assertTrue(botController.isBot("Bob"));
+        assertEquals(List.of("Bob"), List.copyOf(botController.getSeats()));
+    }
+
+    /**
+     * Chooses the next command of a game played through the message handler: the swims first,
+     * then the discards over the hand limit, then a random action
+     * @param engine The game
+     * @param random Random generator
+     * @return The command
+     */
+    private GameCommand nextCommand(GameEngine engine, SplittableRandom random) {
+        if (engine.getPhase() == GameEngine.Phase.SWIM) {
+            return engine.legalCommands().stream().filter(GameCommand.Swim.class::isInstance).findFirst().orElseThrow();
+        }
+        for (Player player : engine.getPlayers()) {
+            if (player.getCards().size() > GameRules.HAND_LIMIT) {
+                return new GameCommand.Discard(player.getName(), botController.chooseDiscard(player));
+            }
+        }
+        List<GameCommand> commands = engine.legalCommands().stream()
+                .filter(command -> !(command instanceof GameCommand.Discard)
+                        && !(command instanceof GameCommand.PlaySandbags)
+                        && !(command instanceof GameCommand.PlayHelicopter))
+                .toList();
+        return commands.get(random.nextInt(commands.size()));
+    }
+
+    /**
+     * Lets the bots play a game on a mocked game controller as the host
+     * @param engine The game
+     * @return The game controller
+     */
+    private GameController liveGame(GameEngine engine) {
+        GameController gameController = mock(GameController.class);
+        when(gameController.getEngine()).thenReturn(engine);
+        when(gameController.isGameStart()).thenReturn(true);
+        when(roomController.getGameController()).thenReturn(gameController);
+        when(roomController.isLocalHost()).thenReturn(true);
+        RoomScope scope = mock(RoomScope.class);
+        when(scope.fork(any())).thenAnswer(invocation -> {
+            invocation.getArgument(0, Runnable.class).run();
+            return null;
+        });
+        when(roomController.getScope()).thenReturn(scope);
+        return gameController;
+    }
+
+    /**
+     * Delivers a message to the live game, then to the bots, as the room controller does
+     * @param message The message
+     * @param handler Message handler of the live game
+     */
+    private void deliver(Message message, MessageHandler handler) throws Exception {
+        handler.handleMessage(message);
+        botController.onMessage(message, true);
+    }
+
+    /**
+     * Creates a game message with an id of its own
+     * @param type The message type
+     * @param from The sender
+     * @return The message
+     */
+    private Message message(MessageType type, String from) {
+        Message message = new Message(type, 1, from, true);
+        message.setMessageId(++messageId);
+        return message;
+    }
+
+    /**
+     * Checks that the live controllers show the state of a copy of the game
+     * @param copy The copy
+     * @param gameController Controller of the live game
+     */
+    private void assertFollows(GameEngine copy, GameController gameController) {
+        assertEquals(copy.hash(), gameController.getStateHash());
+        assertEquals(copy.getCurrentPlayer().getName(), gameController.getCurrentPlayer().getName());
+        assertEquals(copy.getRemainingActions(), gameController.getRemainingActions());
+        assertEquals(copy.getWaterLevel(), gameController.getIslandController().getWaterLevel());
+        assertEquals(copy.getDecks().getTreasureDeck().toList(), gameController.getCardController().getTreasureDeck().toList());
+        assertEquals(copy.getDecks().getFloodDiscardPile().toList(), gameController.getCardController().getFloodDiscardPile().toList());
+        for (Tile tile : copy.getIsland().getTiles().values()) {
+            assertEquals(tile.getState(), gameController.getIsland().getTile(tile.getPosition()).getState(),
+                    tile.getName());
+        }
+        for (Player player : copy.getPlayers()) {
+            Player live = room.getPlayerByUsername(player.getName());
+            assertEquals(player.getPosition(), live.getPosition(), player.getName());
+            assertEquals(player.getCards().stream().map(Card::getName).toList(),
+                    live.getCards().stream().map(Card::getName).toList(), player.getName());
+        }
+    }
+
+    /**
+     * Builds the message a peer sends for a command
+     * @param command The command
+     * @param game The game before the command
+     * @return The message
+     */
+    private Message toMessage(GameCommand command, GameEngine game) {
+        Message message = message(type(command), command.player());
+        switch (command) {
+            case GameCommand.Move move -> message.setPayload(new MoveCommand(move.to().getX(), move.to().getY(), ""));
+            case GameCommand.Swim swim -> message.setPayload(new MoveCommand(swim.to().getX(), swim.to().getY(), ""));
+            case GameCommand.ShoreUp shoreUp -> message.setPayload(new ShoreUpCommand(shoreUp.at().getX(), shoreUp.at().getY(), ""));
+            case GameCommand.GiveCard give -> message.setPayload(new GiveCardCommand(give.receiver(),
+                    game.getPlayer(give.player()).getCards().get(give.cardIndex()).getName()));
+            case GameCommand.NavigatorMove move -> message.setPayload(new NavigatorMoveCommand(move.to().getX(),
+                    move.to().getY(), move.target(), ""));
+            case GameCommand.PlaySandbags sandbags -> message.setPayload(new SandbagsCommand(sandbags.at().getX(),
+                    sandbags.at().getY(), "", sandbags.cardIndex()));
+            case GameCommand.PlayHelicopter helicopter -> message.setPayload(new HelicopterCommand(helicopter.to().getX(),
+                    helicopter.to().getY(), "", helicopter.cardIndex(), helicopter.passengers()));
+            case GameCommand.Discard discard -> message.setPayload(new DiscardCommand(discard.cardIndex()));
+            case GameCommand.CaptureTreasure capture -> message.setPayload(new CaptureTreasureCommand(
+                    game.getIsland().getTile(game.getPlayer(capture.player()).getPosition()).getTreasureType()));
+            case GameCommand.EndTurn endTurn -> { }
+        }
+        return message;
+    }
+
+    /**
+     * Finds the first card with the same name as a card of a hand
+     * @param cards The hand
+     * @param index Index of the card
+     * @return Index of the first card of that name
+     */
+    private static int firstOfName(List<Card> cards, int index) {
+        for (int i = 0; i < index; i++) {
+            if (cards.get(i).getName().equals(cards.get(index).getName())) {
+                return i;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Gets the message type of a command
+     * @param command The command
+     * @return The message type
+     */
+    private static MessageType type(GameCommand command) {
+        return switch (command) {
+            case GameCommand.Move move -> MessageType.MOVE_PLAYER;
+            case GameCommand.Swim swim -> MessageType.MOVE_PLAYER;
+            case GameCommand.ShoreUp shoreUp -> MessageType.SHORE_UP;
+            case GameCommand.GiveCard give -> MessageType.GIVE_CARD;
+            case GameCommand.NavigatorMove move -> MessageType.MOVE_PLAYER_BY_NAVIGATOR;
+            case GameCommand.PlaySandbags sandbags -> MessageType.SANDBAGS_USE;
+            case GameCommand.PlayHelicopter helicopter -> MessageType.HELICOPTER_MOVE;
+            case GameCommand.Discard discard -> MessageType.DISCARD_CARD;
+            case GameCommand.CaptureTreasure capture -> MessageType.CAPTURE_TREASURE;
+            case GameCommand.EndTurn endTurn -> MessageType.END_TURN;
+        };
+    }
+}
@@ -1,13 +1,21 @@
 package com.island.controller;
 
 
+import com.island.engine.GameCommand;
+import com.island.engine.GameEngine;
+import com.island.engine.GameRules;
 import com.island.models.Room;
 import com.island.models.adventurers.Player;
 import com.island.models.card.Card;
 import com.island.models.island.Island;
 import com.island.models.island.Tile;
 import com.island.network.Message;
+import com.island.network.MessageType;
 import com.island.network.RoomController;
+import com.island.network.payload.DiscardCommand;
+import com.island.network.payload.GiveCardCommand;
+import com.island.network.payload.MoveCommand;
+import com.island.network.payload.ShoreUpCommand;
 import com.island.views.game.GameView;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,8 +26,7 @@ import java.lang.reflect.Field;
 import java.util.LinkedList;
 import java.util.List;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 /**
@@ -85,74 +92,242 @@ public class GameControllerTest {
     }
 
     /**
-     * Test handlePlayerLeave
+     * Test startGame sets up the game and lets the room hold its players
      */
     @Test
     void testStartGame() {
-        doNothing().when(islandController).initIsland(anyLong());
-        doNothing().when(playerController).initPlayers(anyLong());
-        doNothing().when(cardController).initCards(anyLong());
-        doNothing().when(playerController).dealCards(any());
-        doNothing().when(gameView).initGame();
-        doNothing().when(gameView).setPrimaryStage();
-        gameController.startGame(123L);
-        assertTrue(gameController.isGameStart());
+        GameController game = startGame();
+        GameEngine engine = game.getEngine();
+        assertTrue(game.isGameStart());
+        assertEquals(engine.getPlayers(), game.getRoom().getPlayers());
+        assertSame(engine.getPlayer("Alice"), game.getRoom().getCurrentProgramPlayer());
+        assertSame(engine.getPlayer("Alice"), game.getRoom().getHostPlayer());
+        assertSame(engine.getIsland(), game.getIsland());
+        assertEquals(24, game.getIsland().getTiles().size());
+        assertSame(engine.getDecks(), game.getCardController().getDecks());
+        assertEquals(2, game.getIslandController().getWaterLevel());
+        assertSame(engine.getCurrentPlayer(), game.getCurrentPlayer());
+        assertEquals(3, game.getRemainingActions());
+        assertEquals(engine.hash(), game.getStateHash());
     }
 
     /**
-     * Test startTurn
+     * Test an end turn message lets the game draw the cards and start the next turn
      */
     @Test
-    void testStartTurn() {
-        doNothing().when(player).resetState();
-        doNothing().when(actionBarController).setCurrentPlayer(any());
-        doNothing().when(playerController).resetPlayerState();
-        gameController.startTurn(player);
-        assertEquals(player, gameController.getCurrentPlayer());
+    void testEndTurnStartsNextTurn() {
+        GameController game = startGame();
+        Player first = game.getCurrentPlayer();
+        int turn = game.getEngine().getTurn();
+        assertTrue(game.apply(new Message(MessageType.END_TURN, 1, first.getName())));
+        assertEquals(turn + 1, game.getEngine().getTurn());
+        assertNotSame(first, game.getCurrentPlayer());
+        assertSame(game.getEngine().getCurrentPlayer(), game.getCurrentPlayer());
+        verify(gameView, atLeastOnce()).addLog(startsWith(first.getName() + " draw "));
     }
 
     /**
-     * Test handlePlayerAction
+     * Test a message the game rejects is reported
      */
     @Test
-    void testHandleWaterRise() {
-        when(islandController.getWaterLevel()).thenReturn(10);
-        doNothing().when(roomController).sendGameOverMessage(anyString());
-        doNothing().when(cardController).handleWaterRise();
-        gameController.handleWaterRise();
-        assertTrue(gameController.isGameOver() || true); // 只验证流程
+    void testRejectedMessageShowsError() {
+        GameController game = startGame();
+        String other = game.getEngine().getPlayers().stream()
+                .filter(player -> player != game.getCurrentPlayer()).findFirst().orElseThrow().getName();
+        long hash = game.getStateHash();
+        assertFalse(game.apply(new Message(MessageType.END_TURN, 1, other)));
+        assertEquals(hash, game.getStateHash());
+        verify(gameView).showErrorToast(contains("rejected"));
     }
 
     /**
-     * Test handleDrawFloodCard
+     * Test messages that are not player decisions are not applied to the game
      */
     @Test
-    void testHandleDrawTreasureCard() {
-        doNothing().when(cardController).drawTreasureCard(anyInt(), any());
-        gameController.handleDrawTreasureCard(2, player);
-        verify(cardController).drawTreasureCard(2, player);
+    void testRoomMessagesAreNotCommands() {
+        GameController game = startGame();
+        long hash = game.getStateHash();
+        assertFalse(game.apply(new Message(MessageType.UPDATE_ROOM, 1, game.getCurrentPlayer().getName())));
+        assertEquals(hash, game.getStateHash());
+        verify(gameView, never()).showErrorToast(anyString());
     }
 
     /**
-     * Test handleDrawFloodCard
+     * Test a move message moves the player of the room and uses an action
      */
     @Test
-    void testUpdateBoard() {
-        gameController.updateBoard();
-        // 只要不抛异常即可
+    void testMoveMessage() {
+        GameController game = startGame();
+        GameCommand.Move move = first(game, GameCommand.Move.class);
+        Message message = new Message(MessageType.MOVE_PLAYER, 1, move.player());
+        message.setPayload(new MoveCommand(move.to().getX(), move.to().getY(), ""));
+        assertTrue(game.apply(message));
+        assertEquals(move.to(), game.getCurrentPlayer().getPosition());
+        assertEquals(2, game.getRemainingActions());
+    }
+
+    /**
+     * Test a shore up message shores up the tile of the island controller
+     */
+    @Test
+    void testShoreUpMessage() {
+        GameController game = null;
+        GameCommand.ShoreUp shoreUp = null;
+        for (long seed = 0; shoreUp == null; seed++) {
+            game = startGame(seed);
+            shoreUp = first(game, GameCommand.ShoreUp.class);
+        }
+        Message message = new Message(MessageType.SHORE_UP, 1, shoreUp.player());
+        message.setPayload(new ShoreUpCommand(shoreUp.at().getX(), shoreUp.at().getY(), ""));
+        assertTrue(game.apply(message));
+        assertTrue(game.getIsland().getTile(shoreUp.at()).isNormal());
+    }
+
+    /**
+     * Test a give card message moves the card between the hands of the room players
+     */
+    @Test
+    void testGiveCardMessage() {
+        GameController game = null;
+        GameCommand.GiveCard found = null;
+        for (long seed = 0; found == null; seed++) {
+            game = startGame(seed);
+            found = first(game, GameCommand.GiveCard.class);
+        }
+        GameCommand.GiveCard give = found;
+        Player giver = game.getRoom().getPlayers().stream()
+                .filter(player -> player.getName().equals(give.player())).findFirst().orElseThrow();
+        Player receiver = game.getRoom().getPlayers().stream()
+                .filter(player -> player.getName().equals(give.receiver())).findFirst().orElseThrow();
+        Card card = giver.getCards().get(give.cardIndex());
+        Message message = new Message(MessageType.GIVE_CARD, 1, give.player());
+        message.setPayload(new GiveCardCommand(give.receiver(), card.getName()));
+        assertTrue(game.apply(message));
+        assertEquals(1, giver.getCards().size());
+        assertEquals(3, receiver.getCards().size());
+    }
+
+    /**
+     * Test the end of a turn floods the board and logs the draws
+     */
+    @Test
+    void testEndTurnFloodsBoard() {
+        GameController game = startGame();
+        long board = game.getIsland().getHash();
+        assertTrue(game.apply(new Message(MessageType.END_TURN, 1, game.getCurrentPlayer().getName())));
+        assertNotEquals(board, game.getIsland().getHash());
+        verify(gameView, atLeastOnce()).addLog(argThat(line -> line.endsWith(" is flooded") || line.endsWith(" has sunk")));
     }
 
     /**
-     * Test handlePlayerAction
+     * Test a Waters Rise card raises the water level of the island controller
      */
     @Test
-    void testGiveCard() {
-        Card card = mock(Card.class);
-        when(player.removeCard(anyString())).thenReturn(card);
-        doNothing().when(player).addCard(card);
-        gameController.giveCard(player, player, "card");
-        verify(player).removeCard("card");
-        verify(player).addCard(card);
+    void testWaterRise() {
+        GameController game = startGame();
+        GameEngine engine = game.getEngine();
+        while (engine.getWaterLevel() == 2 && !engine.isOver()) {
+            assertTrue(game.apply(nextMessage(engine)));
+        }
+        assertEquals(engine.getWaterLevel(), game.getIslandController().getWaterLevel());
+        verify(gameView).addLog("Waters rise to level 3");
+    }
+
+    /**
+     * Test a hand over the limit holds the turn until a discard message brings it back
+     */
+    @Test
+    void testDiscardOverHandLimit() {
+        GameController game = startGame();
+        GameEngine engine = game.getEngine();
+        while (engine.getPhase() != GameEngine.Phase.DISCARD && !engine.isOver()) {
+            assertTrue(game.apply(nextMessage(engine)));
+        }
+        assertFalse(engine.isOver());
+        Player holder = engine.getPlayers().stream()
+                .filter(player -> player.getCards().size() > GameRules.HAND_LIMIT).findFirst().orElseThrow();
+        assertFalse(game.apply(new Message(MessageType.END_TURN, 1, engine.getCurrentPlayer().getName())));
+        Message discard = new Message(MessageType.DISCARD_CARD, 1, holder.getName());
+        discard.setPayload(new DiscardCommand(0));
+        assertTrue(game.apply(discard));
+        assertEquals(GameRules.HAND_LIMIT, holder.getCards().size());
+        assertNotEquals(GameEngine.Phase.DISCARD, engine.getPhase());
+    }
+
+    /**
+     * Gets the first legal command of a kind
+     * @param game The game controller
+     * @param kind The kind of command
+     * @return The command, or null if there is none
+     */
+    private static <T extends GameCommand> T first(GameController game, Class<T> kind) {
+        return game.getEngine().legalCommands().stream().filter(kind::isInstance).map(kind::cast)
+                .findFirst().orElse(null);
+    }
+
+    /**
+     * Creates the message that goes on with a game without actions: the swims, the discards over
+     * the hand limit, or the end of the turn
+     * @param engine The game
+     * @return The message
+     */
+    private static Message nextMessage(GameEngine engine) {
+        GameCommand command = engine.legalCommands().get(0);
+        if (command instanceof GameCommand.Swim swim) {
+            Message message = new Message(MessageType.MOVE_PLAYER, 1, swim.player());
+            message.setPayload(new MoveCommand(swim.to().getX(), swim.to().getY(), ""));
+            return message;
+        } else if (command instanceof GameCommand.Discard discard) {
+            Message message = new Message(MessageType.DISCARD_CARD, 1, discard.player());
+            message.setPayload(new DiscardCommand(discard.cardIndex()));
+            return message;
+        }
+        return new Message(MessageType.END_TURN, 1, engine.getCurrentPlayer().getName());
+    }
+
+    /**
+     * Starts a game of two players on real controllers
+     * @return The game controller
+     */
+    private GameController startGame() {
+        return startGame(123L);
+    }
+
+    /**
+     * Starts a game of two players on real controllers
+     * @param seed Random seed of the game
+     * @return The game controller
+     */
+    private GameController startGame(long seed) {
+        Room realRoom = new Room(1, new Player("Alice"));
+        realRoom.addPlayer(new Player("Bob"));
+        RoomController realRoomController = mock(RoomController.class);
+        when(realRoomController.getRoom()).thenReturn(realRoom);
+        GameController game = new GameController(realRoomController);
+        game.setGameView(gameView);
+        game.startGame(seed, 2, List.of("Alice", "Bob"));
+        return game;
+    }
+
+    /**
+     * Test startTurn, which leaves the per-turn state of the local player to the game
+     */
+    @Test
+    void testStartTurn() {
+        doNothing().when(actionBarController).setCurrentPlayer(any());
+        gameController.startTurn(player);
+        assertEquals(player, gameController.getCurrentPlayer());
+        verify(playerController, never()).resetPlayerState();
+        verify(player, never()).resetState();
+    }
+
+    /**
+     * Test handleDrawFloodCard
+     */
+    @Test
+    void testUpdateBoard() {
+        gameController.updateBoard();
+        // 只要不抛异常即可
     }
 
     /**
@@ -178,8 +353,7 @@ public class GameControllerTest {
     void testSettersAndGetters() {
         gameController.setCurrentPlayer(player);
         assertEquals(player, gameController.getCurrentPlayer());
-        gameController.setRemainingActions(2);
-        assertEquals(2, gameController.getRemainingActions());
+        assertEquals(0, gameController.getRemainingActions());
         gameController.setGameOver(true);
         assertTrue(gameController.isGameOver());
     }
@@ -5,21 +5,16 @@ import com.island.models.Room;
 import com.island.models.adventurers.Engineer;
 import com.island.models.adventurers.Navigator;
 import com.island.models.adventurers.Player;
-import com.island.models.card.Card;
-import com.island.models.card.CardType;
 import com.island.models.island.Island;
 import com.island.models.island.Position;
 import com.island.models.island.Tile;
-import com.island.models.treasure.TreasureType;
 import com.island.network.RoomController;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -55,15 +50,6 @@ public class IslandControllerTest {
         islandController.setGameController(gameController);
     }
 
-    /**
-     * Test the constructor and initial state of IslandController.
-     */
-    @Test
-    void testInitIsland() {
-        islandController.initIsland(123L);
-        // As long as no exceptions are thrown, the test passes
-    }
-
     /**
      * Test getters and setters of IslandController.
      */
@@ -76,22 +62,11 @@ public class IslandControllerTest {
         assertEquals(3, islandController.getWaterLevel());
     }
 
-    /**
-     * Test increaseWaterLevel
-     */
-    @Test
-    void testIncreaseWaterLevel() {
-        doNothing().when(gameController).updateWaterLevel();
-        islandController.increaseWaterLevel();
-        assertEquals(2, islandController.getWaterLevel());
-    }
-
     /**
      * Test handleTileClick
      */
     @Test
     void testHandleTileClick() {
-        islandController.initIsland(123L);
         when(gameController.getCurrentPlayer()).thenReturn(navigator);
         when(navigator.getNavigatorTarget()).thenReturn(player);
         when(navigator.getNavigatorMoves()).thenReturn(1);
@@ -115,55 +90,12 @@ public class IslandControllerTest {
     }
 
     /**
-     * Test checkTreasureTiles
-     */
-    @Test
-    void testCheckTreasureTiles() {
-        assertTrue(islandController.checkTreasureTiles());
-    }
-
-    /**
-     * Test checkFoolsLanding
+     * Test clearChosenTile
      */
     @Test
-    void testCheckFoolsLanding() {
-        assertTrue(islandController.checkFoolsLanding());
-    }
-
-    /**
-     * Test movePlayer
-     */
-    @Test
-    void testShoreUpTile() {
-        islandController.initIsland(123L);
-        Position pos = new Position(3,1);
-        when(island.getTile(pos)).thenReturn(tile);
-        doNothing().when(tile).shoreUp();
-        doNothing().when(gameController).resetTileBorders();
-        doNothing().when(gameController).decreaseRemainingActions();
-        doNothing().when(gameController).updateBoard();
-        islandController.shoreUpTile(player, pos);
-        // As long as no exceptions are thrown, the test passes
-    }
-
-    /**
-     * Test movePlayer
-     */
-    @Test
-    void testCaptureTreasure() {
-        List<Card> cards = new ArrayList<>();
-        Card card = mock(Card.class);
-        cards.add(card);
-
-        when(player.getCards()).thenReturn(cards);
-        when(card.getType()).thenReturn(CardType.TREASURE);
-        when(card.getTreasureType()).thenReturn(TreasureType.EARTH_STONE);
-        when(player.removeCard(anyString())).thenReturn(null);
-        doNothing().when(gameController).decreaseRemainingActions();
-
-        when(gameController.getCurrentPlayer()).thenReturn(player);
-
-        islandController.captureTreasure(player, TreasureType.EARTH_STONE);
-        // As long as no exceptions are thrown, the test passes
+    void testClearChosenTile() {
+        islandController.clearChosenTile();
+        assertNull(islandController.getChosenTile());
+        verify(gameController).resetTileBorders();
     }
 }
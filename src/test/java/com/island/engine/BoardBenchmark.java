@@ -0,0 +1,143 @@
+package com.island.engine;
+
+import com.island.models.adventurers.Player;
+import com.island.models.adventurers.PlayerRole;
+import com.island.models.island.Bitboard;
+import com.island.models.island.Island;
+import com.island.models.island.Position;
+import com.island.models.island.Tile;
+
+import java.util.*;
+
+/**
+ * BoardBenchmark times the movement and shore-up queries of every role from every tile, once
+ * against a {@code HashMap<Position, Tile>} copy of the board, the representation the island used
+ * to have, once against the array-backed board of {@link Island}, and once as {@link Bitboard}
+ * masks without building any list. All three answer the same cells; the island is flooded by a
+ * few turns of a game first so all three states occur.
+ * <p>
+ * Usage, from the test classpath: BoardBenchmark [rounds=20000]
+ */
+public class BoardBenchmark {
+    /** Receives the results of the queries, so the work is not optimized away */
+    private static volatile long sink;
+
+    /**
+     * Runs every query of every role from every tile
+     * @param players One player of each role
+     * @param tiles The tiles to query
+     * @param positions The starting positions
+     * @return A value depending on every answer, so the work is not optimized away
+     */
+    private static long queryAll(List<Player> players, Map<Position, Tile> tiles, List<Position> positions) {
+        long check = 0;
+        for (Player player : players) {
+            for (Position position : positions) {
+                player.setPosition(position);
+                check += player.getMovePositions(tiles).size();
+                check += player.getShorePositions(tiles).size();
+            }
+        }
+        return check;
+    }
+
+    /**
+     * Runs every query of every role from every tile as masks
+     * @param players One player of each role
+     * @param island The island to query
+     * @param positions The starting positions
+     * @return A value depending on every answer, so the work is not optimized away
+     */
+    private static long queryMasks(List<Player> players, Island island, List<Position> positions) {
+        long check = 0;
+        for (Player player : players) {
+            for (Position position : positions) {
+                player.setPosition(position);
+                check += player.getMoveMask(island);
+                check += player.getShoreMask(island);
+            }
+        }
+        return check;
+    }
+
+    /**
+     * Times a number of rounds of mask queries
+     * @param rounds Number of rounds
+     * @param players One player of each role
+     * @param island The island to query
+     * @param positions The starting positions
+     * @return Nanoseconds per query
+     */
+    private static double timeMasks(int rounds, List<Player> players, Island island, List<Position> positions) {
+        long check = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            check += queryMasks(players, island, positions);
+        }
+        long elapsed = System.nanoTime() - start;
+        sink = check;
+        return (double) elapsed / rounds / (players.size() * positions.size() * 2);
+    }
+
+    /**
+     * Times a number of rounds of queries
+     * @param rounds Number of rounds
+     * @param players One player of each role
+     * @param tiles The tiles to query
+     * @param positions The starting positions
+     * @return Nanoseconds per query
+     */
+    private static double time(int rounds, List<Player> players, Map<Position, Tile> tiles, List<Position> positions) {
+        long check = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            check += queryAll(players, tiles, positions);
+        }
+        long elapsed = System.nanoTime() - start;
+        sink = check;
+        return (double) elapsed / rounds / (players.size() * positions.size() * 2);
+    }
+
+    /**
+     * Runs the benchmark
+     * @param args Number of rounds
+     */
+    public static void main(String[] args) {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        GameEngine engine = new GameEngine(List.of("A", "B", "C", "D"), 12345L, 3);
+        Random random = new Random(12345L);
+        for (int i = 0; i < 12 && !engine.isOver(); i++) {
+            List<GameCommand> commands = engine.legalCommands();
+            engine.apply(commands.get(random.nextInt(commands.size())));
+        }
+        Island island = engine.getIsland();
+        Map<Position, Tile> hashed = new HashMap<>(island.getTiles());
+        List<Position> positions = new ArrayList<>(hashed.keySet());
+        List<Player> players = new ArrayList<>();
+        for (PlayerRole role : PlayerRole.values()) {
+            players.add(GameRules.createPlayer(role, role.getDisplayName()));
+        }
+
+        for (Player player : players) {
+            for (Position position : positions) {
+                player.setPosition(position);
+                if (!new HashSet<>(player.getMovePositions(hashed)).equals(new HashSet<>(player.getMovePositions(island.getTiles())))
+                        || !new HashSet<>(player.getShorePositions(hashed)).equals(new HashSet<>(player.getShorePositions(island.getTiles())))
+                        || Bitboard.count(player.getMoveMask(island)) != player.getMovePositions(hashed).size()) {
+                    throw new IllegalStateException("Boards disagree for " + player.getRole() + " at " + position);
+                }
+            }
+        }
+        // Warm up both paths so the measurement excludes class loading and compilation
+        time(rounds / 10, players, hashed, positions);
+        time(rounds / 10, players, island.getTiles(), positions);
+        timeMasks(rounds / 10, players, island, positions);
+
+        double map = time(rounds, players, hashed, positions);
+        double board = time(rounds, players, island.getTiles(), positions);
+        double masks = timeMasks(rounds, players, island, positions);
+        System.out.printf("HashMap board:  %.1f ns/query%n", map);
+        System.out.printf("array board:    %.1f ns/query (%.1fx)%n", board, map / board);
+        System.out.printf("bitboard masks: %.1f ns/query (%.1fx)%n", masks, map / masks);
+    }
+}
@@ -0,0 +1,129 @@
+package com.island.engine;
+
+import com.island.models.card.Card;
+import com.island.models.island.Island;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for CardDecks.
+ */
+public class CardDecksTest {
+
+    /**
+     * Builds decks holding the same cards in the same order as others
+     * @param decks The decks to copy
+     * @return The copy
+     */
+    private static CardDecks rebuild(CardDecks decks) {
+        CardDecks copy = new CardDecks();
+        decks.getTreasureDeck().forEach(copy.getTreasureDeck()::add);
+        decks.getFloodDeck().forEach(copy.getFloodDeck()::add);
+        decks.getTreasureDiscardPile().forEach(copy.getTreasureDiscardPile()::add);
+        decks.getFloodDiscardPile().forEach(copy.getFloodDiscardPile()::add);
+        return copy;
+    }
+
+    /**
+     * Test that the hash kept through draws, discards and reshuffles matches the order of the cards.
+     */
+    @Test
+    void testHashFollowsDraws() {
+        Island island = new Island();
+        GameRules.populateIsland(island, 3L);
+        CardDecks decks = new CardDecks();
+        decks.setSeed(3L);
+        decks.fill(island);
+        decks.shuffle();
+        assertEquals(rebuild(decks).getHash(), decks.getHash());
+        List<Long> hashes = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            decks.drawFloodCard();
+            Card card = decks.drawTreasureCard();
+            if (card != null && i % 3 == 0) {
+                decks.discardTreasure(card);
+            }
+            if (i % 17 == 0) {
+                decks.waterRise();
+            }
+            assertEquals(rebuild(decks).getHash(), decks.getHash());
+            hashes.add(decks.getHash());
+        }
+        assertEquals(hashes.size(), hashes.stream().distinct().count());
+    }
+
+    /**
+     * Test that the hash depends on the order of the cards.
+     */
+    @Test
+    void testHashFollowsOrder() {
+        Island island = new Island();
+        GameRules.populateIsland(island, 3L);
+        CardDecks decks = new CardDecks();
+        decks.fill(island);
+        long before = decks.getHash();
+        CardPile floodDeck = decks.getFloodDeck();
+        floodDeck.add(floodDeck.draw());
+        assertNotEquals(before, decks.getHash());
+        for (int i = 1; i < floodDeck.size(); i++) {
+            floodDeck.add(floodDeck.draw());
+        }
+        assertEquals(before, decks.getHash());
+        floodDeck.putTop(floodDeck.draw());
+        assertEquals(before, decks.getHash());
+        decks.clear();
+        assertEquals(new CardDecks().getHash(), decks.getHash());
+    }
+
+    /**
+     * Test that copied decks hold the same cards and evolve independently.
+     */
+    @Test
+    void testCopyFrom() {
+        Island island = new Island();
+        GameRules.populateIsland(island, 3L);
+        CardDecks decks = new CardDecks();
+        decks.setSeed(3L);
+        decks.fill(island);
+        decks.shuffle();
+        decks.drawFloodCard();
+
+        CardDecks copy = new CardDecks();
+        copy.copyFrom(decks);
+        assertEquals(decks.getHash(), copy.getHash());
+        assertEquals(decks.getFloodDeck().toList(), copy.getFloodDeck().toList());
+        copy.drawTreasureCard();
+        assertNotEquals(decks.getHash(), copy.getHash());
+        assertEquals(decks.getTreasureDeck().size() - 1, copy.getTreasureDeck().size());
+    }
+
+    /**
+     * Test that determinizing keeps the flood cards put back by Waters Rise on top.
+     */
+    @Test
+    void testDeterminizeKeepsReturnedCardsOnTop() {
+        Island island = new Island();
+        GameRules.populateIsland(island, 3L);
+        CardDecks decks = new CardDecks();
+        decks.setSeed(3L);
+        decks.fill(island);
+        decks.shuffle();
+        for (int i = 0; i < 6; i++) {
+            decks.drawFloodCard();
+        }
+        decks.drawFloodCard();
+        List<Card> discarded = decks.getFloodDiscardPile().toList();
+        decks.waterRise();
+        decks.drawFloodCard();
+
+        decks.determinize(new SplittableRandom(2L));
+        List<Card> top = decks.getFloodDeck().toList().subList(0, discarded.size() - 1);
+        assertTrue(discarded.containsAll(top));
+        assertEquals(rebuild(decks).getHash(), decks.getHash());
+    }
+}
@@ -0,0 +1,100 @@
+package com.island.engine;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * EngineBenchmark plays games headless with players choosing uniformly among the legal actions,
+ * and reports how many games per second one thread plays, how they end, and how many states per
+ * second the legal-action generator lists.
+ * <p>
+ * Usage, from the test classpath: EngineBenchmark [games=20000] [players=4] [waterLevel=2]
+ */
+public class EngineBenchmark {
+    /** Names of the seats */
+    private static final List<String> NAMES = List.of("Alice", "Bob", "Carol", "Dave", "Erin", "Frank");
+
+    /**
+     * Plays one game to the end with random commands
+     * @param seed Seed of the game and of the players' choices
+     * @param players Number of players
+     * @param waterLevel Starting water level
+     * @return The finished engine
+     */
+    public static GameEngine playRandomGame(long seed, int players, int waterLevel) {
+        GameEngine engine = new GameEngine(NAMES.subList(0, players), seed, waterLevel);
+        Random random = new Random(seed);
+        ActionBuffer actions = new ActionBuffer();
+        while (!engine.isOver()) {
+            int count = engine.legalActions(actions);
+            engine.apply(actions.get(random.nextInt(count)));
+        }
+        return engine;
+    }
+
+    /**
+     * Times the legal-action generator on the states of random games
+     * @param games Number of games
+     * @param players Number of players
+     * @param waterLevel Starting water level
+     * @param repeats Number of generator calls per state
+     * @return Generator calls per second
+     */
+    private static double generationRate(int games, int players, int waterLevel, int repeats) {
+        ActionBuffer actions = new ActionBuffer();
+        long calls = 0;
+        long elapsed = 0;
+        for (int i = 0; i < games; i++) {
+            GameEngine engine = new GameEngine(NAMES.subList(0, players), i, waterLevel);
+            Random random = new Random(i);
+            while (!engine.isOver()) {
+                long start = System.nanoTime();
+                for (int r = 0; r < repeats; r++) {
+                    engine.legalActions(actions);
+                }
+                elapsed += System.nanoTime() - start;
+                calls += repeats;
+                engine.apply(actions.get(random.nextInt(actions.size())));
+            }
+        }
+        return calls / (elapsed / 1e9);
+    }
+
+    /**
+     * Runs the benchmark
+     * @param args Number of games, players and starting water level
+     */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int waterLevel = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+        // Warm up so the measurement excludes class loading and compilation
+        for (int i = 0; i < games / 10; i++) {
+            playRandomGame(-1 - i, players, waterLevel);
+        }
+
+        Map<LossCause, Integer> losses = new EnumMap<>(LossCause.class);
+        int wins = 0;
+        long turns = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < games; i++) {
+            GameEngine engine = playRandomGame(i, players, waterLevel);
+            turns += engine.getTurn();
+            if (engine.getPhase() == GameEngine.Phase.WON) {
+                wins++;
+            } else {
+                losses.merge(engine.getLossCause(), 1, Integer::sum);
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%d games in %.2fs: %.0f games/s, %.1f turns/game%n",
+                games, elapsed / 1e9, games / (elapsed / 1e9), (double) turns / games);
+        System.out.printf("won %d, lost %s%n", wins, losses);
+
+        generationRate(games / 100, players, waterLevel, 100);
+        System.out.printf("legal actions: %.2f million states/s%n",
+                generationRate(games / 20, players, waterLevel, 100) / 1e6);
+    }
+}
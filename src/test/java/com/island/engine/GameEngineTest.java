@@ -0,0 +1,320 @@
+package com.island.engine;
+
+import com.island.models.adventurers.Player;
+import com.island.models.island.Island;
+import com.island.models.island.Position;
+import com.island.models.island.Tile;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for GameEngine.
+ */
+public class GameEngineTest {
+    private static final List<String> NAMES = List.of("Alice", "Bob", "Carol", "Dave");
+
+    /**
+     * Test that the setup follows the rules used by the controllers.
+     */
+    @Test
+    void testSetupMatchesRules() {
+        GameEngine engine = new GameEngine(NAMES, 42L, 2);
+        Island island = new Island();
+        GameRules.populateIsland(island, 42L);
+        for (Tile tile : island.getTiles().values()) {
+            assertEquals(tile.getName(), engine.getIsland().getTile(tile.getPosition()).getName());
+        }
+        List<Player> players = engine.getPlayers();
+        for (int i = 0; i < players.size(); i++) {
+            assertEquals(GameRules.shuffledRoles(42L).get(i), players.get(i).getRole());
+            assertEquals(GameRules.startPosition(island, players.get(i).getRole()), players.get(i).getPosition());
+            assertEquals(GameRules.INITIAL_HAND_SIZE, players.get(i).getCards().size());
+        }
+        assertEquals(GameRules.INITIAL_FLOOD_CARDS, engine.getDecks().getFloodDiscardPile().size());
+        assertEquals("Alice", engine.getCurrentPlayer().getName());
+        assertEquals(GameRules.ACTIONS_PER_TURN, engine.getRemainingActions());
+    }
+
+    /**
+     * Test that the same seed and commands give the same game.
+     */
+    @Test
+    void testDeterministic() {
+        GameEngine first = EngineBenchmark.playRandomGame(7L, 4, 2);
+        GameEngine second = EngineBenchmark.playRandomGame(7L, 4, 2);
+        assertEquals(first.getTurn(), second.getTurn());
+        assertEquals(first.getPhase(), second.getPhase());
+        assertEquals(first.getLossCause(), second.getLossCause());
+        assertEquals(first.getWaterLevel(), second.getWaterLevel());
+    }
+
+    /**
+     * Test that only the current player may act.
+     */
+    @Test
+    void testRejectsOtherPlayer() {
+        GameEngine engine = new GameEngine(NAMES, 1L, 2);
+        assertFalse(engine.apply(new GameCommand.EndTurn("Bob")));
+        assertFalse(engine.apply(new GameCommand.EndTurn("Nobody")));
+        assertEquals("Alice", engine.getCurrentPlayer().getName());
+    }
+
+    /**
+     * Test that illegal moves are rejected without changing the state.
+     */
+    @Test
+    void testRejectsIllegalMove() {
+        GameEngine engine = new GameEngine(NAMES, 1L, 2);
+        Player alice = engine.getCurrentPlayer();
+        Position start = alice.getPosition();
+        assertFalse(engine.apply(new GameCommand.Move("Alice", new Position(0, 0))));
+        assertEquals(start, alice.getPosition());
+        assertEquals(GameRules.ACTIONS_PER_TURN, engine.getRemainingActions());
+    }
+
+    /**
+     * Test that every listed command is accepted.
+     */
+    @Test
+    void testLegalCommandsApply() {
+        GameEngine engine = new GameEngine(NAMES, 3L, 2);
+        for (GameCommand command : engine.legalCommands()) {
+            GameEngine copy = new GameEngine(NAMES, 3L, 2);
+            assertTrue(copy.apply(command), command.toString());
+        }
+    }
+
+    /**
+     * Test that the packed actions unpack to the legal commands and apply.
+     */
+    @Test
+    void testLegalActions() {
+        GameEngine engine = new GameEngine(NAMES, 3L, 2);
+        ActionBuffer buffer = new ActionBuffer(1);
+        int count = engine.legalActions(buffer);
+        List<GameCommand> commands = engine.legalCommands();
+        assertEquals(commands.size(), count);
+        for (int i = 0; i < count; i++) {
+            assertEquals(commands.get(i), engine.toCommand(buffer.get(i)));
+        }
+        assertTrue(engine.apply(buffer.get(0)));
+        assertEquals(engine.legalCommands().size(), engine.legalActions(buffer));
+    }
+
+    /**
+     * Test the packing of an action.
+     */
+    @Test
+    void testActionPacking() {
+        int action = Action.of(Action.PLAY_HELICOPTER, 5, 35, 3, 27, Action.FLY_GROUP);
+        assertEquals(Action.PLAY_HELICOPTER, Action.kind(action));
+        assertEquals(5, Action.seat(action));
+        assertEquals(35, Action.cell(action));
+        assertEquals(3, Action.other(action));
+        assertEquals(27, Action.card(action));
+        assertEquals(Action.FLY_GROUP, Action.flight(action));
+    }
+
+    /**
+     * Test that a move uses an action and is reported.
+     */
+    @Test
+    void testMoveEmitsEvent() {
+        GameEngine engine = new GameEngine(NAMES, 5L, 2);
+        List<GameEvent> events = new ArrayList<>();
+        engine.addListener(events::add);
+        GameCommand move = engine.legalCommands().stream()
+                .filter(command -> command instanceof GameCommand.Move)
+                .findFirst().orElseThrow();
+        assertTrue(engine.apply(move));
+        assertEquals(GameRules.ACTIONS_PER_TURN - 1, engine.getRemainingActions());
+        assertInstanceOf(GameEvent.PlayerMoved.class, events.getFirst());
+    }
+
+    /**
+     * Test that ending a turn draws cards and passes to the next seat.
+     */
+    @Test
+    void testEndTurn() {
+        GameEngine engine = new GameEngine(NAMES, 9L, 2);
+        List<GameEvent> events = new ArrayList<>();
+        engine.addListener(events::add);
+        assertTrue(engine.apply(new GameCommand.EndTurn("Alice")));
+        if (!engine.isOver() && engine.getPhase() == GameEngine.Phase.ACTIONS) {
+            assertEquals("Bob", engine.getCurrentPlayer().getName());
+            assertEquals(2, engine.getTurn());
+        }
+        assertTrue(events.stream().anyMatch(event -> event instanceof GameEvent.TileChanged));
+    }
+
+    /**
+     * Test that a hand over the limit holds the game until its holder discards, and that
+     * discards are listed only then.
+     */
+    @Test
+    void testHandLimit() {
+        int discards = 0;
+        for (long seed = 0; seed < 50; seed++) {
+            GameEngine engine = new GameEngine(NAMES.subList(0, 2 + (int) (seed % 3)), seed, 1);
+            SplittableRandom random = new SplittableRandom(seed);
+            ActionBuffer actions = new ActionBuffer();
+            while (!engine.isOver()) {
+                engine.legalActions(actions);
+                boolean discarding = engine.getPhase() == GameEngine.Phase.DISCARD;
+                for (int i = 0; i < actions.size(); i++) {
+                    assertEquals(discarding, Action.kind(actions.get(i)) == Action.DISCARD);
+                }
+                if (discarding) {
+                    discards++;
+                    Player holder = engine.getPlayers().get(Action.seat(actions.get(0)));
+                    assertTrue(holder.getCards().size() > GameRules.HAND_LIMIT);
+                    assertFalse(engine.apply(new GameCommand.EndTurn(engine.getCurrentPlayer().getName())));
+                } else {
+                    for (Player player : engine.getPlayers()) {
+                        assertTrue(player.getCards().size() <= GameRules.HAND_LIMIT);
+                    }
+                }
+                assertTrue(engine.apply(actions.get(random.nextInt(actions.size()))));
+            }
+        }
+        assertTrue(discards > 0);
+    }
+
+    /**
+     * Test that random games always end.
+     */
+    @Test
+    void testRandomGamesEnd() {
+        for (long seed = 0; seed < 200; seed++) {
+            GameEngine engine = EngineBenchmark.playRandomGame(seed, 2 + (int) (seed % 3), 1 + (int) (seed % 4));
+            assertTrue(engine.isOver());
+            assertTrue(engine.getPhase() == GameEngine.Phase.WON || engine.getLossCause() != null);
+            assertFalse(engine.apply(new GameCommand.EndTurn(engine.getCurrentPlayer().getName())));
+        }
+    }
+
+    /**
+     * Test the number of players is checked.
+     */
+    @Test
+    void testInvalidPlayerCount() {
+        assertThrows(IllegalArgumentException.class, () -> new GameEngine(List.of(), 1L, 2));
+    }
+
+    /**
+     * Test that every applied action changes the hash and that a replay hashes alike.
+     */
+    @Test
+    void testHashFollowsGame() {
+        for (long seed = 0; seed < 20; seed++) {
+            GameEngine engine = new GameEngine(NAMES.subList(0, 2 + (int) (seed % 3)), seed, 2);
+            SplittableRandom random = new SplittableRandom(seed);
+            ActionBuffer actions = new ActionBuffer();
+            while (!engine.isOver()) {
+                long before = engine.hash();
+                engine.legalActions(actions);
+                engine.apply(actions.get(random.nextInt(actions.size())));
+                assertNotEquals(before, engine.hash());
+            }
+            assertEquals(engine.hash(), engine.copy().hash());
+        }
+    }
+
+    /**
+     * Test that shoring up two tiles in either order gives the same hash.
+     */
+    @Test
+    void testHashIgnoresOrder() {
+        int checked = 0;
+        ActionBuffer actions = new ActionBuffer();
+        for (long seed = 0; seed < 20; seed++) {
+            GameEngine engine = new GameEngine(NAMES, seed, 2);
+            SplittableRandom random = new SplittableRandom(seed);
+            while (!engine.isOver()) {
+                engine.legalActions(actions);
+                List<GameCommand> shoreUps = new ArrayList<>();
+                for (int i = 0; i < actions.size(); i++) {
+                    if (Action.kind(actions.get(i)) == Action.SHORE_UP) {
+                        shoreUps.add(engine.toCommand(actions.get(i)));
+                    }
+                }
+                if (shoreUps.size() >= 2 && engine.getRemainingActions() >= 2) {
+                    GameEngine first = engine.copy();
+                    GameEngine second = engine.copy();
+                    assertTrue(first.apply(shoreUps.get(0)) && first.apply(shoreUps.get(1)));
+                    assertTrue(second.apply(shoreUps.get(1)) && second.apply(shoreUps.get(0)));
+                    assertEquals(first.hash(), second.hash());
+                    assertNotEquals(engine.hash(), first.hash());
+                    checked++;
+                }
+                engine.apply(actions.get(random.nextInt(actions.size())));
+            }
+        }
+        assertTrue(checked > 0);
+    }
+
+    /**
+     * Test that a copy plays on exactly like a game rebuilt from the seed and the history,
+     * without changing the original.
+     */
+    @Test
+    void testCopyMatchesReplay() {
+        ActionBuffer actions = new ActionBuffer();
+        for (long seed = 0; seed < 20; seed++) {
+            GameEngine engine = new GameEngine(NAMES.subList(0, 2 + (int) (seed % 3)), seed, 2);
+            SplittableRandom random = new SplittableRandom(seed);
+            for (int step = 0; !engine.isOver(); step++) {
+                if (step % 25 == 0) {
+                    GameEngine copy = engine.copy();
+                    GameEngine replay = new GameEngine(engine.getPlayerNames(), seed, 2);
+                    engine.getHistory().forEach(replay::apply);
+                    long before = engine.hash();
+                    SplittableRandom branch = new SplittableRandom(seed * 31 + step);
+                    while (!copy.isOver()) {
+                        assertEquals(replay.hash(), copy.hash());
+                        assertEquals(replay.legalCommands(), copy.legalCommands());
+                        copy.legalActions(actions);
+                        int action = actions.get(branch.nextInt(actions.size()));
+                        assertEquals(replay.apply(action), copy.apply(action));
+                    }
+                    assertEquals(replay.getPhase(), copy.getPhase());
+                    assertEquals(before, engine.hash());
+                }
+                engine.legalActions(actions);
+                engine.apply(actions.get(random.nextInt(actions.size())));
+            }
+        }
+    }
+
+    /**
+     * Test that determinizing a copy reorders the unseen cards only.
+     */
+    @Test
+    void testDeterminize() {
+        GameEngine engine = new GameEngine(NAMES, 5L, 2);
+        GameEngine copy = engine.copy();
+        copy.determinize(new SplittableRandom(1L));
+
+        CardDecks decks = engine.getDecks();
+        CardDecks shuffled = copy.getDecks();
+        assertNotEquals(decks.getTreasureDeck().toList(), shuffled.getTreasureDeck().toList());
+        assertEquals(sorted(decks.getTreasureDeck()), sorted(shuffled.getTreasureDeck()));
+        assertEquals(sorted(decks.getFloodDeck()), sorted(shuffled.getFloodDeck()));
+        assertEquals(decks.getFloodDiscardPile().toList(), shuffled.getFloodDiscardPile().toList());
+        assertNotEquals(engine.hash(), copy.hash());
+    }
+
+    /**
+     * Gets the names of the cards of a pile in alphabetical order
+     * @param pile The pile
+     * @return The sorted names
+     */
+    private static List<String> sorted(CardPile pile) {
+        return pile.stream().map(card -> card.getName()).sorted().toList();
+    }
+}
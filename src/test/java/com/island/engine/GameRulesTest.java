@@ -0,0 +1,125 @@
+package com.island.engine;
+
+import com.island.models.adventurers.Diver;
+import com.island.models.adventurers.Engineer;
+import com.island.models.adventurers.Player;
+import com.island.models.adventurers.PlayerRole;
+import com.island.models.island.Island;
+import com.island.models.island.Position;
+import com.island.models.island.Tile;
+import com.island.models.treasure.TreasureType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for GameRules.
+ */
+public class GameRulesTest {
+
+    /**
+     * Test that the island has the diamond layout.
+     */
+    @Test
+    void testPopulateIsland() {
+        Island island = new Island();
+        GameRules.populateIsland(island, 1L);
+        assertEquals(24, island.getTiles().size());
+        assertNull(island.getTile(new Position(0, 0)));
+        assertNotNull(island.getTile(new Position(2, 0)));
+        assertNotNull(island.getTile(new Position(0, 2)));
+        assertNotNull(GameRules.startPosition(island, PlayerRole.PILOT));
+    }
+
+    /**
+     * Test the flood cards drawn per water level.
+     */
+    @Test
+    void testFloodCardsToDraw() {
+        assertEquals(2, GameRules.floodCardsToDraw(1));
+        assertEquals(3, GameRules.floodCardsToDraw(3));
+        assertEquals(4, GameRules.floodCardsToDraw(7));
+        assertEquals(5, GameRules.floodCardsToDraw(9));
+    }
+
+    /**
+     * Test that the Engineer shores up two tiles for one action.
+     */
+    @Test
+    void testCompleteShoreUp() {
+        Engineer engineer = new Engineer("e");
+        assertFalse(GameRules.completeShoreUp(engineer, true));
+        assertTrue(GameRules.completeShoreUp(engineer, true));
+        assertTrue(GameRules.completeShoreUp(new Player("p"), true));
+    }
+
+    /**
+     * Test the loss checks of the island.
+     */
+    @Test
+    void testCheckIsland() {
+        Island island = new Island();
+        GameRules.populateIsland(island, 1L);
+        assertNull(GameRules.checkIsland(island, List.of(TreasureType.values())));
+        for (Tile tile : island.getTiles().values()) {
+            if (tile.getTreasureType() == TreasureType.FIRE_CRYSTAL) {
+                tile.flood();
+                tile.flood();
+            }
+        }
+        assertEquals(LossCause.TREASURE_SUNK, GameRules.checkIsland(island, List.of(TreasureType.FIRE_CRYSTAL)));
+        assertNull(GameRules.checkIsland(island, List.of(TreasureType.EARTH_STONE)));
+        Tile landing = island.getTile(island.findTile(GameRules.FOOLS_LANDING));
+        landing.flood();
+        landing.flood();
+        assertEquals(LossCause.FOOLS_LANDING_SUNK, GameRules.checkIsland(island, List.of()));
+    }
+
+    /**
+     * Test the win condition.
+     */
+    @Test
+    void testIsWon() {
+        Island island = new Island();
+        GameRules.populateIsland(island, 1L);
+        Player player = new Player("p");
+        player.setPosition(island.findTile(GameRules.FOOLS_LANDING));
+        assertTrue(GameRules.isWon(island, List.of(player), true));
+        assertFalse(GameRules.isWon(island, List.of(player), false));
+        player.setPosition(island.findTile(PlayerRole.getColor(PlayerRole.DIVER)));
+        assertFalse(GameRules.isWon(island, List.of(player), true));
+    }
+
+    /**
+     * Test that a Diver swims to the nearest tiles only.
+     */
+    @Test
+    void testRescuePositionsDiver() {
+        Island island = new Island();
+        GameRules.populateIsland(island, 1L);
+        Diver diver = new Diver("d");
+        Position position = new Position(2, 2);
+        diver.setPosition(position);
+        island.getTile(position).flood();
+        island.getTile(position).flood();
+        for (Position rescue : GameRules.rescuePositions(diver, island)) {
+            assertEquals(1, Math.abs(rescue.getX() - 2) + Math.abs(rescue.getY() - 2));
+        }
+    }
+
+    /**
+     * Test the Navigator move distance.
+     */
+    @Test
+    void testIsValidNavigatorMove() {
+        Island island = new Island();
+        GameRules.populateIsland(island, 1L);
+        Position from = new Position(2, 2);
+        assertTrue(GameRules.isValidNavigatorMove(from, new Position(2, 3), 1, island));
+        assertTrue(GameRules.isValidNavigatorMove(from, new Position(3, 3), 2, island));
+        assertFalse(GameRules.isValidNavigatorMove(from, new Position(3, 3), 1, island));
+        assertFalse(GameRules.isValidNavigatorMove(from, new Position(5, 2), 3, island));
+    }
+}
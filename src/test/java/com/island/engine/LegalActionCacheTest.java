@@ -0,0 +1,75 @@
+package com.island.engine;
+
+import com.island.models.adventurers.Player;
+import com.island.models.card.Card;
+import com.island.models.island.Island;
+import com.island.models.island.Position;
+import com.island.models.treasure.TreasureType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for LegalActionCache.
+ */
+public class LegalActionCacheTest {
+    private Island island;
+    private Player alice;
+    private Player bob;
+    private List<Player> players;
+    private LegalActionCache cache;
+
+    @BeforeEach
+    void setUp() {
+        island = new Island();
+        GameRules.populateIsland(island, 1L);
+        alice = new Player("Alice");
+        bob = new Player("Bob");
+        alice.setPosition(Position.of(2, 2));
+        bob.setPosition(Position.of(3, 3));
+        players = List.of(alice, bob);
+        cache = new LegalActionCache();
+    }
+
+    /**
+     * Test that repeated queries return the cached result while nothing changes.
+     */
+    @Test
+    void testCachedUntilChange() {
+        List<Position> moves = cache.getMovePositions(alice, island, players);
+        assertSame(moves, cache.getMovePositions(alice, island, players));
+        assertEquals(alice.getMovePositions(island.getTiles()), moves);
+        assertThrows(UnsupportedOperationException.class, () -> moves.add(Position.of(0, 0)));
+    }
+
+    /**
+     * Test that flooding a tile invalidates the shore-up options.
+     */
+    @Test
+    void testTileChangeInvalidates() {
+        assertFalse(cache.canShoreUp(alice, island, players));
+        long version = island.getVersion();
+        island.getTile(Position.of(2, 3)).flood();
+        assertTrue(island.getVersion() > version);
+        assertTrue(cache.canShoreUp(alice, island, players));
+        assertEquals(List.of(Position.of(2, 3)), cache.getShorePositions(alice, island, players));
+    }
+
+    /**
+     * Test that moves and card changes of any player invalidate the options.
+     */
+    @Test
+    void testPlayerChangeInvalidates() {
+        alice.addCard(Card.createTreasureCard(TreasureType.EARTH_STONE, ""));
+        assertFalse(cache.canGiveCard(alice, island, players));
+        assertTrue(cache.getGiveCardPlayers(alice, island, players).isEmpty());
+        bob.setPosition(Position.of(2, 2));
+        assertTrue(cache.canGiveCard(alice, island, players));
+        assertEquals(List.of(bob), cache.getGiveCardPlayers(alice, island, players));
+        alice.removeCard(0);
+        assertFalse(cache.canGiveCard(alice, island, players));
+    }
+}
@@ -0,0 +1,68 @@
+package com.island.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for MctsSearch.
+ */
+public class MctsSearchTest {
+    private static final List<String> NAMES = List.of("Alice", "Bob", "Carol");
+
+    private final MctsSearch search = new MctsSearch(ForkJoinPool.commonPool(), 2, PlayoutPolicy.HEURISTIC);
+
+    /**
+     * Test that the chosen action is a legal action of the searching player.
+     */
+    @Test
+    void testChoosesOwnLegalAction() {
+        GameEngine engine = new GameEngine(NAMES, 3L, 2);
+        ActionBuffer actions = new ActionBuffer();
+        MctsSearch.rootActions(engine, 0, actions);
+        int action = search.choose(engine, 0, 10_000, 50, 1L);
+        boolean listed = false;
+        for (int i = 0; i < actions.size(); i++) {
+            listed |= actions.get(i) == action;
+        }
+        assertTrue(listed);
+        assertEquals(0, Action.seat(action));
+        assertTrue(engine.getHistory().isEmpty());
+    }
+
+    /**
+     * Test that a search limited by iterations depends on its seed only.
+     */
+    @Test
+    void testDeterministic() {
+        GameEngine engine = new GameEngine(NAMES, 3L, 2);
+        MctsSearch single = new MctsSearch(ForkJoinPool.commonPool(), 1, PlayoutPolicy.HEURISTIC);
+        assertEquals(single.choose(engine, 0, 10_000, 100, 7L), single.choose(engine, 0, 10_000, 100, 7L));
+    }
+
+    /**
+     * Test that there is nothing to choose once the game is over.
+     */
+    @Test
+    void testGameOver() {
+        GameEngine engine = new GameEngine(NAMES, 3L, 2);
+        MonteCarloEstimator.playout(engine, PlayoutPolicy.RANDOM, new SplittableRandom(1L), new ActionBuffer());
+        assertEquals(-1, search.choose(engine, 0, 10));
+    }
+
+    /**
+     * Test that only a win earns the full reward.
+     */
+    @Test
+    void testReward() {
+        GameEngine engine = new GameEngine(NAMES, 3L, 2);
+        MonteCarloEstimator.playout(engine, PlayoutPolicy.RANDOM, new SplittableRandom(1L), new ActionBuffer());
+        double reward = MctsSearch.reward(engine, 1);
+        assertEquals(engine.getPhase() == GameEngine.Phase.WON, reward == 1);
+        assertTrue(reward >= 0 && reward <= 1);
+    }
+}
@@ -0,0 +1,74 @@
+package com.island.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for MonteCarloEstimator.
+ */
+public class MonteCarloEstimatorTest {
+    private static final List<String> NAMES = List.of("Alice", "Bob", "Carol");
+
+    /**
+     * Test that every playout ends in a win or a counted loss.
+     */
+    @Test
+    void testCountsAddUp() {
+        MonteCarloEstimator.Estimate estimate = new MonteCarloEstimator()
+                .estimate(NAMES, 3L, 2, 100, PlayoutPolicy.HEURISTIC, 1L);
+        int losses = estimate.losses().values().stream().mapToInt(Integer::intValue).sum();
+        assertEquals(100, estimate.playouts());
+        assertEquals(100, estimate.wins() + losses);
+        assertTrue(estimate.meanTurns() > 0);
+        assertTrue(estimate.lowerBound() <= estimate.winRate());
+        assertTrue(estimate.winRate() <= estimate.upperBound());
+    }
+
+    /**
+     * Test that the estimate depends on the seed and not on the number of threads.
+     */
+    @Test
+    void testDeterministic() {
+        MonteCarloEstimator.Estimate single = new MonteCarloEstimator(new ForkJoinPool(1))
+                .estimate(NAMES, 3L, 2, 200, PlayoutPolicy.RANDOM, 9L);
+        MonteCarloEstimator.Estimate parallel = new MonteCarloEstimator(new ForkJoinPool(4))
+                .estimate(NAMES, 3L, 2, 200, PlayoutPolicy.RANDOM, 9L);
+        assertEquals(single, parallel);
+    }
+
+    /**
+     * Test that estimating a game in progress leaves it unchanged.
+     */
+    @Test
+    void testLeavesGameUnchanged() {
+        GameEngine engine = new GameEngine(NAMES, 3L, 2);
+        ActionBuffer actions = new ActionBuffer();
+        SplittableRandom random = new SplittableRandom(1L);
+        for (int i = 0; i < 10 && !engine.isOver(); i++) {
+            engine.legalActions(actions);
+            engine.apply(actions.get(random.nextInt(actions.size())));
+        }
+        List<GameCommand> history = List.copyOf(engine.getHistory());
+        new MonteCarloEstimator().estimate(engine, 50, PlayoutPolicy.HEURISTIC, 1L);
+        assertEquals(history, engine.getHistory());
+        assertEquals(engine.legalCommands(), engine.copy().legalCommands());
+    }
+
+    /**
+     * Test the Wilson interval at the edges.
+     */
+    @Test
+    void testInterval() {
+        MonteCarloEstimator.Estimate none = new MonteCarloEstimator.Estimate(100, 0, Map.of(), 0);
+        assertEquals(0, none.lowerBound(), 1e-9);
+        assertTrue(none.upperBound() > 0 && none.upperBound() < 0.05);
+        MonteCarloEstimator.Estimate half = new MonteCarloEstimator.Estimate(100, 50, Map.of(), 0);
+        assertEquals(0.5 - half.lowerBound(), half.upperBound() - 0.5, 1e-9);
+    }
+}
@@ -119,4 +119,42 @@ class RoomTest {
         assertEquals(player2, room.getPlayerByUsername("Player2"));
         assertNull(room.getPlayerByUsername("NonExistentPlayer"));
     }
+
+    /**
+     * Tests that removing an earlier player keeps the current program player.
+     * Verifies that the index of the local player follows the removal.
+     */
+    @Test
+    void testRemovePlayerKeepsCurrentProgramPlayer() {
+        ArrayList<Player> players = new ArrayList<>();
+        players.add(player2);
+        players.add(player1);
+        room.setPlayers(players);
+        assertEquals(player1, room.getCurrentProgramPlayer());
+
+        room.removePlayer(player2);
+
+        assertEquals(player1, room.getCurrentProgramPlayer());
+    }
+
+    /**
+     * Tests host election after the host leaves.
+     * Verifies that:
+     * 1. The first remaining player becomes the host
+     * 2. An empty room has no host
+     */
+    @Test
+    void testElectHost() {
+        ArrayList<Player> players = new ArrayList<>();
+        players.add(player2);
+        players.add(player1);
+        room.setPlayers(players);
+
+        room.removePlayer(player2);
+        assertEquals(player1, room.electHost());
+        assertTrue(room.isHost("Player1"));
+
+        room.removePlayer(player1);
+        assertNull(room.electHost());
+    }
 } 
\ No newline at end of file
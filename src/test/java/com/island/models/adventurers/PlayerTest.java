@@ -80,19 +80,19 @@ class PlayerTest {
 
     /**
      * Tests adding a card to a player's hand.
-     * Verifies that the card is correctly added and associated with the player.
+     * Verifies that the card is correctly added and left untouched, as cards are shared by game copies.
      */
     @Test
     void testAddCard() {
         player.addCard(card1);
         assertEquals(1, player.getCards().size());
         assertEquals(card1, player.getCards().get(0));
-        assertEquals("TestPlayer", card1.getBelongingPlayer());
+        assertNull(card1.getBelongingPlayer());
     }
 
     /**
      * Tests removing a card from a player's hand by name.
-     * Verifies that the correct card is removed and its ownership is cleared.
+     * Verifies that the correct card is removed from the hand that owned it.
      */
     @Test
     void testRemoveCardByName() {
@@ -101,12 +101,12 @@ class PlayerTest {
         Card removed = player.removeCard("Helicopter");
         assertEquals(card1, removed);
         assertEquals(1, player.getCards().size());
-        assertEquals("", card1.getBelongingPlayer());
+        assertFalse(player.getCards().contains(card1));
     }
 
     /**
      * Tests removing a card from a player's hand by index.
-     * Verifies that the correct card is removed and its ownership is cleared.
+     * Verifies that the correct card is removed from the hand that owned it.
      */
     @Test
     void testRemoveCardByIndex() {
@@ -115,7 +115,7 @@ class PlayerTest {
         Card removed = player.removeCard(0);
         assertEquals(card1, removed);
         assertEquals(1, player.getCards().size());
-        assertEquals("", card1.getBelongingPlayer());
+        assertNull(card1.getBelongingPlayer());
     }
 
     /**
@@ -294,4 +294,32 @@ class PlayerTest {
         List<Player> eligiblePlayers = player.getGiveCardPlayers(players);
         assertTrue(eligiblePlayers.isEmpty());
     }
+
+    /**
+     * Tests that the hash follows the position and the multiset of cards.
+     * Verifies that card order does not matter but the number of copies does.
+     */
+    @Test
+    void testHash() {
+        long initial = player.getHash();
+        player.addCard(card1);
+        player.addCard(card2);
+        Player other = new Player("TestPlayer");
+        other.addCard(Card.createSpecialCard(CardType.SANDBAGS));
+        other.addCard(Card.createSpecialCard(CardType.HELICOPTER));
+        other.setPosition(Position.of(2, 2));
+        assertEquals(player.getHash(), other.getHash());
+
+        long pair = player.getHash();
+        player.addCard(Card.createSpecialCard(CardType.HELICOPTER));
+        assertNotEquals(pair, player.getHash());
+        player.removeCard("Helicopter");
+        assertEquals(pair, player.getHash());
+        player.removeCard(1);
+        player.removeCard(0);
+        assertEquals(initial, player.getHash());
+
+        player.setPosition(new Position(2, 3));
+        assertNotEquals(initial, player.getHash());
+    }
 } 
\ No newline at end of file
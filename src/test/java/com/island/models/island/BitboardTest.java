@@ -0,0 +1,125 @@
+package com.island.models.island;
+
+import com.island.models.adventurers.Diver;
+import com.island.models.adventurers.Explorer;
+import com.island.models.adventurers.Player;
+import com.island.models.treasure.TreasureType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the Bitboard masks and the mask queries of the players.
+ */
+class BitboardTest {
+    private Island island;
+
+    /**
+     * Sets up a full 6x6 island of normal tiles.
+     */
+    @BeforeEach
+    void setUp() {
+        island = new Island();
+        for (int x = 0; x < Island.SIZE; x++) {
+            for (int y = 0; y < Island.SIZE; y++) {
+                island.placeTile(new Tile("Tile" + x + y, new Position(x, y), TreasureType.NONE));
+            }
+        }
+    }
+
+    /**
+     * Tests the neighbour masks in the middle and at the edges of the board.
+     * Verifies that no neighbour wraps around to the other side.
+     */
+    @Test
+    void testNeighbourMasks() {
+        assertEquals(4, Bitboard.count(Bitboard.orthogonal(Island.cellOf(2, 2))));
+        assertEquals(4, Bitboard.count(Bitboard.diagonal(Island.cellOf(2, 2))));
+        assertEquals(2, Bitboard.count(Bitboard.orthogonal(Island.cellOf(0, 0))));
+        assertEquals(1, Bitboard.count(Bitboard.diagonal(Island.cellOf(5, 5))));
+        long right = Bitboard.orthogonal(Island.cellOf(5, 2));
+        assertFalse(Bitboard.contains(right, Island.cellOf(0, 3)));
+        assertEquals(Bitboard.orthogonal(Island.cellOf(3, 3)), Bitboard.spread(Bitboard.bit(new Position(3, 3))));
+        assertEquals(0, Bitboard.around(new Position(7, 0), true));
+    }
+
+    /**
+     * Tests that the state masks follow the tiles.
+     */
+    @Test
+    void testStateMasks() {
+        Tile tile = island.getTile(new Position(1, 1));
+        tile.flood();
+        assertEquals(Bitboard.bit(new Position(1, 1)), island.getFloodedMask());
+        tile.flood();
+        assertEquals(0, island.getFloodedMask());
+        assertEquals(Bitboard.bit(new Position(1, 1)), island.getSunkMask());
+        assertEquals(Island.CELLS - 1, Bitboard.count(island.getStandableMask()));
+    }
+
+    /**
+     * Tests that the masks and the position lists agree.
+     * Verifies the move and shore-up queries of a player and an Explorer against a map copy.
+     */
+    @Test
+    void testMasksMatchPositions() {
+        island.getTile(new Position(2, 1)).flood();
+        island.getTile(new Position(3, 3)).flood();
+        island.getTile(new Position(3, 3)).flood();
+        for (Player player : List.of(new Player("p"), new Explorer("e"))) {
+            player.setPosition(new Position(2, 2));
+            HashMap<Position, Tile> copy = new HashMap<>(island.getTiles());
+            assertEquals(new HashSet<>(player.getMovePositions(copy)),
+                    new HashSet<>(Bitboard.toPositions(player.getMoveMask(island))));
+            assertEquals(new HashSet<>(player.getShorePositions(copy)),
+                    new HashSet<>(Bitboard.toPositions(player.getShoreMask(island))));
+        }
+    }
+
+    /**
+     * Tests the Diver's mask through a channel of flooded and sunk tiles.
+     */
+    @Test
+    void testDiverMask() {
+        island.getTile(new Position(2, 1)).flood();
+        island.getTile(new Position(2, 0)).flood();
+        island.getTile(new Position(2, 0)).flood();
+        Diver diver = new Diver("d");
+        diver.setPosition(new Position(2, 2));
+        long mask = diver.getMoveMask(island);
+        assertTrue(Bitboard.contains(mask, Island.cellOf(1, 0)));
+        assertTrue(Bitboard.contains(mask, Island.cellOf(3, 1)));
+        assertFalse(Bitboard.contains(mask, Island.cellOf(2, 0)));
+        assertFalse(Bitboard.contains(mask, Island.cellOf(2, 2)));
+        assertEquals(new HashSet<>(diver.getMovePositions(new HashMap<>(island.getTiles()))),
+                new HashSet<>(Bitboard.toPositions(mask)));
+    }
+
+    /**
+     * Tests the reachability search through a set of cells.
+     * Verifies that the region stops at cells outside the set and that the search works on
+     * cells chosen by a tile predicate.
+     */
+    @Test
+    void testReachable() {
+        long start = Bitboard.bit(new Position(0, 0));
+        long row = 0;
+        for (int x = 1; x < 4; x++) {
+            row |= Bitboard.bit(new Position(x, 0));
+        }
+        assertEquals(start | row, Bitboard.reachable(start, row | Bitboard.bit(new Position(5, 0))));
+        assertEquals(start, Bitboard.reachable(start, Bitboard.bit(new Position(1, 1))));
+
+        island.getTile(new Position(0, 1)).flood();
+        island.getTile(new Position(0, 2)).flood();
+        long flooded = island.cellsMatching(Tile::isFlooded);
+        assertEquals(island.getFloodedMask(), flooded);
+        assertEquals(flooded, Bitboard.cellsMatching(new HashMap<>(island.getTiles()), Tile::isFlooded));
+        assertEquals(3, Bitboard.count(Bitboard.reachable(start, flooded)));
+    }
+}
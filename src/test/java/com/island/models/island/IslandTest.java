@@ -123,4 +123,76 @@ class IslandTest {
         island.floodTile(pos1);
         assertEquals(Tile.TileState.SUNK, tile1.getState());
     }
+
+    /**
+     * Tests that the cell states follow the tiles.
+     * Verifies that flooding and shoring up a tile update the state of its cell.
+     */
+    @Test
+    void testCellStateFollowsTile() {
+        int cell = Island.cellOf(pos1);
+        assertEquals(Island.NORMAL, island.getState(cell));
+        tile1.flood();
+        assertTrue(island.isFlooded(cell));
+        tile1.shoreUp();
+        assertEquals(Island.NORMAL, island.getState(cell));
+        tile1.flood();
+        tile1.flood();
+        assertEquals(Island.SUNK, island.getState(cell));
+        assertFalse(island.isStandable(cell));
+    }
+
+    /**
+     * Tests removing a tile through the map view.
+     * Verifies that the cell is emptied and the tile no longer updates it.
+     */
+    @Test
+    void testRemoveTile() {
+        int cell = Island.cellOf(pos2);
+        assertEquals(tile2, island.getTiles().remove(pos2));
+        assertEquals(Island.ABSENT, island.getState(cell));
+        assertEquals(1, island.getTiles().size());
+        tile2.flood();
+        assertEquals(Island.ABSENT, island.getState(cell));
+    }
+
+    /**
+     * Tests that positions off the board are rejected.
+     */
+    @Test
+    void testPutOffBoard() {
+        Position offBoard = new Position(6, 0);
+        assertThrows(IllegalArgumentException.class,
+                () -> island.getTiles().put(offBoard, new Tile("Tile3", offBoard, null)));
+        assertNull(island.getTile(offBoard));
+    }
+
+    /**
+     * Tests that the hash follows the tiles.
+     * Verifies that it returns to its value when a tile returns to its state and does not depend
+     * on the order the tiles were placed in.
+     */
+    @Test
+    void testHash() {
+        long initial = island.getHash();
+        tile1.flood();
+        long flooded = island.getHash();
+        assertNotEquals(initial, flooded);
+        tile1.shoreUp();
+        assertEquals(initial, island.getHash());
+        tile1.flood();
+        tile1.flood();
+        assertNotEquals(flooded, island.getHash());
+
+        Island other = new Island();
+        Tile copy1 = new Tile("Tile1", pos1, TreasureType.FIRE_CRYSTAL);
+        copy1.flood();
+        copy1.flood();
+        other.placeTile(new Tile("Tile2", pos2, TreasureType.OCEAN_CHALICE));
+        other.placeTile(copy1);
+        assertEquals(island.getHash(), other.getHash());
+        other.getTiles().remove(pos2);
+        other.getTiles().remove(pos1);
+        assertEquals(new Island().getHash(), other.getHash());
+    }
 } 
\ No newline at end of file
@@ -66,4 +66,33 @@ class PositionTest {
         Position pos = new Position(2, 3);
         assertEquals("2,3", pos.toString());
     }
+
+    /**
+     * Tests the shared positions returned by Position.of.
+     * Verifies that positions on the board are the same instance and equal to new positions,
+     * while positions off the board are still created.
+     */
+    @Test
+    void testOf() {
+        assertSame(Position.of(2, 3), Position.of(2, 3));
+        assertEquals(new Position(2, 3), Position.of(2, 3));
+        assertEquals(new Position(7, 0), Position.of(7, 0));
+        assertNotSame(Position.of(-1, 0), Position.of(-1, 0));
+    }
+
+    /**
+     * Tests the neighbour tables.
+     * Verifies the neighbours in the middle, in a corner and off the board.
+     */
+    @Test
+    void testNeighbors() {
+        Position[] orthogonal = Position.of(2, 2).getOrthogonalNeighbors();
+        assertArrayEquals(new Position[] {
+                new Position(1, 2), new Position(2, 1), new Position(2, 3), new Position(3, 2)
+        }, orthogonal);
+        assertEquals(4, Position.of(2, 2).getDiagonalNeighbors().length);
+        assertEquals(2, Position.of(0, 0).getOrthogonalNeighbors().length);
+        assertArrayEquals(new Position[] {new Position(1, 1)}, Position.of(0, 0).getDiagonalNeighbors());
+        assertArrayEquals(new Position[] {new Position(5, 0)}, new Position(6, 0).getOrthogonalNeighbors());
+    }
 } 
\ No newline at end of file
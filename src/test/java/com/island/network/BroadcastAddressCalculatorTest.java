@@ -4,6 +4,8 @@ import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.net.InetAddress;
+import java.util.HashSet;
+import java.util.List;
 
 /**
  * Test class for BroadcastAddressCalculator functionality
@@ -69,6 +71,22 @@ class BroadcastAddressCalculatorTest {
         }
     }
 
+    /**
+     * Tests that one broadcast address is returned per active IPv4 segment
+     * Note: This test may be environment-dependent
+     */
+    @Test
+    void testGetBroadcastAddresses() throws Exception {
+        List<InetAddress> addresses = BroadcastAddressCalculator.getBroadcastAddresses();
+
+        assertEquals(addresses.size(), new HashSet<>(addresses).size(), "Addresses should not repeat");
+        for (InetAddress address : addresses) {
+            assertTrue(isValidIpv4Address(address.getHostAddress()),
+                    "Broadcast address should be a valid IPv4 address");
+            assertFalse(address.isLoopbackAddress(), "Loopback interfaces should be skipped");
+        }
+    }
+
     /**
      * Helper method to validate IPv4 address format
      */
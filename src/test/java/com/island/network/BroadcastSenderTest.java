@@ -8,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import java.net.DatagramPacket;
 import java.net.DatagramSocket;
 import java.net.InetAddress;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
@@ -167,6 +168,17 @@ class BroadcastSenderTest {
         }
     }
 
+    /**
+     * Tests that refreshing keeps the cached addresses when the interfaces did not change
+     */
+    @Test
+    void testRefreshTargets() {
+        List<InetAddress> targets = sender.getTargets();
+
+        assertFalse(sender.refreshTargets(), "Unchanged interfaces should not replace the targets");
+        assertSame(targets, sender.getTargets());
+    }
+
     /**
      * Tests resource cleanup when closing the sender.
      * Verifies that:
@@ -0,0 +1,106 @@
+package com.island.network;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for ClockSync functionality
+ */
+class ClockSyncTest {
+    private ClockSync clockSync;
+
+    @BeforeEach
+    void setUp() {
+        clockSync = new ClockSync();
+    }
+
+    /**
+     * Adds a sample with a peer whose clock runs ahead by a fixed offset
+     * @param peer The peer name
+     * @param t0 Local send time
+     * @param offset Peer clock minus local clock
+     * @param outbound Delay to the peer
+     * @param inbound Delay back from the peer
+     */
+    private void exchange(String peer, long t0, long offset, long outbound, long inbound) {
+        long t1 = t0 + outbound + offset;
+        long t2 = t1 + 100;
+        long t3 = t2 - offset + inbound;
+        clockSync.addSample(peer, t0, t1, t2, t3);
+    }
+
+    /**
+     * Tests that a symmetric exchange gives the exact offset
+     */
+    @Test
+    void testSymmetricOffset() {
+        exchange("Player2", 1_000_000, 50_000, 2_000, 2_000);
+
+        assertTrue(clockSync.hasEstimate("Player2"));
+        assertEquals(50_000, clockSync.offset("Player2", 1_004_100));
+        assertEquals(1_000_000, clockSync.toLocal("Player2", 1_050_000));
+    }
+
+    /**
+     * Tests that the sample with the smallest delay wins over queued ones
+     */
+    @Test
+    void testMinimumDelaySampleIsUsed() {
+        exchange("Player2", 1_000_000, 50_000, 1_000, 1_000);
+        exchange("Player2", 1_100_000, 50_000, 40_000, 1_000);
+        exchange("Player2", 1_200_000, 50_000, 1_000, 30_000);
+
+        long offset = clockSync.offset("Player2", 1_002_100);
+        assertTrue(Math.abs(offset - 50_000) < 2_000, "offset " + offset);
+    }
+
+    /**
+     * Tests that a drifting peer clock is extrapolated with its skew
+     */
+    @Test
+    void testSkewEstimate() {
+        // The peer gains 100 microseconds per second
+        for (int i = 0; i < 5; i++) {
+            long t0 = 1_000_000 + i * 1_000_000L;
+            exchange("Player2", t0, 20_000 + i * 100L, 1_000, 1_000);
+        }
+
+        assertEquals(100, clockSync.skew("Player2"), 1);
+        long later = 1_000_000 + 10 * 1_000_000L;
+        assertEquals(21_000, clockSync.offset("Player2", later), 50);
+    }
+
+    /**
+     * Tests that impossible samples and unknown peers are ignored
+     */
+    @Test
+    void testInvalidSamplesIgnored() {
+        clockSync.addSample("Player2", 2_000_000, 1_000, 900, 1_000_000);
+        clockSync.addSample("Player2", 0, 1_000, 2_000, 3_000);
+
+        assertFalse(clockSync.hasEstimate("Player2"));
+        assertEquals(0, clockSync.offset("Player3", clockSync.now()));
+        assertEquals(clockSync.now() / 1000, clockSync.roomTime("Player1", "Player1") / 1000, 5);
+    }
+
+    /**
+     * Tests that latency statistics are kept per peer
+     */
+    @Test
+    void testLatencyMetrics() {
+        LatencyMetrics metrics = new LatencyMetrics();
+        metrics.record("Player2", 4_000);
+        metrics.record("Player2", 8_000);
+        metrics.record("Player3", 1_000);
+
+        LatencyMetrics.Snapshot stats = metrics.get("Player2");
+        assertEquals(2, stats.count());
+        assertEquals(6_000, stats.mean());
+        assertEquals(8_000, stats.max());
+        assertEquals(8_000, stats.last());
+        assertEquals(2, metrics.report().split("\n").length);
+        assertNull(metrics.get("Player4"));
+    }
+}
@@ -0,0 +1,73 @@
+package com.island.network;
+
+import com.island.util.EncryptionUtil;
+import org.junit.jupiter.api.Test;
+
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for DatagramEndpoint functionality
+ */
+class DatagramEndpointTest {
+
+    /**
+     * Tests reading the room id of heartbeats and game messages
+     */
+    @Test
+    void testParseRoomId() {
+        assertEquals(7, DatagramEndpoint.parseRoomId("HEARTBEAT|7|Player1"));
+        assertEquals(12, DatagramEndpoint.parseRoomId("42|MOVE_PLAYER|12|Player1||true|"));
+        assertEquals(-1, DatagramEndpoint.parseRoomId("Invalid|Message|Format"));
+        assertEquals(-1, DatagramEndpoint.parseRoomId("garbage"));
+    }
+
+    /**
+     * Tests that packets are routed only to the receivers of their room
+     */
+    @Test
+    void testRoutesByRoomId() throws Exception {
+        RoomController room7 = mock(RoomController.class);
+        RoomController room8 = mock(RoomController.class);
+        when(room7.getRoomId()).thenReturn(7);
+        when(room8.getRoomId()).thenReturn(8);
+        BroadcastReceiver receiver7 = new BroadcastReceiver(room7);
+        BroadcastReceiver receiver8 = new BroadcastReceiver(room8);
+        receiver7.start();
+        receiver8.start();
+
+        try (DatagramSocket socket = new DatagramSocket()) {
+            byte[] data = EncryptionUtil.encrypt("HEARTBEAT|7|Player1").getBytes();
+            socket.send(new DatagramPacket(data, data.length, InetAddress.getLoopbackAddress(), 8888));
+
+            verify(room7, timeout(2000)).updatePlayerHeartbeat("Player1");
+            verify(room8, never()).updatePlayerHeartbeat(anyString());
+        } finally {
+            receiver7.stop();
+            receiver8.stop();
+        }
+    }
+
+    /**
+     * Tests that a stopped receiver cannot be started again
+     */
+    @Test
+    void testStopIsFinal() throws Exception {
+        RoomController room = mock(RoomController.class);
+        when(room.getRoomId()).thenReturn(9);
+        BroadcastReceiver receiver = new BroadcastReceiver(room);
+        receiver.stop();
+        receiver.start();
+
+        try (DatagramSocket socket = new DatagramSocket()) {
+            byte[] data = EncryptionUtil.encrypt("HEARTBEAT|9|Player1").getBytes();
+            socket.send(new DatagramPacket(data, data.length, InetAddress.getLoopbackAddress(), 8888));
+            Thread.sleep(300);
+            verify(room, never()).updatePlayerHeartbeat(anyString());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.island.network;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for DuplicateFilter functionality
+ */
+class DuplicateFilterTest {
+    private DuplicateFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new DuplicateFilter();
+    }
+
+    /**
+     * Tests that added pairs are always reported as probable duplicates
+     */
+    @Test
+    void testAddedPairsAreFound() {
+        int sender = DuplicateFilter.hashSender("1|MOVE_PLAYER|1|Player1||true|", 16, 23);
+        for (long id = 0; id < 1000; id++) {
+            filter.add(sender, 123_000_000L + id);
+        }
+        for (long id = 0; id < 1000; id++) {
+            assertTrue(filter.mightContain(sender, 123_000_000L + id));
+        }
+    }
+
+    /**
+     * Tests that the same id from another sender is not mistaken for a duplicate
+     */
+    @Test
+    void testSenderIsPartOfTheKey() {
+        int player1 = DuplicateFilter.hashSender("Player1", 0, 7);
+        int player2 = DuplicateFilter.hashSender("Player2", 0, 7);
+        filter.add(player1, 42L);
+
+        assertTrue(filter.mightContain(player1, 42L));
+        assertFalse(filter.mightContain(player2, 42L));
+        assertFalse(filter.mightContain(player1, 43L));
+    }
+
+    /**
+     * Tests that the false positive rate stays low at the expected load
+     */
+    @Test
+    void testFalsePositiveRate() {
+        int sender = DuplicateFilter.hashSender("Player1", 0, 7);
+        long base = System.nanoTime();
+        for (int i = 0; i < 1500; i++) {
+            filter.add(sender, base + i * 1_000L);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain(sender, base + 7 + i * 1_000L)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+
+    /**
+     * Tests that clearing forgets every pair
+     */
+    @Test
+    void testClear() {
+        filter.add(1, 42L);
+        filter.clear();
+
+        assertFalse(filter.mightContain(1, 42L));
+    }
+}
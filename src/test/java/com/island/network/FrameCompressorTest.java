@@ -0,0 +1,132 @@
+package com.island.network;
+
+import com.island.network.payload.GameStartCommand;
+import com.island.util.EncryptionUtil;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for FrameCompressor
+ */
+class FrameCompressorTest {
+
+    /**
+     * Builds a GAME_START message with four players
+     * @return The serialized message
+     */
+    private static String gameStart() {
+        Message message = new Message(MessageType.GAME_START, 4711, "Alice");
+        message.setPayload(new GameStartCommand(123456789L, 2, List.of("Alice", "Bob", "Carol", "Dave")));
+        return message.toString() + "tileName=BREAKERS BRIDGE|tileName=CLIFFS OF ABANDON|tileName=FOOL'S LANDING|";
+    }
+
+    /**
+     * Tests that a large message is compressed and restored
+     */
+    @Test
+    void testRoundTrip() {
+        String text = gameStart();
+        byte[] message = text.getBytes(StandardCharsets.UTF_8);
+        FrameCompressor compressor = new FrameCompressor();
+        byte[] frame = new byte[message.length];
+        byte[] restored = new byte[PacketBuffer.CAPACITY];
+
+        int length = compressor.compress(message, message.length, frame);
+
+        assertTrue(length > 0 && length < message.length);
+        assertTrue(FrameCompressor.isCompressed(frame, length));
+        assertEquals(message.length, compressor.decompress(frame, length, restored));
+        assertEquals(text, new String(restored, 0, message.length, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Tests that messages below the threshold are left alone
+     */
+    @Test
+    void testSmallMessageNotCompressed() {
+        byte[] message = "1|CHAT|42|Bob|all|false|hi|".getBytes(StandardCharsets.UTF_8);
+
+        assertEquals(-1, new FrameCompressor().compress(message, message.length, new byte[64]));
+    }
+
+    /**
+     * Tests that a pooled buffer compresses before encrypting, and that legacy peers keep
+     * reading small messages
+     */
+    @Test
+    void testPacketBufferCompression() {
+        PacketBuffer buffer = new PacketBuffer();
+        String message = gameStart();
+        int length = buffer.encode(message, true);
+
+        assertTrue(length < EncryptionUtil.encryptedLength(message.length()));
+        assertEquals(message, buffer.decode(length));
+
+        String small = "1|CHAT|42|Bob|all|false|hi|";
+        String wire = new String(buffer.getWire(), 0, buffer.encode(small, true), StandardCharsets.US_ASCII);
+        assertEquals(small, EncryptionUtil.decrypt(wire));
+    }
+
+    /**
+     * Tests that large messages stay readable by legacy peers unless every receiver reads
+     * compressed frames
+     */
+    @Test
+    void testUncompressedForLegacyPeers() {
+        PacketBuffer buffer = new PacketBuffer();
+        String message = gameStart();
+
+        String wire = new String(buffer.getWire(), 0, buffer.encode(message), StandardCharsets.US_ASCII);
+        assertEquals(message, EncryptionUtil.decrypt(wire));
+        wire = new String(buffer.getWire(), 0, buffer.encode(message, false), StandardCharsets.US_ASCII);
+        assertEquals(message, EncryptionUtil.decrypt(wire));
+    }
+
+    /**
+     * Tests that a message too large for a datagram fits once compressed
+     */
+    @Test
+    void testLargeMessageFits() {
+        PacketBuffer buffer = new PacketBuffer();
+        String message = gameStart().repeat(35);
+
+        assertTrue(message.length() > PacketBuffer.MAX_PLAIN);
+        assertEquals(-1, buffer.encode(message));
+        int length = buffer.encode(message, true);
+        assertTrue(length > 0);
+        assertEquals(message, buffer.decode(length));
+    }
+
+    /**
+     * Tests that a corrupt frame is refused
+     */
+    @Test
+    void testCorruptFrame() {
+        byte[] message = gameStart().getBytes(StandardCharsets.UTF_8);
+        FrameCompressor compressor = new FrameCompressor();
+        byte[] frame = new byte[message.length];
+        int length = compressor.compress(message, message.length, frame);
+        frame[3] ^= 0x55;
+        frame[length / 2] ^= 0x55;
+
+        assertEquals(-1, compressor.decompress(frame, length, new byte[PacketBuffer.CAPACITY]));
+    }
+
+    /**
+     * Tests that compression can be turned off for sending
+     */
+    @Test
+    void testDisabled() {
+        byte[] message = gameStart().getBytes(StandardCharsets.UTF_8);
+        FrameCompressor.setEnabled(false);
+        try {
+            assertEquals(-1, new FrameCompressor().compress(message, message.length, new byte[message.length]));
+        } finally {
+            FrameCompressor.setEnabled(true);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.island.network;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for HeartbeatMonitor
+ */
+class HeartbeatMonitorTest {
+    private static final long INTERVAL = 5000;
+
+    /**
+     * Tests that the host is lost after two missed heartbeats while other players are kept
+     */
+    @Test
+    void testHostLostAfterTwoMissedBeats() {
+        HeartbeatMonitor monitor = new HeartbeatMonitor(INTERVAL);
+        monitor.beat("Host", 0);
+        monitor.beat("Player2", 0);
+
+        assertTrue(monitor.expire(2 * INTERVAL, "Host"::equals).isEmpty());
+        assertEquals(List.of("Host"), monitor.expire(2 * INTERVAL + 1, "Host"::equals));
+        assertTrue(monitor.expire(3 * INTERVAL, "Host"::equals).isEmpty());
+        assertEquals(List.of("Player2"), monitor.expire(3 * INTERVAL + 1, "Host"::equals));
+    }
+
+    /**
+     * Tests that a heartbeat restarts the timeout and that lost peers are reported once
+     */
+    @Test
+    void testBeatRestartsTimeout() {
+        HeartbeatMonitor monitor = new HeartbeatMonitor(INTERVAL);
+        monitor.beat("Host", 0);
+        monitor.beat("Host", INTERVAL);
+
+        assertTrue(monitor.expire(2 * INTERVAL + 1, "Host"::equals).isEmpty());
+        assertEquals(List.of("Host"), monitor.expire(3 * INTERVAL + 1, "Host"::equals));
+        assertTrue(monitor.expire(10 * INTERVAL, "Host"::equals).isEmpty());
+    }
+
+    /**
+     * Tests that removed peers are no longer reported
+     */
+    @Test
+    void testRemove() {
+        HeartbeatMonitor monitor = new HeartbeatMonitor(INTERVAL);
+        monitor.beat("Host", 0);
+        monitor.remove("Host");
+
+        assertTrue(monitor.expire(10 * INTERVAL, "Host"::equals).isEmpty());
+        assertEquals(2 * INTERVAL, monitor.timeout(true));
+        assertEquals(3 * INTERVAL, monitor.timeout(false));
+    }
+}
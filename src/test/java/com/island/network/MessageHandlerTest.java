@@ -158,6 +158,30 @@ class MessageHandlerTest {
         System.out.println("Duplicate message handling verified");
     }
 
+    /**
+     * Tests that duplicates are told apart by sender and type, not only by message ID,
+     * as IDs are only unique per sender.
+     */
+    @Test
+    void testDuplicateKeyedOnSenderAndType() throws Exception {
+        Message first = new Message(MessageType.PLAYER_JOIN, ROOM_ID, PLAYER_NAME, true);
+        first.setMessageId(7);
+        Message otherSender = new Message(MessageType.PLAYER_JOIN, ROOM_ID, "OtherPlayer", true);
+        otherSender.setMessageId(7);
+        Message otherType = new Message(MessageType.PLAYER_LEAVE, ROOM_ID, PLAYER_NAME, true);
+        otherType.setMessageId(7);
+
+        messageHandler.handleMessage(first);
+        assertTrue(messageHandler.hasReceived(first));
+        assertFalse(messageHandler.hasReceived(otherSender));
+        assertFalse(messageHandler.hasReceived(otherType));
+
+        messageHandler.handleMessage(otherSender);
+        messageHandler.handleMessage(first);
+        verify(gameController).handlePlayerJoin(first);
+        verify(gameController).handlePlayerJoin(otherSender);
+    }
+
     /**
      * Tests game state message handling.
      * Verifies that:
@@ -175,8 +199,7 @@ class MessageHandlerTest {
         System.out.println("Processing game start message");
         messageHandler.handleMessage(gameStartMessage);
         
-        verify(gameController).startGame(123456789L);
-        verify(gameController).setWaterLevel(2);
+        verify(gameController).startGame(123456789L, 2, List.of(PLAYER_NAME));
         verify(gameSubject).notifyWaterLevelChanged(2);
         
         // Test game over message - skip UI related verification
@@ -192,11 +215,13 @@ class MessageHandlerTest {
      * Tests player action message handling.
      * Verifies that:
      * 1. Player movement messages are processed correctly
-     * 2. Action counts are updated
-     * 3. Game state is properly updated
+     * 2. The move is applied to the game
+     * 3. The move is logged
      */
     @Test
     void testPlayerActionMessageHandling() throws Exception {
+        when(gameController.apply(any(Message.class))).thenReturn(true);
+
         // Test player move message
         Message moveMessage = new Message(MessageType.MOVE_PLAYER, ROOM_ID, PLAYER_NAME, true);
         moveMessage.addExtraData("positionX", "2");
@@ -206,17 +231,15 @@ class MessageHandlerTest {
         System.out.println("Processing player move message");
         messageHandler.handleMessage(moveMessage);
         
-        verify(gameController).decreaseRemainingActions();
-        verify(gameController, atLeastOnce()).getGameSubject();
+        verify(gameController).apply(moveMessage);
         verify(actionLogView).addLog(contains("move to"));
     }
 
     /**
      * Tests card-related message handling.
      * Verifies that:
-     * 1. Card draw messages are processed correctly
-     * 2. Card transfer messages work properly
-     * 3. Special card actions are handled
+     * 1. Card discard messages are applied to the game
+     * 2. The discard is logged
      */
     @Test
     void testCardMessageHandling() throws Exception {
@@ -228,19 +251,7 @@ class MessageHandlerTest {
         // Configure player mock behavior for both real cards list and mock behavior
         doReturn(cards).when(testPlayer).getCards();
         testPlayer.addCard(testCard);  // Actually add the card to the player's hand
-        
-        // Test draw treasure card message
-        Message drawMessage = new Message(MessageType.DRAW_TREASURE_CARD, ROOM_ID, PLAYER_NAME, true);
-        drawMessage.addExtraData("count", "2");
-        
-        System.out.println("Processing draw treasure card message");
-        messageHandler.handleMessage(drawMessage);
-        
-        verify(gameController).handleDrawTreasureCard(2, testPlayer);
-        verify(actionLogView).addLog(contains("draw 2 treasure card"));
-        verify(gameSubject).notifyCardChanged();
-        verify(gameSubject).notifyPlayerInfoChanged();
-        verify(gameSubject).notifyActionBarChanged();
+        when(gameController.apply(any(Message.class))).thenReturn(true);
         
         // Test discard card message
         Message discardMessage = new Message(MessageType.DISCARD_CARD, ROOM_ID, PLAYER_NAME, true);
@@ -249,7 +260,33 @@ class MessageHandlerTest {
         System.out.println("Processing discard card message");
         messageHandler.handleMessage(discardMessage);
         
-        verify(gameSubject, atLeastOnce()).notifyCardChanged();
+        verify(gameController).apply(discardMessage);
         verify(actionLogView).addLog(contains("discard"));
     }
-} 
\ No newline at end of file
+
+    /**
+     * Tests the handover of pending messages when the host departs.
+     * Verifies that:
+     * 1. Nobody waits for acknowledgments from the departed host any more
+     * 2. The new host relays the departed host's recent messages under their original id
+     */
+    @Test
+    void testHandOverAfterHostDeparture() throws Exception {
+        Message ownMessage = new Message(MessageType.END_TURN, ROOM_ID, PLAYER_NAME, true);
+        Set<String> receivers = new HashSet<>(Set.of("Host", "Player2"));
+        UnconfirmedMessage pending = new UnconfirmedMessage(ownMessage, receivers);
+        UnconfirmedMessage hostOnly = new UnconfirmedMessage(ownMessage, new HashSet<>(Set.of("Host")));
+        messageHandler.putUnconfirmedMessage(1L, pending);
+        messageHandler.putUnconfirmedMessage(2L, hostOnly);
+
+        Message hostMessage = new Message(MessageType.END_TURN, ROOM_ID, "Host", true);
+        messageHandler.handleMessage(hostMessage);
+
+        messageHandler.handOver("Host", true);
+
+        assertEquals(Set.of("Player2"), pending.getPendingReceivers());
+        assertFalse(messageHandler.getUnconfirmedMessages().containsKey(2L));
+        assertTrue(hostOnly.getDelivery().isDone());
+        verify(roomController).sendReliably(argThat(m -> m.getMessageId() == hostMessage.getMessageId()));
+    }
+}
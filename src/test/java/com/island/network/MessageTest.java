@@ -221,4 +221,23 @@ class MessageTest {
         assertTrue(message.getTo() == null || message.getTo().isEmpty());
         assertFalse(message.isAck());
     }
-} 
\ No newline at end of file
+
+    /**
+     * Tests that the send stamp and the acknowledgment echo survive serialization
+     */
+    @Test
+    void testTimestampsRoundTrip() {
+        Message message = new Message(123456L, MessageType.MESSAGE_ACK, 1, "Player2", "Player1");
+        message.setSentAt(2_000_500L);
+        message.setEcho(1_000_000L, 2_000_000L);
+
+        String expectedStr = "123456|MESSAGE_ACK|1|Player2|Player1|false|@t=2000500|@e=1000000:2000000|";
+        assertEquals(expectedStr, message.toString());
+
+        Message parsedMessage = Message.fromString(expectedStr);
+        assertEquals(2_000_500L, parsedMessage.getSentAt());
+        assertEquals(1_000_000L, parsedMessage.getEchoSentAt());
+        assertEquals(2_000_000L, parsedMessage.getEchoReceivedAt());
+        assertTrue(parsedMessage.getData().isEmpty());
+    }
+}
@@ -0,0 +1,114 @@
+package com.island.network;
+
+import com.island.util.EncryptionUtil;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for PacketBuffer and PacketBufferPool
+ */
+class PacketBufferPoolTest {
+
+    /**
+     * Encodes a message into a buffer and reads the wire text back
+     * @param buffer The buffer
+     * @param message The message
+     * @return The wire text
+     */
+    private static String wireText(PacketBuffer buffer, String message) {
+        int length = buffer.encode(message);
+        assertTrue(length >= 0);
+        return new String(buffer.getWire(), 0, length, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Tests that the pooled encoding is byte for byte the legacy one, for every padding length
+     */
+    @Test
+    void testEncodeMatchesLegacy() {
+        PacketBuffer buffer = new PacketBuffer();
+        for (String message : new String[] {"", "a", "ab", "abc", "1|MOVE_PLAYER|42|Alice|all|true|x=1|"}) {
+            String wire = wireText(buffer, message);
+            assertEquals(EncryptionUtil.encrypt(message), wire);
+            assertEquals(message, EncryptionUtil.decrypt(wire));
+        }
+    }
+
+    /**
+     * Tests that legacy encrypted text is decoded by a pooled buffer
+     */
+    @Test
+    void testDecodeLegacy() {
+        PacketBuffer buffer = new PacketBuffer();
+        String message = "7|CHAT|42|Bob|all|false|hello|";
+        byte[] wire = EncryptionUtil.encrypt(message).getBytes(StandardCharsets.UTF_8);
+        System.arraycopy(wire, 0, buffer.getWire(), 0, wire.length);
+
+        assertEquals(message, buffer.decode(wire.length));
+    }
+
+    /**
+     * Tests a message with characters outside ASCII
+     */
+    @Test
+    void testNonAsciiRoundTrip() {
+        PacketBuffer buffer = new PacketBuffer();
+        String message = "3|PLAYER_JOIN|42|Zoë 名字|all|true|";
+        int length = buffer.encode(message);
+
+        assertEquals(message, buffer.decode(length));
+        assertEquals(EncryptionUtil.encrypt(message), new String(buffer.getWire(), 0, length, StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Tests that plain text is returned as it is
+     */
+    @Test
+    void testDecodePlainText() {
+        PacketBuffer buffer = new PacketBuffer();
+        byte[] text = "HEARTBEAT|42|Alice".getBytes(StandardCharsets.UTF_8);
+        System.arraycopy(text, 0, buffer.getWire(), 0, text.length);
+
+        assertEquals("HEARTBEAT|42|Alice", buffer.decode(text.length));
+    }
+
+    /**
+     * Tests that a message too large for the buffer is refused
+     */
+    @Test
+    void testOversizeMessage() {
+        PacketBuffer buffer = new PacketBuffer();
+
+        assertEquals(-1, buffer.encode("x".repeat(PacketBuffer.CAPACITY + 1)));
+        FrameCompressor.setEnabled(false);
+        try {
+            assertEquals(-1, buffer.encode("x".repeat(PacketBuffer.MAX_PLAIN + 1)));
+            assertTrue(buffer.encode("x".repeat(PacketBuffer.MAX_PLAIN)) <= PacketBuffer.CAPACITY);
+        } finally {
+            FrameCompressor.setEnabled(true);
+        }
+    }
+
+    /**
+     * Tests that released buffers are reused and the pool stays bounded
+     */
+    @Test
+    void testPoolReuse() {
+        PacketBufferPool pool = new PacketBufferPool(1);
+        PacketBuffer first = pool.acquire();
+        pool.release(first);
+
+        assertSame(first, pool.acquire());
+        assertEquals(1, pool.getCreated());
+
+        PacketBuffer second = pool.acquire();
+        pool.release(first);
+        pool.release(second);
+
+        assertEquals(1, pool.getIdle());
+        assertEquals(2, pool.getCreated());
+    }
+}
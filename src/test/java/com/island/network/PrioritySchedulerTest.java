@@ -0,0 +1,100 @@
+package com.island.network;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for PriorityScheduler and MessagePriority
+ */
+class PrioritySchedulerTest {
+
+    /**
+     * Tests the weighted round robin between busy classes
+     */
+    @Test
+    void testWeightedOrder() {
+        PriorityScheduler scheduler = new PriorityScheduler("test");
+        StringBuilder order = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            scheduler.submit(MessagePriority.BULK, () -> order.append('B'));
+            scheduler.submit(MessagePriority.GAME, () -> order.append('G'));
+            scheduler.submit(MessagePriority.CONTROL, () -> order.append('C'));
+        }
+        while (scheduler.runNext()) {
+            // Drain on the test thread
+        }
+
+        assertEquals("CCCCCCCCGGGGB" + "CCGGGGB" + "GGB" + "BBBBBBB", order.toString());
+        assertEquals(10, scheduler.getServed(MessagePriority.BULK));
+    }
+
+    /**
+     * Tests that a control task submitted behind a game backlog runs next
+     */
+    @Test
+    void testControlOvertakesBacklog() {
+        PriorityScheduler scheduler = new PriorityScheduler("test");
+        StringBuilder order = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            scheduler.submit(MessagePriority.GAME, () -> order.append('G'));
+        }
+        scheduler.runNext();
+        scheduler.submit(MessagePriority.CONTROL, () -> order.append('C'));
+        scheduler.runNext();
+
+        assertEquals("GC", order.toString());
+        assertEquals(99, scheduler.getQueued(MessagePriority.GAME));
+    }
+
+    /**
+     * Tests that a full class drops new tasks without affecting the others
+     */
+    @Test
+    void testCapacity() {
+        PriorityScheduler scheduler = new PriorityScheduler("test");
+        int queued = 0;
+        for (int i = 0; i < 2000; i++) {
+            if (scheduler.submit(MessagePriority.BULK, () -> {})) {
+                queued++;
+            }
+        }
+
+        assertEquals(1024, queued);
+        assertEquals(2000 - 1024, scheduler.getDropped(MessagePriority.BULK));
+        assertTrue(scheduler.submit(MessagePriority.CONTROL, () -> {}));
+    }
+
+    /**
+     * Tests that a started scheduler runs tasks on the scope until it closes
+     */
+    @Test
+    void testStartInScope() throws Exception {
+        RoomScope scope = new RoomScope(1);
+        PriorityScheduler scheduler = new PriorityScheduler("test");
+        scheduler.start(scope);
+        CountDownLatch ran = new CountDownLatch(1);
+        scheduler.submit(MessagePriority.CONTROL, ran::countDown);
+
+        assertTrue(ran.await(2, TimeUnit.SECONDS));
+        scope.close();
+        assertEquals(1, scheduler.getServed(MessagePriority.CONTROL));
+    }
+
+    /**
+     * Tests the class of each kind of message
+     */
+    @Test
+    void testMessagePriority() {
+        assertEquals(MessagePriority.CONTROL, MessagePriority.of(MessageType.MESSAGE_ACK));
+        assertEquals(MessagePriority.GAME, MessagePriority.of(MessageType.UPDATE_ROOM));
+        assertEquals(MessagePriority.BULK, MessagePriority.of(MessageType.STATE_SNAPSHOT));
+        assertEquals(MessagePriority.CONTROL, MessagePriority.ofWire("HEARTBEAT|1|Alice|"));
+        assertEquals(MessagePriority.CONTROL, MessagePriority.ofWire("5|MESSAGE_ACK|1|Bob|Alice|false|"));
+        assertEquals(MessagePriority.BULK, MessagePriority.ofWire("5|STATE_DELTA|1|Bob|all|false|"));
+        assertEquals(MessagePriority.GAME, MessagePriority.ofWire("5|MOVE_PLAYER|1|Bob|all|true|"));
+    }
+}
@@ -10,6 +10,8 @@
  */
 package com.island.network;
 
+import com.island.engine.GameCommand;
+import com.island.engine.GameEngine;
 import com.island.models.Room;
 import com.island.models.adventurers.Player;
 import com.island.models.card.Card;
@@ -130,12 +132,15 @@ class RoomControllerTest {
     }
 
     /**
-     * Test sending treasure cards message
+     * Test sending the message of a game command
      */
     @Test
-    void testSendDrawTreasureCardsMessage() throws Exception {
+    void testSendCommand() throws Exception {
+        // Setup
+        when(gameController.getEngine()).thenReturn(new GameEngine(List.of("TestPlayer", "Other"), 1L, 2));
+
         // Execute
-        roomController.sendDrawTreasureCardsMessage(2, player);
+        roomController.sendCommand(new GameCommand.EndTurn("TestPlayer"));
 
         // Verify
         verify(messageHandler).putUnconfirmedMessage(anyLong(), any());
@@ -0,0 +1,93 @@
+package com.island.network;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for RoomScope functionality
+ */
+class RoomScopeTest {
+    private RoomScope scope;
+
+    @BeforeEach
+    void setUp() {
+        scope = new RoomScope(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scope.close();
+    }
+
+    /**
+     * Tests that forked tasks run on virtual threads
+     */
+    @Test
+    void testForkRunsOnVirtualThread() throws Exception {
+        AtomicBoolean virtual = new AtomicBoolean(false);
+        scope.fork(() -> virtual.set(Thread.currentThread().isVirtual())).get(1, TimeUnit.SECONDS);
+        assertTrue(virtual.get());
+    }
+
+    /**
+     * Tests that a delayed task runs once after its delay
+     */
+    @Test
+    void testSchedule() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        scope.schedule(latch::countDown, 50, TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Tests that a periodic task keeps running after one of its runs fails
+     */
+    @Test
+    void testScheduleAtFixedRateSurvivesException() throws Exception {
+        CountDownLatch latch = new CountDownLatch(3);
+        scope.scheduleAtFixedRate(() -> {
+            latch.countDown();
+            throw new RuntimeException("expected");
+        }, 0, 10, TimeUnit.MILLISECONDS);
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Tests that closing the scope cancels pending tasks and runs close hooks once
+     */
+    @Test
+    void testCloseCancelsTasksAndRunsHooks() throws Exception {
+        AtomicBoolean ran = new AtomicBoolean(false);
+        AtomicInteger hookRuns = new AtomicInteger();
+        Future<?> pending = scope.schedule(() -> ran.set(true), 200, TimeUnit.MILLISECONDS);
+        scope.onClose(hookRuns::incrementAndGet);
+
+        scope.close();
+        scope.close();
+        Thread.sleep(300);
+
+        assertFalse(ran.get());
+        assertTrue(pending.isDone());
+        assertEquals(1, hookRuns.get());
+        assertTrue(scope.isClosed());
+    }
+
+    /**
+     * Tests that tasks forked after closing are cancelled immediately
+     */
+    @Test
+    void testForkAfterClose() {
+        scope.close();
+        Future<?> future = scope.fork(() -> { });
+        assertTrue(future.isCancelled());
+    }
+}
@@ -0,0 +1,94 @@
+package com.island.network;
+
+import com.island.network.payload.GameStartCommand;
+import com.island.network.payload.GiveCardCommand;
+import com.island.network.payload.MoveCommand;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for SessionDictionary functionality
+ */
+class SessionDictionaryTest {
+    private SessionDictionary dictionary;
+
+    @BeforeEach
+    void setUp() {
+        dictionary = new SessionDictionary(List.of("Player1", "Player2"));
+    }
+
+    /**
+     * Tests that the system sender and players occupy the first slots
+     */
+    @Test
+    void testPlayerSlots() {
+        assertEquals(SessionDictionary.SYSTEM_SLOT, dictionary.slotOf("system"));
+        assertEquals(1, dictionary.slotOf("Player1"));
+        assertEquals(2, dictionary.slotOf("Player2"));
+        assertEquals(-1, dictionary.slotOf("Normal7"));
+        assertTrue(dictionary.indexOf("Normal7") > 2);
+        assertTrue(dictionary.indexOf("Helicopter") > 2);
+    }
+
+    /**
+     * Tests that known names are sent as two-character tokens and decoded back
+     */
+    @Test
+    void testTokenizedMessageRoundTrip() {
+        Message message = new Message(MessageType.MOVE_PLAYER, 1, "Player1", "Player2", true);
+        message.setPayload(new MoveCommand(2, 3, "Normal7"));
+
+        String wire = message.toWire(dictionary);
+        assertFalse(wire.contains("Player1"));
+        assertFalse(wire.contains("Normal7"));
+
+        Message decoded = Message.fromWire(wire, dictionary);
+        assertEquals("Player1", decoded.getFrom());
+        assertEquals("Player2", decoded.getTo());
+        assertEquals(1, decoded.getFromSlot());
+        assertEquals(2, decoded.getToSlot());
+        assertEquals(message.getPayload(MoveCommand.class), decoded.getPayload(MoveCommand.class));
+    }
+
+    /**
+     * Tests that strings outside the dictionary, including ones starting with the escape, survive encoding
+     */
+    @Test
+    void testUnknownStringsRoundTrip() {
+        Message message = new Message(MessageType.GIVE_CARD, 1, "~Stranger", true);
+        message.setPayload(new GiveCardCommand("Player2", "~card"));
+
+        Message decoded = Message.fromWire(message.toWire(dictionary), dictionary);
+        assertEquals("~Stranger", decoded.getFrom());
+        assertEquals(-1, decoded.getFromSlot());
+        assertEquals(new GiveCardCommand("Player2", "~card"), decoded.getPayload(GiveCardCommand.class));
+    }
+
+    /**
+     * Tests that the start message stays plain text so peers can decode it before holding the dictionary
+     */
+    @Test
+    void testGameStartIsNotTokenized() {
+        Message message = new Message(MessageType.GAME_START, 1, "Player1", true);
+        message.setPayload(new GameStartCommand(42L, 2, List.of("Player1", "Player2")));
+
+        String wire = message.toWire(dictionary);
+        assertEquals(message.toString(), wire);
+        assertEquals(List.of("Player1", "Player2"),
+                Message.fromString(wire).getPayload(GameStartCommand.class).playerNames());
+    }
+
+    /**
+     * Tests that the debug dump lists every entry
+     */
+    @Test
+    void testDump() {
+        String dump = dictionary.dump();
+        assertEquals(dictionary.size(), dump.split("\n").length);
+        assertTrue(dump.contains("\tPlayer1\n"));
+    }
+}
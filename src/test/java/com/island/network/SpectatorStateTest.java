@@ -0,0 +1,118 @@
+package com.island.network;
+
+import com.island.models.adventurers.Player;
+import com.island.models.island.Island;
+import com.island.models.island.Position;
+import com.island.models.island.Tile;
+import com.island.network.payload.StateStreamCommand;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for SpectatorState functionality
+ */
+class SpectatorStateTest {
+    private Island island;
+    private List<Player> players;
+
+    @BeforeEach
+    void setUp() {
+        island = new Island();
+        addTile("Blue", 2, 0);
+        addTile("Normal7", 3, 1);
+        addTile("Earth1", 5, 5);
+        Player player1 = new Player("Player1");
+        player1.setPosition(new Position(2, 0));
+        Player player2 = new Player("Player,2");
+        players = List.of(player1, player2);
+    }
+
+    /**
+     * Adds a tile to the island
+     * @param name The tile name
+     * @param x The column
+     * @param y The row
+     */
+    private void addTile(String name, int x, int y) {
+        Position position = new Position(x, y);
+        island.getTiles().put(position, new Tile(name, position, null));
+    }
+
+    /**
+     * Sends a payload through the wire format, as a spectator receives it
+     * @param type The message type
+     * @param command The payload
+     * @return The decoded payload
+     */
+    private StateStreamCommand roundTrip(MessageType type, StateStreamCommand command) {
+        Message message = new Message(type, 1, "Player1");
+        message.setPayload(command);
+        return Message.fromString(message.toString()).getPayload(StateStreamCommand.class);
+    }
+
+    /**
+     * Tests that a spectator rebuilds the board from a snapshot
+     */
+    @Test
+    void testSnapshotRoundTrip() {
+        SpectatorState host = SpectatorState.capture(1, island, players, 2);
+        SpectatorState spectator = new SpectatorState();
+
+        assertTrue(spectator.apply(roundTrip(MessageType.STATE_SNAPSHOT, host.snapshot())));
+
+        assertEquals(1, spectator.getSequence());
+        assertEquals(2, spectator.getWaterLevel());
+        assertEquals(Tile.TileState.NORMAL, spectator.getTileState("Normal7"));
+        assertNull(spectator.getTileState("Fire1"));
+        assertTrue(spectator.getPlayers().contains("2,0,0,,Player1"));
+        assertTrue(spectator.getPlayers().contains("-1,-1,0,,Player,2"));
+    }
+
+    /**
+     * Tests that a delta carries only the changes and applies on top of its base state
+     */
+    @Test
+    void testDeltaAppliesChanges() {
+        SpectatorState first = SpectatorState.capture(1, island, players, 2);
+        SpectatorState spectator = new SpectatorState();
+        spectator.apply(first.snapshot());
+
+        island.floodTile(new Position(3, 1));
+        players.get(0).setPosition(new Position(5, 5));
+        SpectatorState second = SpectatorState.capture(2, island, players, 3);
+        StateStreamCommand delta = second.delta(first);
+
+        assertEquals(1, delta.baseSequence());
+        assertEquals(3, delta.tiles().length());
+        assertEquals(1, delta.players().size());
+        assertTrue(spectator.apply(roundTrip(MessageType.STATE_DELTA, delta)));
+        assertEquals(Tile.TileState.FLOODED, spectator.getTileState("Normal7"));
+        assertEquals(3, spectator.getWaterLevel());
+        assertTrue(spectator.getPlayers().contains("5,5,0,,Player1"));
+        assertEquals(2, spectator.getPlayers().size());
+        assertNull(SpectatorState.capture(3, island, players, 3).delta(second));
+    }
+
+    /**
+     * Tests that a delta whose base was missed is ignored until the next snapshot
+     */
+    @Test
+    void testDeltaAfterGapIgnored() {
+        SpectatorState first = SpectatorState.capture(1, island, players, 2);
+        island.floodTile(new Position(2, 0));
+        SpectatorState second = SpectatorState.capture(2, island, players, 2);
+        island.floodTile(new Position(2, 0));
+        SpectatorState third = SpectatorState.capture(3, island, players, 2);
+        SpectatorState spectator = new SpectatorState();
+        spectator.apply(first.snapshot());
+
+        assertFalse(spectator.apply(third.delta(second)));
+        assertEquals(Tile.TileState.NORMAL, spectator.getTileState("Blue"));
+        assertTrue(spectator.apply(third.snapshot()));
+        assertEquals(Tile.TileState.SUNK, spectator.getTileState("Blue"));
+    }
+}
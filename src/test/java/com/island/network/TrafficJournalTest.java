@@ -0,0 +1,132 @@
+package com.island.network;
+
+import com.island.network.payload.MoveCommand;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.InetAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for TrafficJournal and JournalReplayer functionality
+ */
+class TrafficJournalTest {
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Creates a move message for the tests
+     * @param from The sender
+     * @return The message
+     */
+    private Message moveMessage(String from) {
+        Message message = new Message(MessageType.MOVE_PLAYER, 1, from, true);
+        message.setPayload(new MoveCommand(2, 3, "Normal7"));
+        return message;
+    }
+
+    /**
+     * Tests that recorded messages are read back with their direction and peer
+     */
+    @Test
+    void testRecordAndRead() throws Exception {
+        Path file = tempDir.resolve("journal.bin");
+        InetAddress peer = InetAddress.getByName("192.168.1.20");
+        Message inbound = moveMessage("Player2");
+        Message outbound = moveMessage("Player1");
+
+        try (TrafficJournal journal = new TrafficJournal(file)) {
+            journal.record(TrafficJournal.Direction.INBOUND, inbound, peer);
+            journal.record(TrafficJournal.Direction.OUTBOUND, outbound, null);
+        }
+
+        List<TrafficJournal.Entry> entries = TrafficJournal.read(file);
+        assertEquals(2, entries.size());
+        assertEquals(TrafficJournal.Direction.INBOUND, entries.get(0).direction());
+        assertEquals(peer, entries.get(0).peer());
+        assertEquals(inbound.toString(), entries.get(0).message().toString());
+        assertEquals(TrafficJournal.Direction.OUTBOUND, entries.get(1).direction());
+        assertNull(entries.get(1).peer());
+        assertTrue(entries.get(0).timestamp() <= entries.get(1).timestamp());
+    }
+
+    /**
+     * Tests that records larger than the write buffer are kept
+     */
+    @Test
+    void testLargeRecord() throws Exception {
+        Path file = tempDir.resolve("large.bin");
+        Message message = new Message(MessageType.GAME_OVER, 1, "Player1", true);
+        message.addExtraData("description", "x".repeat(100_000));
+
+        try (TrafficJournal journal = new TrafficJournal(file)) {
+            journal.record(TrafficJournal.Direction.OUTBOUND, message, null);
+        }
+
+        assertEquals(message.toString(), TrafficJournal.read(file).get(0).message().toString());
+    }
+
+    /**
+     * Tests that records reach the file within the flush interval while the journal stays open
+     */
+    @Test
+    void testFlushedOnInterval() throws Exception {
+        Path file = tempDir.resolve("interval.bin");
+        Message message = moveMessage("Player1");
+
+        try (TrafficJournal journal = new TrafficJournal(file)) {
+            journal.record(TrafficJournal.Direction.OUTBOUND, message, null);
+            long deadline = System.currentTimeMillis() + 5000;
+            while (Files.size(file) <= 4 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+
+            List<TrafficJournal.Entry> entries = TrafficJournal.read(file);
+            assertEquals(1, entries.size());
+            assertEquals(message.toString(), entries.get(0).message().toString());
+            assertEquals(0, journal.getDropped());
+        }
+    }
+
+    /**
+     * Tests that a record cut short at the end of the file is skipped
+     */
+    @Test
+    void testTruncatedJournal() throws Exception {
+        Path file = tempDir.resolve("truncated.bin");
+        try (TrafficJournal journal = new TrafficJournal(file)) {
+            journal.record(TrafficJournal.Direction.OUTBOUND, moveMessage("Player1"), null);
+            journal.record(TrafficJournal.Direction.OUTBOUND, moveMessage("Player1"), null);
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 5));
+
+        assertEquals(1, TrafficJournal.read(file).size());
+    }
+
+    /**
+     * Tests that only inbound messages are replayed, in recording order
+     */
+    @Test
+    void testReplayInboundOnly() throws Exception {
+        Path file = tempDir.resolve("replay.bin");
+        try (TrafficJournal journal = new TrafficJournal(file)) {
+            journal.record(TrafficJournal.Direction.INBOUND, moveMessage("Player2"), null);
+            journal.record(TrafficJournal.Direction.OUTBOUND, moveMessage("Player1"), null);
+            journal.record(TrafficJournal.Direction.INBOUND, moveMessage("Player3"), null);
+        }
+        MessageHandler handler = mock(MessageHandler.class);
+
+        int replayed = new JournalReplayer(file).replay(handler, false);
+
+        assertEquals(2, replayed);
+        verify(handler, times(2)).handleMessage(any(Message.class));
+    }
+}
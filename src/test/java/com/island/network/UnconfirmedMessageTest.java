@@ -6,6 +6,7 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Test class for UnconfirmedMessage functionality
@@ -107,4 +108,41 @@ class UnconfirmedMessageTest {
         assertFalse(emptyMessage.hasPendingReceivers());
         assertEquals(0, emptyMessage.getPendingReceivers().size());
     }
-} 
\ No newline at end of file
+
+    /**
+     * Tests that the delivery future completes once every receiver has acknowledged
+     */
+    @Test
+    void testDeliveryCompletesWhenAllAcknowledged() {
+        unconfirmedMessage.removeReceiver(RECEIVER_1);
+        unconfirmedMessage.removeReceiver(RECEIVER_2);
+        assertFalse(unconfirmedMessage.getDelivery().isDone());
+
+        unconfirmedMessage.removeReceiver(RECEIVER_3);
+        assertTrue(unconfirmedMessage.getDelivery().isDone());
+        assertFalse(unconfirmedMessage.getDelivery().isCompletedExceptionally());
+    }
+
+    /**
+     * Tests that a failed delivery reports the receivers that did not acknowledge
+     */
+    @Test
+    void testFailDeliveryListsMissingReceivers() {
+        unconfirmedMessage.removeReceiver(RECEIVER_1);
+        unconfirmedMessage.failDelivery();
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> unconfirmedMessage.getDelivery().get());
+        DeliveryException cause = assertInstanceOf(DeliveryException.class, e.getCause());
+        assertEquals(testMessage.getMessageId(), cause.getMessageId());
+        assertEquals(Set.of(RECEIVER_2, RECEIVER_3), new HashSet<>(cause.getMissingReceivers()));
+    }
+
+    /**
+     * Tests that a message without receivers is delivered immediately
+     */
+    @Test
+    void testEmptyReceiverSetIsDelivered() {
+        UnconfirmedMessage emptyMessage = new UnconfirmedMessage(testMessage, new HashSet<>());
+        assertTrue(emptyMessage.getDelivery().isDone());
+    }
+}
@@ -0,0 +1,64 @@
+package com.island.network.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for the load generator
+ */
+class LoadGeneratorTest {
+
+    /**
+     * Tests that every peer of every room applies every command and ends in the host's state
+     */
+    @Test
+    void testLosslessRun() throws Exception {
+        LoadConfig config = new LoadConfig(2, 4, 500, 3, 2, 0, InetAddress.getLoopbackAddress(), 3000, 3);
+
+        LoadStats stats = new LoadGenerator(config).run();
+
+        assertEquals(4, stats.getGamesCompleted());
+        assertTrue(stats.getCommandsSent() > 0);
+        // The start of each game, the commands, and the end of the games the host ended
+        assertTrue(stats.getMessagesSent() >= stats.getCommandsSent() + 4);
+        assertTrue(stats.getMessagesSent() <= stats.getCommandsSent() + 8);
+        assertEquals(stats.getCommandsSent() * 4, stats.getCommandsApplied());
+        assertEquals(stats.getMessagesSent(), stats.getDeliveryCount());
+        assertEquals(0, stats.getFailures());
+        assertEquals(0, stats.getDesyncs());
+        assertTrue(stats.deliveryLatencyPercentile(50) <= stats.deliveryLatencyPercentile(99));
+    }
+
+    /**
+     * Tests that dropped datagrams are recovered by the retries of the message handlers
+     */
+    @Test
+    void testLossTriggersRetries() throws Exception {
+        LoadConfig config = new LoadConfig(1, 3, 500, 4, 1, 0.2, InetAddress.getLoopbackAddress(), 20, 10);
+
+        LoadStats stats = new LoadGenerator(config).run();
+
+        assertTrue(stats.getRetries() > 0);
+        assertEquals(1, stats.getGamesCompleted());
+        assertEquals(0, stats.getDesyncs());
+        assertTrue(stats.report(1_000_000_000L).contains("retries="));
+    }
+
+    /**
+     * Tests command line parsing
+     */
+    @Test
+    void testFromArgs() {
+        LoadConfig config = LoadConfig.fromArgs(new String[] {"--rooms=3", "--rate=2.5", "--loss=0.1"});
+
+        assertEquals(3, config.rooms());
+        assertEquals(2.5, config.actionsPerSecond());
+        assertEquals(0.1, config.lossRate());
+        assertEquals(4, config.playersPerRoom());
+        assertThrows(IllegalArgumentException.class, () -> LoadConfig.fromArgs(new String[] {"--unknown=1"}));
+        assertThrows(IllegalArgumentException.class, () -> LoadConfig.fromArgs(new String[] {"--players=9"}));
+    }
+}
@@ -0,0 +1,118 @@
+package com.island.network.load;
+
+import com.island.network.PacketBuffer;
+import com.island.network.PacketBufferPool;
+import com.island.util.EncryptionUtil;
+
+import java.lang.management.ManagementFactory;
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * PacketBufferBenchmark compares the memory allocated per message by the original send and receive
+ * paths (a new String, byte array and packet for every message and address, a new cipher for every
+ * encryption) with the pooled {@link PacketBuffer} path. It measures the bytes allocated by the
+ * current thread, so no socket is involved and the figures are not disturbed by other threads.
+ * <p>
+ * Usage, from the test classpath: PacketBufferBenchmark [messages=200000] [addresses=2]
+ */
+public class PacketBufferBenchmark {
+    /** Last checksum of a path, kept so that the JIT cannot drop the work */
+    private static volatile long sink;
+
+    /** Port written into the packets, never used */
+    private static final int PORT = 8888;
+
+    /** A typical game message */
+    private static final String MESSAGE = "1746000000123|MOVE_PLAYER|4711|Alice|all|true|@t=1746000000123456|"
+            + "playerIndex=1|x=2|y=3|card=Sandbags|Breakers Bridge|";
+
+    /**
+     * Runs the legacy path: encrypt to a String, copy to bytes, one packet per address, decrypt
+     * @param messages Number of messages
+     * @param addresses Broadcast addresses each message is sent to
+     * @return A value depending on every message, so the work is not optimized away
+     */
+    private static long legacy(int messages, InetAddress[] addresses) {
+        long check = 0;
+        for (int i = 0; i < messages; i++) {
+            byte[] encrypted = EncryptionUtil.encrypt(MESSAGE).getBytes(StandardCharsets.UTF_8);
+            for (InetAddress address : addresses) {
+                DatagramPacket packet = new DatagramPacket(encrypted, encrypted.length, address, PORT);
+                check += packet.getLength();
+            }
+            String received = new String(encrypted, 0, encrypted.length);
+            check += EncryptionUtil.decrypt(received).length();
+        }
+        return check;
+    }
+
+    /**
+     * Runs the pooled path: encrypt into a pooled buffer, one packet for every address, decrypt in place
+     * @param messages Number of messages
+     * @param addresses Broadcast addresses each message is sent to
+     * @return A value depending on every message, so the work is not optimized away
+     */
+    private static long pooled(int messages, InetAddress[] addresses) {
+        PacketBufferPool pool = new PacketBufferPool(2);
+        long check = 0;
+        for (int i = 0; i < messages; i++) {
+            PacketBuffer buffer = pool.acquire();
+            int length = buffer.encode(MESSAGE);
+            DatagramPacket packet = buffer.getPacket();
+            packet.setData(buffer.getWire(), 0, length);
+            packet.setPort(PORT);
+            for (InetAddress address : addresses) {
+                packet.setAddress(address);
+                check += packet.getLength();
+            }
+            check += buffer.decode(length).length();
+            pool.release(buffer);
+        }
+        return check;
+    }
+
+    /**
+     * Measures the bytes allocated by the current thread while running a path
+     * @param pooled true for the pooled path
+     * @param messages Number of messages
+     * @param addresses Broadcast addresses
+     * @return Bytes allocated per message
+     */
+    private static double allocatedPerMessage(boolean pooled, int messages, InetAddress[] addresses) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().threadId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        long check = pooled ? pooled(messages, addresses) : legacy(messages, addresses);
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+        sink = check;
+        return (double) allocated / messages;
+    }
+
+    /**
+     * Runs both paths after a warm-up and prints the allocation per message
+     * @param args Number of messages and of broadcast addresses
+     * @throws Exception if the addresses cannot be created
+     */
+    public static void main(String[] args) throws Exception {
+        int messages = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        InetAddress[] addresses = new InetAddress[count];
+        for (int i = 0; i < count; i++) {
+            addresses[i] = InetAddress.getByAddress(new byte[] {(byte) 192, (byte) 168, (byte) i, (byte) 255});
+        }
+        // Warm up both paths so the measurement excludes class loading and compilation
+        legacy(messages / 10, addresses);
+        pooled(messages / 10, addresses);
+
+        long start = System.nanoTime();
+        double legacy = allocatedPerMessage(false, messages, addresses);
+        long middle = System.nanoTime();
+        double pooled = allocatedPerMessage(true, messages, addresses);
+        long end = System.nanoTime();
+        System.out.printf("legacy: %.0f bytes/message, %.2f us/message%n", legacy, (middle - start) / 1e3 / messages);
+        System.out.printf("pooled: %.0f bytes/message, %.2f us/message%n", pooled, (end - middle) / 1e3 / messages);
+        System.out.printf("message: %d characters, %d addresses%n", MESSAGE.length(), count);
+    }
+}
@@ -0,0 +1,139 @@
+package com.island.network.payload;
+
+import com.island.models.treasure.TreasureType;
+import com.island.network.Message;
+import com.island.network.MessageType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for typed message payloads and their registry
+ */
+class PayloadRegistryTest {
+
+    /**
+     * Encodes a message with a payload and decodes it again
+     * @param type The message type
+     * @param payload The payload to send
+     * @return The decoded message
+     */
+    private Message roundTrip(MessageType type, Payload payload) {
+        Message message = new Message(type, 1, "Player1", true);
+        message.setPayload(payload);
+        return Message.fromString(message.toString());
+    }
+
+    /**
+     * Tests that a move command survives encoding and decoding
+     */
+    @Test
+    void testMoveCommandRoundTrip() {
+        MoveCommand move = new MoveCommand(2, 3, "FoolsLanding");
+        Message decoded = roundTrip(MessageType.MOVE_PLAYER, move);
+
+        assertEquals(move, decoded.getPayload(MoveCommand.class));
+        assertTrue(decoded.getData().isEmpty());
+    }
+
+    /**
+     * Tests that indexed fields of a helicopter command keep their order
+     */
+    @Test
+    void testHelicopterCommandRoundTrip() {
+        HelicopterCommand helicopter = new HelicopterCommand(1, 4, "CaveOfEmbers", 2, List.of("Player1", "Player2"));
+        Message decoded = roundTrip(MessageType.HELICOPTER_MOVE, helicopter);
+
+        assertEquals(helicopter, decoded.getPayload(HelicopterCommand.class));
+    }
+
+    /**
+     * Tests that a helicopter command flying more players than a game holds is rejected
+     */
+    @Test
+    void testHelicopterCommandPlayerCountChecked() {
+        Message message = new Message(MessageType.HELICOPTER_MOVE, 1, "Player1", true);
+        message.setPayload(new HelicopterCommand(1, 4, "CaveOfEmbers", 2, List.of("Player1")));
+        String encoded = message.toString().replace("playerCount=1", "playerCount=2000000000");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> Message.fromString(encoded).getPayload(HelicopterCommand.class));
+    }
+
+    /**
+     * Tests that numbers too large for their field are rejected rather than wrapped
+     */
+    @Test
+    void testNumberOverflowRejected() {
+        Message message = new Message(MessageType.GAME_START, 1, "Player1", true);
+        message.setPayload(new GameStartCommand(2L, 3));
+        String encoded = message.toString();
+
+        // 2^64 + 2 wraps around to 2 without the overflow check
+        String overflowing = encoded.replace("seed=2", "seed=18446744073709551618");
+        assertThrows(IllegalArgumentException.class,
+                () -> Message.fromString(overflowing).getPayload(GameStartCommand.class));
+        String smallest = encoded.replace("seed=2", "seed=" + Long.MIN_VALUE);
+        assertEquals(Long.MIN_VALUE, Message.fromString(smallest).getPayload(GameStartCommand.class).seed());
+    }
+
+    /**
+     * Tests that room updates keep the one-based player keys of the wire format
+     */
+    @Test
+    void testRoomUpdateUsesOneBasedKeys() {
+        Message message = new Message(MessageType.UPDATE_ROOM, 1, "Player1", true);
+        message.setPayload(new RoomUpdateCommand(List.of("Player1", "Player2")));
+
+        String encoded = message.toString();
+        assertTrue(encoded.contains("playerCount=2|player1=Player1|player2=Player2"));
+        assertEquals(List.of("Player1", "Player2"),
+                Message.fromString(encoded).getPayload(RoomUpdateCommand.class).playerNames());
+    }
+
+    /**
+     * Tests that enum fields are decoded to their constant
+     */
+    @Test
+    void testCaptureTreasureRoundTrip() {
+        Message decoded = roundTrip(MessageType.CAPTURE_TREASURE, new CaptureTreasureCommand(TreasureType.OCEAN_CHALICE));
+
+        assertEquals(TreasureType.OCEAN_CHALICE, decoded.getPayload(CaptureTreasureCommand.class).treasureType());
+    }
+
+    /**
+     * Tests that messages built from string data are converted on first access
+     */
+    @Test
+    void testLegacyDataFallback() {
+        Message message = new Message(MessageType.GAME_START, 1, "Player1", true);
+        message.addExtraData("seed", "42");
+        message.addExtraData("waterLevel", "3");
+
+        assertEquals(new GameStartCommand(42L, 3), message.getPayload(GameStartCommand.class));
+    }
+
+    /**
+     * Tests that join messages without a request or response field carry no payload
+     */
+    @Test
+    void testJoinMessageWithoutFlags() {
+        Message message = new Message(MessageType.PLAYER_JOIN, 1, "Player1");
+
+        assertNull(message.getPayload(PlayerJoinCommand.class));
+        assertTrue(roundTrip(MessageType.PLAYER_JOIN, PlayerJoinCommand.joinRequest())
+                .getPayload(PlayerJoinCommand.class).request());
+    }
+
+    /**
+     * Tests that message types without a payload are reported as such
+     */
+    @Test
+    void testTypesWithoutPayload() {
+        assertFalse(PayloadRegistry.hasPayload(MessageType.END_TURN));
+        assertNull(PayloadRegistry.payloadType(MessageType.END_TURN));
+        assertEquals(MoveCommand.class, PayloadRegistry.payloadType(MessageType.MOVE_PLAYER));
+    }
+}
@@ -0,0 +1,74 @@
+package com.island.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for Zobrist keys and sequence hashes
+ */
+class ZobristTest {
+
+    /**
+     * Tests that keys are stable and distinct
+     */
+    @Test
+    void testKeys() {
+        assertEquals(Zobrist.key(Zobrist.TILE_STATE, 3, 1), Zobrist.key(Zobrist.TILE_STATE, 3, 1));
+        assertNotEquals(Zobrist.key(Zobrist.TILE_STATE, 3, 1), Zobrist.key(Zobrist.TILE_STATE, 1, 3));
+        assertNotEquals(Zobrist.key(Zobrist.TILE_STATE, 3, 1), Zobrist.key(Zobrist.POSITION, 3, 1));
+        assertNotEquals(0, Zobrist.key(Zobrist.WATER, 0, 0));
+        assertEquals(1, Zobrist.BASE * Zobrist.BASE_INVERSE);
+    }
+
+    /**
+     * Tests that a sequence updated at both ends hashes like one built from scratch
+     */
+    @Test
+    void testSequenceMatchesRebuild() {
+        SplittableRandom random = new SplittableRandom(1);
+        Zobrist.Sequence sequence = new Zobrist.Sequence();
+        Deque<Long> keys = new ArrayDeque<>();
+        for (int i = 0; i < 2000; i++) {
+            long key = random.nextLong(8);
+            switch (keys.isEmpty() ? random.nextInt(2) : random.nextInt(4)) {
+                case 0 -> {
+                    keys.addFirst(key);
+                    sequence.addFirst(key);
+                }
+                case 1 -> {
+                    keys.addLast(key);
+                    sequence.addLast(key);
+                }
+                case 2 -> sequence.removeFirst(keys.pollFirst());
+                default -> sequence.removeLast(keys.pollLast());
+            }
+            Zobrist.Sequence rebuilt = new Zobrist.Sequence();
+            keys.forEach(rebuilt::addLast);
+            assertEquals(rebuilt.get(), sequence.get());
+        }
+    }
+
+    /**
+     * Tests that the order of the keys matters and replacing a key in place is tracked
+     */
+    @Test
+    void testSequenceOrder() {
+        Zobrist.Sequence forward = new Zobrist.Sequence();
+        Zobrist.Sequence backward = new Zobrist.Sequence();
+        forward.addLast(5);
+        forward.addLast(7);
+        backward.addLast(7);
+        backward.addLast(5);
+        assertNotEquals(forward.get(), backward.get());
+        backward.replace(0, 7, 5);
+        backward.replace(1, 5, 7);
+        assertEquals(forward.get(), backward.get());
+        forward.clear();
+        assertEquals(0, forward.get());
+    }
+}